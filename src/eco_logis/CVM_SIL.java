@@ -16,6 +16,11 @@ import fr.sorbonne_u.components.cvm.AbstractCVM;
  * simulation mode.
  *
  * <p><strong>Description</strong></p>
+ * <p>
+ * The acceleration factor, the simulated horizon and the delay to start the
+ * simulation are given at run time by the {@code SILConfiguration}, which is
+ * checked before deploying anything.
+ * </p>
  *
  * <p><strong>Invariant</strong></p>
  * <pre>
@@ -29,31 +34,6 @@ public class CVM_SIL
     extends AbstractCVM
 {
 
-    // ========== Macros ==========
-
-
-    /** Acceleration factor for the real time execution; it controls how fast
-     *  the simulation will run but keeping the same time structure as a real
-     *  time simulation running exactly at the pace of physical time; currently,
-     *  because of implementation constraints revolving around the precision
-     *  of the Java thread scheduler, this factor must be chosen in such a way
-     *  that intervals between simulation transitions or the execution of pieces
-     *  of code do not fall under 10 milliseconds approximately. */
-    public static final double ACC_FACTOR = 1.0;
-
-    /** Delay to start the real time simulations on every model at the
-     *  same moment (the order is delivered to the models during this
-     *  delay; this delay must be ample enough to give the time to notify
-     *  all models of their start time and to initialise them before starting,
-     *  a value that depends upon the complexity of the simulation architecture
-     *  to be traversed and the component deployment (deployments on several
-     *  JVM and even more several computers require a larger delay. */
-    public static final long DELAY_TO_START_SIMULATION = 1000L;
-
-    /** Duration  of the simulation. */
-    public static final double SIMULATION_DURATION = 10.0;
-
-
     // ========== Constructors ==========
 
 
@@ -111,11 +91,15 @@ public class CVM_SIL
 
     public static void main(String[] args) {
         try {
+            SILConfiguration configuration = SILConfiguration.load();
+            configuration.checkSustainable();
+            SILConfiguration.setCurrent(configuration);
+            System.out.println("SIL run: " + configuration);
+
             CVM_SIL cvm = new CVM_SIL();
             // Given some margin to the component application execution compared to the simulation duration
-            long d = (long) (SIMULATION_DURATION * 1000.0 / ACC_FACTOR);
-            cvm.startStandardLifeCycle(d + 5000L);
-            Thread.sleep(10000L);
+            cvm.startStandardLifeCycle(configuration.lifeCycleDuration(configuration.getSimulationDuration()));
+            Thread.sleep(configuration.getExitDelay());
             System.exit(0);
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,28 @@
+package eco_logis;
+
+import eco_logis.interfaces.EquipmentNotificationCI;
+import eco_logis.interfaces.EquipmentState;
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+
+/**
+ * This class is the connector between an equipment and a component
+ * subscribing to its state changes
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class EquipmentNotificationConnector
+    extends AbstractConnector
+    implements EquipmentNotificationCI
+{
+
+    // ========== Override methods ==========
+
+
+    /** @see EquipmentNotificationCI#notifyState(String, long, EquipmentState) */
+    @Override
+    public void notifyState(String equipmentId, long sequence, EquipmentState state) throws Exception {
+        ((EquipmentNotificationCI) offering).notifyState(equipmentId, sequence, state);
+    }
+
+}
@@ -0,0 +1,58 @@
+package eco_logis;
+
+import eco_logis.interfaces.EquipmentNotificationCI;
+import eco_logis.interfaces.EquipmentState;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * This class represents the outbound port used by an equipment to push its
+ * state changes to a subscriber
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class EquipmentNotificationOutboundPort
+    extends AbstractOutboundPort
+    implements EquipmentNotificationCI
+{
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new equipment notification outbound port with the port owner
+     *
+     * @see AbstractOutboundPort#AbstractOutboundPort(Class, ComponentI)
+     *
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public EquipmentNotificationOutboundPort(ComponentI owner) throws Exception {
+        super(EquipmentNotificationCI.class, owner);
+    }
+
+    /**
+     * Create a new equipment notification outbound port with the URI and the port owner
+     *
+     * @see AbstractOutboundPort#AbstractOutboundPort(String, Class, ComponentI)
+     *
+     * @param uri The port URI
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public EquipmentNotificationOutboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, EquipmentNotificationCI.class, owner);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see EquipmentNotificationCI#notifyState(String, long, EquipmentState) */
+    @Override
+    public void notifyState(String equipmentId, long sequence, EquipmentState state) throws Exception {
+        ((EquipmentNotificationCI) getConnector()).notifyState(equipmentId, sequence, state);
+    }
+
+}
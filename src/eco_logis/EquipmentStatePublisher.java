@@ -0,0 +1,246 @@
+package eco_logis;
+
+import eco_logis.interfaces.EquipmentState;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class represents the subscribers of an equipment to its state
+ * changes, and pushes them the new states
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The equipment publishes its whole state after each change, from its own
+ * thread; the publisher keeps only the latest state and pushes it from a
+ * thread of its own, so the equipment never waits for a subscriber, and the
+ * changes published while a push is pending are coalesced into this push.
+ * Each subscriber gets its own sequence numbers, from 1 and without gap, so
+ * it knows when a notification was lost. A new subscriber is pushed the
+ * current state at once.
+ * </p>
+ * <p>
+ * A failed push is only reported: the state being whole, the next push
+ * brings the subscriber up to date, and the gap it sees in the sequence
+ * numbers tells it to read the state again meanwhile.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class EquipmentStatePublisher
+{
+
+    // ========== Internal classes ==========
+
+
+    /**
+     * The subscription of a component to the state changes
+     */
+    protected static class Subscription
+    {
+
+        /** The identifier of the equipment in the notifications */
+        private final String equipmentId;
+
+        /** The outbound port connected to the subscriber */
+        private final EquipmentNotificationOutboundPort port;
+
+        /** The sequence number of the last notification, only used by the push thread */
+        private long sequence;
+
+        /**
+         * Create a new subscription
+         *
+         * @param equipmentId The identifier of the equipment in the notifications
+         * @param port The outbound port connected to the subscriber
+         */
+        protected Subscription(String equipmentId, EquipmentNotificationOutboundPort port) {
+            this.equipmentId = equipmentId;
+            this.port = port;
+        }
+
+        /**
+         * Push a state to the subscriber
+         *
+         * @param state The state to push
+         */
+        protected void push(EquipmentState state) {
+            try {
+                port.notifyState(equipmentId, ++sequence, state);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+    }
+
+
+    // ========== Attributes ==========
+
+
+    /** The component publishing its state */
+    protected final AbstractComponent owner;
+
+    /** The subscriptions, by subscriber inbound port URI */
+    protected final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    /** The latest published state, null before the first publication */
+    protected final AtomicReference<EquipmentState> latest = new AtomicReference<>();
+
+    /** True while a push is scheduled and has not read the latest state yet */
+    protected final AtomicBoolean pushPending = new AtomicBoolean();
+
+    /** The executor pushing the states */
+    protected final ExecutorService pushExecutor = Executors.newSingleThreadExecutor();
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new state publisher for a component
+     *
+     * @param owner The component publishing its state
+     */
+    public EquipmentStatePublisher(AbstractComponent owner) {
+        this.owner = owner;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Subscribe a component to the state changes, replacing its previous
+     * subscription if any, and push it the current state
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     * pre	{@code equipmentId != null && !equipmentId.isEmpty()}
+     * pre	{@code current != null}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param notificationInboundPortURI The URI of the subscriber inbound port
+     * @param equipmentId The identifier of the equipment in the notifications
+     * @param current The current state of the equipment
+     * @throws Exception TODO
+     */
+    public void subscribe(String notificationInboundPortURI, String equipmentId, EquipmentState current)
+            throws Exception {
+        assert notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty() :
+                new PreconditionException("notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()");
+        assert equipmentId != null && !equipmentId.isEmpty() :
+                new PreconditionException("equipmentId != null && !equipmentId.isEmpty()");
+        assert current != null : new PreconditionException("current != null");
+
+        EquipmentNotificationOutboundPort port = new EquipmentNotificationOutboundPort(owner);
+        port.publishPort();
+        owner.doPortConnection(
+                port.getPortURI(),
+                notificationInboundPortURI,
+                EquipmentNotificationConnector.class.getCanonicalName());
+
+        Subscription previous = subscriptions.put(notificationInboundPortURI, new Subscription(equipmentId, port));
+        if (previous != null) {
+            release(previous);
+        }
+        publish(current);
+    }
+
+    /**
+     * Cancel the subscription of a component
+     *
+     * @param notificationInboundPortURI The URI of the subscriber inbound port
+     * @return True if the subscription existed
+     * @throws Exception TODO
+     */
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        Subscription removed = subscriptions.remove(notificationInboundPortURI);
+        if (removed == null) return false;
+        release(removed);
+        return true;
+    }
+
+    /**
+     * Publish a new state, pushed to the subscribers with the states
+     * published until the push starts
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code state != null}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param state The new state of the equipment
+     */
+    public void publish(EquipmentState state) {
+        assert state != null : new PreconditionException("state != null");
+
+        latest.set(state);
+        if (!subscriptions.isEmpty() && pushPending.compareAndSet(false, true)) {
+            pushExecutor.execute(this::push);
+        }
+    }
+
+    /**
+     * Push the latest state to every subscriber
+     */
+    protected void push() {
+        // Cleared before reading, so a state published from now on schedules a new push
+        pushPending.set(false);
+        EquipmentState state = latest.get();
+        for (Subscription s : subscriptions.values()) {
+            s.push(state);
+        }
+    }
+
+    /**
+     * Disconnect and unpublish the port of a subscription
+     *
+     * @param subscription The subscription
+     * @throws Exception TODO
+     */
+    protected void release(Subscription subscription) throws Exception {
+        if (subscription.port.connected()) {
+            owner.doPortDisconnection(subscription.port.getPortURI());
+        }
+        subscription.port.unpublishPort();
+    }
+
+    /**
+     * Disconnect the subscribers, when the component finalises
+     *
+     * @throws Exception TODO
+     */
+    public void finalise() throws Exception {
+        for (Subscription s : subscriptions.values()) {
+            if (s.port.connected()) {
+                owner.doPortDisconnection(s.port.getPortURI());
+            }
+        }
+    }
+
+    /**
+     * Stop pushing and unpublish the ports of the subscriptions, when the
+     * component shuts down
+     *
+     * @throws Exception TODO
+     */
+    public void shutdown() throws Exception {
+        pushExecutor.shutdownNow();
+        for (Subscription s : subscriptions.values()) {
+            s.port.unpublishPort();
+        }
+        subscriptions.clear();
+    }
+
+}
@@ -31,6 +31,11 @@ import eco_logis.equipments.wind_turbine.WindTurbine;
 import eco_logis.equipments.wind_turbine.mil.WindTurbineCoupledModel;
 import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
+import eco_logis.interfaces.SimulationMetricsCI;
+import eco_logis.utils.RTModelMetrics;
+import eco_logis.utils.SimulationSeeds;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.RTCoordinatorPlugin;
 import fr.sorbonne_u.components.cyphy.plugins.devs.SupervisorPlugin;
@@ -45,6 +50,7 @@ import fr.sorbonne_u.devs_simulation.models.architectures.AbstractAtomicModelDes
 import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.events.EventSink;
 import fr.sorbonne_u.devs_simulation.models.events.EventSource;
+import fr.sorbonne_u.devs_simulation.simulators.AtomicRTEngine;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -98,10 +104,17 @@ import java.util.concurrent.TimeUnit;
  * them predefined by BCM4Java-CyPhy) that will allow for managing and running
  * the simulations.
  * </p>
+ * <p>
+ * Once the simulation is over, the supervisor collects the real time
+ * metrics of the component models through their {@code SimulationMetricsCI}
+ * and traces the acceleration factor the whole host can sustain: the lowest
+ * of the factors the components can sustain.
+ * </p>
  *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
+@RequiredInterfaces(required = {SimulationMetricsCI.class})
 public class HEM_SIL_Supervisor
     extends AbstractCyPhyComponent
 {
@@ -118,6 +131,9 @@ public class HEM_SIL_Supervisor
     /** When true, methods trace their actions */
     public static final boolean VERBOSE = true;
 
+    /** Delay to collect the metrics after the forced end of the simulation (ms) */
+    protected static final long METRICS_COLLECTION_DELAY = 500L;
+
 
     // ========== Attributes ==========
 
@@ -125,6 +141,9 @@ public class HEM_SIL_Supervisor
     /** The supervisor plug-in attached to this component */
     protected SupervisorPlugin sp;
 
+    /** The URIs of the component models, also the URIs of their simulator plug-ins */
+    protected Set<String> componentModelURIs;
+
 
     // ========== Constructors ==========
 
@@ -139,7 +158,7 @@ public class HEM_SIL_Supervisor
      * </pre>
      */
     protected HEM_SIL_Supervisor() {
-        super(1, 0);
+        super(1, 1);
         this.initialise();
     }
 
@@ -155,7 +174,7 @@ public class HEM_SIL_Supervisor
      * @param reflectionInboundPortURI	URI of the reflection inbound port
      */
     protected HEM_SIL_Supervisor(String reflectionInboundPortURI) {
-        super(reflectionInboundPortURI, 1, 0);
+        super(reflectionInboundPortURI, 1, 1);
         this.initialise();
     }
 
@@ -349,6 +368,7 @@ public class HEM_SIL_Supervisor
         submodels.add(PowerBankCoupledModel.URI);
         //submodels.add(WindTurbineCoupledModel.URI);
         submodels.add(ElectricMeterCoupledModel.URI);
+        this.componentModelURIs = submodels;
 
         Map<EventSource, EventSink[]> connections = new HashMap<EventSource,EventSink[]>();
 
@@ -485,7 +505,7 @@ public class HEM_SIL_Supervisor
                         SIL_Coordinator.REFLECTION_INBOUND_PORT_URI,
                         RTCoordinatorPlugin.class,
                         null,
-                        CVM_SIL.ACC_FACTOR));
+                        SILConfiguration.current().getAccelerationFactor()));
 
         /* SIL simulations must be executed under the real time modality to
         be able to intertwine simulation events processing and code
@@ -501,6 +521,58 @@ public class HEM_SIL_Supervisor
         return arch;
     }
 
+    /**
+     * Collect the real time metrics of the component models and trace the
+     * acceleration factor the host can sustain
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	true			// no precondition.
+     * post	true			// no postcondition.
+     * </pre>
+     *
+     * @throws Exception	<i>to do</i>.
+     */
+    protected void reportSimulationMetrics() throws Exception {
+        StringBuilder sb = new StringBuilder("Real time metrics of the SIL simulation at acceleration factor ")
+                .append(SILConfiguration.current().getAccelerationFactor())
+                .append(":\n");
+        double sustainable = Double.POSITIVE_INFINITY;
+        String bottleneck = null;
+        for (String uri : componentModelURIs) {
+            SimulationMetricsOutboundPort op = new SimulationMetricsOutboundPort(this);
+            op.publishPort();
+            try {
+                this.doPortConnection(
+                        op.getPortURI(),
+                        MonitoredRTAtomicSimulatorPlugin.metricsInboundPortURI(uri),
+                        SimulationMetricsConnector.class.getCanonicalName());
+                long misses = 0L;
+                double maxLag = 0.0;
+                for (RTModelMetrics m : op.getSimulationMetrics()) {
+                    misses += m.getDeadlineMisses();
+                    maxLag = Math.max(maxLag, m.getMaxLag());
+                }
+                double factor = op.getSustainableAccelerationFactor();
+                sb.append(String.format("  %-32s %6d deadline misses, max lag %8.2f ms, sustainable factor %.1f\n",
+                        uri, misses, maxLag, factor));
+                if (factor < sustainable) {
+                    sustainable = factor;
+                    bottleneck = uri;
+                }
+                this.doPortDisconnection(op.getPortURI());
+            } finally {
+                op.unpublishPort();
+                op.destroyPort();
+            }
+        }
+        if (bottleneck != null) {
+            sb.append(String.format("Sustainable acceleration factor of the host: %.1f (limited by %s)\n",
+                    sustainable, bottleneck));
+        }
+        this.traceMessage(sb.toString());
+    }
+
 
     /** @see fr.sorbonne_u.components.AbstractComponent#start() */
     @Override
@@ -513,9 +585,33 @@ public class HEM_SIL_Supervisor
     @Override
     public synchronized void execute() throws Exception {
         this.sp.createSimulator();
-        this.sp.setSimulationRunParameters(new HashMap<String, Object>());
-        long realTimeOfStart = System.currentTimeMillis() + fr.sorbonne_u.components.cyphy.hem2021e3.CVM_SIL.DELAY_TO_START_SIMULATION;
-        this.sp.startRTSimulation(realTimeOfStart, 0.0, fr.sorbonne_u.components.cyphy.hem2021e3.CVM_SIL.SIMULATION_DURATION);
+        SimulationSeeds seeds = SimulationSeeds.getDefault();
+        Map<String, Object> simParams = new HashMap<>();
+        simParams.put(SimulationSeeds.SEED_PARAMETER, seeds);
+        this.sp.setSimulationRunParameters(simParams);
+        this.traceMessage("Master seed " + seeds.getMasterSeed() + " (replay with -D"
+                + SimulationSeeds.SEED_PROPERTY + "=" + seeds.getMasterSeed() + ")\n");
+        SILConfiguration configuration = SILConfiguration.current();
+        long realTimeOfStart = System.currentTimeMillis() + configuration.getStartDelay();
+        this.sp.startRTSimulation(realTimeOfStart, 0.0, configuration.getSimulationDuration());
+
+        // Collect the metrics once every engine stopped
+        this.scheduleTask(
+                AbstractComponent.STANDARD_SCHEDULABLE_HANDLER_URI,
+                new AbstractTask() {
+                    @Override
+                    public void run() {
+                        try {
+                            ((HEM_SIL_Supervisor) this.getTaskOwner()).reportSimulationMetrics();
+                        } catch (Exception e) {
+                            e.printStackTrace();
+                        }
+                    }
+                },
+                realTimeOfStart - System.currentTimeMillis() + configuration.getRealDuration()
+                        + AtomicRTEngine.END_TIME_TOLERANCE + METRICS_COLLECTION_DELAY,
+                TimeUnit.MILLISECONDS
+        );
     }
 
     /** @see fr.sorbonne_u.components.AbstractComponent#shutdown() */
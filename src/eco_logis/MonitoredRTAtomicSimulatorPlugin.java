@@ -0,0 +1,222 @@
+package eco_logis;
+
+import eco_logis.interfaces.SimulationMetricsCI;
+import eco_logis.interfaces.SimulationMetricsImplementationI;
+import eco_logis.utils.MonitoredRTScheduler;
+import eco_logis.utils.RTModelMetrics;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.cyphy.plugins.devs.RTAtomicSimulatorPlugin;
+import fr.sorbonne_u.devs_simulation.interfaces.EventsExchangingI;
+import fr.sorbonne_u.devs_simulation.models.architectures.RTAtomicModelDescriptor;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.RTAtomicSimulatorI;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.RTSchedulingI;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class represents a real time simulator plugin whose atomic models
+ * report their real time lag
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The scheduler of each atomic model of the plugin is wrapped in a
+ * {@code MonitoredRTScheduler}, bound to the engine of the model once the
+ * simulator is built. A transition that starts later than
+ * {@code MonitoredRTScheduler.LAG_TOLERANCE} is traced by the owner
+ * component: the models can't keep up with the acceleration factor.
+ * </p>
+ * <p>
+ * The schedulers also measure the {@code RTModelMetrics} of their models,
+ * which the plugin offers through a {@code SimulationMetricsCI} inbound port
+ * of URI {@code metricsInboundPortURI(getPluginURI())}, along with the
+ * acceleration factor the component could sustain, and traces as a summary
+ * when it is finalised. The factor is estimated from the busy time of the
+ * executor of the simulation, shared by all the models of the component; it
+ * is capped by {@code SILConfiguration.maximalAccelerationFactor()}, and by
+ * the current factor when a transition missed its deadline.
+ * </p>
+ * <p>
+ * The subclasses set {@code accelerationFactor} when they create their
+ * simulation architecture.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class MonitoredRTAtomicSimulatorPlugin
+    extends RTAtomicSimulatorPlugin
+    implements SimulationMetricsImplementationI
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Suffix of the URI of the metrics inbound port to the URI of the plugin */
+    public static final String METRICS_INBOUND_PORT_SUFFIX = "-metrics-ibp";
+
+
+    // ========== Attributes ==========
+
+
+    /** The acceleration factor of the simulation architecture */
+    protected double accelerationFactor = 1.0;
+
+    /** The schedulers given to the atomic models */
+    protected final List<MonitoredRTScheduler> schedulers = new CopyOnWriteArrayList<>();
+
+    /** The pending tasks of the executor of the simulation */
+    protected final Set<MonitoredRTScheduler.Pending> pending = ConcurrentHashMap.newKeySet();
+
+    /** The inbound port offering the metrics */
+    protected SimulationMetricsInboundPort metricsInboundPort;
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the URI of the metrics inbound port of a plugin
+     *
+     * @param pluginURI The URI of the plugin
+     * @return The URI of its metrics inbound port
+     */
+    public static String metricsInboundPortURI(String pluginURI) {
+        return pluginURI + METRICS_INBOUND_PORT_SUFFIX;
+    }
+
+    /**
+     * Get the summary of the metrics of the models
+     *
+     * @return The summary, one line per model
+     * @throws Exception TODO
+     */
+    protected String metricsSummary() throws Exception {
+        StringBuilder sb = new StringBuilder("Real time metrics of ")
+                .append(getPluginURI())
+                .append(" at acceleration factor ")
+                .append(accelerationFactor)
+                .append(" (ms):\n")
+                .append(RTModelMetrics.summaryHeader())
+                .append('\n');
+        for (RTModelMetrics m : getSimulationMetrics()) {
+            sb.append(m.toSummaryLine()).append('\n');
+        }
+        sb.append(String.format("Sustainable acceleration factor: %.1f\n", getSustainableAccelerationFactor()));
+        return sb.toString();
+    }
+
+
+    /**
+     * Trace a late transition
+     *
+     * @param modelURI The URI of the late model
+     * @param simulatedTime The simulated time of the transition
+     * @param lag The lag of the transition (ms)
+     */
+    protected void reportLag(String modelURI, Time simulatedTime, double lag) {
+        getOwner().traceMessage(String.format(
+                "%s is %.0f ms late at %s: the acceleration factor %s can't be kept.\n",
+                modelURI, lag, simulatedTime, accelerationFactor));
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see RTAtomicSimulatorPlugin#installOn(ComponentI) */
+    @Override
+    public void installOn(ComponentI owner) throws Exception {
+        super.installOn(owner);
+        this.addOfferedInterface(SimulationMetricsCI.class);
+    }
+
+    /** @see RTAtomicSimulatorPlugin#initialise() */
+    @Override
+    public void initialise() throws Exception {
+        super.initialise();
+        this.metricsInboundPort = new SimulationMetricsInboundPort(
+                metricsInboundPortURI(getPluginURI()),
+                getOwner(),
+                getPluginURI(),
+                getPreferredExecutionServiceURI()
+        );
+        this.metricsInboundPort.publishPort();
+    }
+
+    /** @see RTAtomicSimulatorPlugin#finalise() */
+    @Override
+    public void finalise() throws Exception {
+        if (!schedulers.isEmpty()) {
+            getOwner().traceMessage(metricsSummary());
+        }
+        super.finalise();
+    }
+
+    /** @see RTAtomicSimulatorPlugin#uninstall() */
+    @Override
+    public void uninstall() throws Exception {
+        this.metricsInboundPort.unpublishPort();
+        this.metricsInboundPort.destroyPort();
+        this.removeOfferedInterface(SimulationMetricsCI.class);
+        super.uninstall();
+    }
+
+    /** @see SimulationMetricsImplementationI#getSimulationMetrics() */
+    @Override
+    public RTModelMetrics[] getSimulationMetrics() throws Exception {
+        return schedulers.stream()
+                .filter(MonitoredRTScheduler::isBound)
+                .map(MonitoredRTScheduler::getMetrics)
+                .toArray(RTModelMetrics[]::new);
+    }
+
+    /** @see SimulationMetricsImplementationI#getSustainableAccelerationFactor() */
+    @Override
+    public double getSustainableAccelerationFactor() throws Exception {
+        RTModelMetrics[] metrics = getSimulationMetrics();
+        double factor = Math.min(
+                RTModelMetrics.sustainableAccelerationFactor(metrics),
+                SILConfiguration.maximalAccelerationFactor()
+        );
+        for (RTModelMetrics m : metrics) {
+            if (m.getDeadlineMisses() > 0) return Math.min(factor, accelerationFactor);
+        }
+        return factor;
+    }
+
+    /** @see RTAtomicSimulatorPlugin#createRTSchedulerProvider() */
+    @Override
+    protected RTAtomicModelDescriptor.RTSchedulerProviderFI createRTSchedulerProvider() {
+        RTAtomicModelDescriptor.RTSchedulerProviderFI provider = super.createRTSchedulerProvider();
+        return () -> {
+            MonitoredRTScheduler scheduler = new MonitoredRTScheduler(provider.provide(), this::reportLag, pending);
+            schedulers.add(scheduler);
+            return scheduler;
+        };
+    }
+
+    /** @see RTAtomicSimulatorPlugin#constructSimulator() */
+    @Override
+    protected void constructSimulator() throws Exception {
+        super.constructSimulator();
+
+        // Bind the schedulers to the engines they were given to
+        for (String uri : localArchitecture.getAllModelURIs()) {
+            if (!localArchitecture.isAtomicModel(uri)) continue;
+            EventsExchangingI engine = uri.equals(getURI()) ? simulator : getEventExchangingDescendentModel(uri);
+            if (engine instanceof RTAtomicSimulatorI) {
+                RTSchedulingI scheduler = ((RTAtomicSimulatorI) engine).getRTScheduler();
+                if (scheduler instanceof MonitoredRTScheduler) {
+                    ((MonitoredRTScheduler) scheduler).bind(uri, (RTAtomicSimulatorI) engine, accelerationFactor);
+                }
+            }
+        }
+    }
+
+}
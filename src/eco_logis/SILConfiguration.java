@@ -0,0 +1,290 @@
+package eco_logis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * This class represents the run time configuration of the SIL simulations:
+ * the acceleration factor, the simulated horizon and the start delay
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The configuration is read once per virtual machine: from the properties
+ * file named by the system property {@code CONFIG_PROPERTY} if it is set,
+ * each value being overridden by its own system property
+ * ({@code ACC_FACTOR_PROPERTY}, {@code DURATION_PROPERTY},
+ * {@code START_DELAY_PROPERTY} and {@code EXIT_DELAY_PROPERTY}, the file
+ * using the same keys). The components, the supervisor and the CVM all get
+ * it through {@code current()}, so every RT plugin is initialised with the
+ * same acceleration factor as the coordinator; a deployment over several
+ * virtual machines must give them the same properties.
+ * </p>
+ * <p>
+ * Because of the precision of the Java thread scheduler, the real interval
+ * between two simulation transitions must not fall under
+ * {@code MINIMAL_REAL_STEP} milliseconds: {@code checkSustainable} refuses
+ * an acceleration factor that would make the shortest simulated step of the
+ * SIL models, {@code MINIMAL_SIMULATED_STEP}, shorter than that.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class SILConfiguration {
+
+    // ========== Macros ==========
+
+
+    /** System property giving the path of the configuration file */
+    public static final String CONFIG_PROPERTY = "eco_logis.sil.config";
+
+    /** System property giving the acceleration factor */
+    public static final String ACC_FACTOR_PROPERTY = "eco_logis.sil.accFactor";
+
+    /** System property giving the simulated horizon (s) */
+    public static final String DURATION_PROPERTY = "eco_logis.sil.duration";
+
+    /** System property giving the delay to start the simulation (ms) */
+    public static final String START_DELAY_PROPERTY = "eco_logis.sil.startDelay";
+
+    /** System property giving the delay before exiting once the life cycle is over (ms) */
+    public static final String EXIT_DELAY_PROPERTY = "eco_logis.sil.exitDelay";
+
+    /** Default acceleration factor, the pace of physical time */
+    public static final double DEFAULT_ACC_FACTOR = 1.0;
+
+    /** Default simulated horizon (s) */
+    public static final double DEFAULT_DURATION = 10.0;
+
+    /** Default delay to start the simulation (ms) */
+    public static final long DEFAULT_START_DELAY = 1000L;
+
+    /** Default delay before exiting (ms) */
+    public static final long DEFAULT_EXIT_DELAY = 10000L;
+
+    /** Margin given to the component life cycle over the simulation (ms) */
+    public static final long LIFE_CYCLE_MARGIN = 5000L;
+
+    /** Shortest real interval between two transitions the scheduler can keep (ms) */
+    public static final long MINIMAL_REAL_STEP = 10L;
+
+    /** Shortest simulated step of the SIL models (s): the sampling step of the
+     *  meter and oven models, and the shortest delay of the user models */
+    public static final double MINIMAL_SIMULATED_STEP = 0.1;
+
+    /** The configuration of the virtual machine, null until it is looked up */
+    private static SILConfiguration current;
+
+
+    // ========== Attributes ==========
+
+
+    /** The acceleration factor */
+    private final double accelerationFactor;
+
+    /** The simulated horizon (s) */
+    private final double simulationDuration;
+
+    /** The delay to start the simulation (ms) */
+    private final long startDelay;
+
+    /** The delay before exiting (ms) */
+    private final long exitDelay;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new configuration
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code accelerationFactor > 0.0}
+     * pre	{@code simulationDuration > 0.0}
+     * pre	{@code startDelay > 0}
+     * pre	{@code exitDelay >= 0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param accelerationFactor The acceleration factor of the real time simulation
+     * @param simulationDuration The simulated horizon (s)
+     * @param startDelay The delay to start the simulation on every model at the same moment (ms)
+     * @param exitDelay The delay before exiting once the life cycle is over (ms)
+     */
+    public SILConfiguration(double accelerationFactor, double simulationDuration, long startDelay, long exitDelay) {
+        if (!(accelerationFactor > 0.0) || Double.isInfinite(accelerationFactor)) {
+            throw new IllegalArgumentException("The acceleration factor must be positive: " + accelerationFactor);
+        }
+        if (!(simulationDuration > 0.0) || Double.isInfinite(simulationDuration)) {
+            throw new IllegalArgumentException("The simulation duration must be positive: " + simulationDuration);
+        }
+        if (startDelay <= 0L) {
+            throw new IllegalArgumentException("The start delay must be positive: " + startDelay);
+        }
+        if (exitDelay < 0L) {
+            throw new IllegalArgumentException("The exit delay can't be negative: " + exitDelay);
+        }
+        this.accelerationFactor = accelerationFactor;
+        this.simulationDuration = simulationDuration;
+        this.startDelay = startDelay;
+        this.exitDelay = exitDelay;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public double getAccelerationFactor() {
+        return accelerationFactor;
+    }
+
+    public double getSimulationDuration() {
+        return simulationDuration;
+    }
+
+    public long getStartDelay() {
+        return startDelay;
+    }
+
+    public long getExitDelay() {
+        return exitDelay;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the configuration of the virtual machine, loading it on the first call
+     *
+     * @return The configuration
+     */
+    public static synchronized SILConfiguration current() {
+        if (current == null) {
+            try {
+                current = load();
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't read the SIL configuration", e);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Set the configuration of the virtual machine, before deploying the components
+     *
+     * @param configuration The configuration
+     */
+    public static synchronized void setCurrent(SILConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("The configuration can't be null");
+        }
+        current = configuration;
+    }
+
+    /**
+     * Load the configuration from its file and the system properties
+     *
+     * @return The configuration
+     * @throws IOException If the configuration file can't be read
+     */
+    public static SILConfiguration load() throws IOException {
+        Properties file = new Properties();
+        String path = System.getProperty(CONFIG_PROPERTY);
+        if (path != null && !path.isEmpty()) {
+            try (InputStream in = Files.newInputStream(Paths.get(path))) {
+                file.load(in);
+            }
+        }
+        return new SILConfiguration(
+                Double.parseDouble(lookup(file, ACC_FACTOR_PROPERTY, DEFAULT_ACC_FACTOR)),
+                Double.parseDouble(lookup(file, DURATION_PROPERTY, DEFAULT_DURATION)),
+                Long.parseLong(lookup(file, START_DELAY_PROPERTY, DEFAULT_START_DELAY)),
+                Long.parseLong(lookup(file, EXIT_DELAY_PROPERTY, DEFAULT_EXIT_DELAY))
+        );
+    }
+
+    /**
+     * Look a value up in the system properties, then in the file
+     *
+     * @param file The properties of the configuration file
+     * @param key The key of the value
+     * @param defaultValue The value if none is given
+     * @return The value, as a string
+     */
+    private static String lookup(Properties file, String key, Object defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.trim().isEmpty()) value = file.getProperty(key);
+        return value == null || value.trim().isEmpty() ? String.valueOf(defaultValue) : value.trim();
+    }
+
+    /**
+     * Get the real duration of a simulated span at the configured acceleration
+     *
+     * @param simulatedSpan The simulated span (s)
+     * @return The real duration (ms)
+     */
+    public long toRealTime(double simulatedSpan) {
+        return (long) Math.ceil(simulatedSpan * 1000.0 / accelerationFactor);
+    }
+
+    /**
+     * Get the real duration of the simulation
+     *
+     * @return The real duration (ms)
+     */
+    public long getRealDuration() {
+        return toRealTime(simulationDuration);
+    }
+
+    /**
+     * Get the duration to give to the component life cycle to run a simulation
+     *
+     * @param simulatedHorizon The simulated horizon of the simulation (s)
+     * @return The life cycle duration (ms)
+     */
+    public long lifeCycleDuration(double simulatedHorizon) {
+        return startDelay + toRealTime(simulatedHorizon) + LIFE_CYCLE_MARGIN;
+    }
+
+    /**
+     * Get the highest acceleration factor the scheduler can keep up with
+     *
+     * @return The highest sustainable acceleration factor
+     */
+    public static double maximalAccelerationFactor() {
+        return MINIMAL_SIMULATED_STEP * 1000.0 / MINIMAL_REAL_STEP;
+    }
+
+    /**
+     * Check the acceleration factor keeps the real interval between the
+     * transitions of the SIL models above {@code MINIMAL_REAL_STEP}
+     *
+     * @throws IllegalArgumentException If the acceleration factor is not sustainable
+     */
+    public void checkSustainable() {
+        if (accelerationFactor > maximalAccelerationFactor()) {
+            throw new IllegalArgumentException(String.format(
+                    "Acceleration factor %s is not sustainable: the %s s steps of the models would last %.2f ms, "
+                            + "under the %d ms the scheduler can keep; use at most %s",
+                    accelerationFactor, MINIMAL_SIMULATED_STEP, MINIMAL_SIMULATED_STEP * 1000.0 / accelerationFactor,
+                    MINIMAL_REAL_STEP, maximalAccelerationFactor()));
+        }
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return "SILConfiguration[accelerationFactor=" + accelerationFactor + ", simulationDuration=" + simulationDuration
+                + ", startDelay=" + startDelay + ", exitDelay=" + exitDelay + "]";
+    }
+
+}
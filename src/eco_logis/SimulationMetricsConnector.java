@@ -0,0 +1,33 @@
+package eco_logis;
+
+import eco_logis.interfaces.SimulationMetricsCI;
+import eco_logis.utils.RTModelMetrics;
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+
+/**
+ * This class is the connector to the simulation metrics of a SIL component
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class SimulationMetricsConnector
+    extends AbstractConnector
+    implements SimulationMetricsCI
+{
+
+    // ========== Override methods ==========
+
+
+    /** @see SimulationMetricsCI#getSimulationMetrics() */
+    @Override
+    public RTModelMetrics[] getSimulationMetrics() throws Exception {
+        return ((SimulationMetricsCI) offering).getSimulationMetrics();
+    }
+
+    /** @see SimulationMetricsCI#getSustainableAccelerationFactor() */
+    @Override
+    public double getSustainableAccelerationFactor() throws Exception {
+        return ((SimulationMetricsCI) offering).getSustainableAccelerationFactor();
+    }
+
+}
@@ -0,0 +1,80 @@
+package eco_logis;
+
+import eco_logis.interfaces.SimulationMetricsCI;
+import eco_logis.interfaces.SimulationMetricsImplementationI;
+import eco_logis.utils.RTModelMetrics;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+
+/**
+ * This class represent the inbound port of the simulation metrics of a
+ * {@code MonitoredRTAtomicSimulatorPlugin}
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The port is owned by the component of the plugin, and its requests are
+ * served by the plugin on the executor service of the plugin.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class SimulationMetricsInboundPort
+    extends AbstractInboundPort
+    implements SimulationMetricsCI
+{
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new simulation metrics inbound port for a plugin
+     *
+     * @see AbstractInboundPort#AbstractInboundPort(String, Class, ComponentI, String, String)
+     *
+     * @param uri The port URI
+     * @param owner The port owner
+     * @param pluginURI The URI of the plugin serving the requests
+     * @param executorServiceURI The URI of the executor service running the requests
+     * @throws Exception TODO
+     */
+    public SimulationMetricsInboundPort(String uri, ComponentI owner, String pluginURI, String executorServiceURI)
+            throws Exception
+    {
+        super(uri, SimulationMetricsCI.class, owner, pluginURI, executorServiceURI);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see SimulationMetricsCI#getSimulationMetrics() */
+    @Override
+    public RTModelMetrics[] getSimulationMetrics() throws Exception {
+        return getOwner().handleRequest(
+                new AbstractComponent.AbstractService<RTModelMetrics[]>(this.pluginURI) {
+                    @Override
+                    public RTModelMetrics[] call() throws Exception {
+                        return ((SimulationMetricsImplementationI) this.getServiceProviderReference())
+                                .getSimulationMetrics();
+                    }
+                }
+        );
+    }
+
+    /** @see SimulationMetricsCI#getSustainableAccelerationFactor() */
+    @Override
+    public double getSustainableAccelerationFactor() throws Exception {
+        return getOwner().handleRequest(
+                new AbstractComponent.AbstractService<Double>(this.pluginURI) {
+                    @Override
+                    public Double call() throws Exception {
+                        return ((SimulationMetricsImplementationI) this.getServiceProviderReference())
+                                .getSustainableAccelerationFactor();
+                    }
+                }
+        );
+    }
+
+}
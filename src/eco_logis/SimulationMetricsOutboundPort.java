@@ -0,0 +1,63 @@
+package eco_logis;
+
+import eco_logis.interfaces.SimulationMetricsCI;
+import eco_logis.utils.RTModelMetrics;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * This class represent an outbound port for the simulation metrics of a SIL component
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class SimulationMetricsOutboundPort
+    extends AbstractOutboundPort
+    implements SimulationMetricsCI
+{
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new simulation metrics outbound port with its owner
+     *
+     * @see AbstractOutboundPort#AbstractOutboundPort(Class, ComponentI)
+     *
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public SimulationMetricsOutboundPort(ComponentI owner) throws Exception {
+        super(SimulationMetricsCI.class, owner);
+    }
+
+    /**
+     * Create a new simulation metrics outbound port with its uri and owner
+     *
+     * @see AbstractOutboundPort#AbstractOutboundPort(String, Class, ComponentI)
+     *
+     * @param uri The port uri
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public SimulationMetricsOutboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, SimulationMetricsCI.class, owner);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see SimulationMetricsCI#getSimulationMetrics() */
+    @Override
+    public RTModelMetrics[] getSimulationMetrics() throws Exception {
+        return ((SimulationMetricsCI) getConnector()).getSimulationMetrics();
+    }
+
+    /** @see SimulationMetricsCI#getSustainableAccelerationFactor() */
+    @Override
+    public double getSustainableAccelerationFactor() throws Exception {
+        return ((SimulationMetricsCI) getConnector()).getSustainableAccelerationFactor();
+    }
+
+}
@@ -0,0 +1,430 @@
+package eco_logis.benchmarks;
+
+import eco_logis.equipments.electric_meter.ElectricMeterOutboundPort;
+import eco_logis.equipments.electric_meter.MeterSnapshot;
+import eco_logis.equipments.hem.EquipmentRegistry;
+import eco_logis.equipments.hem.HEM;
+import eco_logis.equipments.hem.PlanningEquipmentOutboundPort;
+import eco_logis.equipments.hem.ProductionEquipmentOutboundPort;
+import eco_logis.equipments.hem.StorageEquipmentOutboundPort;
+import eco_logis.equipments.hem.SuspensionEquipmentOutboundPort;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * This class represents a HEM whose decision passes are benchmarked against
+ * mock outbound ports
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The household of the HEM is made of mock ports, published but connected to
+ * no equipment: they answer the queries from their own state, after waiting
+ * the query latency given by the system property
+ * {@code QUERY_LATENCY_PROPERTY} (in microseconds, none by default) to stand
+ * for the calls to the equipment components, and apply the batched commands
+ * to this state. The mock meter alternates an overloaded and an underloaded
+ * house, so the passes shed and restore in turn.
+ * </p>
+ * <p>
+ * For each number of equipments of {@code SIZES}, spread over the suspension,
+ * planning, production and storage equipments, the component runs
+ * {@code WARMUP_PASSES} passes of {@code manage()} then
+ * {@code MEASURED_ROUNDS} rounds of {@code MEASURED_PASSES} passes, whose
+ * mean latency is printed and written with a {@code BenchmarkReport}. The
+ * {@code FINISHED} latch is released when the report is written.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class BenchmarkHEM
+    extends HEM
+{
+
+    // ========== Macros ==========
+
+
+    /** Name of the system property giving the latency of a mock query in microseconds */
+    public static final String QUERY_LATENCY_PROPERTY = "eco_logis.benchmarks.queryLatency";
+
+    /** Numbers of equipments to benchmark */
+    private static final int[] SIZES = {4, 40, 400};
+
+    /** Number of passes run before measuring each size */
+    private static final int WARMUP_PASSES = 2_000;
+
+    /** Number of passes per measured round */
+    private static final int MEASURED_PASSES = 1_000;
+
+    /** Number of measured rounds */
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Consumption of the overloaded house (W) */
+    private static final double OVERLOADED_CONSUMPTION = 6000.0;
+
+    /** Production of the house (W) */
+    private static final double PRODUCTION = 1500.0;
+
+    /** Latency of a mock query in nanoseconds */
+    protected static final long QUERY_LATENCY = Long.getLong(QUERY_LATENCY_PROPERTY, 0L) * 1000L;
+
+    /** Released when the benchmark results are written */
+    public static final CountDownLatch FINISHED = new CountDownLatch(1);
+
+
+    // ========== Mock ports ==========
+
+
+    /**
+     * Wait the latency of a mock query
+     */
+    protected static void query() {
+        if (QUERY_LATENCY > 0L) {
+            LockSupport.parkNanos(QUERY_LATENCY);
+        }
+    }
+
+    /**
+     * Apply batched commands to a mock equipment
+     *
+     * @param commands The commands
+     * @param apply Applies one command, returning false if it changes nothing
+     * @return The command statuses
+     */
+    protected static byte[] execute(EquipmentCommand[] commands, Predicate<EquipmentCommand> apply) {
+        query();
+        byte[] res = new byte[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            res[i] = apply.test(commands[i]) ? EquipmentCommand.DONE : EquipmentCommand.UNCHANGED;
+        }
+        return res;
+    }
+
+    /** Mock meter, overloaded every other reading */
+    protected static class MockMeterPort
+        extends ElectricMeterOutboundPort
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicLong readings = new AtomicLong();
+
+        public MockMeterPort(ComponentI owner) throws Exception {
+            super(owner);
+        }
+
+        @Override
+        public double getCurrentConsumption() throws Exception {
+            query();
+            return (readings.getAndIncrement() & 1L) == 0L ? OVERLOADED_CONSUMPTION : 0.0;
+        }
+
+        @Override
+        public double getCurrentProduction() throws Exception {
+            query();
+            return PRODUCTION;
+        }
+
+        @Override
+        public MeterSnapshot.Reading getBalance() throws Exception {
+            query();
+            double consumption = (readings.getAndIncrement() & 1L) == 0L ? OVERLOADED_CONSUMPTION : 0.0;
+            return new MeterSnapshot.Reading(consumption, PRODUCTION, Double.NaN);
+        }
+    }
+
+    /** Mock suspension equipment, always on */
+    protected static class MockSuspensionPort
+        extends SuspensionEquipmentOutboundPort
+    {
+        private static final long serialVersionUID = 1L;
+
+        private volatile boolean suspended;
+
+        public MockSuspensionPort(ComponentI owner) throws Exception {
+            super(owner);
+        }
+
+        @Override
+        public boolean on() throws Exception {
+            query();
+            return true;
+        }
+
+        @Override
+        public boolean suspended() throws Exception {
+            query();
+            return suspended;
+        }
+
+        @Override
+        public double emergency() throws Exception {
+            query();
+            return 0.5;
+        }
+
+        @Override
+        public EquipmentState describeState() throws Exception {
+            query();
+            return EquipmentState.suspension(true, suspended, 0.5);
+        }
+
+        @Override
+        public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+            return execute(commands, c -> {
+                boolean target = c.getOperation() == EquipmentCommand.Operation.SUSPEND;
+                boolean changed = suspended != target;
+                suspended = target;
+                return changed;
+            });
+        }
+    }
+
+    /** Mock planning equipment, with a two hour program starting at noon and due at six */
+    protected static class MockPlanningPort
+        extends PlanningEquipmentOutboundPort
+    {
+        private static final long serialVersionUID = 1L;
+
+        private volatile LocalTime startTime = LocalTime.of(12, 0);
+
+        public MockPlanningPort(ComponentI owner) throws Exception {
+            super(owner);
+        }
+
+        @Override
+        public boolean on() throws Exception {
+            query();
+            return true;
+        }
+
+        @Override
+        public boolean hasPlan() throws Exception {
+            query();
+            return true;
+        }
+
+        @Override
+        public LocalTime startTime() throws Exception {
+            query();
+            return startTime;
+        }
+
+        @Override
+        public Duration duration() throws Exception {
+            query();
+            return Duration.ofHours(2);
+        }
+
+        @Override
+        public LocalTime deadline() throws Exception {
+            query();
+            return LocalTime.of(18, 0);
+        }
+
+        @Override
+        public EquipmentState describeState() throws Exception {
+            query();
+            return EquipmentState.planning(true, startTime, Duration.ofHours(2), LocalTime.of(18, 0));
+        }
+
+        @Override
+        public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+            // The program is postponed then brought back, so the slack stays the same on average
+            return execute(commands, c -> {
+                startTime = startTime.getHour() < 13 ? startTime.plus(c.getArgument()) : LocalTime.of(12, 0);
+                return true;
+            });
+        }
+    }
+
+    /** Mock production equipment, never producing */
+    protected static class MockProductionPort
+        extends ProductionEquipmentOutboundPort
+    {
+        private static final long serialVersionUID = 1L;
+
+        public MockProductionPort(ComponentI owner) throws Exception {
+            super(owner);
+        }
+
+        @Override
+        public boolean isProducing() throws Exception {
+            query();
+            return false;
+        }
+
+        @Override
+        public EquipmentState describeState() throws Exception {
+            query();
+            return EquipmentState.production(false, Double.NaN);
+        }
+
+        @Override
+        public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+            return execute(commands, c -> false);
+        }
+    }
+
+    /** Mock storage equipment, consuming and half full */
+    protected static class MockStoragePort
+        extends StorageEquipmentOutboundPort
+    {
+        private static final long serialVersionUID = 1L;
+
+        public MockStoragePort(ComponentI owner) throws Exception {
+            super(owner);
+        }
+
+        @Override
+        public boolean isProducing() throws Exception {
+            query();
+            return false;
+        }
+
+        @Override
+        public boolean isConsuming() throws Exception {
+            query();
+            // The storage starts consuming again before the next pass
+            return true;
+        }
+
+        @Override
+        public double getPowerLevel() throws Exception {
+            query();
+            return 0.5;
+        }
+
+        @Override
+        public EquipmentState describeState() throws Exception {
+            query();
+            // The storage starts consuming again before the next pass
+            return EquipmentState.storage(false, true, 0.5);
+        }
+
+        @Override
+        public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+            return execute(commands, c -> true);
+        }
+    }
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new benchmark HEM, with no minimal management interval and the
+     * tracing off
+     *
+     * @throws Exception TODO
+     */
+    public BenchmarkHEM() throws Exception {
+        super(false, 0L);
+        this.toggleTracing();
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Register mock equipments, spread over the control types
+     *
+     * @param n The number of equipments
+     * @return The identifiers of the equipments
+     * @throws Exception TODO
+     */
+    protected List<String> registerMocks(int n) throws Exception {
+        List<String> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String id = "equipment" + i;
+            OPType type;
+            AbstractOutboundPort port;
+            switch (i % 4) {
+                case 0: type = OPType.SUSPENSION; port = new MockSuspensionPort(this); break;
+                case 1: type = OPType.PLANNING; port = new MockPlanningPort(this); break;
+                case 2: type = OPType.PRODUCTION; port = new MockProductionPort(this); break;
+                default: type = OPType.STORAGE; port = new MockStoragePort(this); break;
+            }
+            port.publishPort();
+            this.registry.put(new EquipmentRegistry.Entry(id, type, port, id, DEFAULT_NOMINAL_POWER));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Run decision passes
+     *
+     * @param passes The number of passes
+     * @throws Exception TODO
+     */
+    protected void runPasses(int passes) throws Exception {
+        for (int p = 0; p < passes; p++) {
+            this.manage();
+        }
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /**
+     * Give the HEM a mock meter; the equipments are registered by the benchmark
+     *
+     * @see HEM#connectHousehold()
+     */
+    @Override
+    protected void connectHousehold() throws Exception {
+        this.elecMeterOP = new MockMeterPort(this);
+        this.elecMeterOP.publishPort();
+    }
+
+    /** @see HEM#execute() */
+    @Override
+    public synchronized void execute() throws Exception {
+        try {
+            BenchmarkReport report = new BenchmarkReport(HEMDecisionBenchmark.class);
+            System.out.println("equipments\tmean (us/pass)");
+            for (int n : SIZES) {
+                List<String> ids = this.registerMocks(n);
+                this.suspendedSince.clear();
+                this.suspendedTotal.clear();
+                this.runPasses(WARMUP_PASSES);
+
+                double[] rounds = new double[MEASURED_ROUNDS];
+                for (int r = 0; r < MEASURED_ROUNDS; r++) {
+                    long start = System.nanoTime();
+                    this.runPasses(MEASURED_PASSES);
+                    rounds[r] = (System.nanoTime() - start) / 1000.0 / MEASURED_PASSES;
+                }
+                System.out.printf("%d\t%.1f%n", n, BenchmarkReport.mean(rounds));
+
+                Map<String, Object> params = new LinkedHashMap<>();
+                params.put("equipments", n);
+                params.put("queryLatencyMicros", QUERY_LATENCY / 1000L);
+                report.add("manage", BenchmarkReport.AVERAGE_TIME, params, "us/op", rounds);
+
+                for (String id : ids) {
+                    this.unregister(id);
+                }
+            }
+            System.out.println("results written to " + report.write());
+        } finally {
+            FINISHED.countDown();
+        }
+    }
+
+}
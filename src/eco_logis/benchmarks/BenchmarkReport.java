@@ -0,0 +1,252 @@
+package eco_logis.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class collects the results of a benchmark and writes them in JSON
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Each result is the score of one benchmark for one set of parameters, with
+ * the raw score of every measured round. The file follows the layout of the
+ * JMH JSON results (an array of objects with {@code benchmark}, {@code mode},
+ * {@code params} and {@code primaryMetric}), so the usual JMH result viewers
+ * and regression scripts can compare two releases. The score error is the
+ * half width of the 99.9% confidence interval over the rounds, as in JMH.
+ * </p>
+ * <p>
+ * The file is written in the directory given by the system property
+ * {@code DIRECTORY_PROPERTY}, {@code DEFAULT_DIRECTORY} by default, and is
+ * named after the benchmark class.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class BenchmarkReport {
+
+    // ========== Macros ==========
+
+
+    /** Name of the system property giving the directory of the result files */
+    public static final String DIRECTORY_PROPERTY = "eco_logis.benchmarks.dir";
+
+    /** Directory of the result files without the system property */
+    public static final String DEFAULT_DIRECTORY = "benchmark-results";
+
+    /** Throughput mode, the score grows with the speed */
+    public static final String THROUGHPUT = "thrpt";
+
+    /** Average time mode, the score shrinks with the speed */
+    public static final String AVERAGE_TIME = "avgt";
+
+    /** Student quantiles at 99.95% for 1 to 10 degrees of freedom, beyond which 3.3 is close enough */
+    private static final double[] STUDENT_QUANTILES = {636.6, 31.6, 12.92, 8.61, 6.87, 5.96, 5.41, 5.04, 4.78, 4.59};
+
+
+    // ========== Internal classes ==========
+
+
+    /**
+     * One benchmark result
+     */
+    private static final class Result {
+
+        private final String benchmark;
+        private final String mode;
+        private final Map<String, String> params;
+        private final String unit;
+        private final double[] rounds;
+
+        private Result(String benchmark, String mode, Map<String, String> params, String unit, double[] rounds) {
+            this.benchmark = benchmark;
+            this.mode = mode;
+            this.params = params;
+            this.unit = unit;
+            this.rounds = rounds;
+        }
+
+    }
+
+
+    // ========== Attributes ==========
+
+
+    /** The benchmark class */
+    private final Class<?> benchmarkClass;
+
+    /** The results, in order */
+    private final List<Result> results = new ArrayList<>();
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new empty report
+     *
+     * @param benchmarkClass The benchmark class, naming the benchmarks and the file
+     */
+    public BenchmarkReport(Class<?> benchmarkClass) {
+        this.benchmarkClass = benchmarkClass;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Add a result to the report
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code rounds.length > 0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param benchmark The benchmark name, appended to the class name
+     * @param mode {@code THROUGHPUT} or {@code AVERAGE_TIME}
+     * @param params The benchmark parameters, by name, in order
+     * @param unit The unit of the score, as "ops/s" or "ns/op"
+     * @param rounds The score of each measured round
+     */
+    public void add(String benchmark, String mode, Map<String, ?> params, String unit, double... rounds) {
+        if (rounds.length == 0) {
+            throw new IllegalArgumentException("A result needs at least one round");
+        }
+        Map<String, String> p = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> e : params.entrySet()) {
+            p.put(e.getKey(), String.valueOf(e.getValue()));
+        }
+        results.add(new Result(benchmarkClass.getName() + "." + benchmark, mode, p, unit, rounds.clone()));
+    }
+
+    /**
+     * Get the mean of the rounds
+     *
+     * @param rounds The rounds
+     * @return The mean
+     */
+    public static double mean(double[] rounds) {
+        double sum = 0.0;
+        for (double r : rounds) sum += r;
+        return sum / rounds.length;
+    }
+
+    /**
+     * Get the half width of the 99.9% confidence interval of the mean
+     *
+     * @param rounds The rounds
+     * @return The error, NaN with a single round as JMH reports it
+     */
+    public static double error(double[] rounds) {
+        int n = rounds.length;
+        if (n < 2) return Double.NaN;
+        double mean = mean(rounds);
+        double squares = 0.0;
+        for (double r : rounds) squares += (r - mean) * (r - mean);
+        double quantile = n - 1 <= STUDENT_QUANTILES.length ? STUDENT_QUANTILES[n - 2] : 3.3;
+        return quantile * Math.sqrt(squares / (n - 1) / n);
+    }
+
+    /**
+     * Write the report in its file, replacing the previous one
+     *
+     * @return The path of the file
+     * @throws IOException If the file can't be written
+     */
+    public Path write() throws IOException {
+        Path dir = Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY));
+        Files.createDirectories(dir);
+        Path file = dir.resolve(benchmarkClass.getSimpleName() + ".json");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(toJson());
+        }
+        return file;
+    }
+
+    /**
+     * Get the report in JSON
+     *
+     * @return The JSON text
+     */
+    public String toJson() {
+        String vm = ManagementFactory.getRuntimeMXBean().getVmName() + " "
+                + ManagementFactory.getRuntimeMXBean().getVmVersion();
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            sb.append("    {\n");
+            sb.append("        \"benchmark\" : ").append(quote(r.benchmark)).append(",\n");
+            sb.append("        \"mode\" : ").append(quote(r.mode)).append(",\n");
+            sb.append("        \"threads\" : 1,\n");
+            sb.append("        \"jvm\" : ").append(quote(vm)).append(",\n");
+            sb.append("        \"measurementIterations\" : ").append(r.rounds.length).append(",\n");
+            sb.append("        \"params\" : {");
+            int k = 0;
+            for (Map.Entry<String, String> e : r.params.entrySet()) {
+                sb.append(k++ == 0 ? "\n" : ",\n");
+                sb.append("            ").append(quote(e.getKey())).append(" : ").append(quote(e.getValue()));
+            }
+            sb.append(k == 0 ? "},\n" : "\n        },\n");
+            sb.append("        \"primaryMetric\" : {\n");
+            sb.append("            \"score\" : ").append(number(mean(r.rounds))).append(",\n");
+            sb.append("            \"scoreError\" : ").append(number(error(r.rounds))).append(",\n");
+            sb.append("            \"scoreUnit\" : ").append(quote(r.unit)).append(",\n");
+            sb.append("            \"rawData\" : [[");
+            for (int j = 0; j < r.rounds.length; j++) {
+                if (j > 0) sb.append(", ");
+                sb.append(number(r.rounds[j]));
+            }
+            sb.append("]]\n");
+            sb.append("        }\n");
+            sb.append(i < results.size() - 1 ? "    },\n" : "    }\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    /**
+     * Format a number in JSON, where NaN and infinities are written as strings like JMH does
+     *
+     * @param value The number
+     * @return The JSON number
+     */
+    private static String number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return quote(String.valueOf(value));
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    /**
+     * Quote a string in JSON
+     *
+     * @param s The string
+     * @return The JSON string
+     */
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+}
@@ -0,0 +1,188 @@
+package eco_logis.benchmarks;
+
+import eco_logis.equipments.electric_meter.mil.ElectricMeterAggregator;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the electric meter aggregation step
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Compares, in steps per second, the former aggregation of the electric meter
+ * model (re-summing the boxed imported values and moving the time of both
+ * totals forward at every step) with the {@code ElectricMeterAggregator} slot
+ * table updated from the per source deltas, whose totals are only boxed and
+ * time stamped when they change. As in the simulation, the sources only change from
+ * time to time: every {@code CHANGE_PERIOD} steps on average. Besides the
+ * throughput, the bytes allocated per step are reported when the JVM can
+ * measure them, the point of the slot table being to stop the allocations
+ * made at every step.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class ElectricMeterAggregationBenchmark {
+
+    // ========== Macros ==========
+
+
+    /** Number of sources, as imported by the electric meter model */
+    private static final int SOURCES = 7;
+
+    /** The sources that are productions */
+    private static final boolean[] PRODUCTION = {false, false, false, false, true, true, true};
+
+    /** Mean number of steps between two source changes */
+    private static final int CHANGE_PERIOD = 50;
+
+    /** Number of steps per measure */
+    private static final int STEPS = 20_000_000;
+
+    /** Number of measures, the first ones being the warm up */
+    private static final int ROUNDS = 5;
+
+    /** The simulation step, as in the electric meter model */
+    private static final Duration STEP = new Duration(0.1, TimeUnit.SECONDS);
+
+    /** Seed of the change generator */
+    private static final long SEED = 42L;
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Draw the source changes of a run
+     *
+     * @param random The change generator
+     * @return For each step, the changed source or -1
+     */
+    private static int[] changedSources(Random random) {
+        int[] res = new int[STEPS];
+        for (int i = 0; i < STEPS; i++) {
+            res[i] = random.nextInt(CHANGE_PERIOD) == 0 ? random.nextInt(SOURCES) : -1;
+        }
+        return res;
+    }
+
+    /**
+     * Run the former boxed aggregation
+     *
+     * @param changes The changed source at each step
+     * @param values The values the sources take
+     * @return A checksum of the totals
+     */
+    private static double runBoxed(int[] changes, double[] values) {
+        Double[] sources = new Double[SOURCES];
+        for (int i = 0; i < SOURCES; i++) sources[i] = 0.0;
+        Double consumption = 0.0;
+        Double production = 0.0;
+        Time consumptionTime = Time.zero(TimeUnit.SECONDS);
+        Time productionTime = Time.zero(TimeUnit.SECONDS);
+        double checksum = 0.0;
+
+        for (int s = 0; s < STEPS; s++) {
+            int c = changes[s];
+            if (c >= 0) sources[c] = values[s & 1023];
+
+            consumptionTime = consumptionTime.add(STEP);
+            productionTime = productionTime.add(STEP);
+            double cons = sources[0] + sources[1] + sources[2] + sources[3];
+            double prod = sources[4] + sources[5] + sources[6];
+            if (consumption != cons) consumption = cons;
+            if (production != prod) production = prod;
+            checksum += consumption - production;
+        }
+        return checksum + consumptionTime.getSimulatedTime() + productionTime.getSimulatedTime();
+    }
+
+    /**
+     * Run the slot table aggregation
+     *
+     * @param changes The changed source at each step
+     * @param values The values the sources take
+     * @return A checksum of the totals
+     */
+    private static double runSlots(int[] changes, double[] values) {
+        ElectricMeterAggregator aggregator = new ElectricMeterAggregator();
+        for (boolean p : PRODUCTION) aggregator.addSource(p);
+        double[] sources = new double[SOURCES];
+        Double consumption = 0.0;
+        Double production = 0.0;
+        Time consumptionTime = Time.zero(TimeUnit.SECONDS);
+        Time productionTime = Time.zero(TimeUnit.SECONDS);
+        double unrecordedElapsed = 0.0;
+        double checksum = 0.0;
+
+        for (int s = 0; s < STEPS; s++) {
+            int c = changes[s];
+            if (c >= 0) sources[c] = values[s & 1023];
+
+            unrecordedElapsed += STEP.getSimulatedDuration();
+            boolean changed = false;
+            for (int i = 0; i < SOURCES; i++) {
+                changed |= aggregator.set(i, sources[i]);
+            }
+            if (changed) {
+                Duration elapsed = new Duration(unrecordedElapsed, TimeUnit.SECONDS);
+                unrecordedElapsed = 0.0;
+                consumptionTime = consumptionTime.add(elapsed);
+                productionTime = productionTime.add(elapsed);
+                if (consumption != aggregator.getConsumption()) consumption = aggregator.getConsumption();
+                if (production != aggregator.getProduction()) production = aggregator.getProduction();
+            }
+            checksum += consumption - production;
+        }
+        return checksum + consumptionTime.getSimulatedTime() + productionTime.getSimulatedTime();
+    }
+
+    /**
+     * Get the bytes allocated so far by the current thread
+     *
+     * @return The allocated bytes, -1 if the JVM cannot measure them
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(SEED);
+        int[] changes = changedSources(random);
+        double[] values = new double[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.rint(random.nextDouble() * 2000.0);
+        }
+
+        double checksum = 0.0;
+        System.out.println("round\tboxed (steps/s)\tboxed (B/step)\tslots (steps/s)\tslots (B/step)");
+        for (int r = 0; r < ROUNDS; r++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            checksum += runBoxed(changes, values);
+            long boxed = System.nanoTime() - start;
+            long boxedBytes = allocatedBytes() - bytes;
+
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            checksum += runSlots(changes, values);
+            long slots = System.nanoTime() - start;
+            long slotsBytes = allocatedBytes() - bytes;
+
+            System.out.printf("%d\t%.0f\t%.2f\t%.0f\t%.2f%n", r,
+                    STEPS * 1e9 / boxed, (double) boxedBytes / STEPS,
+                    STEPS * 1e9 / slots, (double) slotsBytes / STEPS);
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+}
@@ -0,0 +1,80 @@
+package eco_logis.benchmarks;
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.cvm.AbstractCVM;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the decision passes of the HEM
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Deploys a {@code BenchmarkHEM} alone, whose household is made of mock
+ * outbound ports, and runs its standard life cycle: the benchmark runs when
+ * the component executes, then the virtual machine stops. The latency of the
+ * mock queries is set with the system property
+ * {@code BenchmarkHEM.QUERY_LATENCY_PROPERTY}.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class HEMDecisionBenchmark
+    extends AbstractCVM
+{
+
+    // ========== Macros ==========
+
+
+    /** Longest time the benchmark may take (ms) */
+    private static final long LIFE_CYCLE_DURATION = TimeUnit.MINUTES.toMillis(10);
+
+
+    // ========== Constructors ==========
+
+
+    public HEMDecisionBenchmark() throws Exception {}
+
+
+    // ========== Lifecycle ==========
+
+
+    /** @see AbstractCVM#deploy() */
+    @Override
+    public void deploy() throws Exception {
+        // Create the benchmarked HEM
+        AbstractComponent.createComponent(
+                BenchmarkHEM.class.getCanonicalName(),
+                new Object[]{}
+        );
+
+        // Super deploy
+        super.deploy();
+    }
+
+
+    // ========== Class methods ==========
+
+
+    public static void main(String[] args) {
+        try {
+            HEMDecisionBenchmark cvm = new HEMDecisionBenchmark();
+            // The life cycle is cut short once the results are written
+            Thread lifeCycle = new Thread(() -> {
+                try {
+                    cvm.startStandardLifeCycle(LIFE_CYCLE_DURATION);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+            lifeCycle.setDaemon(true);
+            lifeCycle.start();
+            BenchmarkHEM.FINISHED.await(LIFE_CYCLE_DURATION, TimeUnit.MILLISECONDS);
+            System.exit(0);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package eco_logis.benchmarks;
+
+import eco_logis.equipments.hem.mil.RunHEMSim;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Benchmark of the whole MIL simulation of the house
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * For each variant of the {@code RunHEMSim} architecture, a simulation of
+ * {@code ROUND_DURATION} is run as a batch run does: tracing off, events
+ * pooled and no sleep between the steps. Every round builds a new simulator
+ * seeded with {@code SEED}, so all of them simulate the same day; the time
+ * spent building it is not measured. The score is the number of simulated
+ * hours per wall clock second, printed with the simulation steps of a round
+ * and written with a {@code BenchmarkReport}.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class HEMSimulationBenchmark {
+
+    // ========== Macros ==========
+
+
+    /** Simulated duration of a round (s): one day */
+    private static final double ROUND_DURATION = 24.0 * 3600.0;
+
+    /** Number of rounds run before measuring */
+    private static final int WARMUP_ROUNDS = 2;
+
+    /** Number of measured rounds */
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Master seed of the simulations */
+    private static final long SEED = 42L;
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Build the simulator of a round
+     *
+     * @param variant The architecture variant
+     * @return The simulation engine, with its run parameters set
+     * @throws Exception TODO
+     */
+    private static SimulationEngine build(RunHEMSim.Variant variant) throws Exception {
+        SimulationEngine engine = RunHEMSim.createArchitecture(variant).constructSimulator();
+        Map<String, Object> simParams = new HashMap<>();
+        simParams.put(EventRecycler.POOLING_PARAMETER, Boolean.TRUE);
+        simParams.put(SimulationSeeds.SEED_PARAMETER, SEED);
+        engine.setSimulationRunParameters(simParams);
+        return engine;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkReport report = new BenchmarkReport(HEMSimulationBenchmark.class);
+        long checksum = 0L;
+
+        System.out.println("variant\tsteps/round\tsimulated hours/s");
+        for (RunHEMSim.Variant variant : RunHEMSim.Variant.values()) {
+            double[] rounds = new double[MEASURED_ROUNDS];
+            long steps = 0L;
+            for (int r = 0; r < WARMUP_ROUNDS + MEASURED_ROUNDS; r++) {
+                SimulationEngine engine = build(variant);
+                long start = System.nanoTime();
+                steps = RunHEMSim.runBatch(engine, ROUND_DURATION, 0);
+                long elapsed = System.nanoTime() - start;
+                checksum += steps;
+                if (r >= WARMUP_ROUNDS) {
+                    rounds[r - WARMUP_ROUNDS] = ROUND_DURATION / 3600.0 / (elapsed / 1.0e9);
+                }
+            }
+            System.out.printf("%s\t%d\t%.1f%n", variant, steps, BenchmarkReport.mean(rounds));
+
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("variant", variant);
+            params.put("simulatedSeconds", ROUND_DURATION);
+            params.put("steps", steps);
+            report.add("simulatedHours", BenchmarkReport.THROUGHPUT, params, "h/s", rounds);
+        }
+        System.out.println("checksum " + checksum);
+        System.out.println("results written to " + report.write());
+        // The simulation leaves non daemon threads behind
+        System.exit(0);
+    }
+
+}
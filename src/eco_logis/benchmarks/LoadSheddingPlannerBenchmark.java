@@ -0,0 +1,92 @@
+package eco_logis.benchmarks;
+
+import eco_logis.equipments.hem.LoadSheddingPlanner;
+
+import java.util.Random;
+
+/**
+ * Microbenchmark of the HEM load shedding planner
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * For increasing numbers of equipments, the planner is filled with random
+ * candidates and asked for a shedding plan and a restoring plan, as in one
+ * HEM decision pass. Each size is warmed up before being measured, and the
+ * mean time per pass is printed. The candidates are drawn from a fixed seed
+ * so two runs measure the same work.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class LoadSheddingPlannerBenchmark {
+
+    // ========== Macros ==========
+
+
+    /** Numbers of equipments to benchmark */
+    private static final int[] SIZES = {10, 100, 1000};
+
+    /** Number of passes run before measuring */
+    private static final int WARMUP_PASSES = 20_000;
+
+    /** Number of measured passes */
+    private static final int MEASURED_PASSES = 50_000;
+
+    /** Seed of the candidate generator */
+    private static final long SEED = 42L;
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Run the given number of decision passes on random candidates
+     *
+     * @param planner The planner to use
+     * @param n The number of candidates per pass
+     * @param passes The number of passes
+     * @param random The candidate generator
+     * @return A checksum of the plans, so the work cannot be optimised away
+     */
+    private static long run(LoadSheddingPlanner planner, int n, int passes, Random random) {
+        long checksum = 0L;
+        double totalPower = 0.0;
+        for (int p = 0; p < passes; p++) {
+            planner.clear();
+            totalPower = 0.0;
+            for (int i = 0; i < n; i++) {
+                double power = 50.0 + random.nextDouble() * 1950.0;
+                if (random.nextInt(4) == 0) {
+                    planner.addRestorable(power, random.nextDouble() * 1.2);
+                } else {
+                    planner.addSheddable(power, random.nextDouble());
+                    totalPower += power;
+                }
+            }
+            checksum += planner.plan(totalPower * 0.3);
+            checksum += planner.plan(-totalPower * 0.1);
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(SEED);
+        long checksum = 0L;
+
+        System.out.println("equipments\tpasses\tmean (us/pass)");
+        for (int n : SIZES) {
+            LoadSheddingPlanner planner = new LoadSheddingPlanner();
+            int scale = Math.max(1, n / 10);
+            checksum += run(planner, n, WARMUP_PASSES / scale, random);
+
+            int passes = MEASURED_PASSES / scale;
+            long start = System.nanoTime();
+            checksum += run(planner, n, passes, random);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%d\t%d\t%.3f%n", n, passes, elapsed / 1000.0 / passes);
+        }
+        System.out.println("checksum " + checksum);
+    }
+
+}
@@ -0,0 +1,348 @@
+package eco_logis.benchmarks;
+
+import eco_logis.equipments.crypto_miner.mil.CryptoMinerElectricityModel;
+import eco_logis.equipments.crypto_miner.mil.events.MineOffCryptoMiner;
+import eco_logis.equipments.crypto_miner.mil.events.MineOnCryptoMiner;
+import eco_logis.equipments.crypto_miner.mil.events.SwitchOffCryptoMiner;
+import eco_logis.equipments.crypto_miner.mil.events.SwitchOnCryptoMiner;
+import eco_logis.equipments.dishwasher.mil.DishwasherElectricityModel;
+import eco_logis.equipments.dishwasher.mil.events.SetEcoProgram;
+import eco_logis.equipments.dishwasher.mil.events.SetFastProgram;
+import eco_logis.equipments.dishwasher.mil.events.SetFullProgram;
+import eco_logis.equipments.dishwasher.mil.events.SetRinseProgram;
+import eco_logis.equipments.dishwasher.mil.events.SwitchOffDishwasher;
+import eco_logis.equipments.electric_meter.mil.ElectricMeterElectricityModel;
+import eco_logis.equipments.electric_meter.mil.MeterSourceDescriptor;
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
+import eco_logis.equipments.oven.mil.OvenTemperatureModel;
+import eco_logis.equipments.oven.mil.events.DoNotHeatOven;
+import eco_logis.equipments.oven.mil.events.HeatOven;
+import eco_logis.equipments.power_bank.mil.PowerBankChargeModel;
+import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
+import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
+import eco_logis.equipments.power_bank.mil.events.StandbyPowerBank;
+import eco_logis.equipments.wind_turbine.mil.ExternalWindModel;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import fr.sorbonne_u.devs_simulation.architectures.Architecture;
+import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
+import fr.sorbonne_u.devs_simulation.hioa.architectures.AtomicHIOA_Descriptor;
+import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
+import fr.sorbonne_u.devs_simulation.models.architectures.AbstractAtomicModelDescriptor;
+import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Microbenchmark of the transitions of the MIL atomic models
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Each model is simulated alone, in an architecture of its own, and driven
+ * by the benchmark in place of the models it is coupled to: the external
+ * events it imports are injected in turn every {@code INPUT_PERIOD}, and the
+ * internal transitions it schedules are run in between, their output being
+ * computed and dropped. The electric meter reads sources owned by the
+ * benchmark, changed every {@code INPUT_PERIOD} too, with a
+ * {@code BalanceChanged} event. The tracing of
+ * the models is off and their events are pooled, as in a batch run of
+ * {@code RunHEMSim}, and every round is seeded with {@code SEED} so it
+ * simulates the same run.
+ * </p>
+ * <p>
+ * The score is the mean time of a transition, internal or external, over a
+ * whole simulated run; the time spent building and initialising the
+ * simulation is not measured. The results are printed and written with a
+ * {@code BenchmarkReport}.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class ModelTransitionBenchmark {
+
+    // ========== Macros ==========
+
+
+    /** Time between two inputs of the benchmark (s) */
+    private static final double INPUT_PERIOD = 600.0;
+
+    /** Simulated duration of a round of the event driven models (s): 1000 days */
+    private static final double EVENT_DRIVEN_DURATION = 1000.0 * 24.0 * 3600.0;
+
+    /** Number of rounds run before measuring */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /** Number of measured rounds */
+    private static final int MEASURED_ROUNDS = 10;
+
+    /** Number of meter sources, as in the house */
+    private static final int METER_SOURCES = 7;
+
+    /** The meter sources, bound to the meter instance of each round */
+    private static final MeterSourceDescriptor[] SOURCES = meterSources();
+
+    /** Seed of the meter source values and of the models */
+    private static final long SEED = 42L;
+
+
+    // ========== Internal classes ==========
+
+
+    /**
+     * A benchmarked model and the inputs driving it
+     */
+    private static class Scenario {
+
+        /** The benchmark name */
+        protected final String name;
+
+        /** The model class */
+        protected final Class<? extends AtomicHIOA> modelClass;
+
+        /** The model URI */
+        protected final String uri;
+
+        /** The simulated duration of a round (s) */
+        protected final double duration;
+
+        /** The imported events, injected in turn */
+        protected final Function<Time, EventI>[] cycle;
+
+        @SafeVarargs
+        protected Scenario(String name, Class<? extends AtomicHIOA> modelClass, String uri, double duration,
+                           Function<Time, EventI>... cycle) {
+            this.name = name;
+            this.modelClass = modelClass;
+            this.uri = uri;
+            this.duration = duration;
+            this.cycle = cycle;
+        }
+
+        /**
+         * Prepare the model of a new round, once the engine is built
+         *
+         * @param model The model
+         * @throws Exception TODO
+         */
+        protected void bind(AtomicHIOA model) throws Exception {}
+
+        /**
+         * Get the input of the benchmark at a time
+         *
+         * @param k The index of the input
+         * @param t The time of the input
+         * @return The events to inject, null if none
+         */
+        protected ArrayList<EventI> input(long k, Time t) {
+            ArrayList<EventI> res = new ArrayList<>(1);
+            res.add(cycle[(int) (k % cycle.length)].apply(t));
+            return res;
+        }
+
+    }
+
+    /**
+     * The electric meter models, reading sources owned by the benchmark
+     */
+    private static class MeterScenario
+        extends Scenario
+    {
+
+        /** The source values, bound at each round */
+        private final ArrayList<Value<Double>> sources = new ArrayList<>();
+
+        /** The value generator */
+        private final Random random = new Random(SEED);
+
+        private MeterScenario(String name, Class<? extends AtomicHIOA> modelClass, double duration) {
+            super(name, modelClass, ElectricMeterElectricityModel.URI, duration);
+        }
+
+        /** @see Scenario#bind(AtomicHIOA) */
+        @Override
+        protected void bind(AtomicHIOA model) throws Exception {
+            sources.clear();
+            random.setSeed(SEED);
+            for (MeterSourceDescriptor s : SOURCES) {
+                Value<Double> v = new Value<>(model, 0.0);
+                model.setImportedVariableValueReference(model.getURI(), s.sinkName(), Double.class, v);
+                sources.add(v);
+            }
+        }
+
+        /** @see Scenario#input(long, Time) */
+        @Override
+        protected ArrayList<EventI> input(long k, Time t) {
+            Value<Double> v = sources.get((int) (k % sources.size()));
+            v.v = Math.rint(random.nextDouble() * 2000.0);
+            v.time = t;
+
+            ArrayList<EventI> res = new ArrayList<>(1);
+            res.add(new BalanceChanged(t));
+            return res;
+        }
+
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the benchmarked models
+     *
+     * @return The scenarios, in order
+     */
+    @SuppressWarnings("unchecked")
+    private static Scenario[] scenarios() {
+        return new Scenario[] {
+                new Scenario("cryptoMiner", CryptoMinerElectricityModel.class, CryptoMinerElectricityModel.URI,
+                        EVENT_DRIVEN_DURATION,
+                        SwitchOnCryptoMiner::new, MineOnCryptoMiner::new, MineOffCryptoMiner::new, SwitchOffCryptoMiner::new),
+                new Scenario("dishwasher", DishwasherElectricityModel.class, DishwasherElectricityModel.URI,
+                        EVENT_DRIVEN_DURATION,
+                        SetEcoProgram::new, SwitchOffDishwasher::new, SetFastProgram::new, SwitchOffDishwasher::new,
+                        SetFullProgram::new, SwitchOffDishwasher::new, SetRinseProgram::new, SwitchOffDishwasher::new),
+                new Scenario("ovenTemperature", OvenTemperatureModel.class, OvenTemperatureModel.URI,
+                        EVENT_DRIVEN_DURATION,
+                        HeatOven::new, DoNotHeatOven::new),
+                new Scenario("powerBankCharge", PowerBankChargeModel.class, PowerBankChargeModel.URI,
+                        EVENT_DRIVEN_DURATION,
+                        DischargePowerBank::new, StandbyPowerBank::new, ChargePowerBank::new, DischargePowerBank::new,
+                        ChargePowerBank::new, StandbyPowerBank::new),
+                new Scenario("externalWind", ExternalWindModel.class, ExternalWindModel.URI,
+                        EVENT_DRIVEN_DURATION) {
+                    @Override
+                    protected ArrayList<EventI> input(long k, Time t) {
+                        // The wind has no input
+                        return null;
+                    }
+                },
+                new MeterScenario("electricMeter", ElectricMeterElectricityModel.class,
+                        EVENT_DRIVEN_DURATION)
+        };
+    }
+
+    /**
+     * Build the simulation engine of a model alone
+     *
+     * @param scenario The scenario of the model
+     * @return The engine, initialised at time 0 with the tracing off
+     * @throws Exception TODO
+     */
+    private static SimulationEngine build(Scenario scenario) throws Exception {
+        Map<String, AbstractAtomicModelDescriptor> atomic = new HashMap<>();
+        atomic.put(scenario.uri, AtomicHIOA_Descriptor.create(
+                scenario.modelClass, scenario.uri, TimeUnit.SECONDS, null, SimulationEngineCreationMode.ATOMIC_ENGINE));
+        SimulationEngine engine =
+                new Architecture(scenario.uri, atomic, new HashMap<String, CoupledModelDescriptor>(), TimeUnit.SECONDS)
+                        .constructSimulator();
+
+        Map<String, Object> simParams = new HashMap<>();
+        simParams.put(EventRecycler.POOLING_PARAMETER, Boolean.TRUE);
+        simParams.put(SimulationSeeds.SEED_PARAMETER, SEED);
+        engine.setSimulationRunParameters(simParams);
+
+        AtomicHIOA model = (AtomicHIOA) engine.getDescendentModel(scenario.uri);
+        scenario.bind(model);
+        engine.initialiseSimulation(new Time(0.0, TimeUnit.SECONDS), new Duration(scenario.duration, TimeUnit.SECONDS));
+        // The models switch their tracing on while they are initialised
+        model.setDebugLevel(0);
+        return engine;
+    }
+
+    /**
+     * Run a round of a scenario
+     *
+     * @param scenario The scenario
+     * @param engine The initialised engine of its model
+     * @return The number of transitions
+     * @throws Exception TODO
+     */
+    private static long run(Scenario scenario, SimulationEngine engine) throws Exception {
+        AtomicHIOA model = (AtomicHIOA) engine.getDescendentModel(scenario.uri);
+        double end = scenario.duration;
+        long transitions = 0L;
+        long k = 0L;
+        double nextInput = INPUT_PERIOD;
+
+        while (true) {
+            double next = engine.getTimeOfNextEvent().getSimulatedTime();
+            if (next <= nextInput) {
+                // The internal transitions come first, the inputs are sent by models running after
+                if (next > end) break;
+                model.output();
+                engine.internalEventStep();
+                transitions++;
+            } else {
+                if (nextInput > end) break;
+                Time t = new Time(nextInput, TimeUnit.SECONDS);
+                ArrayList<EventI> events = scenario.input(k++, t);
+                if (events != null) {
+                    engine.storeInput(scenario.uri, events);
+                    engine.externalEventStep(t.subtract(model.getCurrentStateTime()));
+                    transitions++;
+                }
+                nextInput += INPUT_PERIOD;
+            }
+        }
+        return transitions;
+    }
+
+    /**
+     * Create the meter sources, the first four consuming and the others producing
+     *
+     * @return The meter sources
+     */
+    private static MeterSourceDescriptor[] meterSources() {
+        MeterSourceDescriptor[] res = new MeterSourceDescriptor[METER_SOURCES];
+        for (int i = 0; i < METER_SOURCES; i++) {
+            String uri = "Source" + i;
+            res[i] = i < 4 ? MeterSourceDescriptor.consumption(uri) : MeterSourceDescriptor.production(uri);
+        }
+        return res;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkReport report = new BenchmarkReport(ModelTransitionBenchmark.class);
+        long checksum = 0L;
+
+        System.out.println("model\ttransitions/round\tmean (ns/transition)");
+        for (Scenario scenario : scenarios()) {
+            double[] rounds = new double[MEASURED_ROUNDS];
+            long transitions = 0L;
+            for (int r = 0; r < WARMUP_ROUNDS + MEASURED_ROUNDS; r++) {
+                SimulationEngine engine = build(scenario);
+                long start = System.nanoTime();
+                transitions = run(scenario, engine);
+                long elapsed = System.nanoTime() - start;
+                checksum += transitions;
+                if (r >= WARMUP_ROUNDS) {
+                    rounds[r - WARMUP_ROUNDS] = (double) elapsed / transitions;
+                }
+            }
+            System.out.printf("%s\t%d\t%.1f%n", scenario.name, transitions, BenchmarkReport.mean(rounds));
+
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("model", scenario.modelClass.getSimpleName());
+            params.put("simulatedSeconds", scenario.duration);
+            params.put("transitions", transitions);
+            report.add(scenario.name, BenchmarkReport.AVERAGE_TIME, params, "ns/op", rounds);
+        }
+        System.out.println("checksum " + checksum);
+        System.out.println("results written to " + report.write());
+    }
+
+}
@@ -1,19 +1,25 @@
 package eco_logis.equipments.crypto_miner;
 
-import eco_logis.CVM_SIL;
+import eco_logis.EquipmentStatePublisher;
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.crypto_miner.mil.CryptoMinerCoupledModel;
 import eco_logis.equipments.crypto_miner.mil.events.MineOffCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.MineOnCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.SwitchOffCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.SwitchOnCryptoMiner;
 import eco_logis.equipments.crypto_miner.sil.CryptoMinerStateModel;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentNotificationCI;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -23,6 +29,7 @@ import java.util.HashMap;
  * @author Hugo Guerrier
  */
 @OfferedInterfaces(offered = {CryptoMinerCI.class})
+@RequiredInterfaces(required = {EquipmentNotificationCI.class})
 public class CryptoMiner
     extends AbstractCyPhyComponent
     implements CryptoMinerImplementationI
@@ -53,6 +60,9 @@ public class CryptoMiner
     /** The inbound port */
     private CryptoMinerInboundPort cmip;
 
+    /** The publisher of the state changes to the subscribers */
+    protected EquipmentStatePublisher statePublisher;
+
     // --- For the SIL simulation
 
     /** The URI of the created simulation architecture */
@@ -70,9 +80,6 @@ public class CryptoMiner
     /** If the component executes a unit test */
     protected boolean executesAsUnitTest;
 
-    /** Acceleration factor for the simulation */
-    protected static final double ACC_FACT = 1.0;
-
 
     // ========== Constructors ==========
 
@@ -192,6 +199,9 @@ public class CryptoMiner
         cmip = new CryptoMinerInboundPort(cryptoMinerInboundPortURI, this);
         cmip.publishPort();
 
+        // Create the state publisher
+        statePublisher = new EquipmentStatePublisher(this);
+
         // Create the trace
         if(CryptoMiner.VERBOSE) {
             tracer.get().setTitle("Crypto miner component");
@@ -200,6 +210,16 @@ public class CryptoMiner
         }
     }
 
+    /**
+     * Get the current state of the crypto miner
+     *
+     * @return The current state
+     */
+    protected EquipmentState currentState() {
+        // Mining crypto-currency is never a priority, so the emergency is always 0
+        return EquipmentState.suspension(isOn, !isMining, 0.0);
+    }
+
 
     // ========== Component lifecycle ==========
 
@@ -220,7 +240,7 @@ public class CryptoMiner
             simulatorPlugin.setSimulationExecutorService(SCHEDULED_EXECUTOR_SERVICE_URI);
             try {
 
-                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, executesAsUnitTest ? ACC_FACT : CVM_SIL.ACC_FACTOR);
+                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, SILConfiguration.current().getAccelerationFactor());
                 installPlugin(simulatorPlugin);
 
             } catch (Exception e) {
@@ -234,13 +254,21 @@ public class CryptoMiner
     public synchronized void execute() throws Exception {
         if(executesAsUnitTest) {
             simulatorPlugin.setSimulationRunParameters(new HashMap<>());
-            long startTime = System.currentTimeMillis() + 1000L;
-            double endTime = 10.0 / ACC_FACT;
+            SILConfiguration configuration = SILConfiguration.current();
+            long startTime = System.currentTimeMillis() + configuration.getStartDelay();
+            double endTime = configuration.getSimulationDuration();
             simulatorPlugin.startRTSimulation(startTime, 0.0, endTime);
             this.traceMessage("real time of start = " + startTime + "\n");
         }
     }
 
+    /** @see AbstractCyPhyComponent#finalise() */
+    @Override
+    public synchronized void finalise() throws Exception {
+        statePublisher.finalise();
+        super.finalise();
+    }
+
     /** @see AbstractCyPhyComponent#shutdown() */
     @Override
     public synchronized void shutdown() throws ComponentShutdownException {
@@ -248,6 +276,7 @@ public class CryptoMiner
 
         try {
             cmip.unpublishPort();
+            statePublisher.shutdown();
         } catch (Exception e) {
             throw new ComponentShutdownException(e);
         }
@@ -281,6 +310,8 @@ public class CryptoMiner
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(CryptoMinerStateModel.URI, SwitchOnCryptoMiner::new);
+
+        statePublisher.publish(currentState());
     }
 
     /** @see CryptoMinerImplementationI#powerOff() */
@@ -297,6 +328,8 @@ public class CryptoMiner
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(CryptoMinerStateModel.URI, SwitchOffCryptoMiner::new);
+
+        statePublisher.publish(currentState());
     }
 
     /** @see CryptoMinerImplementationI#isMining() */
@@ -323,6 +356,8 @@ public class CryptoMiner
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(CryptoMinerStateModel.URI, MineOnCryptoMiner::new);
+
+        statePublisher.publish(currentState());
     }
 
     /** @see CryptoMinerImplementationI#stopMiner() */
@@ -339,6 +374,75 @@ public class CryptoMiner
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(CryptoMinerStateModel.URI, MineOffCryptoMiner::new);
+
+        statePublisher.publish(currentState());
+    }
+
+    /** @see CryptoMinerImplementationI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = currentState();
+        if(VERBOSE) {
+            logMessage("Crypto miner get state : " + res);
+        }
+
+        return res;
+    }
+
+    /** @see CryptoMinerImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        if(VERBOSE) {
+            logMessage("Crypto miner executes batch : " + Arrays.toString(commands));
+        }
+
+        return EquipmentCommand.executeAll(this::executeCommand, commands);
+    }
+
+    /**
+     * Execute a command of a batch of the HEM
+     *
+     * @param command The command to execute
+     * @return The command status
+     * @throws Exception TODO
+     */
+    protected byte executeCommand(EquipmentCommand command) throws Exception {
+        switch (command.getOperation()) {
+            case SWITCH_ON:
+                powerOn();
+                return EquipmentCommand.DONE;
+            case SWITCH_OFF:
+                powerOff();
+                return EquipmentCommand.DONE;
+            case SUSPEND:
+                stopMiner();
+                return EquipmentCommand.DONE;
+            case RESUME:
+                startMiner();
+                return EquipmentCommand.DONE;
+            default:
+                return EquipmentCommand.UNSUPPORTED;
+        }
+    }
+
+    /** @see CryptoMinerImplementationI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        if(VERBOSE) {
+            logMessage("Crypto miner subscribe : " + notificationInboundPortURI);
+        }
+
+        statePublisher.subscribe(notificationInboundPortURI, equipmentId, currentState());
+    }
+
+    /** @see CryptoMinerImplementationI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        if(VERBOSE) {
+            logMessage("Crypto miner unsubscribe : " + notificationInboundPortURI);
+        }
+
+        return statePublisher.unsubscribe(notificationInboundPortURI);
     }
 
 }
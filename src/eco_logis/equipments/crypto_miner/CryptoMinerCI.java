@@ -1,5 +1,7 @@
 package eco_logis.equipments.crypto_miner;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
 
@@ -37,4 +39,20 @@ public interface CryptoMinerCI
     @Override
     void stopMiner() throws Exception;
 
+    /** @see CryptoMinerImplementationI#describeState() */
+    @Override
+    EquipmentState describeState() throws Exception;
+
+    /** @see CryptoMinerImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
+    /** @see CryptoMinerImplementationI#subscribe(String, String) */
+    @Override
+    void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception;
+
+    /** @see CryptoMinerImplementationI#unsubscribe(String) */
+    @Override
+    boolean unsubscribe(String notificationInboundPortURI) throws Exception;
+
 }
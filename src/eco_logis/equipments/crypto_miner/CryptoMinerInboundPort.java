@@ -1,5 +1,7 @@
 package eco_logis.equipments.crypto_miner;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 
@@ -106,4 +108,39 @@ public class CryptoMinerInboundPort
         );
     }
 
+    /** @see CryptoMinerCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return getOwner().handleRequest(
+                o -> ((CryptoMiner) o).describeState()
+        );
+    }
+
+    /** @see CryptoMinerCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((CryptoMiner) o).executeBatch(commands)
+        );
+    }
+
+    /** @see CryptoMinerCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        getOwner().handleRequest(
+                o -> {
+                    ((CryptoMiner) o).subscribe(notificationInboundPortURI, equipmentId);
+                    return null;
+                }
+        );
+    }
+
+    /** @see CryptoMinerCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((CryptoMiner) o).unsubscribe(notificationInboundPortURI)
+        );
+    }
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.crypto_miner;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 
@@ -82,4 +84,28 @@ public class CryptoMinerOutboundPort
         ((CryptoMinerCI) getConnector()).stopMiner();
     }
 
+    /** @see CryptoMinerCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((CryptoMinerCI) getConnector()).describeState();
+    }
+
+    /** @see CryptoMinerCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((CryptoMinerCI) getConnector()).executeBatch(commands);
+    }
+
+    /** @see CryptoMinerCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((CryptoMinerCI) getConnector()).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see CryptoMinerCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((CryptoMinerCI) getConnector()).unsubscribe(notificationInboundPortURI);
+    }
+
 }
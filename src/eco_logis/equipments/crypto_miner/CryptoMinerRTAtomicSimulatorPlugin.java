@@ -1,5 +1,6 @@
 package eco_logis.equipments.crypto_miner;
 
+import eco_logis.MonitoredRTAtomicSimulatorPlugin;
 import eco_logis.equipments.crypto_miner.mil.CryptoMinerCoupledModel;
 import eco_logis.equipments.crypto_miner.mil.events.MineOffCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.MineOnCryptoMiner;
@@ -34,7 +35,7 @@ import java.util.concurrent.TimeUnit;
  * @author Hugo GUERRIER
  */
 public class CryptoMinerRTAtomicSimulatorPlugin
-    extends RTAtomicSimulatorPlugin
+    extends MonitoredRTAtomicSimulatorPlugin
 {
 
     // ========== Macros ==========
@@ -66,6 +67,8 @@ public class CryptoMinerRTAtomicSimulatorPlugin
      * @throws Exception TODO
      */
     public void	initialiseSimulationArchitecture(String simArchURI, double accFactor) throws Exception {
+        this.accelerationFactor = accFactor;
+
         // Create the model descriptors
         Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
         Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
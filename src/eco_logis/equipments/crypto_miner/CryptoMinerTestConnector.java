@@ -1,5 +1,7 @@
 package eco_logis.equipments.crypto_miner;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 
 /**
@@ -52,4 +54,28 @@ public class CryptoMinerTestConnector
         ((CryptoMinerCI) offering).stopMiner();
     }
 
+    /** @see CryptoMinerCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((CryptoMinerCI) offering).describeState();
+    }
+
+    /** @see CryptoMinerCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((CryptoMinerCI) offering).executeBatch(commands);
+    }
+
+    /** @see CryptoMinerCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((CryptoMinerCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see CryptoMinerCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((CryptoMinerCI) offering).unsubscribe(notificationInboundPortURI);
+    }
+
 }
@@ -2,6 +2,9 @@ package eco_logis.equipments.crypto_miner.mil;
 
 
 import eco_logis.equipments.crypto_miner.mil.events.*;
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
@@ -14,6 +17,7 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,6 +31,9 @@ import java.util.concurrent.TimeUnit;
         SwitchOffCryptoMiner.class,
         MineOnCryptoMiner.class,
         MineOffCryptoMiner.class
+},
+exported = {
+        BalanceChanged.class
 })
 public class CryptoMinerElectricityModel
     extends AtomicHIOA
@@ -61,6 +68,9 @@ public class CryptoMinerElectricityModel
     @ExportedVariable(type = Double.class)
     protected final Value<Double> currentConsumption = new Value<>(this, 0.0);
 
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -77,7 +87,7 @@ public class CryptoMinerElectricityModel
      */
     public CryptoMinerElectricityModel(String uri, TimeUnit timeUnit, SimulatorI engine) throws Exception {
         super(uri, timeUnit, engine);
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -146,6 +156,13 @@ public class CryptoMinerElectricityModel
     // ========== Override methods ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicHIOA#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
@@ -170,8 +187,10 @@ public class CryptoMinerElectricityModel
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
-        // The model does not export events
-        return null;
+        // The internal transitions only follow a change of the consumption or the production
+        ArrayList<EventI> res = this.recycler.newOutput();
+        res.add(this.recycler.obtain(BalanceChanged.class, BalanceChanged::new, this.getTimeOfNextEvent()));
+        return this.recycler.emit(res);
     }
 
     /** @see AtomicHIOA#timeAdvance() */
@@ -204,7 +223,9 @@ public class CryptoMinerElectricityModel
         currentConsumption.time = getCurrentStateTime();
 
         // Tracing
-        logMessage("Current consumption " + currentConsumption.v + " at " + currentConsumption.time + "\n");
+        if (isDebugModeOn()) {
+            logMessage("Current consumption " + currentConsumption.v + " at " + currentConsumption.time + "\n");
+        }
     }
 
     /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
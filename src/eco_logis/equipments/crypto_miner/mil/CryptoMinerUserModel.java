@@ -4,6 +4,9 @@ import eco_logis.equipments.crypto_miner.mil.events.MineOffCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.MineOnCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.SwitchOffCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.SwitchOnCryptoMiner;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.es.events.ES_EventI;
 import fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -15,6 +18,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 import org.apache.commons.math3.random.RandomDataGenerator;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -45,6 +49,12 @@ public class CryptoMinerUserModel
     /** The random data generator from the common math lib */
     protected RandomDataGenerator generator;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
+    /** The recycler of the emitted events */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -62,7 +72,7 @@ public class CryptoMinerUserModel
     public CryptoMinerUserModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
         generator = new RandomDataGenerator();
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -76,25 +86,35 @@ public class CryptoMinerUserModel
         // Get the current event and the time of the next
         EventI current = eventList.peek();
         assert current != null;
-        Time nextTime = computeTimeOfNextEvent(current.getTimeOfOccurrence());
+        Time from = current.getTimeOfOccurrence();
+        double delay = computeDelay();
 
         // Create the next event
         ES_EventI next = null;
         if(current instanceof SwitchOnCryptoMiner) {
-            next = new MineOnCryptoMiner(nextTime);
+            next = recycler.obtain(MineOnCryptoMiner.class, MineOnCryptoMiner::new, from, delay);
         }
         else if(current instanceof SwitchOffCryptoMiner) {
-            next = new SwitchOnCryptoMiner(nextTime);
+            next = recycler.obtain(SwitchOnCryptoMiner.class, SwitchOnCryptoMiner::new, from, delay);
         }
         else if(current instanceof MineOnCryptoMiner) {
-            next = new MineOffCryptoMiner(nextTime);
+            next = recycler.obtain(MineOffCryptoMiner.class, MineOffCryptoMiner::new, from, delay);
         }
         else if(current instanceof MineOffCryptoMiner) {
-            next = new SwitchOffCryptoMiner(nextTime);
+            next = recycler.obtain(SwitchOffCryptoMiner.class, SwitchOffCryptoMiner::new, from, delay);
         }
         scheduleEvent(next);
     }
 
+    /**
+     * Compute the delay before the next event by a random gaussian generation
+     *
+     * @return The delay, in the simulated time unit
+     */
+    protected double computeDelay() {
+        return Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
+    }
+
     /**
      * Compute the time of the next event by a random gaussian generation
      *
@@ -102,20 +122,27 @@ public class CryptoMinerUserModel
      * @return The time of the next event
      */
     protected Time computeTimeOfNextEvent(Time from) {
-        double delay = Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
-        return from.add(new Duration(delay, this.getSimulatedTimeUnit()));
+        return from.add(new Duration(computeDelay(), this.getSimulatedTimeUnit()));
     }
 
 
     // ========== Override methods ==========
 
 
+    /** @see AtomicES_Model#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        seeds = SimulationSeeds.from(simParams);
+        recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicES_Model#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
         super.initialiseState(initialTime);
 
-        generator.reSeedSecure();
+        SimulationSeeds.orDefault(seeds).reSeed(generator, uri);
 
         // Create the first event
         Time nextTime = computeTimeOfNextEvent(getCurrentStateTime());
@@ -133,9 +160,10 @@ public class CryptoMinerUserModel
     /** @see AtomicES_Model#output() */
     @Override
     public ArrayList<EventI> output() {
+        // The events of the previous output have been executed, they can be reused
+        recycler.recycleEmitted();
         if(eventList.peek() != null) generateNextEvent();
-
-        return super.output();
+        return recycler.emit(super.output());
     }
 
     /** @see AtomicES_Model#endSimulation(Time) */
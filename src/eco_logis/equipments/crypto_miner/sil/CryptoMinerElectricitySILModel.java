@@ -2,6 +2,7 @@ package eco_logis.equipments.crypto_miner.sil;
 
 import eco_logis.equipments.crypto_miner.CryptoMinerRTAtomicSimulatorPlugin;
 import eco_logis.equipments.crypto_miner.mil.CryptoMinerElectricityModel;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
@@ -49,7 +50,7 @@ public class CryptoMinerElectricitySILModel
         owner = (AbstractComponent) simParams.get(CryptoMinerRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger to the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
     }
 
 }
@@ -3,6 +3,7 @@ package eco_logis.equipments.crypto_miner.sil;
 import eco_logis.equipments.crypto_miner.CryptoMiner;
 import eco_logis.equipments.crypto_miner.CryptoMinerRTAtomicSimulatorPlugin;
 import eco_logis.equipments.crypto_miner.mil.events.*;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -86,7 +87,7 @@ public class CryptoMinerStateModel
         owner = (CryptoMiner) simParams.get(CryptoMinerRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger in the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
     }
 
     /** @see AtomicModel#initialiseState(Time) */
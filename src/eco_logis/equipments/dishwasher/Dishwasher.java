@@ -1,12 +1,17 @@
 package eco_logis.equipments.dishwasher;
 
-import eco_logis.CVM_SIL;
+import eco_logis.EquipmentStatePublisher;
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.crypto_miner.CryptoMinerCI;
 import eco_logis.equipments.dishwasher.mil.DishwasherCoupledModel;
 import eco_logis.equipments.dishwasher.mil.events.*;
 import eco_logis.equipments.dishwasher.sil.DishwasherStateModel;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentNotificationCI;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
@@ -14,6 +19,7 @@ import fr.sorbonne_u.exceptions.PreconditionException;
 
 import java.time.Duration;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +31,7 @@ import java.util.Map;
  * @author Hugo Guerrier
  */
 @OfferedInterfaces(offered = {DishwasherCI.class})
+@RequiredInterfaces(required = {EquipmentNotificationCI.class})
 public class Dishwasher
     extends AbstractCyPhyComponent
     implements DishwasherImplementationI
@@ -67,6 +74,9 @@ public class Dishwasher
     /** The dishwasher inbound port */
     private DishwasherInboundPort dwip;
 
+    /** The publisher of the state changes to the subscribers */
+    protected EquipmentStatePublisher statePublisher;
+
     // --- For the SIL simulation
 
     /** The URI of the created simulation architecture */
@@ -84,9 +94,6 @@ public class Dishwasher
     /** If the component executes a unit test */
     protected boolean executesAsUnitTest;
 
-    /** Acceleration factor for the simulation */
-    protected static final double ACC_FACT = 1.0;
-
 
     // ========== Constructors ==========
 
@@ -205,6 +212,9 @@ public class Dishwasher
         dwip = new DishwasherInboundPort(dishwasherInboundPortURI, this);
         dwip.publishPort();
 
+        // Create the state publisher
+        statePublisher = new EquipmentStatePublisher(this);
+
         // Create the trace
         if(VERBOSE) {
             tracer.get().setTitle("Dishwasher component");
@@ -220,6 +230,18 @@ public class Dishwasher
         dishwasherProgramDuration.put(DishwasherProgram.RINSE, Duration.ofMinutes(15));
     }
 
+    /**
+     * Get the current state of the dishwasher
+     *
+     * @return The current state
+     */
+    protected EquipmentState currentState() {
+        // A plan is described once it has a start time, before that it cannot be postponed
+        return isPlanned && startingTime != null ?
+                EquipmentState.planning(isWashing, startingTime, dishwasherProgramDuration.get(program), deadline) :
+                EquipmentState.planning(isWashing, null, null, null);
+    }
+
 
     // ========== Component lifecycle ==========
 
@@ -240,7 +262,7 @@ public class Dishwasher
             simulatorPlugin.setSimulationExecutorService(SCHEDULED_EXECUTOR_SERVICE_URI);
             try {
 
-                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, executesAsUnitTest ? ACC_FACT : CVM_SIL.ACC_FACTOR);
+                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, SILConfiguration.current().getAccelerationFactor());
                 installPlugin(simulatorPlugin);
 
             } catch (Exception e) {
@@ -254,13 +276,21 @@ public class Dishwasher
     public synchronized void execute() throws Exception {
         if(executesAsUnitTest) {
             simulatorPlugin.setSimulationRunParameters(new HashMap<>());
-            long startTime = System.currentTimeMillis() + 1000L;
-            double endTime = 10.0 / ACC_FACT;
+            SILConfiguration configuration = SILConfiguration.current();
+            long startTime = System.currentTimeMillis() + configuration.getStartDelay();
+            double endTime = configuration.getSimulationDuration();
             simulatorPlugin.startRTSimulation(startTime, 0.0, endTime);
             this.traceMessage("real time of start = " + startTime + "\n");
         }
     }
 
+    /** @see AbstractCyPhyComponent#finalise() */
+    @Override
+    public synchronized void finalise() throws Exception {
+        statePublisher.finalise();
+        super.finalise();
+    }
+
     /** @see AbstractCyPhyComponent#shutdown() */
     @Override
     public synchronized void shutdown() throws ComponentShutdownException {
@@ -268,6 +298,7 @@ public class Dishwasher
 
         try {
             dwip.unpublishPort();
+            statePublisher.shutdown();
         } catch (Exception e) {
             throw new ComponentShutdownException(e);
         }
@@ -360,6 +391,8 @@ public class Dishwasher
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(DishwasherStateModel.URI, SetFullProgram::new);
 
+        statePublisher.publish(currentState());
+
         return true;
     }
 
@@ -399,6 +432,8 @@ public class Dishwasher
             }
         }
 
+        statePublisher.publish(currentState());
+
         return true;
     }
 
@@ -426,6 +461,8 @@ public class Dishwasher
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(DishwasherStateModel.URI, SwitchOffDishwasher::new);
 
+        statePublisher.publish(currentState());
+
         return true;
     }
 
@@ -446,6 +483,8 @@ public class Dishwasher
 
         startingTime = newStartingTime;
 
+        statePublisher.publish(currentState());
+
         return true;
     }
 
@@ -472,6 +511,8 @@ public class Dishwasher
 
         isWashing = true;
 
+        statePublisher.publish(currentState());
+
         return true;
     }
 
@@ -491,7 +532,72 @@ public class Dishwasher
         program = null;
         deadline = null;
 
+        statePublisher.publish(currentState());
+
         return true;
     }
 
+    /** @see DishwasherImplementationI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = currentState();
+        if(VERBOSE) {
+            logMessage("Dishwasher get state: " + res);
+        }
+
+        return res;
+    }
+
+    /** @see DishwasherImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        if(VERBOSE) {
+            logMessage("Dishwasher executes batch : " + Arrays.toString(commands));
+        }
+
+        return EquipmentCommand.executeAll(this::executeCommand, commands);
+    }
+
+    /**
+     * Execute a command of a batch of the HEM
+     *
+     * @param command The command to execute
+     * @return The command status
+     * @throws Exception TODO
+     */
+    protected byte executeCommand(EquipmentCommand command) throws Exception {
+        switch (command.getOperation()) {
+            case SWITCH_ON:
+                return EquipmentCommand.statusOf(startWashing());
+            case SWITCH_OFF:
+                return EquipmentCommand.statusOf(stopWashing());
+            case POSTPONE:
+                return EquipmentCommand.statusOf(postPone(command.getArgument()));
+            case CANCEL:
+                return EquipmentCommand.statusOf(cancel());
+            default:
+                return EquipmentCommand.UNSUPPORTED;
+        }
+    }
+
+    /** @see DishwasherImplementationI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        if(VERBOSE) {
+            logMessage("Dishwasher subscribe: " + notificationInboundPortURI);
+        }
+
+        statePublisher.subscribe(notificationInboundPortURI, equipmentId, currentState());
+    }
+
+    /** @see DishwasherImplementationI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        if(VERBOSE) {
+            logMessage("Dishwasher unsubscribe: " + notificationInboundPortURI);
+        }
+
+        return statePublisher.unsubscribe(notificationInboundPortURI);
+    }
+
 }
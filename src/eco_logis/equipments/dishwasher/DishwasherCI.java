@@ -1,5 +1,7 @@
 package eco_logis.equipments.dishwasher;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
 
@@ -64,4 +66,20 @@ public interface DishwasherCI
     @Override
     boolean stopWashing() throws Exception;
 
+    /** @see DishwasherImplementationI#describeState() */
+    @Override
+    EquipmentState describeState() throws Exception;
+
+    /** @see DishwasherImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
+    /** @see DishwasherImplementationI#subscribe(String, String) */
+    @Override
+    void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception;
+
+    /** @see DishwasherImplementationI#unsubscribe(String) */
+    @Override
+    boolean unsubscribe(String notificationInboundPortURI) throws Exception;
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.dishwasher;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 
@@ -145,4 +147,39 @@ public class DishwasherInboundPort
         );
     }
 
+    /** @see DishwasherCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Dishwasher) o).describeState()
+        );
+    }
+
+    /** @see DishwasherCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Dishwasher) o).executeBatch(commands)
+        );
+    }
+
+    /** @see DishwasherCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        getOwner().handleRequest(
+                o -> {
+                    ((Dishwasher) o).subscribe(notificationInboundPortURI, equipmentId);
+                    return null;
+                }
+        );
+    }
+
+    /** @see DishwasherCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Dishwasher) o).unsubscribe(notificationInboundPortURI)
+        );
+    }
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.dishwasher;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 
@@ -121,4 +123,28 @@ public class DishwasherOutboundPort
         return ((DishwasherCI) getConnector()).stopWashing();
     }
 
+    /** @see DishwasherCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((DishwasherCI) getConnector()).describeState();
+    }
+
+    /** @see DishwasherCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((DishwasherCI) getConnector()).executeBatch(commands);
+    }
+
+    /** @see DishwasherCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((DishwasherCI) getConnector()).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see DishwasherCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((DishwasherCI) getConnector()).unsubscribe(notificationInboundPortURI);
+    }
+
 }
@@ -1,5 +1,6 @@
 package eco_logis.equipments.dishwasher;
 
+import eco_logis.MonitoredRTAtomicSimulatorPlugin;
 import eco_logis.equipments.dishwasher.mil.DishwasherCoupledModel;
 import eco_logis.equipments.dishwasher.mil.events.*;
 import eco_logis.equipments.dishwasher.sil.DishwasherElectricitySILModel;
@@ -31,7 +32,7 @@ import java.util.concurrent.TimeUnit;
  * @author Hugo GUERRIER
  */
 public class DishwasherRTAtomicSimulatorPlugin
-        extends RTAtomicSimulatorPlugin
+        extends MonitoredRTAtomicSimulatorPlugin
 {
 
     // ========== Macros ==========
@@ -63,6 +64,8 @@ public class DishwasherRTAtomicSimulatorPlugin
      * @throws Exception TODO
      */
     public void	initialiseSimulationArchitecture(String simArchURI, double accFactor) throws Exception {
+        this.accelerationFactor = accFactor;
+
         // Create the model descriptors
         Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
         Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
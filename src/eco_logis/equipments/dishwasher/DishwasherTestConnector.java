@@ -1,5 +1,7 @@
 package eco_logis.equipments.dishwasher;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 
 import java.time.Duration;
@@ -84,4 +86,29 @@ public class DishwasherTestConnector
     public boolean stopWashing() throws Exception {
         return ((DishwasherCI) offering).stopWashing();
     }
+
+    /** @see DishwasherCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((DishwasherCI) offering).describeState();
+    }
+
+    /** @see DishwasherCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((DishwasherCI) offering).executeBatch(commands);
+    }
+
+    /** @see DishwasherCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((DishwasherCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see DishwasherCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((DishwasherCI) offering).unsubscribe(notificationInboundPortURI);
+    }
+
 }
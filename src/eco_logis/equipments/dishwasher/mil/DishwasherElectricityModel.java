@@ -2,6 +2,9 @@ package eco_logis.equipments.dishwasher.mil;
 
 import eco_logis.equipments.crypto_miner.mil.events.*;
 import eco_logis.equipments.dishwasher.mil.events.*;
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
@@ -14,6 +17,7 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,6 +32,9 @@ import java.util.concurrent.TimeUnit;
         SetFullProgram.class,
         SetRinseProgram.class,
         SwitchOffDishwasher.class
+},
+exported = {
+        BalanceChanged.class
 })
 public class DishwasherElectricityModel
     extends AtomicHIOA
@@ -92,6 +99,9 @@ public class DishwasherElectricityModel
     @ExportedVariable(type = Double.class)
     protected final Value<Double> currentConsumption = new Value<>(this, 0.0);
 
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Attributes ==========
 
@@ -109,7 +119,7 @@ public class DishwasherElectricityModel
      */
     public DishwasherElectricityModel(String uri, TimeUnit timeUnit, SimulatorI engine) throws Exception {
         super(uri, timeUnit, engine);
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -140,6 +150,13 @@ public class DishwasherElectricityModel
     // ========== Override methods ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicHIOA#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
@@ -163,8 +180,10 @@ public class DishwasherElectricityModel
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
-        // The model does not export events
-        return null;
+        // The internal transitions only follow a change of the consumption or the production
+        ArrayList<EventI> res = this.recycler.newOutput();
+        res.add(this.recycler.obtain(BalanceChanged.class, BalanceChanged::new, this.getTimeOfNextEvent()));
+        return this.recycler.emit(res);
     }
 
     /** @see AtomicHIOA#timeAdvance() */
@@ -213,10 +232,12 @@ public class DishwasherElectricityModel
         currentConsumption.time = getCurrentStateTime();
 
         // Tracing
-        StringBuilder builder = new StringBuilder("Execute internal transition | ");
-        builder.append("Current consumption ").append(currentConsumption.v).append(" at ").append(currentConsumption.time);
-        builder.append('\n');
-        logMessage(builder.toString());
+        if (isDebugModeOn()) {
+            StringBuilder builder = new StringBuilder("Execute internal transition | ");
+            builder.append("Current consumption ").append(currentConsumption.v).append(" at ").append(currentConsumption.time);
+            builder.append('\n');
+            logMessage(builder.toString());
+        }
     }
 
     /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
@@ -1,6 +1,9 @@
 package eco_logis.equipments.dishwasher.mil;
 
 import eco_logis.equipments.dishwasher.mil.events.*;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.es.events.ES_EventI;
 import fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -12,6 +15,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 import org.apache.commons.math3.random.RandomDataGenerator;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,6 +47,12 @@ public class DishwasherUserModel
     /** The random data generator from the common math lib */
     protected RandomDataGenerator generator;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
+    /** The recycler of the emitted events */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -60,7 +70,7 @@ public class DishwasherUserModel
     public DishwasherUserModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
         generator = new RandomDataGenerator();
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -74,7 +84,8 @@ public class DishwasherUserModel
         // Get the current event and the time of the next
         EventI current = eventList.peek();
         assert current != null;
-        Time nextTime = computeTimeOfNextEvent(current.getTimeOfOccurrence());
+        Time from = current.getTimeOfOccurrence();
+        double delay = computeDelay();
 
         // Create the next event
         ES_EventI next = null;
@@ -82,25 +93,34 @@ public class DishwasherUserModel
             int nextProg = generator.nextInt(1,4);
             switch (nextProg) {
                 case 1:
-                    next = new SetEcoProgram(nextTime);
+                    next = recycler.obtain(SetEcoProgram.class, SetEcoProgram::new, from, delay);
                     break;
                 case 2:
-                    next = new SetFastProgram(nextTime);
+                    next = recycler.obtain(SetFastProgram.class, SetFastProgram::new, from, delay);
                     break;
                 case 3:
-                    next = new SetFullProgram(nextTime);
+                    next = recycler.obtain(SetFullProgram.class, SetFullProgram::new, from, delay);
                     break;
                 case 4:
-                    next = new SetRinseProgram(nextTime);
+                    next = recycler.obtain(SetRinseProgram.class, SetRinseProgram::new, from, delay);
                     break;
             }
         }
         else {
-            next = new SwitchOffDishwasher(nextTime);
+            next = recycler.obtain(SwitchOffDishwasher.class, SwitchOffDishwasher::new, from, delay);
         }
         scheduleEvent(next);
     }
 
+    /**
+     * Compute the delay before the next event by a random gaussian generation
+     *
+     * @return The delay, in the simulated time unit
+     */
+    protected double computeDelay() {
+        return Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
+    }
+
     /**
      * Compute the time of the next event by a random gaussian generation
      *
@@ -108,20 +128,27 @@ public class DishwasherUserModel
      * @return The time of the next event
      */
     protected Time computeTimeOfNextEvent(Time from) {
-        double delay = Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
-        return from.add(new Duration(delay, this.getSimulatedTimeUnit()));
+        return from.add(new Duration(computeDelay(), this.getSimulatedTimeUnit()));
     }
 
 
     // ========== Override methods ==========
 
 
+    /** @see AtomicES_Model#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        seeds = SimulationSeeds.from(simParams);
+        recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicES_Model#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
         super.initialiseState(initialTime);
 
-        generator.reSeedSecure();
+        SimulationSeeds.orDefault(seeds).reSeed(generator, uri);
 
         // Create the first event
         Time nextTime = computeTimeOfNextEvent(getCurrentStateTime());
@@ -139,9 +166,10 @@ public class DishwasherUserModel
     /** @see AtomicES_Model#output() */
     @Override
     public ArrayList<EventI> output() {
+        // The events of the previous output have been executed, they can be reused
+        recycler.recycleEmitted();
         if(eventList.peek() != null) generateNextEvent();
-
-        return super.output();
+        return recycler.emit(super.output());
     }
 
     /** @see AtomicES_Model#endSimulation(Time) */
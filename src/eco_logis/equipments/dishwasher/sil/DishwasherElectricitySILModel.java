@@ -2,6 +2,7 @@ package eco_logis.equipments.dishwasher.sil;
 
 import eco_logis.equipments.dishwasher.DishwasherRTAtomicSimulatorPlugin;
 import eco_logis.equipments.dishwasher.mil.DishwasherElectricityModel;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
@@ -48,7 +49,7 @@ public class DishwasherElectricitySILModel
         owner = (AbstractComponent) simParams.get(DishwasherRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger to the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
     }
 
 
@@ -3,6 +3,7 @@ package eco_logis.equipments.dishwasher.sil;
 import eco_logis.equipments.dishwasher.Dishwasher;
 import eco_logis.equipments.dishwasher.DishwasherRTAtomicSimulatorPlugin;
 import eco_logis.equipments.dishwasher.mil.events.*;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -88,7 +89,7 @@ public class DishwasherStateModel
                 owner = (Dishwasher) simParams.get(DishwasherRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
                 // Set the logger in the component logger
-                setLogger(new StandardComponentLogger(owner));
+                setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
         }
 
 
@@ -3,6 +3,8 @@ package eco_logis.equipments.dishwasher.sil;
 import eco_logis.equipments.dishwasher.Dishwasher;
 import eco_logis.equipments.dishwasher.DishwasherImplementationI;
 import eco_logis.equipments.dishwasher.DishwasherRTAtomicSimulatorPlugin;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
@@ -44,6 +46,9 @@ public class DishwasherUserSILModel
     /** The random number generator */
     protected RandomDataGenerator rg;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
     /** The current scenario step */
     protected int currentStep;
 
@@ -88,11 +93,12 @@ public class DishwasherUserSILModel
     public void	setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
         // Call the super
         super.setSimulationRunParameters(simParams);
+        seeds = SimulationSeeds.from(simParams);
 
         // Get the owner
         assert simParams.containsKey(DishwasherRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
         owner = (Dishwasher) simParams.get(DishwasherRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
 
         // Get the step mean duration
         if(simParams.containsKey(STEP_MEAN_DURATION_RUNPNAME)) {
@@ -104,7 +110,7 @@ public class DishwasherUserSILModel
     @Override
     public void	initialiseState(Time initialTime) {
         // Initialise the state
-        rg.reSeedSecure();
+        SimulationSeeds.orDefault(seeds).reSeed(rg, uri);
         generateNextEvent();
         currentStep = 1;
 
@@ -1,5 +1,6 @@
 package eco_logis.equipments.electric_meter;
 
+import eco_logis.SILConfiguration;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cvm.AbstractCVM;
 
@@ -37,7 +38,8 @@ public class CVMUnitTest
     public static void	main(String[] args) {
         try {
             CVMUnitTest cvm = new CVMUnitTest();
-            cvm.startStandardLifeCycle(45000L);
+            // The life cycle lasts at least as long as the simulation of the test
+            cvm.startStandardLifeCycle(Math.max(45000L, SILConfiguration.current().lifeCycleDuration(ElectricMeter.UNIT_TEST_DURATION)));
             Thread.sleep(5000L);
             System.exit(0);
         } catch (Exception e) {
@@ -1,6 +1,6 @@
 package eco_logis.equipments.electric_meter;
 
-import eco_logis.CVM_SIL;
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.crypto_miner.mil.events.MineOffCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.MineOnCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.SwitchOffCryptoMiner;
@@ -19,6 +19,7 @@ import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
@@ -35,6 +36,7 @@ import java.util.concurrent.TimeUnit;
  * @author Hugo GUERRIER
  */
 @OfferedInterfaces(offered={ElectricMeterCI.class})
+@RequiredInterfaces(required={ElectricMeterNotificationCI.class})
 public class ElectricMeter
     extends AbstractCyPhyComponent
     implements ElectricMeterImplementationI
@@ -52,12 +54,21 @@ public class ElectricMeter
     /** when true, methods trace their actions */
     public static final boolean VERBOSE = true;
 
-    /** Acceleration factor used when executing as a unit test */
-    protected static final double ACC_FACTOR = 1.0;
+    /** Simulated horizon of the unit test scenario (s) */
+    protected static final double UNIT_TEST_DURATION = 45.0;
 
     /** URI of the executor service used to execute the real time simulation */
     protected static final String SCHEDULED_EXECUTOR_SERVICE_URI = "ses";
 
+    /** Number of raw balance changes kept in the history */
+    protected static final int RAW_HISTORY_RETENTION = 8192;
+
+    /** Number of minutes kept in the history (one day) */
+    protected static final int MINUTE_HISTORY_RETENTION = 24 * 60;
+
+    /** Number of quarters of an hour kept in the history (one month) */
+    protected static final int QUARTER_HOUR_HISTORY_RETENTION = 31 * 24 * 4;
+
 
     // ========== Attributes ==========
 
@@ -78,6 +89,24 @@ public class ElectricMeter
      *  if the component does not execute as a SIL simulation */
     protected String simArchitectureURI;
 
+    /** Outbound port pushing balance notifications to the subscriber, null if none */
+    protected ElectricMeterNotificationOutboundPort notificationOP;
+
+    /** Minimal variation in watts of the consumption or the production triggering a notification */
+    protected double notificationDelta;
+
+    /** Consumption sent with the last notification, NaN if none was sent */
+    protected double lastNotifiedConsumption = Double.NaN;
+
+    /** Production sent with the last notification, NaN if none was sent */
+    protected double lastNotifiedProduction = Double.NaN;
+
+    /** History of the balance, with a bounded memory */
+    protected MeterHistory history;
+
+    /** Latest balance published by the simulation, read without a request to the component */
+    protected final MeterSnapshot balanceSnapshot = new MeterSnapshot();
+
 
     // ========== Constructors ==========
 
@@ -196,6 +225,20 @@ public class ElectricMeter
     }
 
 
+    // ========== Getters ==========
+
+
+    /**
+     * Get the latest balance published by the simulation; it is thread safe
+     * and never blocks, so it can be read outside of the component threads
+     *
+     * @return The balance snapshot
+     */
+    public MeterSnapshot getBalanceSnapshot() {
+        return balanceSnapshot;
+    }
+
+
     // ========== Class methods ==========
 
 
@@ -227,6 +270,8 @@ public class ElectricMeter
         this.simArchitectureURI = simArchitectureURI;
         this.executesAsUnitTest = executesAsUnitTest;
         this.isSILsimulated = !simArchitectureURI.isEmpty();
+        this.history = new MeterHistory(
+                RAW_HISTORY_RETENTION, MINUTE_HISTORY_RETENTION, QUARTER_HOUR_HISTORY_RETENTION);
 
         // Create the inbound port
         this.emip = new ElectricMeterInboundPort(electricMeterInboundPortURI, this);
@@ -240,6 +285,46 @@ public class ElectricMeter
         }
     }
 
+    /**
+     * Take into account new consumption and production values computed by the
+     * simulation: record them in the history and push them to the subscriber
+     * if they moved enough since the last notification or if the balance
+     * changed sign
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code time >= 0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param time			the simulated time of the change in milliseconds.
+     * @param consumption	the new total consumption in watts.
+     * @param production	the new total production in watts.
+     * @throws Exception	<i>to do</i>.
+     */
+    public void balanceUpdated(long time, double consumption, double production) throws Exception {
+        this.history.record(time, consumption, production);
+        if (this.notificationOP == null) return;
+
+        boolean firstNotification = Double.isNaN(this.lastNotifiedConsumption);
+        boolean deltaReached =
+                Math.abs(consumption - this.lastNotifiedConsumption) >= this.notificationDelta
+                || Math.abs(production - this.lastNotifiedProduction) >= this.notificationDelta;
+        boolean thresholdCrossed =
+                (this.lastNotifiedProduction >= this.lastNotifiedConsumption)
+                != (production >= consumption);
+
+        if (firstNotification || deltaReached || thresholdCrossed) {
+            this.lastNotifiedConsumption = consumption;
+            this.lastNotifiedProduction = production;
+            if (VERBOSE) {
+                this.traceMessage("Electric meter notifies consumption " + consumption
+                        + " and production " + production + ".\n");
+            }
+            this.notificationOP.notifyBalance(consumption, production);
+        }
+    }
+
 
     // ========== Override methods ==========
 
@@ -260,9 +345,7 @@ public class ElectricMeter
 
                 simulatorPlugin.initialiseSimulationArchitecture(
                         simArchitectureURI,
-                        executesAsUnitTest ?
-                                ACC_FACTOR
-                                :	CVM_SIL.ACC_FACTOR);
+                        SILConfiguration.current().getAccelerationFactor());
                 installPlugin(simulatorPlugin);
 
             } catch (Exception e) {
@@ -277,8 +360,10 @@ public class ElectricMeter
     public synchronized void execute() throws Exception {
         if (executesAsUnitTest) {
             simulatorPlugin.setSimulationRunParameters(new HashMap<>());
-            long simStart = System.currentTimeMillis() + 1000L;
-            double endTime = 45.0 / ACC_FACTOR;
+            SILConfiguration configuration = SILConfiguration.current();
+            final double accFactor = configuration.getAccelerationFactor();
+            long simStart = System.currentTimeMillis() + configuration.getStartDelay();
+            double endTime = UNIT_TEST_DURATION;
             simulatorPlugin.startRTSimulation(simStart, 0.0, endTime);
             traceMessage("real time of start = " + simStart + "\n");
 
@@ -301,8 +386,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(1.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(1.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -320,8 +405,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(2.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(2.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -339,8 +424,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(6.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(6.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -358,8 +443,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(7.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(7.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             // --- Add the generator events
@@ -383,8 +468,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(11.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(11.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -406,8 +491,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(18.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(18.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             // --- Add the power bank events
@@ -431,8 +516,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(20.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(20.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -454,8 +539,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(25.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(25.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -477,8 +562,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(26.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(26.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -500,8 +585,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(30.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(30.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             // --- Add the dishwasher events
@@ -521,8 +606,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(31.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(31.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -540,8 +625,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(33.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(33.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -559,8 +644,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(36.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(36.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -578,8 +663,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(38.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(38.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
             scheduleTask(
@@ -597,8 +682,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(40.0/ACC_FACTOR),
-                    TimeUnit.SECONDS
+                    (long)(40.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS
             );
 
 
@@ -621,8 +706,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(2.0/ACC_FACTOR),
-                    TimeUnit.SECONDS);
+                    (long)(2.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS);
 
             this.scheduleTask(
                     AbstractComponent.STANDARD_SCHEDULABLE_HANDLER_URI,
@@ -640,8 +725,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(12.0/ACC_FACTOR),
-                    TimeUnit.SECONDS);
+                    (long)(12.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS);
             */
 
             // --- Add the wind turbine events
@@ -661,8 +746,8 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(2.0/ACC_FACTOR),
-                    TimeUnit.SECONDS);
+                    (long)(2.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS);
 
             this.scheduleTask(
                     AbstractComponent.STANDARD_SCHEDULABLE_HANDLER_URI,
@@ -680,16 +765,28 @@ public class ElectricMeter
                             }
                         }
                     },
-                    (long)(10.0/ACC_FACTOR),
-                    TimeUnit.SECONDS);
+                    (long)(10.0 * 1000.0 / accFactor),
+                    TimeUnit.MILLISECONDS);
         }
     }
 
+    /** @see fr.sorbonne_u.components.AbstractComponent#finalise() */
+    @Override
+    public synchronized void finalise() throws Exception {
+        if (this.notificationOP != null) {
+            this.doPortDisconnection(this.notificationOP.getPortURI());
+        }
+        super.finalise();
+    }
+
     /** @see fr.sorbonne_u.components.AbstractComponent#shutdown() */
     @Override
     public synchronized void shutdown() throws ComponentShutdownException {
         try {
             this.emip.unpublishPort();
+            if (this.notificationOP != null) {
+                this.notificationOP.unpublishPort();
+            }
         } catch (Exception e) {
             throw new ComponentShutdownException(e) ;
         }
@@ -702,14 +799,7 @@ public class ElectricMeter
         if (VERBOSE) {
             this.traceMessage("Electric meter returns its current consumption.\n");
         }
-        double consumption = 0;
-
-        if (this.isSILsimulated) {
-            consumption = (Double) this.simulatorPlugin.getModelStateValue(
-                    ElectricMeterElectricitySILModel.URI,
-                    ElectricMeterRTAtomicSimulatorPlugin.CONS);
-        }
-        return consumption;
+        return this.balanceSnapshot.getConsumption();
     }
 
     /** @see ElectricMeterImplementationI#getCurrentProduction() */
@@ -718,14 +808,65 @@ public class ElectricMeter
         if (VERBOSE) {
             this.traceMessage("Electric meter returns its current production.\n");
         }
-        double prod = 0;
+        return this.balanceSnapshot.getProduction();
+    }
+
+    /** @see ElectricMeterImplementationI#getBalance() */
+    @Override
+    public MeterSnapshot.Reading getBalance() throws Exception {
+        if (VERBOSE) {
+            this.traceMessage("Electric meter returns its current balance.\n");
+        }
+        return this.balanceSnapshot.read();
+    }
+
+    /** @see ElectricMeterImplementationI#getEnergyCounters() */
+    @Override
+    public EnergyCounters getEnergyCounters() throws Exception {
+        if (VERBOSE) {
+            this.traceMessage("Electric meter returns its energy counters.\n");
+        }
+        EnergyCounters counters = EnergyCounters.ZERO;
 
         if (this.isSILsimulated) {
-            prod = (Double) this.simulatorPlugin.getModelStateValue(
+            counters = (EnergyCounters) this.simulatorPlugin.getModelStateValue(
                     ElectricMeterElectricitySILModel.URI,
-                    ElectricMeterRTAtomicSimulatorPlugin.PROD);
+                    ElectricMeterRTAtomicSimulatorPlugin.ENERGY);
+        }
+        return counters;
+    }
+
+    /** @see ElectricMeterImplementationI#getHistory(MeterHistory.Resolution, long, long) */
+    @Override
+    public MeterSamples getHistory(MeterHistory.Resolution resolution, long from, long to) throws Exception {
+        assert resolution != null : new PreconditionException("resolution != null");
+        assert from <= to : new PreconditionException("from <= to");
+
+        if (VERBOSE) {
+            this.traceMessage("Electric meter returns its " + resolution + " history.\n");
         }
-        return prod;
+        return this.history.query(resolution, from, to);
+    }
+
+    /** @see ElectricMeterImplementationI#subscribe(String, double) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double deltaThreshold) throws Exception {
+        assert notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty() :
+                new PreconditionException("notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()");
+        assert deltaThreshold >= 0.0 : new PreconditionException("deltaThreshold >= 0.0");
+        assert this.notificationOP == null : new PreconditionException("notificationOP == null");
+
+        if (VERBOSE) {
+            this.traceMessage("Electric meter accepts the subscription of " + notificationInboundPortURI + ".\n");
+        }
+
+        this.notificationDelta = deltaThreshold;
+        this.notificationOP = new ElectricMeterNotificationOutboundPort(this);
+        this.notificationOP.publishPort();
+        this.doPortConnection(
+                this.notificationOP.getPortURI(),
+                notificationInboundPortURI,
+                ElectricMeterNotificationConnector.class.getCanonicalName());
     }
 }
 // -----------------------------------------------------------------------------
@@ -64,5 +64,21 @@ public interface ElectricMeterCI
     /** @see ElectricMeterImplementationI#getCurrentProduction() */
     @Override
     public double getCurrentProduction() throws Exception;
+
+    /** @see ElectricMeterImplementationI#getBalance() */
+    @Override
+    public MeterSnapshot.Reading getBalance() throws Exception;
+
+    /** @see ElectricMeterImplementationI#getEnergyCounters() */
+    @Override
+    public EnergyCounters getEnergyCounters() throws Exception;
+
+    /** @see ElectricMeterImplementationI#getHistory(MeterHistory.Resolution, long, long) */
+    @Override
+    public MeterSamples getHistory(MeterHistory.Resolution resolution, long from, long to) throws Exception;
+
+    /** @see ElectricMeterImplementationI#subscribe(String, double) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double deltaThreshold) throws Exception;
 }
 // -----------------------------------------------------------------------------
@@ -66,5 +66,64 @@ public interface ElectricMeterImplementationI
      * @throws Exception	<i>to do</i>.
      */
     public double getCurrentProduction() throws Exception;
+
+    /**
+     * Return the current consumption and production in watts, read from the
+     * same balance, with the simulated time of this balance
+     *
+     * @return				the current balance.
+     * @throws Exception	<i>to do</i>.
+     */
+    public MeterSnapshot.Reading getBalance() throws Exception;
+
+    /**
+     * Return the energy counters of the electric meter: the consumed,
+     * produced, self consumed and exported energy in kWh since the start
+     * of the simulation
+     *
+     * @return				the current energy counters.
+     * @throws Exception	<i>to do</i>.
+     */
+    public EnergyCounters getEnergyCounters() throws Exception;
+
+    /**
+     * Return the history of the balance at a given resolution, between two
+     * simulated times in milliseconds since the start of the simulation
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code resolution != null}
+     * pre	{@code from <= to}
+     * post	{@code ret != null}
+     * </pre>
+     *
+     * @param resolution	the resolution of the samples.
+     * @param from			start of the range, included.
+     * @param to			end of the range, excluded.
+     * @return				the samples of the range, packed in arrays.
+     * @throws Exception	<i>to do</i>.
+     */
+    public MeterSamples getHistory(MeterHistory.Resolution resolution, long from, long to) throws Exception;
+
+    /**
+     * Subscribe a component to the balance notifications of the electric
+     * meter; the subscriber is notified when the consumption or the production
+     * moves by at least {@code deltaThreshold} watts since the last
+     * notification, or when the balance between them changes sign.
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     * pre	{@code deltaThreshold >= 0.0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param notificationInboundPortURI	URI of the subscriber inbound port offering {@code ElectricMeterNotificationCI}.
+     * @param deltaThreshold				minimal variation in watts triggering a notification.
+     * @throws Exception					<i>to do</i>.
+     */
+    public void subscribe(String notificationInboundPortURI, double deltaThreshold) throws Exception;
 }
 // -----------------------------------------------------------------------------
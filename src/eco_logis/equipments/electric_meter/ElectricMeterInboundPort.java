@@ -41,6 +41,12 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
  * for the {@code ElectricMeterCI} component interface.
  *
  * <p><strong>Description</strong></p>
+ * <p>
+ * The current consumption and production are read from the balance snapshot
+ * of the {@code ElectricMeter} on the caller thread, without a request to
+ * the component: they never wait behind the simulation tasks the component
+ * executes. The other services go through the component as usual.
+ * </p>
  *
  * <p><strong>Invariant</strong></p>
  *
@@ -60,24 +66,54 @@ public class ElectricMeterInboundPort
 
     public ElectricMeterInboundPort(ComponentI owner) throws Exception {
         super(ElectricMeterCI.class, owner);
+        assert owner instanceof ElectricMeter;
     }
 
     public ElectricMeterInboundPort(String uri, ComponentI owner) throws Exception {
         super(uri, ElectricMeterCI.class, owner);
+        assert owner instanceof ElectricMeter;
     }
 
     /** @see ElectricMeterCI#getCurrentConsumption() */
     @Override
     public double getCurrentConsumption() throws Exception {
-        return this.getOwner().handleRequest(
-                o -> ((ElectricMeterImplementationI)o).getCurrentConsumption());
+        return ((ElectricMeter) this.getOwner()).getBalanceSnapshot().getConsumption();
     }
 
     /** @see ElectricMeterCI#getCurrentProduction() */
     @Override
     public double getCurrentProduction() throws Exception {
+        return ((ElectricMeter) this.getOwner()).getBalanceSnapshot().getProduction();
+    }
+
+    /** @see ElectricMeterCI#getBalance() */
+    @Override
+    public MeterSnapshot.Reading getBalance() throws Exception {
+        return ((ElectricMeter) this.getOwner()).getBalanceSnapshot().read();
+    }
+
+    /** @see ElectricMeterCI#getEnergyCounters() */
+    @Override
+    public EnergyCounters getEnergyCounters() throws Exception {
         return this.getOwner().handleRequest(
-                o -> ((ElectricMeterImplementationI)o).getCurrentProduction());
+                o -> ((ElectricMeterImplementationI)o).getEnergyCounters());
+    }
+
+    /** @see ElectricMeterCI#getHistory(MeterHistory.Resolution, long, long) */
+    @Override
+    public MeterSamples getHistory(MeterHistory.Resolution resolution, long from, long to) throws Exception {
+        return this.getOwner().handleRequest(
+                o -> ((ElectricMeterImplementationI)o).getHistory(resolution, from, to));
+    }
+
+    /** @see ElectricMeterCI#subscribe(String, double) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double deltaThreshold) throws Exception {
+        this.getOwner().handleRequest(
+                o -> {
+                    ((ElectricMeterImplementationI)o).subscribe(notificationInboundPortURI, deltaThreshold);
+                    return null;
+                });
     }
 }
 // -----------------------------------------------------------------------------
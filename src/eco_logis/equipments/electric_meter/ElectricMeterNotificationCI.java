@@ -0,0 +1,27 @@
+package eco_logis.equipments.electric_meter;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * The interface <code>ElectricMeterNotificationCI</code> defines the services
+ * required by the electric meter to push balance notifications, and offered
+ * by the components subscribing to them.
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public interface ElectricMeterNotificationCI
+    extends ElectricMeterNotificationImplementationI,
+        RequiredCI,
+        OfferedCI
+{
+    /** @see ElectricMeterNotificationImplementationI#notifyBalance(double, double) */
+    @Override
+    void notifyBalance(double consumption, double production) throws Exception;
+}
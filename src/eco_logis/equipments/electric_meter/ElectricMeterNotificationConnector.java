@@ -0,0 +1,26 @@
+package eco_logis.equipments.electric_meter;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+
+/**
+ * This class is the connector between the electric meter and a component
+ * subscribing to its balance notifications
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class ElectricMeterNotificationConnector
+    extends AbstractConnector
+    implements ElectricMeterNotificationCI
+{
+
+    // ========== Override methods ==========
+
+
+    /** @see ElectricMeterNotificationCI#notifyBalance(double, double) */
+    @Override
+    public void notifyBalance(double consumption, double production) throws Exception {
+        ((ElectricMeterNotificationCI) offering).notifyBalance(consumption, production);
+    }
+
+}
@@ -0,0 +1,35 @@
+package eco_logis.equipments.electric_meter;
+
+/**
+ * The interface <code>ElectricMeterNotificationImplementationI</code> defines
+ * the services implemented by a component that wants to be notified by the
+ * electric meter when the energy balance of the house changes.
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public interface ElectricMeterNotificationImplementationI
+{
+    /**
+     * Notify the new consumption and production of the house, called by the
+     * electric meter when one of them moved by more than the subscribed delta
+     * or when the balance crossed zero
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code consumption >= 0.0}
+     * pre	{@code production >= 0.0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param consumption The current total consumption in watts
+     * @param production The current total production in watts
+     * @throws Exception TODO
+     */
+    void notifyBalance(double consumption, double production) throws Exception;
+}
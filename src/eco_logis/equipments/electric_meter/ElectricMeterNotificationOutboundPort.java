@@ -0,0 +1,62 @@
+package eco_logis.equipments.electric_meter;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * This class represents the outbound port used by the electric meter to push
+ * balance notifications to a subscriber
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class ElectricMeterNotificationOutboundPort
+    extends AbstractOutboundPort
+    implements ElectricMeterNotificationCI
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new notification outbound port with the port owner
+     *
+     * @see AbstractOutboundPort#AbstractOutboundPort(Class, ComponentI)
+     *
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public ElectricMeterNotificationOutboundPort(ComponentI owner) throws Exception {
+        super(ElectricMeterNotificationCI.class, owner);
+    }
+
+    /**
+     * Create a new notification outbound port with the URI and the port owner
+     *
+     * @see AbstractOutboundPort#AbstractOutboundPort(String, Class, ComponentI)
+     *
+     * @param uri The port URI
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public ElectricMeterNotificationOutboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, ElectricMeterNotificationCI.class, owner);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see ElectricMeterNotificationCI#notifyBalance(double, double) */
+    @Override
+    public void notifyBalance(double consumption, double production) throws Exception {
+        ((ElectricMeterNotificationCI) getConnector()).notifyBalance(consumption, production);
+    }
+
+}
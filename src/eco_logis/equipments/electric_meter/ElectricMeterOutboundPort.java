@@ -77,5 +77,29 @@ public class ElectricMeterOutboundPort
     public double getCurrentProduction() throws Exception {
         return ((ElectricMeterCI)this.getConnector()).getCurrentProduction();
     }
+
+    /** @see ElectricMeterCI#getBalance() */
+    @Override
+    public MeterSnapshot.Reading getBalance() throws Exception {
+        return ((ElectricMeterCI)this.getConnector()).getBalance();
+    }
+
+    /** @see ElectricMeterCI#getEnergyCounters() */
+    @Override
+    public EnergyCounters getEnergyCounters() throws Exception {
+        return ((ElectricMeterCI)this.getConnector()).getEnergyCounters();
+    }
+
+    /** @see ElectricMeterCI#getHistory(MeterHistory.Resolution, long, long) */
+    @Override
+    public MeterSamples getHistory(MeterHistory.Resolution resolution, long from, long to) throws Exception {
+        return ((ElectricMeterCI)this.getConnector()).getHistory(resolution, from, to);
+    }
+
+    /** @see ElectricMeterCI#subscribe(String, double) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double deltaThreshold) throws Exception {
+        ((ElectricMeterCI)this.getConnector()).subscribe(notificationInboundPortURI, deltaThreshold);
+    }
 }
 // -----------------------------------------------------------------------------
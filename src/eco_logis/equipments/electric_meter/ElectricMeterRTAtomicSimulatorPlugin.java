@@ -1,5 +1,6 @@
 package eco_logis.equipments.electric_meter;
 
+import eco_logis.MonitoredRTAtomicSimulatorPlugin;
 import eco_logis.equipments.crypto_miner.CryptoMinerRTAtomicSimulatorPlugin;
 import eco_logis.equipments.crypto_miner.mil.events.MineOffCryptoMiner;
 import eco_logis.equipments.crypto_miner.mil.events.MineOnCryptoMiner;
@@ -9,14 +10,13 @@ import eco_logis.equipments.crypto_miner.sil.CryptoMinerElectricitySILModel;
 import eco_logis.equipments.dishwasher.DishwasherRTAtomicSimulatorPlugin;
 import eco_logis.equipments.dishwasher.mil.events.*;
 import eco_logis.equipments.dishwasher.sil.DishwasherElectricitySILModel;
-import eco_logis.equipments.electric_meter.mil.ElectricMeterElectricityModel;
+import eco_logis.equipments.electric_meter.mil.MeterSourceDescriptor;
 import eco_logis.equipments.electric_meter.sil.ElectricMeterCoupledModel;
 import eco_logis.equipments.electric_meter.sil.ElectricMeterElectricitySILModel;
 import eco_logis.equipments.generator.GeneratorRTAtomicSimulatorPlugin;
 import eco_logis.equipments.generator.mil.events.SwitchOffGenerator;
 import eco_logis.equipments.generator.mil.events.SwitchOnGenerator;
 import eco_logis.equipments.generator.sil.GeneratorElectricitySILModel;
-import eco_logis.equipments.generator.sil.GeneratorFuelSILModel;
 import eco_logis.equipments.oven.OvenRTAtomicSimulatorPlugin;
 import eco_logis.equipments.oven.mil.events.SwitchOffOven;
 import eco_logis.equipments.oven.mil.events.SwitchOnOven;
@@ -25,11 +25,10 @@ import eco_logis.equipments.power_bank.PowerBankRTAtomicSimulatorPlugin;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.StandbyPowerBank;
-import eco_logis.equipments.power_bank.sil.PowerBankChargeSILModel;
 import eco_logis.equipments.power_bank.sil.PowerBankElectricitySILModel;
 import eco_logis.equipments.wind_turbine.WindTurbineRTAtomicSimulatorPlugin;
 import eco_logis.equipments.wind_turbine.sil.WindTurbineElectricitySILModel;
-import fr.sorbonne_u.components.cyphy.plugins.devs.RTAtomicSimulatorPlugin;
+
 import fr.sorbonne_u.devs_simulation.architectures.RTArchitecture;
 import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
 import fr.sorbonne_u.devs_simulation.hioa.architectures.RTAtomicHIOA_Descriptor;
@@ -40,6 +39,7 @@ import fr.sorbonne_u.devs_simulation.models.architectures.AbstractAtomicModelDes
 import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.events.EventSink;
+import fr.sorbonne_u.devs_simulation.models.events.EventSource;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -52,6 +52,18 @@ import java.util.concurrent.TimeUnit;
  * the simulation plug-in for the <code>ElectricMeter</code> component.
  *
  * <p><strong>Description</strong></p>
+ * <p>
+ * The plug-in runs the electricity model of each equipment, the only
+ * instance of it in the SIL simulation, beside the meter model summing their
+ * consumptions and productions: the models of the other components can't
+ * export variables to it. The equipment components only send the events
+ * changing the power of their equipment, including the ones their own
+ * models raise, as the generator running out of fuel or the power bank
+ * reaching a bound of its charge; so the fuel and charge models run once, in
+ * the generator and power bank components, and the models here have no
+ * continuous dynamics to step: the meter model only moves on the
+ * {@code BalanceChanged} events of its sources.
+ * </p>
  *
  * <p><strong>Invariant</strong></p>
  * <pre>
@@ -62,7 +74,7 @@ import java.util.concurrent.TimeUnit;
  * @author Hugo GUERRIER
  */
 public class ElectricMeterRTAtomicSimulatorPlugin
-    extends RTAtomicSimulatorPlugin
+    extends MonitoredRTAtomicSimulatorPlugin
 {
 
     // ========== Macros ==========
@@ -89,15 +101,9 @@ public class ElectricMeterRTAtomicSimulatorPlugin
     /** URI of the generator electricity model */
     protected static final String GENERATOR_ELECTRICITY_MODEL_URI = GeneratorElectricitySILModel.URI;
 
-    /** URI of the generator fuel model */
-    protected static final String GENERATOR_FUEL_MODEL_URI = GeneratorFuelSILModel.URI;
-
     /** Class implementing the generator electricity model */
     protected static final Class<GeneratorElectricitySILModel> GENERATOR_ELECTRICITY_MODEL_CLASS = GeneratorElectricitySILModel.class;
 
-    /** Class implementing the generator fuel model */
-    protected static final Class<GeneratorFuelSILModel> GENERATOR_FUEL_SIL_MODEL_CLASS = GeneratorFuelSILModel.class;
-
     /** URI of the oven electricity model */
     protected static final String OVEN_ELECTRICITY_MODEL_URI = OvenElectricitySILModel.URI;
 
@@ -107,15 +113,9 @@ public class ElectricMeterRTAtomicSimulatorPlugin
     /** URI of the power bank electricity model */
     protected static final String POWER_BANK_ELECTRICITY_MODEL_URI = PowerBankElectricitySILModel.URI;
 
-    /** URI of the power bank charge model */
-    protected static final String POWER_BANK_CHARGE_MODEL_URI = PowerBankChargeSILModel.URI;
-
     /** Class implementing the power bank electricity model */
     protected static final Class<PowerBankElectricitySILModel> POWER_BANK_ELECTRICITY_SIL_MODEL_CLASS = PowerBankElectricitySILModel.class;
 
-    /** Class implementing the power bank charge model */
-    protected static final Class<PowerBankChargeSILModel> POWER_BANK_CHARGE_SIL_MODEL_CLASS = PowerBankChargeSILModel.class;
-
     /** URI of the wind turbine electricity model */
     protected static final String WIND_TURBINE_ELECTRICITY_MODEL_URI = WindTurbineElectricitySILModel.URI;
 
@@ -125,6 +125,7 @@ public class ElectricMeterRTAtomicSimulatorPlugin
 
     public static final String CONS = "cons";
     public static final String PROD = "prod";
+    public static final String ENERGY = "energy";
 
     // ========== Class methods ==========
 
@@ -144,6 +145,8 @@ public class ElectricMeterRTAtomicSimulatorPlugin
      * @throws Exception	<i>to do</i>.
      */
     public void initialiseSimulationArchitecture(String simArchURI, double accFactor) throws Exception {
+        this.accelerationFactor = accFactor;
+
         Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
         Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
 
@@ -151,24 +154,33 @@ public class ElectricMeterRTAtomicSimulatorPlugin
         submodels.add(ElectricMeterElectricitySILModel.URI);
         submodels.add(CRYPTO_MINER_ELECTRICITY_MODEL_URI);
         submodels.add(GENERATOR_ELECTRICITY_MODEL_URI);
-        submodels.add(GENERATOR_FUEL_MODEL_URI);
         submodels.add(POWER_BANK_ELECTRICITY_MODEL_URI);
-        submodels.add(POWER_BANK_CHARGE_MODEL_URI);
         submodels.add(DISHWASHER_ELECTRICITY_MODEL_URI);
         /* TODO
         submodels.add(OVEN_ELECTRICITY_MODEL_URI);
         submodels.add(WIND_TURBINE_ELECTRICITY_MODEL_URI);
          */
 
+        // The equipment consumptions and productions summed by the meter
+        MeterSourceDescriptor[] meterSources = {
+                MeterSourceDescriptor.consumption(CRYPTO_MINER_ELECTRICITY_MODEL_URI),
+                MeterSourceDescriptor.consumption(DISHWASHER_ELECTRICITY_MODEL_URI),
+                MeterSourceDescriptor.consumption(POWER_BANK_ELECTRICITY_MODEL_URI),
+                MeterSourceDescriptor.production(GENERATOR_ELECTRICITY_MODEL_URI),
+                MeterSourceDescriptor.production(POWER_BANK_ELECTRICITY_MODEL_URI)
+                /* TODO
+                MeterSourceDescriptor.consumption(OVEN_ELECTRICITY_MODEL_URI),
+                MeterSourceDescriptor.production(WIND_TURBINE_ELECTRICITY_MODEL_URI)
+                 */
+        };
         atomicModelDescriptors.put(
                 ElectricMeterElectricitySILModel.URI,
-                RTAtomicHIOA_Descriptor.create(
-                        ElectricMeterElectricitySILModel.class,
+                ElectricMeterElectricitySILModel.createDescriptor(
                         ElectricMeterElectricitySILModel.URI,
                         TimeUnit.SECONDS,
-                        null,
                         SimulationEngineCreationMode.ATOMIC_RT_ENGINE,
-                        accFactor
+                        accFactor,
+                        meterSources
                 )
         );
 
@@ -195,18 +207,6 @@ public class ElectricMeterRTAtomicSimulatorPlugin
                 )
         );
 
-        atomicModelDescriptors.put(
-                GENERATOR_FUEL_MODEL_URI,
-                RTAtomicHIOA_Descriptor.create(
-                        GENERATOR_FUEL_SIL_MODEL_CLASS,
-                        GENERATOR_FUEL_MODEL_URI,
-                        TimeUnit.SECONDS,
-                        null,
-                        SimulationEngineCreationMode.ATOMIC_RT_ENGINE,
-                        accFactor
-                )
-        );
-
         atomicModelDescriptors.put(
                 POWER_BANK_ELECTRICITY_MODEL_URI,
                 RTAtomicHIOA_Descriptor.create(
@@ -219,18 +219,6 @@ public class ElectricMeterRTAtomicSimulatorPlugin
                 )
         );
 
-        atomicModelDescriptors.put(
-                POWER_BANK_CHARGE_MODEL_URI,
-                RTAtomicHIOA_Descriptor.create(
-                        POWER_BANK_CHARGE_SIL_MODEL_CLASS,
-                        POWER_BANK_CHARGE_MODEL_URI,
-                        TimeUnit.SECONDS,
-                        null,
-                        SimulationEngineCreationMode.ATOMIC_RT_ENGINE,
-                        accFactor
-                )
-        );
-
         atomicModelDescriptors.put(
                 DISHWASHER_ELECTRICITY_MODEL_URI,
                 RTAtomicHIOA_Descriptor.create(
@@ -313,16 +301,14 @@ public class ElectricMeterRTAtomicSimulatorPlugin
             imported.put(
                     SwitchOnGenerator.class,
                     new EventSink[] {
-                            new EventSink(GENERATOR_ELECTRICITY_MODEL_URI, SwitchOnGenerator.class),
-                            new EventSink(GENERATOR_FUEL_MODEL_URI, SwitchOnGenerator.class)
+                            new EventSink(GENERATOR_ELECTRICITY_MODEL_URI, SwitchOnGenerator.class)
                     }
             );
 
             imported.put(
                     SwitchOffGenerator.class,
                     new EventSink[] {
-                            new EventSink(GENERATOR_ELECTRICITY_MODEL_URI, SwitchOffGenerator.class),
-                            new EventSink(GENERATOR_FUEL_MODEL_URI, SwitchOffGenerator.class)
+                            new EventSink(GENERATOR_ELECTRICITY_MODEL_URI, SwitchOffGenerator.class)
                     }
             );
 
@@ -331,24 +317,21 @@ public class ElectricMeterRTAtomicSimulatorPlugin
             imported.put(
                     StandbyPowerBank.class,
                     new EventSink[] {
-                            new EventSink(POWER_BANK_ELECTRICITY_MODEL_URI, StandbyPowerBank.class),
-                            new EventSink(POWER_BANK_CHARGE_MODEL_URI, StandbyPowerBank.class)
+                            new EventSink(POWER_BANK_ELECTRICITY_MODEL_URI, StandbyPowerBank.class)
                     }
             );
 
             imported.put(
                     ChargePowerBank.class,
                     new EventSink[] {
-                            new EventSink(POWER_BANK_ELECTRICITY_MODEL_URI, ChargePowerBank.class),
-                            new EventSink(POWER_BANK_CHARGE_MODEL_URI, ChargePowerBank.class)
+                            new EventSink(POWER_BANK_ELECTRICITY_MODEL_URI, ChargePowerBank.class)
                     }
             );
 
             imported.put(
                     DischargePowerBank.class,
                     new EventSink[] {
-                            new EventSink(POWER_BANK_ELECTRICITY_MODEL_URI, DischargePowerBank.class),
-                            new EventSink(POWER_BANK_CHARGE_MODEL_URI, DischargePowerBank.class)
+                            new EventSink(POWER_BANK_ELECTRICITY_MODEL_URI, DischargePowerBank.class)
                     }
             );
 
@@ -393,102 +376,14 @@ public class ElectricMeterRTAtomicSimulatorPlugin
         // Variable bindings between exporting and importing models
         Map<VariableSource, VariableSink[]> bindings = new HashMap<>();
 
-        // --- Bindings for the crypto miner
-
-        bindings.put(
-                new VariableSource("currentConsumption",
-                        Double.class,
-                        CRYPTO_MINER_ELECTRICITY_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentCryptoConsumption",
-                                Double.class,
-                                ElectricMeterElectricitySILModel.URI)
-                }
-        );
-
-        // --- Bindings for the generator
-
-        bindings.put(
-                new VariableSource("currentProduction",
-                        Double.class,
-                        GENERATOR_ELECTRICITY_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentGeneratorProduction",
-                                Double.class,
-                                ElectricMeterElectricitySILModel.URI)
-                }
-        );
-
-        bindings.put(
-                new VariableSource("currentFuelLevel",
-                        Double.class,
-                        GENERATOR_FUEL_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentFuelLevel",
-                                Double.class,
-                                GENERATOR_ELECTRICITY_MODEL_URI)
-                }
-        );
-
-        // -- Bindings for the power bank
-
-        bindings.put(
-                new VariableSource("currentConsumption",
-                        Double.class,
-                        POWER_BANK_ELECTRICITY_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentPowerBankConsumption",
-                                Double.class,
-                                ElectricMeterElectricitySILModel.URI)
-                }
-        );
-
-        bindings.put(
-                new VariableSource("currentProduction",
-                        Double.class,
-                        POWER_BANK_ELECTRICITY_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentPowerBankProduction",
-                                Double.class,
-                                ElectricMeterElectricitySILModel.URI)
-                }
-        );
+        // --- Bindings of the equipment consumptions and productions to the meter
 
-        bindings.put(
-                new VariableSource("currentChargeLevel",
-                        Double.class,
-                        POWER_BANK_CHARGE_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentChargeLevel",
-                                Double.class,
-                                POWER_BANK_ELECTRICITY_MODEL_URI)
-                }
-        );
+        MeterSourceDescriptor.bind(bindings, ElectricMeterElectricitySILModel.URI, meterSources);
 
-        // --- Bindings for the dishwasher
-
-        bindings.put(
-                new VariableSource("currentConsumption",
-                        Double.class,
-                        DISHWASHER_ELECTRICITY_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentDishwasherConsumption",
-                                Double.class,
-                                ElectricMeterElectricitySILModel.URI)
-                }
-        );
+        // --- Connections notifying the meter of the changes of its sources
 
-        /* TODO
-        bindings.put(
-                new VariableSource("currentConsumption",
-                        Double.class,
-                        OVEN_ELECTRICITY_MODEL_URI),
-                new VariableSink[] {
-                        new VariableSink("currentOvenConsumption",
-                                Double.class,
-                                ElectricMeterElectricityModel.URI)
-                });
-        */
+        Map<EventSource, EventSink[]> connections = new HashMap<>();
+        MeterSourceDescriptor.connect(connections, ElectricMeterElectricitySILModel.URI, meterSources);
 
         // Coupled model descriptor: an HIOA requires a RTCoupledHIOA_Descriptor
         coupledModelDescriptors.put(
@@ -499,7 +394,7 @@ public class ElectricMeterRTAtomicSimulatorPlugin
                         submodels,
                         imported,
                         null,
-                        null,
+                        connections,
                         null,
                         SimulationEngineCreationMode.COORDINATION_RT_ENGINE,
                         null,
@@ -532,6 +427,8 @@ public class ElectricMeterRTAtomicSimulatorPlugin
             return ((ElectricMeterElectricitySILModel) getDescendentModel(uri)).getCurrentProduction();
         } else if (name.equals(CONS)) {
             return ((ElectricMeterElectricitySILModel) getDescendentModel(uri)).getCurrentConsumption();
+        } else if (name.equals(ENERGY)) {
+            return ((ElectricMeterElectricitySILModel) getDescendentModel(uri)).getEnergyCounters();
         }
 
         return null;
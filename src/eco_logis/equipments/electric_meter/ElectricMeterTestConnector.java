@@ -66,5 +66,29 @@ public class ElectricMeterTestConnector
     public double getCurrentProduction() throws Exception {
         return ((ElectricMeterCI)this.offering).getCurrentProduction();
     }
+
+    /** @see ElectricMeterCI#getBalance() */
+    @Override
+    public MeterSnapshot.Reading getBalance() throws Exception {
+        return ((ElectricMeterCI)this.offering).getBalance();
+    }
+
+    /** @see ElectricMeterCI#getEnergyCounters() */
+    @Override
+    public EnergyCounters getEnergyCounters() throws Exception {
+        return ((ElectricMeterCI)this.offering).getEnergyCounters();
+    }
+
+    /** @see ElectricMeterCI#getHistory(MeterHistory.Resolution, long, long) */
+    @Override
+    public MeterSamples getHistory(MeterHistory.Resolution resolution, long from, long to) throws Exception {
+        return ((ElectricMeterCI)this.offering).getHistory(resolution, from, to);
+    }
+
+    /** @see ElectricMeterCI#subscribe(String, double) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double deltaThreshold) throws Exception {
+        ((ElectricMeterCI)this.offering).subscribe(notificationInboundPortURI, deltaThreshold);
+    }
 }
 // -----------------------------------------------------------------------------
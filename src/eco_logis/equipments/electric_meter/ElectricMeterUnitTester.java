@@ -109,9 +109,54 @@ public class ElectricMeterUnitTester
         this.traceMessage("...done.\n");
     }
 
+    protected void testGetBalance() {
+        this.traceMessage("testGetBalance()...\n");
+        try {
+            this.traceMessage("Electric meter current balance? " +
+                    this.emop.getBalance() + "\n");
+        } catch (Exception e) {
+            this.traceMessage("...KO.\n");
+            assertTrue(false);
+        }
+        this.traceMessage("...done.\n");
+    }
+
+    protected void testGetEnergyCounters() {
+        this.traceMessage("testGetEnergyCounters()...\n");
+        try {
+            EnergyCounters counters = this.emop.getEnergyCounters();
+            this.traceMessage("Electric meter energy counters? " + counters + "\n");
+            assertTrue(counters.getSelfConsumed() <= counters.getConsumed());
+        } catch (Exception e) {
+            this.traceMessage("...KO.\n");
+            assertTrue(false);
+        }
+        this.traceMessage("...done.\n");
+    }
+
+    protected void testGetHistory() {
+        this.traceMessage("testGetHistory()...\n");
+        try {
+            for (MeterHistory.Resolution r : MeterHistory.Resolution.values()) {
+                MeterSamples samples = this.emop.getHistory(r, 0L, Long.MAX_VALUE);
+                this.traceMessage("Electric meter " + r + " history? " + samples + "\n");
+                for (int i = 1; i < samples.size(); i++) {
+                    assertTrue(samples.getTimestamp(i - 1) < samples.getTimestamp(i));
+                }
+            }
+        } catch (Exception e) {
+            this.traceMessage("...KO.\n");
+            assertTrue(false);
+        }
+        this.traceMessage("...done.\n");
+    }
+
     protected void runAllTests() {
         this.testGetCurrentConsumption();
         this.testGetCurrentProduction();
+        this.testGetBalance();
+        this.testGetEnergyCounters();
+        this.testGetHistory();
     }
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,113 @@
+package eco_logis.equipments.electric_meter;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the cumulative energy counters of the electric meter,
+ * all in kWh since the start of the simulation
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Besides the consumed and the produced energy, the meter splits the
+ * production between the part consumed in the house (self consumed) and the
+ * surplus sent to the grid (exported). The energy taken from the grid is
+ * therefore {@code getConsumed() - getSelfConsumed()}.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code getSelfConsumed() + getExported() == getProduced() (up to rounding)}
+ * invariant	{@code getSelfConsumed() <= getConsumed()}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class EnergyCounters
+    implements Serializable
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** The counters of a meter that measured nothing */
+    public static final EnergyCounters ZERO = new EnergyCounters(0.0, 0.0, 0.0, 0.0);
+
+
+    // ========== Attributes ==========
+
+
+    /** Energy consumed in the house in kWh */
+    private final double consumed;
+
+    /** Energy produced in the house in kWh */
+    private final double produced;
+
+    /** Produced energy consumed in the house in kWh */
+    private final double selfConsumed;
+
+    /** Produced energy sent to the grid in kWh */
+    private final double exported;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create new energy counters
+     *
+     * @param consumed The energy consumed in the house in kWh
+     * @param produced The energy produced in the house in kWh
+     * @param selfConsumed The produced energy consumed in the house in kWh
+     * @param exported The produced energy sent to the grid in kWh
+     */
+    public EnergyCounters(double consumed, double produced, double selfConsumed, double exported) {
+        this.consumed = consumed;
+        this.produced = produced;
+        this.selfConsumed = selfConsumed;
+        this.exported = exported;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public double getConsumed() {
+        return consumed;
+    }
+
+    public double getProduced() {
+        return produced;
+    }
+
+    public double getSelfConsumed() {
+        return selfConsumed;
+    }
+
+    public double getExported() {
+        return exported;
+    }
+
+    /**
+     * Get the energy taken from the grid
+     *
+     * @return The consumed energy not covered by the production in kWh
+     */
+    public double getImported() {
+        return consumed - selfConsumed;
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return "EnergyCounters[consumed=" + consumed + " kWh, produced=" + produced +
+                " kWh, selfConsumed=" + selfConsumed + " kWh, exported=" + exported + " kWh]";
+    }
+
+}
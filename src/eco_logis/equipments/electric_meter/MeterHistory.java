@@ -0,0 +1,409 @@
+package eco_logis.equipments.electric_meter;
+
+/**
+ * This class represents the history of the electric meter balance, kept in
+ * fixed size primitive ring buffers
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The history has three tiers: the raw balance changes, and the mean balance
+ * per minute and per quarter of an hour. Each tier is a ring buffer allocated
+ * once with its retention (in samples), so the memory used does not depend on
+ * the length of the run: when a tier is full, its oldest samples are
+ * overwritten. As the balance is constant between two changes, the
+ * downsampled tiers are computed exactly from the raw changes; a bucket is
+ * stored once a change happens after its end, so they cover the history up to
+ * the last recorded change.
+ * </p>
+ * <p>
+ * The history is fed by the simulation thread and read by the component
+ * services, so its methods are synchronised.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code the timestamps of each tier are sorted in increasing order}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class MeterHistory
+{
+
+    // ========== Internal Enums and class ==========
+
+
+    /** The resolutions of the history */
+    public enum Resolution {
+        /** Every change of the balance */
+        RAW(0L),
+        /** Mean balance per minute */
+        MINUTE(60_000L),
+        /** Mean balance per quarter of an hour */
+        QUARTER_HOUR(900_000L);
+
+        /** Length of a bucket in milliseconds, 0 for the raw changes */
+        private final long period;
+
+        Resolution(long period) {
+            this.period = period;
+        }
+
+        public long getPeriod() {
+            return period;
+        }
+    }
+
+    /**
+     * This class represents a ring buffer of samples
+     */
+    protected static class Ring {
+
+        /** Sample timestamps */
+        private final long[] timestamps;
+
+        /** Sample consumptions */
+        private final double[] consumptions;
+
+        /** Sample productions */
+        private final double[] productions;
+
+        /** Physical index of the oldest sample */
+        private int start;
+
+        /** Number of samples */
+        private int size;
+
+        /**
+         * Create a new empty ring
+         *
+         * @param capacity The number of samples kept
+         */
+        protected Ring(int capacity) {
+            timestamps = new long[capacity];
+            consumptions = new double[capacity];
+            productions = new double[capacity];
+        }
+
+        /**
+         * Add a sample after the last one, overwriting the oldest one if the
+         * ring is full
+         *
+         * @param time The sample timestamp
+         * @param cons The sample consumption
+         * @param prod The sample production
+         */
+        protected void add(long time, double cons, double prod) {
+            int i;
+            if (size < timestamps.length) {
+                i = physical(size++);
+            } else {
+                i = start;
+                start = (start + 1) % timestamps.length;
+            }
+            timestamps[i] = time;
+            consumptions[i] = cons;
+            productions[i] = prod;
+        }
+
+        /**
+         * Replace the values of the last sample
+         *
+         * @param cons The new consumption
+         * @param prod The new production
+         */
+        protected void setLast(double cons, double prod) {
+            int i = physical(size - 1);
+            consumptions[i] = cons;
+            productions[i] = prod;
+        }
+
+        /**
+         * Get the logical index of the first sample not before a time
+         *
+         * @param time The time
+         * @return The index, {@code size} if all the samples are before the time
+         */
+        protected int lowerBound(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[physical(mid)] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Copy the samples in {@code [from, to[} into packed arrays
+         *
+         * @param from The start of the range, included
+         * @param to The end of the range, excluded
+         * @return The samples in the range
+         */
+        protected MeterSamples range(long from, long to) {
+            int first = lowerBound(from);
+            int count = lowerBound(to) - first;
+            if (count <= 0) return MeterSamples.EMPTY;
+
+            long[] t = new long[count];
+            double[] c = new double[count];
+            double[] p = new double[count];
+            // Copy in at most two chunks as the range may wrap around the ring
+            int done = 0;
+            while (done < count) {
+                int src = physical(first + done);
+                int chunk = Math.min(count - done, timestamps.length - src);
+                System.arraycopy(timestamps, src, t, done, chunk);
+                System.arraycopy(consumptions, src, c, done, chunk);
+                System.arraycopy(productions, src, p, done, chunk);
+                done += chunk;
+            }
+            return new MeterSamples(t, c, p);
+        }
+
+        protected void clear() {
+            start = 0;
+            size = 0;
+        }
+
+        protected int size() {
+            return size;
+        }
+
+        protected int capacity() {
+            return timestamps.length;
+        }
+
+        protected long lastTimestamp() {
+            return timestamps[physical(size - 1)];
+        }
+
+        private int physical(int i) {
+            return (start + i) % timestamps.length;
+        }
+
+    }
+
+    /**
+     * This class represents a downsampled tier: a ring of bucket means and
+     * the accumulators of the current bucket
+     */
+    protected static class Tier {
+
+        /** Length of a bucket in milliseconds */
+        private final long period;
+
+        /** The closed buckets */
+        private final Ring ring;
+
+        /** Start of the current bucket, meaningless when {@code covered == 0} */
+        private long bucketStart;
+
+        /** Consumed energy in the current bucket in watt milliseconds */
+        private double consumedEnergy;
+
+        /** Produced energy in the current bucket in watt milliseconds */
+        private double producedEnergy;
+
+        /** Time covered by the history in the current bucket in milliseconds */
+        private long covered;
+
+        /**
+         * Create a new empty tier
+         *
+         * @param period The length of a bucket in milliseconds
+         * @param capacity The number of buckets kept
+         */
+        protected Tier(long period, int capacity) {
+            this.period = period;
+            this.ring = new Ring(capacity);
+        }
+
+        /**
+         * Add a constant balance over {@code [from, to[} to the buckets
+         *
+         * @param from The start of the interval
+         * @param to The end of the interval
+         * @param cons The consumption over the interval
+         * @param prod The production over the interval
+         */
+        protected void fold(long from, long to, double cons, double prod) {
+            while (from < to) {
+                if (covered == 0 || from >= bucketStart + period) {
+                    close();
+                    bucketStart = from - Math.floorMod(from, period);
+                    // The buckets that would be overwritten before the end of the interval are skipped
+                    long whole = (to - bucketStart) / period;
+                    if (whole > ring.capacity()) {
+                        bucketStart += (whole - ring.capacity()) * period;
+                        from = bucketStart;
+                    }
+                }
+                long stop = Math.min(to, bucketStart + period);
+                long length = stop - from;
+                consumedEnergy += cons * length;
+                producedEnergy += prod * length;
+                covered += length;
+                from = stop;
+            }
+        }
+
+        /**
+         * Store the mean balance of the current bucket and empty it
+         */
+        protected void close() {
+            if (covered > 0) {
+                ring.add(bucketStart, consumedEnergy / covered, producedEnergy / covered);
+            }
+            consumedEnergy = 0.0;
+            producedEnergy = 0.0;
+            covered = 0;
+        }
+
+        protected void clear() {
+            ring.clear();
+            consumedEnergy = 0.0;
+            producedEnergy = 0.0;
+            covered = 0;
+        }
+
+        protected Ring getRing() {
+            return ring;
+        }
+
+    }
+
+
+    // ========== Attributes ==========
+
+
+    /** The raw balance changes */
+    protected final Ring raw;
+
+    /** The downsampled tiers, indexed by resolution ordinal minus one */
+    protected final Tier[] tiers;
+
+    /** Time of the last recorded change, negative if nothing was recorded */
+    protected long lastTime = -1L;
+
+    /** Consumption of the last recorded change */
+    protected double lastConsumption;
+
+    /** Production of the last recorded change */
+    protected double lastProduction;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new empty history
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code rawCapacity > 0 && minuteCapacity > 0 && quarterHourCapacity > 0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param rawCapacity The number of raw changes kept
+     * @param minuteCapacity The number of minutes kept
+     * @param quarterHourCapacity The number of quarters of an hour kept
+     */
+    public MeterHistory(int rawCapacity, int minuteCapacity, int quarterHourCapacity) {
+        if (rawCapacity <= 0 || minuteCapacity <= 0 || quarterHourCapacity <= 0) {
+            throw new IllegalArgumentException("The history retentions must be positive");
+        }
+        raw = new Ring(rawCapacity);
+        tiers = new Tier[] {
+                new Tier(Resolution.MINUTE.getPeriod(), minuteCapacity),
+                new Tier(Resolution.QUARTER_HOUR.getPeriod(), quarterHourCapacity)
+        };
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Record a change of the balance; a change at the time of the previous
+     * one replaces it
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code time >= 0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param time The time of the change in simulated milliseconds, not before the previous one
+     * @param consumption The new consumption in watts
+     * @param production The new production in watts
+     */
+    public synchronized void record(long time, double consumption, double production) {
+        if (lastTime >= 0) {
+            time = Math.max(time, lastTime);
+            for (Tier t : tiers) {
+                t.fold(lastTime, time, lastConsumption, lastProduction);
+            }
+        }
+        if (raw.size() > 0 && raw.lastTimestamp() == time) {
+            raw.setLast(consumption, production);
+        } else {
+            raw.add(time, consumption, production);
+        }
+        lastTime = time;
+        lastConsumption = consumption;
+        lastProduction = production;
+    }
+
+    /**
+     * Get the samples of a resolution whose timestamp is in {@code [from, to[}
+     *
+     * @param resolution The resolution of the samples
+     * @param from The start of the range in simulated milliseconds, included
+     * @param to The end of the range in simulated milliseconds, excluded
+     * @return The samples in the range
+     */
+    public synchronized MeterSamples query(Resolution resolution, long from, long to) {
+        return ring(resolution).range(from, to);
+    }
+
+    /**
+     * Get the number of samples of a resolution currently kept
+     *
+     * @param resolution The resolution
+     * @return The number of samples
+     */
+    public synchronized int size(Resolution resolution) {
+        return ring(resolution).size();
+    }
+
+    /**
+     * Forget the whole history, keeping the allocated buffers
+     */
+    public synchronized void clear() {
+        raw.clear();
+        for (Tier t : tiers) {
+            t.clear();
+        }
+        lastTime = -1L;
+        lastConsumption = 0.0;
+        lastProduction = 0.0;
+    }
+
+    /**
+     * Get the ring of a resolution
+     *
+     * @param resolution The resolution
+     * @return The ring storing it
+     */
+    protected Ring ring(Resolution resolution) {
+        return resolution == Resolution.RAW ? raw : tiers[resolution.ordinal() - 1].getRing();
+    }
+
+}
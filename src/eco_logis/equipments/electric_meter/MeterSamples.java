@@ -0,0 +1,120 @@
+package eco_logis.equipments.electric_meter;
+
+import java.io.Serializable;
+
+/**
+ * This class represents a range of the electric meter history, packed in
+ * primitive arrays so it can be sent in one call
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The sample {@code i} is made of {@code getTimestamp(i)} (in simulated
+ * milliseconds since the start of the simulation), {@code getConsumption(i)}
+ * and {@code getProduction(i)} (in watts). For the raw resolution, a sample is
+ * the balance set at its timestamp; for the downsampled ones, it is the mean
+ * balance over the bucket starting at its timestamp.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code timestamps.length == consumptions.length && timestamps.length == productions.length}
+ * invariant	{@code timestamps are sorted in increasing order}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class MeterSamples
+    implements Serializable
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** A range without samples */
+    public static final MeterSamples EMPTY = new MeterSamples(new long[0], new double[0], new double[0]);
+
+
+    // ========== Attributes ==========
+
+
+    /** Sample timestamps in simulated milliseconds */
+    private final long[] timestamps;
+
+    /** Sample consumptions in watts */
+    private final double[] consumptions;
+
+    /** Sample productions in watts */
+    private final double[] productions;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new range of samples; the arrays are not copied and must not
+     * be modified afterwards
+     *
+     * @param timestamps The sample timestamps in simulated milliseconds
+     * @param consumptions The sample consumptions in watts
+     * @param productions The sample productions in watts
+     */
+    public MeterSamples(long[] timestamps, double[] consumptions, double[] productions) {
+        if (timestamps.length != consumptions.length || timestamps.length != productions.length) {
+            throw new IllegalArgumentException("The sample arrays must have the same length");
+        }
+        this.timestamps = timestamps;
+        this.consumptions = consumptions;
+        this.productions = productions;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long getTimestamp(int i) {
+        return timestamps[i];
+    }
+
+    public double getConsumption(int i) {
+        return consumptions[i];
+    }
+
+    public double getProduction(int i) {
+        return productions[i];
+    }
+
+    /** @return A copy of the sample timestamps */
+    public long[] getTimestamps() {
+        return timestamps.clone();
+    }
+
+    /** @return A copy of the sample consumptions */
+    public double[] getConsumptions() {
+        return consumptions.clone();
+    }
+
+    /** @return A copy of the sample productions */
+    public double[] getProductions() {
+        return productions.clone();
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        if (timestamps.length == 0) return "MeterSamples[]";
+        return "MeterSamples[" + timestamps.length + " samples from " + timestamps[0] +
+                " to " + timestamps[timestamps.length - 1] + " ms]";
+    }
+
+}
@@ -0,0 +1,172 @@
+package eco_logis.equipments.electric_meter;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the latest balance of the electric meter, published
+ * by its simulation model and read without going through the component
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The snapshot is a sequence lock: the model, the only writer, makes the
+ * sequence odd, writes the consumption, the production and their simulated
+ * time, then makes the sequence even again. A reader never blocks nor
+ * delays the writer: it reads the sequence, the values and the sequence
+ * again, and retries while the sequence was odd or moved, so the three
+ * values it gets always come from the same publication. Reading a single
+ * value needs no retry.
+ * </p>
+ * <p>
+ * Every field is volatile, which orders the accesses of the sequence lock
+ * under the Java memory model without explicit fences.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class MeterSnapshot {
+
+    // ========== Internal classes ==========
+
+
+    /**
+     * A consistent reading of the snapshot
+     */
+    public static final class Reading
+        implements Serializable
+    {
+
+        private static final long serialVersionUID = 1L;
+
+        /** The consumption in watts */
+        private final double consumption;
+
+        /** The production in watts */
+        private final double production;
+
+        /** The simulated time of the balance in ms */
+        private final double time;
+
+        /**
+         * Create a new reading
+         *
+         * @param consumption The consumption in watts
+         * @param production The production in watts
+         * @param time The simulated time of the balance in ms
+         */
+        public Reading(double consumption, double production, double time) {
+            this.consumption = consumption;
+            this.production = production;
+            this.time = time;
+        }
+
+        public double getConsumption() {
+            return consumption;
+        }
+
+        public double getProduction() {
+            return production;
+        }
+
+        public double getTime() {
+            return time;
+        }
+
+        /** @see Object#toString() */
+        @Override
+        public String toString() {
+            return "Reading[consumption=" + consumption + ", production=" + production + ", time=" + time + "]";
+        }
+
+    }
+
+
+    // ========== Attributes ==========
+
+
+    /** The sequence of the publications, odd while one is written */
+    private volatile long sequence;
+
+    /** The consumption in watts */
+    private volatile double consumption;
+
+    /** The production in watts */
+    private volatile double production;
+
+    /** The simulated time of the balance in ms, NaN before the first publication */
+    private volatile double time = Double.NaN;
+
+
+    // ========== Getters ==========
+
+
+    /**
+     * Get the latest published consumption
+     *
+     * @return The consumption in watts, 0 before the first publication
+     */
+    public double getConsumption() {
+        return consumption;
+    }
+
+    /**
+     * Get the latest published production
+     *
+     * @return The production in watts, 0 before the first publication
+     */
+    public double getProduction() {
+        return production;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Publish a new balance
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code consumption >= 0.0 && production >= 0.0}
+     * post	{@code getConsumption() == consumption && getProduction() == production}
+     * </pre>
+     *
+     * @param consumption The consumption in watts
+     * @param production The production in watts
+     * @param time The simulated time of the balance in ms
+     */
+    public synchronized void publish(double consumption, double production, double time) {
+        // The lock only guards against several writers, the readers never take it
+        long s = sequence;
+        sequence = s + 1;
+        this.consumption = consumption;
+        this.production = production;
+        this.time = time;
+        sequence = s + 2;
+    }
+
+    /**
+     * Read the consumption, the production and their time from the same publication
+     *
+     * @return The reading
+     */
+    public Reading read() {
+        while (true) {
+            long before = sequence;
+            double c = consumption;
+            double p = production;
+            double t = time;
+            if ((before & 1L) == 0L && sequence == before) {
+                return new Reading(c, p, t);
+            }
+            Thread.yield();
+        }
+    }
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return "MeterSnapshot[" + read() + "]";
+    }
+
+}
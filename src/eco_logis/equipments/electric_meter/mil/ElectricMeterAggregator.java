@@ -0,0 +1,175 @@
+package eco_logis.equipments.electric_meter.mil;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the aggregation of the equipment powers measured by
+ * the electric meter
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Each source (an equipment consumption or production) is registered once and
+ * gets a slot in a table of primitive doubles. When a source is set, only its
+ * delta is applied to the total consumption or production, so a step where
+ * nothing changed costs one comparison per source and no allocation. To bound
+ * the rounding drift of the incremental sums, they are recomputed from the
+ * table every {@code RESYNC_PERIOD} changes.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code getConsumption() == sum of the consumption slots (up to rounding)}
+ * invariant	{@code getProduction() == sum of the production slots (up to rounding)}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class ElectricMeterAggregator
+{
+
+    // ========== Macros ==========
+
+
+    /** Default initial number of slots */
+    protected static final int DEFAULT_CAPACITY = 8;
+
+    /** Number of changes after which the sums are recomputed from the slots */
+    protected static final int RESYNC_PERIOD = 1024;
+
+
+    // ========== Attributes ==========
+
+
+    /** Current value of each source in watts */
+    private double[] values;
+
+    /** True if the source is a production, false if it is a consumption */
+    private boolean[] production;
+
+    /** Number of registered sources */
+    private int size;
+
+    /** Current total consumption in watts */
+    private double totalConsumption;
+
+    /** Current total production in watts */
+    private double totalProduction;
+
+    /** Changes applied since the last resynchronisation */
+    private int changes;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new empty aggregator
+     */
+    public ElectricMeterAggregator() {
+        values = new double[DEFAULT_CAPACITY];
+        production = new boolean[DEFAULT_CAPACITY];
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Register a new source, initially at 0 watts
+     *
+     * @param isProduction True if the source produces electricity, false if it consumes it
+     * @return The slot of the source
+     */
+    public int addSource(boolean isProduction) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            production = Arrays.copyOf(production, size * 2);
+        }
+        values[size] = 0.0;
+        production[size] = isProduction;
+        return size++;
+    }
+
+    /**
+     * Set the current value of a source and update the matching total
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code slot >= 0 && slot < size()}
+     * post	{@code get(slot) == value}
+     * </pre>
+     *
+     * @param slot The slot of the source
+     * @param value The new value in watts
+     * @return True if the value changed
+     */
+    public boolean set(int slot, double value) {
+        double delta = value - values[slot];
+        if (delta == 0.0) return false;
+
+        values[slot] = value;
+        if (production[slot]) {
+            totalProduction += delta;
+        } else {
+            totalConsumption += delta;
+        }
+        if (++changes >= RESYNC_PERIOD) {
+            resynchronise();
+        }
+        return true;
+    }
+
+    /**
+     * Recompute the totals from the slots
+     */
+    public void resynchronise() {
+        double cons = 0.0;
+        double prod = 0.0;
+        for (int i = 0; i < size; i++) {
+            if (production[i]) {
+                prod += values[i];
+            } else {
+                cons += values[i];
+            }
+        }
+        totalConsumption = cons;
+        totalProduction = prod;
+        changes = 0;
+    }
+
+    /**
+     * Set all the sources back to 0 watts, keeping them registered
+     */
+    public void reset() {
+        Arrays.fill(values, 0, size, 0.0);
+        totalConsumption = 0.0;
+        totalProduction = 0.0;
+        changes = 0;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public int size() {
+        return size;
+    }
+
+    public double get(int slot) {
+        return values[slot];
+    }
+
+    public boolean isProduction(int slot) {
+        return production[slot];
+    }
+
+    public double getConsumption() {
+        return totalConsumption;
+    }
+
+    public double getProduction() {
+        return totalProduction;
+    }
+
+}
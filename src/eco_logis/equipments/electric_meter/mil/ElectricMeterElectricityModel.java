@@ -1,9 +1,18 @@
 package eco_logis.equipments.electric_meter.mil;
 
-import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
+import eco_logis.equipments.electric_meter.EnergyCounters;
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
+import eco_logis.utils.Electricity;
+import eco_logis.utils.trace.TraceRecorder;
+import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.InternalVariable;
+import fr.sorbonne_u.devs_simulation.hioa.architectures.AtomicHIOA_Descriptor;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.StaticVariableDescriptor;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
+import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
+import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
+import fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelFactoryI;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
@@ -11,14 +20,54 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the electricity model of the electric meter
  *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The model has no imported variable of its own: the equipment consumptions
+ * and productions it sums are given as {@code MeterSourceDescriptor}s to the
+ * meter descriptor of the architecture (see {@link #createDescriptor}), and
+ * each source bound to the model instance gets a slot in an
+ * {@code ElectricMeterAggregator}, its kind being read from its sink name.
+ * Nothing is shared between the instances, so meters summing different
+ * sources can be built and run at the same time. The totals are then
+ * maintained from the per source deltas on primitive doubles, at a cost
+ * linear in the number of sources, and they are only boxed and time stamped
+ * when they change.
+ * </p>
+ * <p>
+ * The model does not sample its sources: it waits for the
+ * {@code BalanceChanged} events sent by the equipment electricity models when
+ * their consumption or production changes, and only then reads the sources,
+ * so it makes no transition while the totals are constant. Every source bound
+ * to the model must also be connected to it with its {@code BalanceChanged}
+ * event (see {@link MeterSourceDescriptor#connect(Map, String, MeterSourceDescriptor...)}),
+ * or its changes are only seen at the next change of another source.
+ * </p>
+ * <p>
+ * As the totals are constant between two changes, the energy counters (in
+ * kWh) are integrated exactly at the time of each change, over the time
+ * elapsed since the previous one.
+ * </p>
+ * <p>
+ * The model also keeps the peak consumption of the house and the overloads,
+ * the episodes during which the power drawn from the grid (the consumption
+ * minus the production) is above the import limit of the subscription. The
+ * limit is {@code DEFAULT_IMPORT_LIMIT} unless the simulation run parameter
+ * {@code IMPORT_LIMIT_PARAMETER} gives another one.
+ * </p>
+ *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
+@ModelExternalEvents(imported = {
+        BalanceChanged.class
+})
 public class ElectricMeterElectricityModel
     extends AtomicHIOA
 {
@@ -29,51 +78,60 @@ public class ElectricMeterElectricityModel
     /** The electric meter model URI */
     public static final String URI = ElectricMeterElectricityModel.class.getSimpleName();
 
-    /** The step duration for equations (in seconds) */
-    protected static final double STEP = 0.1;
+    /** Name of the simulation run parameter giving the import limit in watts (a {@code Double}) */
+    public static final String IMPORT_LIMIT_PARAMETER = "eco_logis.meter.importLimit";
+
+    /** The default import limit in watts, the one of a 3 kVA subscription */
+    public static final double DEFAULT_IMPORT_LIMIT = 3000.0;
 
 
     // ========== Attributes ==========
 
 
-    /** The evaluation step in a duration */
-    protected final Duration evaluationStep;
+    /** The current total consumption in the house */
+    @InternalVariable(type = Double.class)
+    protected final Value<Double> currentConsumption = new Value<>(this, 0.0);
 
-    /** The current consumption of the crypto miner */
-    @ImportedVariable(type = Double.class)
-    protected Value<Double> currentCryptoConsumption;
+    /** The current total production in the house */
+    @InternalVariable(type = Double.class)
+    protected final Value<Double> currentProduction = new Value<>(this, 0.0);
 
-    /** The current consumption of the dishwasher */
-    @ImportedVariable(type = Double.class)
-    protected Value<Double> currentDishwasherConsumption;
+    /** The aggregation of the sources in primitive slots */
+    protected final ElectricMeterAggregator aggregator = new ElectricMeterAggregator();
 
-    /** The current consumption of the oven */
-    @ImportedVariable(type = Double.class)
-    protected Value<Double> currentOvenConsumption;
+    /** The imported variable read by each slot of the aggregator */
+    @SuppressWarnings("unchecked")
+    protected Value<Double>[] sources = new Value[0];
 
-    /** The current generator production */
-    @ImportedVariable(type = Double.class)
-    protected Value<Double> currentGeneratorProduction;
+    /** The source bound to each slot of the aggregator */
+    protected MeterSourceDescriptor[] boundSources = new MeterSourceDescriptor[0];
 
-    /** The current wind turbine production */
-    @ImportedVariable(type = Double.class)
-    protected Value<Double> currentWindTurbineProduction;
+    /** Simulated time elapsed since the totals last changed */
+    protected double unrecordedElapsed;
 
-    /** The current power bank production */
-    @ImportedVariable(type = Double.class)
-    protected Value<Double> currentPowerBankProduction;
+    /** Energy consumed in the house since the start of the simulation in kWh */
+    protected double consumedEnergy;
 
-    /** The current power bank consumption */
-    @ImportedVariable(type = Double.class)
-    protected Value<Double> currentPowerBankConsumption;
+    /** Energy produced in the house since the start of the simulation in kWh */
+    protected double producedEnergy;
 
-    /** The current total consumption in the house */
-    @InternalVariable(type = Double.class)
-    protected final Value<Double> currentConsumption = new Value<>(this, 0.0);
+    /** Produced energy consumed in the house since the start of the simulation in kWh */
+    protected double selfConsumedEnergy;
 
-    /** The current total production in the house */
-    @InternalVariable(type = Double.class)
-    protected final Value<Double> currentProduction = new Value<>(this, 0.0);
+    /** Produced energy sent to the grid since the start of the simulation in kWh */
+    protected double exportedEnergy;
+
+    /** Power above which the house overloads its subscription in watts */
+    protected double importLimit = DEFAULT_IMPORT_LIMIT;
+
+    /** Highest total consumption since the start of the simulation in watts */
+    protected double peakConsumption;
+
+    /** Number of overloads since the start of the simulation */
+    protected int overloads;
+
+    /** Time spent overloaded since the start of the simulation in hours */
+    protected double overloadDuration;
 
 
     // ========== Constructors ==========
@@ -82,8 +140,7 @@ public class ElectricMeterElectricityModel
     /** @see AtomicHIOA#AtomicHIOA(String, TimeUnit, SimulatorI)  */
     public ElectricMeterElectricityModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
-        evaluationStep = new Duration(STEP, getSimulatedTimeUnit());
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -98,47 +155,157 @@ public class ElectricMeterElectricityModel
         return currentConsumption.v;
     }
 
+    /**
+     * Get the energy counters, including the energy of the current totals
+     * since their last change
+     *
+     * @return The energy counters in kWh
+     */
+    public EnergyCounters getEnergyCounters() {
+        Duration pending = new Duration(unrecordedElapsed, getSimulatedTimeUnit());
+        double cons = currentConsumption.v;
+        double prod = currentProduction.v;
+        return new EnergyCounters(
+                consumedEnergy + Electricity.computeConsumption(pending, cons),
+                producedEnergy + Electricity.computeConsumption(pending, prod),
+                selfConsumedEnergy + Electricity.computeConsumption(pending, Math.min(cons, prod)),
+                exportedEnergy + Electricity.computeConsumption(pending, Math.max(prod - cons, 0.0)));
+    }
+
+    public double getImportLimit() {
+        return importLimit;
+    }
+
+    public double getPeakConsumption() {
+        return peakConsumption;
+    }
+
+    public int getOverloads() {
+        return overloads;
+    }
+
+    /**
+     * Get the time spent overloaded, including the current overload since the
+     * last change of the totals
+     *
+     * @return The time spent overloaded in hours
+     */
+    public double getOverloadDuration() {
+        double res = overloadDuration;
+        if (isOverloaded()) {
+            res += Electricity.toHours(new Duration(unrecordedElapsed, getSimulatedTimeUnit()));
+        }
+        return res;
+    }
+
 
     // ========== Class methods ==========
 
 
     /**
-     * Update the current consumption of all the house
-     * 
+     * Create the architecture descriptor of an electric meter model summing
+     * the given sources; the descriptors created by {@code AtomicHIOA_Descriptor}
+     * only know the annotated imported variables of the model class
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code sources != null}
+     * post	{@code ret.importedVariables.length >= sources.length}
+     * </pre>
+     *
+     * @param modelClass The electric meter model class
+     * @param modelURI The model URI
+     * @param simulatedTimeUnit The simulation time unit
+     * @param amFactory The model factory, null for the standard one
+     * @param engineCreationMode The creation mode of the simulation engine
+     * @param sources The equipment consumptions and productions to sum
+     * @return The model descriptor
+     * @throws Exception TODO
+     */
+    public static AtomicHIOA_Descriptor createDescriptor(Class<? extends ElectricMeterElectricityModel> modelClass,
+                                                         String modelURI,
+                                                         TimeUnit simulatedTimeUnit,
+                                                         AtomicModelFactoryI amFactory,
+                                                         SimulationEngineCreationMode engineCreationMode,
+                                                         MeterSourceDescriptor... sources) throws Exception {
+        return new Descriptor(
+                AtomicHIOA_Descriptor.create(modelClass, modelURI, simulatedTimeUnit, amFactory, engineCreationMode),
+                sources);
+    }
+
+    /**
+     * Find the source imported under a sink name
+     *
+     * @param name The sink variable name
+     * @param type The variable type
+     * @return The source, null if the name and type are not the ones of a source
+     */
+    protected static MeterSourceDescriptor findSource(String name, Class<?> type) {
+        if (!Double.class.isAssignableFrom(type)) return null;
+        return MeterSourceDescriptor.ofSinkName(name);
+    }
+
+    /**
+     * Get if the current totals overload the subscription
+     *
+     * @return True if the imported power is above the import limit
+     */
+    protected boolean isOverloaded() {
+        return currentConsumption.v - currentProduction.v > importLimit;
+    }
+
+    /**
+     * Read the sources and update the house consumption and production with
+     * the elapsed time
+     *
      * @param d The time since the last update
+     * @return True if the consumption or the production changed
      */
-    protected boolean updateConsumption(Duration d) {
-        currentConsumption.time = currentConsumption.time.add(d);
-
-        double computedCons =
-                        (currentCryptoConsumption == null ? 0.0 : currentCryptoConsumption.v)
-                        + (currentDishwasherConsumption == null ? 0.0 : currentDishwasherConsumption.v)
-                        + (currentOvenConsumption == null ? 0.0 : currentOvenConsumption.v)
-                        + (currentPowerBankConsumption == null ? 0.0 : currentPowerBankConsumption.v);
-        if(currentConsumption.v != computedCons) {
-            currentConsumption.v = computedCons;
-            return true;
+    protected boolean updateBalance(Duration d) {
+        unrecordedElapsed += d.getSimulatedDuration();
+
+        boolean changed = false;
+        for (int i = 0; i < sources.length; i++) {
+            changed |= aggregator.set(i, sources[i].v);
         }
-        return false;
+        if (changed) {
+            recordBalance();
+        }
+        return changed;
     }
 
     /**
-     * Update the energy production with the elapsed time
-     *
-     * @param d The elapsed time
+     * Integrate the energy of the former totals over the time since their last
+     * change, then copy the aggregated totals into the internal variables and
+     * move their time forward
      */
-    protected boolean updateProduction(Duration d) {
-        currentProduction.time = currentProduction.time.add(d);
+    protected void recordBalance() {
+        Duration elapsed = new Duration(unrecordedElapsed, getSimulatedTimeUnit());
+        unrecordedElapsed = 0.0;
+
+        double cons = currentConsumption.v;
+        double prod = currentProduction.v;
+        consumedEnergy += Electricity.computeConsumption(elapsed, cons);
+        producedEnergy += Electricity.computeConsumption(elapsed, prod);
+        selfConsumedEnergy += Electricity.computeConsumption(elapsed, Math.min(cons, prod));
+        exportedEnergy += Electricity.computeConsumption(elapsed, Math.max(prod - cons, 0.0));
+        boolean wasOverloaded = isOverloaded();
+        if (wasOverloaded) {
+            overloadDuration += Electricity.toHours(elapsed);
+        }
 
-        double computedProd =
-                        (currentGeneratorProduction == null ? 0.0 : currentGeneratorProduction.v)
-                        + (currentWindTurbineProduction == null ? 0.0 : currentWindTurbineProduction.v)
-                        + (currentPowerBankProduction == null ? 0.0 : currentPowerBankProduction.v);
-        if(currentProduction.v != computedProd) {
-            currentProduction.v = computedProd;
-            return true;
+        currentConsumption.time = currentConsumption.time.add(elapsed);
+        currentProduction.time = currentProduction.time.add(elapsed);
+        if (currentConsumption.v != aggregator.getConsumption()) {
+            currentConsumption.v = aggregator.getConsumption();
+        }
+        if (currentProduction.v != aggregator.getProduction()) {
+            currentProduction.v = aggregator.getProduction();
+        }
+        peakConsumption = Math.max(peakConsumption, currentConsumption.v);
+        if (!wasOverloaded && isOverloaded()) {
+            overloads++;
         }
-        return false;
     }
 
 
@@ -152,11 +319,71 @@ public class ElectricMeterElectricityModel
 
         currentConsumption.v = 0.0;
         currentProduction.v = 0.0;
+        aggregator.reset();
+        unrecordedElapsed = 0.0;
+        consumedEnergy = 0.0;
+        producedEnergy = 0.0;
+        selfConsumedEnergy = 0.0;
+        exportedEnergy = 0.0;
+        peakConsumption = 0.0;
+        overloads = 0;
+        overloadDuration = 0.0;
 
         toggleDebugMode();
         logMessage("Simulation starts...\n");
     }
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        Object limit = simParams.get(IMPORT_LIMIT_PARAMETER);
+        importLimit = limit == null ? DEFAULT_IMPORT_LIMIT : ((Number) limit).doubleValue();
+    }
+
+    /** @see AtomicHIOA#isTIOA() */
+    @Override
+    public boolean isTIOA() throws Exception {
+        // The sources are imported variables without fields, and they may not be bound yet
+        return false;
+    }
+
+    /** @see AtomicHIOA#isImportedVariable(String, Class) */
+    @Override
+    public boolean isImportedVariable(String name, Class<?> type) {
+        return findSource(name, type) != null || super.isImportedVariable(name, type);
+    }
+
+    /** @see AtomicHIOA#getImportedVariables() */
+    @Override
+    public StaticVariableDescriptor[] getImportedVariables() throws Exception {
+        return MeterSourceDescriptor.importedVariables(super.getImportedVariables(), boundSources);
+    }
+
+    /**
+     * Bind a source to a new slot of the aggregator, the other
+     * imported variables being bound by the superclass
+     *
+     * @see AtomicHIOA#setImportedVariableValueReference(String, String, Class, Value)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setImportedVariableValueReference(String modelURI, String sinkVariableName,
+                                                  Class<?> sinkVariableType, Value<?> value) throws Exception {
+        MeterSourceDescriptor source = findSource(sinkVariableName, sinkVariableType);
+        if (source == null) {
+            super.setImportedVariableValueReference(modelURI, sinkVariableName, sinkVariableType, value);
+            return;
+        }
+        assert modelURI == null || modelURI.equals(getURI());
+
+        int slot = aggregator.addSource(source.isProduction());
+        sources = Arrays.copyOf(sources, slot + 1);
+        sources[slot] = (Value<Double>) value;
+        boundSources = Arrays.copyOf(boundSources, slot + 1);
+        boundSources[slot] = source;
+    }
+
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
@@ -167,24 +394,167 @@ public class ElectricMeterElectricityModel
     /** @see AtomicHIOA#timeAdvance() */
     @Override
     public Duration timeAdvance() {
-        return evaluationStep;
+        // The model only moves on the changes of its sources
+        return Duration.INFINITY;
     }
 
-    /** @see AtomicHIOA#userDefinedInternalTransition(Duration) */
+    /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
     @Override
-    public void userDefinedInternalTransition(Duration elapsedTime) {
-        super.userDefinedInternalTransition(elapsedTime);
-        if(updateConsumption(elapsedTime) || updateProduction(elapsedTime)) {
+    public void userDefinedExternalTransition(Duration elapsedTime) {
+        // Several sources may change at the same time, one read is enough
+        ArrayList<EventI> currentEvents = getStoredEventAndReset();
+        assert currentEvents != null && !currentEvents.isEmpty();
+
+        if (updateBalance(elapsedTime) && isDebugModeOn()) {
             logMessage("Current global consumption : " + currentConsumption.v + " watts | Current global production : " + currentProduction.v + " watts" + "\n");
         }
+
+        super.userDefinedExternalTransition(elapsedTime);
     }
 
     /** @see AtomicHIOA#endSimulation(Time) */
     @Override
     public void endSimulation(Time endTime) throws Exception {
-        this.updateConsumption(endTime.subtract(currentConsumption.time));
+        this.updateBalance(endTime.subtract(currentConsumption.time).subtract(
+                new Duration(unrecordedElapsed, getSimulatedTimeUnit())));
+        this.recordBalance();
         logMessage("Simulation ends!\n");
         super.endSimulation(endTime);
     }
-    
+
+    /** @see AtomicHIOA#getFinalReport() */
+    @Override
+    public SimulationReportI getFinalReport() throws Exception {
+        return new ElectricMeterElectricityReport(getURI(), getEnergyCounters(),
+                peakConsumption, overloads, getOverloadDuration());
+    }
+
+
+    // ========== Internal Enums and class ==========
+
+
+    /**
+     * This class represents the architecture descriptor of an electric meter
+     * model, whose imported variables include the ones of its sources
+     *
+     * @author Emilie SIAU
+     * @author Hugo GUERRIER
+     */
+    protected static class Descriptor
+        extends AtomicHIOA_Descriptor
+    {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Create a new electric meter descriptor
+         *
+         * @param descriptor The descriptor created from the model class
+         * @param sources The sources of the meter
+         * @throws Exception TODO
+         */
+        protected Descriptor(AtomicHIOA_Descriptor descriptor, MeterSourceDescriptor... sources) throws Exception {
+            super(descriptor.modelClass, descriptor.modelURI, descriptor.importedEvents, descriptor.exportedEvents,
+                    descriptor.simulatedTimeUnit, descriptor.amFactory, descriptor.engineCreationMode,
+                    MeterSourceDescriptor.importedVariables(descriptor.importedVariables, sources),
+                    descriptor.exportedVariables);
+        }
+
+    }
+
+
+    /**
+     * This class represents the final report of the electric meter model
+     *
+     * @author Emilie SIAU
+     * @author Hugo GUERRIER
+     */
+    public static class ElectricMeterElectricityReport
+        implements SimulationReportI
+    {
+
+        private static final long serialVersionUID = 1L;
+
+        /** URI of the reporting model */
+        protected final String modelURI;
+
+        /** The energy counters at the end of the simulation */
+        protected final EnergyCounters counters;
+
+        /** The peak consumption in watts */
+        protected final double peakConsumption;
+
+        /** The number of overloads */
+        protected final int overloads;
+
+        /** The time spent overloaded in hours */
+        protected final double overloadDuration;
+
+        /**
+         * Create a new electric meter report
+         *
+         * @param modelURI The URI of the reporting model
+         * @param counters The energy counters at the end of the simulation
+         * @param peakConsumption The peak consumption in watts
+         * @param overloads The number of overloads
+         * @param overloadDuration The time spent overloaded in hours
+         */
+        public ElectricMeterElectricityReport(String modelURI, EnergyCounters counters,
+                                              double peakConsumption, int overloads, double overloadDuration) {
+            this.modelURI = modelURI;
+            this.counters = counters;
+            this.peakConsumption = peakConsumption;
+            this.overloads = overloads;
+            this.overloadDuration = overloadDuration;
+        }
+
+        public EnergyCounters getCounters() {
+            return counters;
+        }
+
+        public double getPeakConsumption() {
+            return peakConsumption;
+        }
+
+        public int getOverloads() {
+            return overloads;
+        }
+
+        public double getOverloadDuration() {
+            return overloadDuration;
+        }
+
+        /** @see SimulationReportI#getModelURI() */
+        @Override
+        public String getModelURI() {
+            return modelURI;
+        }
+
+        /**
+         * Produce a printout of the report
+         *
+         * @param indent The string to put before each line
+         * @return The printout of the report
+         */
+        public String printout(String indent) {
+            return indent + "---\n" +
+                    indent + "|" + modelURI + " report\n" +
+                    indent + "|total consumption in kwh = " + counters.getConsumed() + "\n" +
+                    indent + "|total production in kwh = " + counters.getProduced() + "\n" +
+                    indent + "|self consumption in kwh = " + counters.getSelfConsumed() + "\n" +
+                    indent + "|exported energy in kwh = " + counters.getExported() + "\n" +
+                    indent + "|imported energy in kwh = " + counters.getImported() + "\n" +
+                    indent + "|peak consumption in watts = " + peakConsumption + "\n" +
+                    indent + "|overloads = " + overloads + " (" + overloadDuration + " hours)\n" +
+                    indent + "---\n";
+        }
+
+        /** @see Object#toString() */
+        @Override
+        public String toString() {
+            return printout("");
+        }
+
+    }
+
 }
@@ -0,0 +1,262 @@
+package eco_logis.equipments.electric_meter.mil;
+
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.StaticVariableDescriptor;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSink;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableSource;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.VariableVisibility;
+import fr.sorbonne_u.devs_simulation.models.events.EventSink;
+import fr.sorbonne_u.devs_simulation.models.events.EventSource;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This class describes a source of the electric meter: a consumption or a
+ * production variable exported by an equipment model
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The electric meter model does not declare one imported variable per
+ * equipment. The sources are given to the meter descriptor of each
+ * architecture (see {@link ElectricMeterElectricityModel#createDescriptor})
+ * and each of them is imported under its own sink name, which tells the
+ * meter instance its kind, so any number of equipments, possibly from
+ * several houses, can be bound to one meter, and meters with different
+ * sources can coexist. The
+ * equipment models export their power as {@code currentConsumption} or
+ * {@code currentProduction}, which the factories below use by default.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code modelURI != null && variableName != null && kind != null}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class MeterSourceDescriptor
+{
+
+    // ========== Internal Enums and class ==========
+
+
+    /** The kinds of source */
+    public enum Kind {
+        CONSUMPTION,
+        PRODUCTION
+    }
+
+
+    // ========== Macros ==========
+
+
+    /** Name of the variable exported by the consuming equipment models */
+    public static final String CONSUMPTION_VARIABLE = "currentConsumption";
+
+    /** Name of the variable exported by the producing equipment models */
+    public static final String PRODUCTION_VARIABLE = "currentProduction";
+
+
+    // ========== Attributes ==========
+
+
+    /** URI of the equipment model exporting the variable */
+    private final String modelURI;
+
+    /** Name of the exported variable */
+    private final String variableName;
+
+    /** Whether the variable is a consumption or a production */
+    private final Kind kind;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new meter source descriptor
+     *
+     * @param modelURI The URI of the equipment model exporting the variable
+     * @param variableName The name of the exported variable, in watts
+     * @param kind Whether the variable is a consumption or a production
+     */
+    public MeterSourceDescriptor(String modelURI, String variableName, Kind kind) {
+        if (modelURI == null || variableName == null || kind == null) {
+            throw new IllegalArgumentException("A meter source needs a model URI, a variable name and a kind");
+        }
+        this.modelURI = modelURI;
+        this.variableName = variableName;
+        this.kind = kind;
+    }
+
+    /**
+     * Describe the consumption of an equipment model
+     *
+     * @param modelURI The URI of the equipment model
+     * @return The source descriptor
+     */
+    public static MeterSourceDescriptor consumption(String modelURI) {
+        return new MeterSourceDescriptor(modelURI, CONSUMPTION_VARIABLE, Kind.CONSUMPTION);
+    }
+
+    /**
+     * Describe the production of an equipment model
+     *
+     * @param modelURI The URI of the equipment model
+     * @return The source descriptor
+     */
+    public static MeterSourceDescriptor production(String modelURI) {
+        return new MeterSourceDescriptor(modelURI, PRODUCTION_VARIABLE, Kind.PRODUCTION);
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the name under which the meter imports this source; it is unique as
+     * long as the model URIs are
+     *
+     * @return The sink variable name
+     */
+    public String sinkName() {
+        return kind.name().toLowerCase() + "@" + modelURI + "." + variableName;
+    }
+
+    /**
+     * Get the source a meter imports under a sink name
+     *
+     * @param sinkName The sink variable name
+     * @return The source, null if the name is not the sink name of a source
+     */
+    public static MeterSourceDescriptor ofSinkName(String sinkName) {
+        int at = sinkName.indexOf('@');
+        int dot = sinkName.lastIndexOf('.');
+        if (at <= 0 || dot <= at + 1 || dot == sinkName.length() - 1) return null;
+
+        Kind kind = null;
+        for (Kind k : Kind.values()) {
+            if (k.name().toLowerCase().equals(sinkName.substring(0, at))) kind = k;
+        }
+        if (kind == null) return null;
+        return new MeterSourceDescriptor(sinkName.substring(at + 1, dot), sinkName.substring(dot + 1), kind);
+    }
+
+    /**
+     * Get the static imported variables of a meter importing sources
+     *
+     * @param fields The imported variables of the meter fields
+     * @param sources The sources of the meter
+     * @return The imported variables of the fields followed by the ones of the sources
+     */
+    public static StaticVariableDescriptor[] importedVariables(StaticVariableDescriptor[] fields,
+                                                               MeterSourceDescriptor... sources) {
+        StaticVariableDescriptor[] res = Arrays.copyOf(fields, fields.length + sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            res[fields.length + i] =
+                    new StaticVariableDescriptor(sources[i].sinkName(), Double.class, VariableVisibility.IMPORTED);
+        }
+        return res;
+    }
+
+    /**
+     * Add the bindings of sources to an electric meter model, keeping the
+     * sinks already bound to the same variables
+     *
+     * @param bindings The architecture variable bindings
+     * @param meterURI The URI of the electric meter model
+     * @param sources The sources to bind
+     */
+    public static void bind(Map<VariableSource, VariableSink[]> bindings,
+                            String meterURI,
+                            MeterSourceDescriptor... sources) {
+        for (MeterSourceDescriptor s : sources) {
+            VariableSource source = new VariableSource(s.variableName, Double.class, s.modelURI);
+            VariableSink sink = new VariableSink(s.variableName, Double.class, s.sinkName(), Double.class, meterURI);
+
+            VariableSink[] sinks = null;
+            for (Map.Entry<VariableSource, VariableSink[]> e : bindings.entrySet()) {
+                if (e.getKey().name.equals(source.name) && e.getKey().exportingModelURI.equals(source.exportingModelURI)) {
+                    source = e.getKey();
+                    sinks = e.getValue();
+                    break;
+                }
+            }
+            if (sinks == null) {
+                bindings.put(source, new VariableSink[] {sink});
+            } else {
+                VariableSink[] extended = Arrays.copyOf(sinks, sinks.length + 1);
+                extended[sinks.length] = sink;
+                bindings.put(source, extended);
+            }
+        }
+    }
+
+    /**
+     * Add the connections of the {@code BalanceChanged} events of the source
+     * models to an event driven electric meter model, once per model even if
+     * it has several sources, keeping the sinks already connected to the same
+     * events
+     *
+     * @param connections The architecture event connections
+     * @param meterURI The URI of the electric meter model
+     * @param sources The sources whose models notify the meter
+     */
+    public static void connect(Map<EventSource, EventSink[]> connections,
+                               String meterURI,
+                               MeterSourceDescriptor... sources) {
+        for (MeterSourceDescriptor s : sources) {
+            EventSource source = new EventSource(s.modelURI, BalanceChanged.class);
+            EventSink sink = new EventSink(meterURI, BalanceChanged.class);
+
+            EventSink[] sinks = null;
+            for (Map.Entry<EventSource, EventSink[]> e : connections.entrySet()) {
+                if (e.getKey().equals(source)) {
+                    source = e.getKey();
+                    sinks = e.getValue();
+                    break;
+                }
+            }
+            if (sinks == null) {
+                connections.put(source, new EventSink[] {sink});
+            } else if (Arrays.stream(sinks).noneMatch(k -> k.importingModelURI.equals(meterURI))) {
+                EventSink[] extended = Arrays.copyOf(sinks, sinks.length + 1);
+                extended[sinks.length] = sink;
+                connections.put(source, extended);
+            }
+        }
+    }
+
+
+    // ========== Getters ==========
+
+
+    public String getModelURI() {
+        return modelURI;
+    }
+
+    public String getVariableName() {
+        return variableName;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isProduction() {
+        return kind == Kind.PRODUCTION;
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return sinkName();
+    }
+
+}
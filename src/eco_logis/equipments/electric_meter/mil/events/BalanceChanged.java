@@ -0,0 +1,52 @@
+package eco_logis.equipments.electric_meter.mil.events;
+
+import eco_logis.equipments.electric_meter.mil.ElectricMeterElectricityModel;
+import fr.sorbonne_u.devs_simulation.es.events.ES_Event;
+import fr.sorbonne_u.devs_simulation.models.AtomicModel;
+import fr.sorbonne_u.devs_simulation.models.events.EventInformationI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+/**
+ * This class represents the notification, sent by an equipment electricity
+ * model to the electric meter, that its consumption or production changed
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The event carries no value: the meter reads the new values through the
+ * variables it imports. It lets an event driven meter update its balance
+ * only when a source changes instead of sampling the sources.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class BalanceChanged
+    extends ES_Event
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Constructors ==========
+
+
+    /** @see ES_Event#ES_Event(Time, EventInformationI) */
+    public BalanceChanged(Time timeOfOccurrence) {
+        super(timeOfOccurrence, null);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see ES_Event#executeOn(AtomicModel) */
+    @Override
+    public void executeOn(AtomicModel model) {
+        // The meter reads its sources itself
+        assert model instanceof ElectricMeterElectricityModel;
+    }
+
+}
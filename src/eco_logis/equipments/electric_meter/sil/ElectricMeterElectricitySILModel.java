@@ -3,7 +3,13 @@ package eco_logis.equipments.electric_meter.sil;
 import eco_logis.equipments.electric_meter.ElectricMeter;
 import eco_logis.equipments.electric_meter.ElectricMeterRTAtomicSimulatorPlugin;
 import eco_logis.equipments.electric_meter.mil.ElectricMeterElectricityModel;
+import eco_logis.equipments.electric_meter.mil.MeterSourceDescriptor;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
+import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
+import fr.sorbonne_u.devs_simulation.hioa.architectures.RTAtomicHIOA_Descriptor;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.simulators.AtomicRTEngine;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 
 import java.util.Map;
@@ -50,6 +56,12 @@ public class ElectricMeterElectricitySILModel
     /** Owner component */
     protected ElectricMeter owner;
 
+    /** Consumption last reported to the owner component */
+    protected double reportedConsumption = Double.NaN;
+
+    /** Production last reported to the owner component */
+    protected double reportedProduction = Double.NaN;
+
 
     // ========== Constructors ==========
 
@@ -81,6 +93,33 @@ public class ElectricMeterElectricitySILModel
     // ========== Class methods ==========
 
 
+    /**
+     * Create the real time architecture descriptor of an electric meter SIL
+     * model summing the given sources
+     *
+     * @see ElectricMeterElectricityModel#createDescriptor
+     *
+     * @param modelURI The model URI
+     * @param simulatedTimeUnit The simulation time unit
+     * @param engineCreationMode The creation mode of the simulation engine
+     * @param accelerationFactor The acceleration factor of the real time simulation
+     * @param sources The equipment consumptions and productions to sum
+     * @return The model descriptor
+     * @throws Exception TODO
+     */
+    public static RTAtomicHIOA_Descriptor createDescriptor(String modelURI,
+                                                           TimeUnit simulatedTimeUnit,
+                                                           SimulationEngineCreationMode engineCreationMode,
+                                                           double accelerationFactor,
+                                                           MeterSourceDescriptor... sources) throws Exception {
+        RTAtomicHIOA_Descriptor d = RTAtomicHIOA_Descriptor.create(ElectricMeterElectricitySILModel.class,
+                modelURI, simulatedTimeUnit, null, engineCreationMode, accelerationFactor);
+        return new RTAtomicHIOA_Descriptor(d.modelClass, d.modelURI, d.importedEvents, d.exportedEvents,
+                d.simulatedTimeUnit, d.amFactory, d.engineCreationMode,
+                MeterSourceDescriptor.importedVariables(d.importedVariables, sources), d.exportedVariables,
+                AtomicRTEngine.STD_SCHEDULER_PROVIDER, accelerationFactor);
+    }
+
     /** @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map) */
     @Override
     public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
@@ -89,7 +128,38 @@ public class ElectricMeterElectricitySILModel
         assert simParams.containsKey(ElectricMeterRTAtomicSimulatorPlugin.METER_REFERENCE_NAME);
         this.owner = (ElectricMeter) simParams.get(ElectricMeterRTAtomicSimulatorPlugin.METER_REFERENCE_NAME);
         // Replace the logger set in the superclass by the one directing logs to the owner component logger
-        this.setLogger(new StandardComponentLogger(this.owner));
+        this.setLogger(TraceRecorder.route(new StandardComponentLogger(this.owner)));
+    }
+
+    /**
+     * Publish the consumption and the production in the balance snapshot of
+     * the owner component at each change of a source, and report them to the
+     * owner when they changed, with the simulated time in milliseconds, so it
+     * can record them in its history and push notifications to its subscriber.
+     *
+     * @see ElectricMeterElectricityModel#userDefinedExternalTransition(Duration)
+     */
+    @Override
+    public void userDefinedExternalTransition(Duration elapsedTime) {
+        super.userDefinedExternalTransition(elapsedTime);
+
+        final double cons = this.currentConsumption.v;
+        final double prod = this.currentProduction.v;
+        final double simulatedTime = this.getCurrentStateTime().getSimulatedTime()
+                * this.getSimulatedTimeUnit().toNanos(1) / 1.0e6;
+        this.owner.getBalanceSnapshot().publish(cons, prod, simulatedTime);
+        if (cons != this.reportedConsumption || prod != this.reportedProduction) {
+            this.reportedConsumption = cons;
+            this.reportedProduction = prod;
+            final long time = Math.round(simulatedTime);
+            this.owner.runTask(o -> {
+                try {
+                    ((ElectricMeter) o).balanceUpdated(time, cons, prod);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+        }
     }
 
 
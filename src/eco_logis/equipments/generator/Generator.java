@@ -1,16 +1,22 @@
 package eco_logis.equipments.generator;
 
-import eco_logis.CVM_SIL;
+import eco_logis.EquipmentStatePublisher;
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.generator.mil.GeneratorCoupledModel;
 import eco_logis.equipments.generator.mil.events.SwitchOffGenerator;
 import eco_logis.equipments.generator.mil.events.SwitchOnGenerator;
 import eco_logis.equipments.generator.sil.GeneratorStateModel;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentNotificationCI;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -20,6 +26,7 @@ import java.util.HashMap;
  * @author Hugo GUERRIER
  */
 @OfferedInterfaces(offered = {GeneratorCI.class})
+@RequiredInterfaces(required = {EquipmentNotificationCI.class})
 public class Generator
     extends AbstractCyPhyComponent
     implements GeneratorImplementationI
@@ -53,6 +60,9 @@ public class Generator
     /** The inbound port */
     private GeneratorInboundPort gip;
 
+    /** The publisher of the state changes to the subscribers */
+    protected EquipmentStatePublisher statePublisher;
+
     // --- For the SIL simulation
 
     /** The URI of the created simulation architecture */
@@ -70,9 +80,6 @@ public class Generator
     /** If the component executes a unit test */
     protected boolean executesAsUnitTest;
 
-    /** Acceleration factor for the simulation */
-    protected static final double ACC_FACT = 1.0;
-
 
     // ========== Constructors ==========
 
@@ -181,6 +188,9 @@ public class Generator
         gip = new GeneratorInboundPort(generatorInboundPortURI, this);
         gip.publishPort();
 
+        // Create the state publisher
+        statePublisher = new EquipmentStatePublisher(this);
+
         // Create the tracer
         if(VERBOSE) {
             tracer.get().setTitle("Generator component");
@@ -189,6 +199,16 @@ public class Generator
         }
     }
 
+    /**
+     * Get the current state of the generator
+     *
+     * @return The current state
+     */
+    protected EquipmentState currentState() {
+        // The fuel level goes with each state, so the subscribers see it run low
+        return EquipmentState.production(isRunning, fuelLevel);
+    }
+
 
     // ========== Component lifecycle ==========
 
@@ -209,7 +229,7 @@ public class Generator
             simulatorPlugin.setSimulationExecutorService(SCHEDULED_EXECUTOR_SERVICE_URI);
             try {
 
-                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, executesAsUnitTest ? ACC_FACT : CVM_SIL.ACC_FACTOR);
+                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, SILConfiguration.current().getAccelerationFactor());
                 installPlugin(simulatorPlugin);
 
             } catch (Exception e) {
@@ -223,13 +243,21 @@ public class Generator
     public synchronized void execute() throws Exception {
         if(executesAsUnitTest) {
             simulatorPlugin.setSimulationRunParameters(new HashMap<>());
-            long startTime = System.currentTimeMillis() + 1000L;
-            double endTime = 10.0 / ACC_FACT;
+            SILConfiguration configuration = SILConfiguration.current();
+            long startTime = System.currentTimeMillis() + configuration.getStartDelay();
+            double endTime = configuration.getSimulationDuration();
             simulatorPlugin.startRTSimulation(startTime, 0.0, endTime);
             this.traceMessage("real time of start = " + startTime + "\n");
         }
     }
 
+    /** @see AbstractCyPhyComponent#finalise() */
+    @Override
+    public synchronized void finalise() throws Exception {
+        statePublisher.finalise();
+        super.finalise();
+    }
+
     /** @see AbstractCyPhyComponent#shutdown() */
     @Override
     public synchronized void shutdown() throws ComponentShutdownException {
@@ -237,6 +265,7 @@ public class Generator
 
         try {
             gip.unpublishPort();
+            statePublisher.shutdown();
         } catch (Exception e) {
             throw new ComponentShutdownException(e);
         }
@@ -270,6 +299,8 @@ public class Generator
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(GeneratorStateModel.URI, SwitchOnGenerator::new);
+
+        statePublisher.publish(currentState());
     }
 
     /** @see GeneratorImplementationI#stopGenerator() */
@@ -285,6 +316,8 @@ public class Generator
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(GeneratorStateModel.URI, SwitchOffGenerator::new);
+
+        statePublisher.publish(currentState());
     }
 
     @Override
@@ -318,6 +351,69 @@ public class Generator
         assert !isRunning : new PreconditionException("refill() -> !isRunning");
 
         fuelLevel = 1.0f;
+
+        statePublisher.publish(currentState());
+    }
+
+    /** @see GeneratorImplementationI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = currentState();
+        if(VERBOSE) {
+            logMessage("Generator get state : " + res);
+        }
+
+        return res;
+    }
+
+    /** @see GeneratorImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        if(VERBOSE) {
+            logMessage("Generator executes batch : " + Arrays.toString(commands));
+        }
+
+        return EquipmentCommand.executeAll(this::executeCommand, commands);
+    }
+
+    /**
+     * Execute a command of a batch of the HEM
+     *
+     * @param command The command to execute
+     * @return The command status
+     * @throws Exception TODO
+     */
+    protected byte executeCommand(EquipmentCommand command) throws Exception {
+        switch (command.getOperation()) {
+            case START_PRODUCING:
+                startGenerator();
+                return EquipmentCommand.DONE;
+            case STOP_PRODUCING:
+                stopGenerator();
+                return EquipmentCommand.DONE;
+            default:
+                return EquipmentCommand.UNSUPPORTED;
+        }
+    }
+
+    /** @see GeneratorImplementationI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        if(VERBOSE) {
+            logMessage("Generator subscribe : " + notificationInboundPortURI);
+        }
+
+        statePublisher.subscribe(notificationInboundPortURI, equipmentId, currentState());
+    }
+
+    /** @see GeneratorImplementationI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        if(VERBOSE) {
+            logMessage("Generator unsubscribe : " + notificationInboundPortURI);
+        }
+
+        return statePublisher.unsubscribe(notificationInboundPortURI);
     }
 
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.generator;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
 
@@ -37,4 +39,20 @@ public interface GeneratorCI
     @Override
     void refill() throws Exception;
 
+    /** @see GeneratorImplementationI#describeState() */
+    @Override
+    EquipmentState describeState() throws Exception;
+
+    /** @see GeneratorImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
+    /** @see GeneratorImplementationI#subscribe(String, String) */
+    @Override
+    void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception;
+
+    /** @see GeneratorImplementationI#unsubscribe(String) */
+    @Override
+    boolean unsubscribe(String notificationInboundPortURI) throws Exception;
+
 }
@@ -1,5 +1,8 @@
 package eco_logis.equipments.generator;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
+
 /**
  * Interface of all methods that a generator should implement
  *
@@ -95,4 +98,72 @@ public interface GeneratorImplementationI
      */
     void refill() throws Exception;
 
+    /**
+     * Describe the generator state in a single call, with all the values the
+     * HEM reads to decide on it
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre true
+     * post {@code ret != null}
+     * </pre>
+     *
+     * @return The current generator state
+     * @throws Exception TODO
+     */
+    EquipmentState describeState() throws Exception;
+
+    /**
+     * Execute a batch of commands of the HEM in a single call, in order; a
+     * command failing does not prevent the following ones from being executed
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code commands != null}
+     * post	{@code ret.length == commands.length}
+     * </pre>
+     *
+     * @param commands The commands to execute
+     * @return The status of each command, as defined by {@code EquipmentCommand}
+     * @throws Exception TODO
+     */
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
+    /**
+     * Subscribe a component to the generator state changes, pushed through
+     * {@code EquipmentNotificationCI}; subscribing again the same inbound
+     * port replaces its subscription
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre {@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     * pre {@code equipmentId != null && !equipmentId.isEmpty()}
+     * post true
+     * </pre>
+     *
+     * @param notificationInboundPortURI The URI of the subscriber inbound port
+     * @param equipmentId The identifier of the generator in the notifications
+     * @throws Exception TODO
+     */
+    void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception;
+
+    /**
+     * Cancel the subscription of a component to the generator state changes
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre {@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     * post true
+     * </pre>
+     *
+     * @param notificationInboundPortURI The URI of the subscriber inbound port
+     * @return True if the subscription existed
+     * @throws Exception TODO
+     */
+    boolean unsubscribe(String notificationInboundPortURI) throws Exception;
+
 }
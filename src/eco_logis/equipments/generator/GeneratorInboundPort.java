@@ -1,5 +1,7 @@
 package eco_logis.equipments.generator;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 
@@ -103,4 +105,39 @@ public class GeneratorInboundPort
         );
     }
 
+    /** @see GeneratorCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Generator) o).describeState()
+        );
+    }
+
+    /** @see GeneratorCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Generator) o).executeBatch(commands)
+        );
+    }
+
+    /** @see GeneratorCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        getOwner().handleRequest(
+                o -> {
+                    ((Generator) o).subscribe(notificationInboundPortURI, equipmentId);
+                    return null;
+                }
+        );
+    }
+
+    /** @see GeneratorCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Generator) o).unsubscribe(notificationInboundPortURI)
+        );
+    }
+
 }
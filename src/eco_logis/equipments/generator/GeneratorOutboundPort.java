@@ -1,5 +1,7 @@
 package eco_logis.equipments.generator;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 
@@ -73,4 +75,28 @@ public class GeneratorOutboundPort
         ((GeneratorCI) getConnector()).refill();
     }
 
+    /** @see GeneratorCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((GeneratorCI) getConnector()).describeState();
+    }
+
+    /** @see GeneratorCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((GeneratorCI) getConnector()).executeBatch(commands);
+    }
+
+    /** @see GeneratorCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((GeneratorCI) getConnector()).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see GeneratorCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((GeneratorCI) getConnector()).unsubscribe(notificationInboundPortURI);
+    }
+
 }
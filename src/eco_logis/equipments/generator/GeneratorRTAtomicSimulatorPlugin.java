@@ -1,5 +1,6 @@
 package eco_logis.equipments.generator;
 
+import eco_logis.MonitoredRTAtomicSimulatorPlugin;
 import eco_logis.equipments.generator.mil.GeneratorCoupledModel;
 import eco_logis.equipments.generator.mil.events.SwitchOffGenerator;
 import eco_logis.equipments.generator.mil.events.SwitchOnGenerator;
@@ -33,7 +34,7 @@ import java.util.concurrent.TimeUnit;
  * @author Hugo GUERRIER
  */
 public class GeneratorRTAtomicSimulatorPlugin
-    extends RTAtomicSimulatorPlugin
+    extends MonitoredRTAtomicSimulatorPlugin
 {
 
     // ========== Macros ==========
@@ -65,6 +66,8 @@ public class GeneratorRTAtomicSimulatorPlugin
      * @throws Exception TODO
      */
     public void	initialiseSimulationArchitecture(String simArchURI, double accFactor) throws Exception {
+        this.accelerationFactor = accFactor;
+
         // Create the model descriptors
         Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
         Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
@@ -189,6 +192,14 @@ public class GeneratorRTAtomicSimulatorPlugin
                     }
             );
 
+            // The empty tank goes through the state model to reach the meter
+            connections.put(
+                    new EventSource(GeneratorFuelSILModel.URI, SwitchOffGenerator.class),
+                    new EventSink[] {
+                            new EventSink(GeneratorStateModel.URI, SwitchOffGenerator.class)
+                    }
+            );
+
             // Reexport the events
             reexported = new HashMap<>();
 
@@ -1,5 +1,7 @@
 package eco_logis.equipments.generator;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 
 /**
@@ -51,4 +53,28 @@ public class GeneratorTestConnector
         ((GeneratorCI) offering).refill();
     }
 
+    /** @see GeneratorCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((GeneratorCI) offering).describeState();
+    }
+
+    /** @see GeneratorCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((GeneratorCI) offering).executeBatch(commands);
+    }
+
+    /** @see GeneratorCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((GeneratorCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see GeneratorCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((GeneratorCI) offering).unsubscribe(notificationInboundPortURI);
+    }
+
 }
@@ -1,8 +1,11 @@
 package eco_logis.equipments.generator.mil;
 
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
 import eco_logis.equipments.generator.mil.events.AbstractGeneratorEvent;
 import eco_logis.equipments.generator.mil.events.SwitchOffGenerator;
 import eco_logis.equipments.generator.mil.events.SwitchOnGenerator;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -16,6 +19,7 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,6 +31,9 @@ import java.util.concurrent.TimeUnit;
 @ModelExternalEvents(imported = {
         SwitchOnGenerator.class,
         SwitchOffGenerator.class
+},
+exported = {
+        BalanceChanged.class
 })
 public class GeneratorElectricityModel
     extends AtomicHIOA
@@ -51,7 +58,7 @@ public class GeneratorElectricityModel
     /** If the internal state has changed */
     private boolean hasChanged;
 
-    /** The current fuel level */
+    /** The current fuel level, null when the fuel model runs in the generator component */
     @ImportedVariable(type = Double.class)
     protected Value<Double> currentFuelLevel;
 
@@ -59,6 +66,9 @@ public class GeneratorElectricityModel
     @ExportedVariable(type = Double.class)
     protected final Value<Double> currentProduction = new Value<>(this, 0.0);
 
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -75,7 +85,7 @@ public class GeneratorElectricityModel
      */
     public GeneratorElectricityModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -123,9 +133,46 @@ public class GeneratorElectricityModel
     }
 
 
+    // ========== Class methods ==========
+
+
+    /**
+     * Get if the generator has fuel to produce; without the imported fuel
+     * level, the fuel model stops the generator by a switch off event
+     *
+     * @return True if the generator has fuel
+     */
+    protected boolean hasFuel() {
+        return currentFuelLevel == null || getFuelLevel() > 0.0;
+    }
+
+    /**
+     * Get the fuel level at the current time, computed by the fuel model that
+     * exports it, as its value is only updated at the fuel model transitions
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code currentFuelLevel != null}
+     * post	{@code ret >= 0.0}
+     * </pre>
+     *
+     * @return The fuel level in l
+     */
+    protected double getFuelLevel() {
+        return ((GeneratorFuelModel) currentFuelLevel.getOwner()).getFuelLevel(getCurrentStateTime());
+    }
+
+
     // ========== Override methods ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicHIOA#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
@@ -148,8 +195,10 @@ public class GeneratorElectricityModel
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
-        // This model does not export events
-        return null;
+        // The internal transitions only follow a change of the consumption or the production
+        ArrayList<EventI> res = this.recycler.newOutput();
+        res.add(this.recycler.obtain(BalanceChanged.class, BalanceChanged::new, this.getTimeOfNextEvent()));
+        return this.recycler.emit(res);
     }
 
     /** @see AtomicHIOA#timeAdvance() */
@@ -169,7 +218,7 @@ public class GeneratorElectricityModel
 
         // Set the current production
         if(isRunning) {
-            if(currentFuelLevel.v > 0.0) currentProduction.v = PRODUCTION;
+            if(hasFuel()) currentProduction.v = PRODUCTION;
         } else {
             currentProduction.v = 0.0;
         }
@@ -178,8 +227,10 @@ public class GeneratorElectricityModel
         currentProduction.time = getCurrentStateTime();
 
         // Tracing
-        logMessage("Current production " + currentProduction.v + " at " + currentProduction.time +
-                " | Fuel level " + currentFuelLevel.v + " l" + "\n");
+        if (isDebugModeOn()) {
+            logMessage("Current production " + currentProduction.v + " at " + currentProduction.time +
+                    (currentFuelLevel == null ? "" : " | Fuel level " + getFuelLevel() + " l") + "\n");
+        }
     }
 
     /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
@@ -3,6 +3,8 @@ package eco_logis.equipments.generator.mil;
 import eco_logis.equipments.generator.mil.events.AbstractGeneratorEvent;
 import eco_logis.equipments.generator.mil.events.SwitchOffGenerator;
 import eco_logis.equipments.generator.mil.events.SwitchOnGenerator;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
@@ -15,11 +17,29 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the model for the generator fuel
  *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The fuel level decreases linearly while the generator runs, so it is
+ * computed exactly over the time elapsed at each transition. The model only
+ * schedules a transition when the tank gets empty, where it emits a
+ * {@code SwitchOffGenerator} event and stops; it sleeps while the generator
+ * is off.
+ * </p>
+ * <p>
+ * The exported {@code currentFuelLevel} is therefore only updated at the
+ * transitions of the model: between two of them, it is the level at its time
+ * stamp. The level at any later time is computed on demand, from the
+ * consumption of the running generator, by {@link #getFuelLevel(Time)}: the
+ * models importing the level read it through this method, from the owner of
+ * the imported value, rather than through its stale value.
+ * </p>
+ *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
@@ -40,29 +60,29 @@ public class GeneratorFuelModel
     /** The fuel model URI */
     public static final String URI = GeneratorFuelModel.class.getSimpleName();
 
-    /** The equation step */
-    protected static final double STEP = 0.1;
-
     /** The generator fuel consumption in l/h */
     protected static final double FUEL_CONSUMPTION = 2.18;
 
     /** The generator tank capacity in l */
     protected static final double TANK_CAPACITY = 4.5;
 
+    /** Fuel level under which the tank is considered empty in l */
+    protected static final double LEVEL_TOLERANCE = 1.0e-9;
 
-    // ========== Attributes ==========
 
+    // ========== Attributes ==========
 
-    /** The evaluation step in a duration */
-    protected final Duration evaluationStep;
 
     /** If the generator is currently running */
     private boolean isRunning;
 
-    /** The variable representing the current fuel level of the generator */
+    /** The fuel level at the last transition, its time being the one of this transition */
     @ExportedVariable(type = Double.class)
     protected final Value<Double> currentFuelLevel = new Value<>(this, 0.0);
 
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -79,8 +99,7 @@ public class GeneratorFuelModel
      */
     public GeneratorFuelModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
-        evaluationStep = new Duration(STEP, getSimulatedTimeUnit());
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -96,6 +115,27 @@ public class GeneratorFuelModel
         return isRunning;
     }
 
+    /**
+     * Get the fuel level at a time, from the level at the last transition and
+     * the consumption of the generator if it runs
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code t != null && !t.lessThan(currentFuelLevel.time)}
+     * post	{@code ret >= 0.0}
+     * </pre>
+     *
+     * @param t The time of the reading, not before the last transition
+     * @return The fuel level at this time in l
+     */
+    public double getFuelLevel(Time t) {
+        if (!isRunning) {
+            return currentFuelLevel.v;
+        }
+        double elapsed = t.subtract(currentFuelLevel.time).getSimulatedDuration();
+        return Math.max(currentFuelLevel.v - (elapsed / 3600) * FUEL_CONSUMPTION, 0.0);
+    }
+
 
     // ========== Setters ==========
 
@@ -114,19 +154,46 @@ public class GeneratorFuelModel
 
 
     /**
-     * Consume the fuel during the given time
+     * Consume the fuel during the given time, down to an empty tank
      *
      * @param d The given time
      */
     private void consume(Duration d) {
         double duration = d.getSimulatedDuration();
-        currentFuelLevel.v -= Math.max((duration / 3600) * FUEL_CONSUMPTION, 0.0);
+        double level = currentFuelLevel.v - (duration / 3600) * FUEL_CONSUMPTION;
+        currentFuelLevel.v = level < LEVEL_TOLERANCE ? 0.0 : level;
+    }
+
+    /**
+     * Compute the fuel level at the end of the elapsed time, the generator
+     * state being unchanged during this time
+     *
+     * @param elapsedTime The time since the last transition
+     */
+    protected void advanceFuelLevel(Duration elapsedTime) {
+        // The time moves even when the level does not, so the level is read from the last transition
+        currentFuelLevel.time = getCurrentStateTime();
+        if(isRunning) {
+            consume(elapsedTime);
+
+            // Tracing
+            if (isDebugModeOn()) {
+                logMessage("Generator is on | Fuel level : " + currentFuelLevel.v + " at " + currentFuelLevel.time + "\n");
+            }
+        }
     }
 
 
     // ========== Override methods ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicHIOA#initialiseVariables(Time) */
     @Override
     protected void initialiseVariables(Time startTime) {
@@ -138,9 +205,9 @@ public class GeneratorFuelModel
     /** @see AtomicHIOA#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
-        super.initialiseState(initialTime);
-        
+        // The state must be set before the first time advance is computed
         isRunning = false;
+        super.initialiseState(initialTime);
         
         toggleDebugMode();
         logMessage("Simulations starts...\n");
@@ -149,10 +216,11 @@ public class GeneratorFuelModel
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
-        if(currentFuelLevel.v <= 0.0) {
-            ArrayList<EventI> res = new ArrayList<>();
-            res.add(new SwitchOffGenerator(currentFuelLevel.time));
-            return res;
+        // While running, the only internal transition is the tank getting empty
+        if(isRunning) {
+            ArrayList<EventI> res = recycler.newOutput();
+            res.add(recycler.obtain(SwitchOffGenerator.class, SwitchOffGenerator::new, getTimeOfNextEvent()));
+            return recycler.emit(res);
         }
         return null;
     }
@@ -160,7 +228,11 @@ public class GeneratorFuelModel
     /** @see AtomicHIOA#timeAdvance() */
     @Override
     public Duration timeAdvance() {
-        return evaluationStep;
+        // Wake up when the tank gets empty
+        if(isRunning) {
+            return new Duration(Math.max(currentFuelLevel.v, 0.0) / FUEL_CONSUMPTION * 3600, getSimulatedTimeUnit());
+        }
+        return Duration.INFINITY;
     }
 
     /** @see AtomicHIOA#userDefinedInternalTransition(Duration) */
@@ -168,16 +240,9 @@ public class GeneratorFuelModel
     public void userDefinedInternalTransition(Duration elapsedTime) {
         super.userDefinedInternalTransition(elapsedTime);
 
-        if(isRunning) {
-            // Update the fuel level
-            if(currentFuelLevel.v > 0.0) {
-                consume(elapsedTime);
-            }
-            currentFuelLevel.time = getCurrentStateTime();
-
-            // Tracing
-            logMessage("Generator is " + (isRunning ? "on" : "off") + " | Fuel level : " + currentFuelLevel.v + " at " + currentFuelLevel.time + "\n");
-        }
+        // The tank is empty, the generator stops as told by the emitted event
+        advanceFuelLevel(elapsedTime);
+        isRunning = false;
     }
 
     /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
@@ -188,6 +253,9 @@ public class GeneratorFuelModel
         assert	currentEvents != null && currentEvents.size() == 1;
         Event currentEvent = (Event) currentEvents.get(0);
 
+        // The fuel was consumed with the former state until the event
+        advanceFuelLevel(elapsedTime);
+
         // Execute the event on the model
         assert currentEvent instanceof AbstractGeneratorEvent;
         currentEvent.executeOn(this);
@@ -5,6 +5,8 @@ import eco_logis.equipments.generator.GeneratorRTAtomicSimulatorPlugin;
 import eco_logis.equipments.generator.mil.events.AbstractGeneratorEvent;
 import eco_logis.equipments.generator.mil.events.SwitchOffGenerator;
 import eco_logis.equipments.generator.mil.events.SwitchOnGenerator;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -13,6 +15,7 @@ import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -51,8 +54,8 @@ public class GeneratorStateModel
     /** If the generator is currently running */
     protected boolean isRunning;
 
-    /** The last received event */
-    protected AbstractGeneratorEvent lastEvent;
+    /** The received events still to forward, in their order of arrival */
+    protected final ArrayDeque<AbstractGeneratorEvent> pendingEvents = new ArrayDeque<>();
 
     /** The model owner */
     protected Generator owner;
@@ -81,7 +84,7 @@ public class GeneratorStateModel
         owner = (Generator) simParams.get(GeneratorRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger in the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
     }
 
     /** @see AtomicModel#initialiseState(Time) */
@@ -91,7 +94,7 @@ public class GeneratorStateModel
         super.initialiseState(initialTime);
 
         // Set the initial miner state
-        lastEvent = null;
+        pendingEvents.clear();
         isRunning = false;
 
         // Tracing
@@ -102,17 +105,17 @@ public class GeneratorStateModel
     /** @see AtomicModel#output() */
     @Override
     public ArrayList<EventI> output() {
-        assert lastEvent != null;
+        // The receivers execute one event per transition, the others are forwarded at the next steps
+        assert !pendingEvents.isEmpty();
         ArrayList<EventI> res = new ArrayList<>();
-        res.add(lastEvent);
-        lastEvent = null;
+        res.add(pendingEvents.poll());
         return res;
     }
 
     /** @see AtomicModel#timeAdvance() */
     @Override
     public Duration timeAdvance() {
-        if(lastEvent != null) return Duration.zero(getSimulatedTimeUnit());
+        if(!pendingEvents.isEmpty()) return Duration.zero(getSimulatedTimeUnit());
         return Duration.INFINITY;
     }
 
@@ -124,15 +127,18 @@ public class GeneratorStateModel
 
         // Get the current events to perform transitions
         ArrayList<EventI> events = getStoredEventAndReset();
-        assert events != null && events.size() == 1;
+        assert events != null && !events.isEmpty();
 
-        // Get the last received event
-        lastEvent = (AbstractGeneratorEvent) events.get(0);
+        // Queue every received event, which is forwarded at a later step so it can't be a pooled one
+        for (EventI e : events) {
+            assert !EventRecycler.isPooled(e);
+            pendingEvents.add((AbstractGeneratorEvent) e);
 
-        // Trace
-        logMessage(URI + " executes the external event " +
-                lastEvent.getClass().getSimpleName() + " at " +
-                lastEvent.getTimeOfOccurrence().getSimulatedTime() + "\n");
+            // Trace
+            logMessage(URI + " executes the external event " +
+                    e.getClass().getSimpleName() + " at " +
+                    e.getTimeOfOccurrence().getSimulatedTime() + "\n");
+        }
     }
 
     /** @see AtomicModel#endSimulation(Time) */
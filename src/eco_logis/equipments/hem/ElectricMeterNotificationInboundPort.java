@@ -0,0 +1,67 @@
+package eco_logis.equipments.hem;
+
+import eco_logis.equipments.electric_meter.ElectricMeterNotificationCI;
+import eco_logis.equipments.electric_meter.ElectricMeterNotificationImplementationI;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+
+/**
+ * This class represents the inbound port through which the HEM receives the
+ * balance notifications of the electric meter
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class ElectricMeterNotificationInboundPort
+    extends AbstractInboundPort
+    implements ElectricMeterNotificationCI
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new notification inbound port with the port owner
+     *
+     * @see AbstractInboundPort#AbstractInboundPort(Class, ComponentI)
+     *
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public ElectricMeterNotificationInboundPort(ComponentI owner) throws Exception {
+        super(ElectricMeterNotificationCI.class, owner);
+    }
+
+    /**
+     * Create a new notification inbound port with the URI and the port owner
+     *
+     * @see AbstractInboundPort#AbstractInboundPort(String, Class, ComponentI)
+     *
+     * @param uri The port URI
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public ElectricMeterNotificationInboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, ElectricMeterNotificationCI.class, owner);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see ElectricMeterNotificationCI#notifyBalance(double, double) */
+    @Override
+    public void notifyBalance(double consumption, double production) throws Exception {
+        getOwner().handleRequest(o -> {
+            ((ElectricMeterNotificationImplementationI) o).notifyBalance(consumption, production);
+            return null;
+        });
+    }
+
+}
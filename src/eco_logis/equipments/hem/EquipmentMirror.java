@@ -0,0 +1,169 @@
+package eco_logis.equipments.hem;
+
+import eco_logis.interfaces.EquipmentState;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents the local mirror of the equipment states, kept up to
+ * date by the notifications the equipments push to the HEM
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Each equipment has the last state it notified and the sequence number of
+ * this notification. A notification numbered at most like the mirrored one
+ * is late and ignored; one numbered above the next expected number is still
+ * applied, a state being whole, but reported as a gap so the HEM reads the
+ * state again. This read only replaces the mirrored state if no notification
+ * came meanwhile (see {@link #resyncToken(String)}).
+ * </p>
+ * <p>
+ * A subscription numbers its notifications from 1, so an equipment is
+ * removed from the mirror before it is subscribed again. All the operations
+ * are thread safe and done in constant time.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class EquipmentMirror
+{
+
+    // ========== Internal Enums and class ==========
+
+
+    /** The outcome of a notification applied to the mirror */
+    public enum Outcome {
+        /** The notification was the next expected one */
+        APPLIED,
+        /** The notification was late and ignored */
+        STALE,
+        /** The notification was applied but some before it were missed */
+        GAP
+    }
+
+    /** A mirrored state, replaced as a whole on each change */
+    private static final class Entry
+    {
+        /** The equipment state */
+        private final EquipmentState state;
+
+        /** The sequence number of the notification of the state */
+        private final long sequence;
+
+        private Entry(EquipmentState state, long sequence) {
+            this.state = state;
+            this.sequence = sequence;
+        }
+    }
+
+
+    // ========== Attributes ==========
+
+
+    /** The mirrored states by equipment identifier */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Apply a state notification
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code id != null}
+     * pre	{@code sequence > 0}
+     * pre	{@code state != null}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param id The equipment identifier
+     * @param sequence The sequence number of the notification
+     * @param state The notified state
+     * @return The outcome of the notification
+     */
+    public Outcome apply(String id, long sequence, EquipmentState state) {
+        Outcome[] res = new Outcome[1];
+        entries.compute(id, (k, current) -> {
+            long last = current == null ? 0L : current.sequence;
+            if (sequence <= last) {
+                res[0] = Outcome.STALE;
+                return current;
+            }
+            res[0] = sequence == last + 1 ? Outcome.APPLIED : Outcome.GAP;
+            return new Entry(state, sequence);
+        });
+        return res[0];
+    }
+
+    /**
+     * Get the token to give back with the state read to resync an equipment
+     *
+     * @param id The equipment identifier
+     * @return The sequence number of the mirrored state, 0 if none
+     */
+    public long resyncToken(String id) {
+        Entry e = entries.get(id);
+        return e == null ? 0L : e.sequence;
+    }
+
+    /**
+     * Replace a mirrored state by a state read from the equipment, unless a
+     * notification came since the token was taken
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code id != null}
+     * pre	{@code state != null}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param id The equipment identifier
+     * @param token The token taken before reading the state
+     * @param state The state read from the equipment
+     * @return True if the state was replaced
+     */
+    public boolean resync(String id, long token, EquipmentState state) {
+        boolean[] res = new boolean[1];
+        entries.computeIfPresent(id, (k, current) -> {
+            if (current.sequence != token) return current;
+            res[0] = true;
+            // The sequence is kept, the next notification follows the missed ones
+            return new Entry(state, current.sequence);
+        });
+        return res[0];
+    }
+
+    /**
+     * Get the mirrored state of an equipment
+     *
+     * @param id The equipment identifier
+     * @return The state, null if the equipment notified none
+     */
+    public EquipmentState get(String id) {
+        Entry e = entries.get(id);
+        return e == null ? null : e.state;
+    }
+
+    /**
+     * Remove an equipment from the mirror
+     *
+     * @param id The equipment identifier
+     */
+    public void remove(String id) {
+        entries.remove(id);
+    }
+
+    /**
+     * Get the number of mirrored equipments
+     *
+     * @return The number of mirrored equipments
+     */
+    public int size() {
+        return entries.size();
+    }
+
+}
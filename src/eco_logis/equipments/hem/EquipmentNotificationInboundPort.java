@@ -0,0 +1,68 @@
+package eco_logis.equipments.hem;
+
+import eco_logis.interfaces.EquipmentNotificationCI;
+import eco_logis.interfaces.EquipmentNotificationImplementationI;
+import eco_logis.interfaces.EquipmentState;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+
+/**
+ * This class represents the inbound port through which the HEM receives the
+ * state notifications of the equipments
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class EquipmentNotificationInboundPort
+    extends AbstractInboundPort
+    implements EquipmentNotificationCI
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new notification inbound port with the port owner
+     *
+     * @see AbstractInboundPort#AbstractInboundPort(Class, ComponentI)
+     *
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public EquipmentNotificationInboundPort(ComponentI owner) throws Exception {
+        super(EquipmentNotificationCI.class, owner);
+    }
+
+    /**
+     * Create a new notification inbound port with the URI and the port owner
+     *
+     * @see AbstractInboundPort#AbstractInboundPort(String, Class, ComponentI)
+     *
+     * @param uri The port URI
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public EquipmentNotificationInboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, EquipmentNotificationCI.class, owner);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see EquipmentNotificationCI#notifyState(String, long, EquipmentState) */
+    @Override
+    public void notifyState(String equipmentId, long sequence, EquipmentState state) throws Exception {
+        getOwner().handleRequest(o -> {
+            ((EquipmentNotificationImplementationI) o).notifyState(equipmentId, sequence, state);
+            return null;
+        });
+    }
+
+}
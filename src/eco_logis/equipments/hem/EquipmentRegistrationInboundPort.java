@@ -0,0 +1,73 @@
+package eco_logis.equipments.hem;
+
+import eco_logis.interfaces.EquipmentRegistrationControlCI;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+
+/**
+ * This class represents the inbound port through which the equipments
+ * register to the HEM
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class EquipmentRegistrationInboundPort
+    extends AbstractInboundPort
+    implements EquipmentRegistrationControlCI
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new registration inbound port with the port owner
+     *
+     * @see AbstractInboundPort#AbstractInboundPort(Class, ComponentI)
+     *
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public EquipmentRegistrationInboundPort(ComponentI owner) throws Exception {
+        super(EquipmentRegistrationControlCI.class, owner);
+    }
+
+    /**
+     * Create a new registration inbound port with the URI and the port owner
+     *
+     * @see AbstractInboundPort#AbstractInboundPort(String, Class, ComponentI)
+     *
+     * @param uri The port URI
+     * @param owner The port owner
+     * @throws Exception TODO
+     */
+    public EquipmentRegistrationInboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, EquipmentRegistrationControlCI.class, owner);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see EquipmentRegistrationControlCI#register(String, String, String) */
+    @Override
+    public boolean register(String id, String inboundPortUri, String xmlControllerPath) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((HEM) o).register(id, inboundPortUri, xmlControllerPath)
+        );
+    }
+
+    /** @see EquipmentRegistrationControlCI#unregister(String) */
+    @Override
+    public boolean unregister(String id) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((HEM) o).unregister(id)
+        );
+    }
+
+}
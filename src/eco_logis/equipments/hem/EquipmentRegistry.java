@@ -0,0 +1,301 @@
+package eco_logis.equipments.hem;
+
+import eco_logis.interfaces.PlanningEquipmentControlCI;
+import eco_logis.interfaces.ProductionEquipmentControlCI;
+import eco_logis.interfaces.StandardEquipmentControlCI;
+import eco_logis.interfaces.StorageEquipmentControlCI;
+import eco_logis.interfaces.SuspensionEquipmentControlCI;
+import eco_logis.interfaces.UnpredictableProductionEquipmentControlCI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents the registry of the equipments controlled by the HEM
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Equipments are keyed by their identifier and also indexed by their
+ * {@code OPType} and by every control interface their outbound port
+ * implements (<i>e.g.</i> a storage equipment is found both as a
+ * {@code StorageEquipmentControlCI} and as a
+ * {@code ProductionEquipmentControlCI}). All the operations are thread safe
+ * and lookups by identifier are done in constant time.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code every registered entry is present in all its indexes}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class EquipmentRegistry
+{
+
+    // ========== Internal Enums and class ==========
+
+
+    /** A registered equipment */
+    public static final class Entry
+    {
+        /** The equipment identifier */
+        private final String id;
+
+        /** The equipment control type */
+        private final HEM.OPType type;
+
+        /** The HEM outbound port connected to the equipment */
+        private final AbstractOutboundPort port;
+
+        /** URI of the equipment control inbound port */
+        private final String inboundPortURI;
+
+        /** Power in watts freed when the equipment is shed */
+        private final double nominalPower;
+
+        public Entry(String id, HEM.OPType type, AbstractOutboundPort port, String inboundPortURI, double nominalPower) {
+            this.id = id;
+            this.type = type;
+            this.port = port;
+            this.inboundPortURI = inboundPortURI;
+            this.nominalPower = nominalPower;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public HEM.OPType getType() {
+            return type;
+        }
+
+        public AbstractOutboundPort getPort() {
+            return port;
+        }
+
+        public String getInboundPortURI() {
+            return inboundPortURI;
+        }
+
+        public double getNominalPower() {
+            return nominalPower;
+        }
+
+        /**
+         * Get the outbound port seen as a control interface
+         *
+         * <p><strong>Contract</strong></p>
+         * <pre>
+         * pre	{@code controlInterface.isInstance(getPort())}
+         * post	true
+         * </pre>
+         *
+         * @param controlInterface The control interface
+         * @param <T> The control interface type
+         * @return The outbound port
+         */
+        public <T> T getPort(Class<T> controlInterface) {
+            return controlInterface.cast(port);
+        }
+    }
+
+
+    // ========== Macros ==========
+
+
+    /** The control interfaces the equipments are indexed by */
+    protected static final List<Class<?>> CONTROL_INTERFACES = Collections.unmodifiableList(
+            Arrays.asList(
+                    StandardEquipmentControlCI.class,
+                    SuspensionEquipmentControlCI.class,
+                    PlanningEquipmentControlCI.class,
+                    ProductionEquipmentControlCI.class,
+                    StorageEquipmentControlCI.class,
+                    UnpredictableProductionEquipmentControlCI.class
+            )
+    );
+
+
+    // ========== Attributes ==========
+
+
+    /** The registered equipments by identifier */
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+
+    /** The registered equipments by control type */
+    private final Map<HEM.OPType, Set<Entry>> byType = new EnumMap<>(HEM.OPType.class);
+
+    /** The registered equipments by control interface */
+    private final Map<Class<?>, Set<Entry>> byInterface = new ConcurrentHashMap<>();
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new empty equipment registry
+     */
+    public EquipmentRegistry() {
+        // The type index is filled once so the enum map is only read afterwards
+        for (HEM.OPType type : HEM.OPType.values()) {
+            byType.put(type, ConcurrentHashMap.newKeySet());
+        }
+        for (Class<?> ci : CONTROL_INTERFACES) {
+            byInterface.put(ci, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Add an equipment to the registry, replacing the one registered with the
+     * same identifier if any
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code entry != null}
+     * post	{@code get(entry.getId()) == entry}
+     * </pre>
+     *
+     * @param entry The equipment to add
+     * @return The replaced equipment, null if none
+     */
+    public Entry put(Entry entry) {
+        Entry previous = byId.put(entry.getId(), entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byType.get(entry.getType()).add(entry);
+        for (Class<?> ci : CONTROL_INTERFACES) {
+            if (ci.isInstance(entry.getPort())) {
+                byInterface.get(ci).add(entry);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Remove an equipment from the registry
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code id != null}
+     * post	{@code get(id) == null}
+     * </pre>
+     *
+     * @param id The equipment identifier
+     * @return The removed equipment, null if it was not registered
+     */
+    public Entry remove(String id) {
+        Entry removed = byId.remove(id);
+        if (removed != null) {
+            unindex(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Remove an equipment from the type and interface indexes
+     *
+     * @param entry The equipment to remove
+     */
+    private void unindex(Entry entry) {
+        byType.get(entry.getType()).remove(entry);
+        for (Set<Entry> entries : byInterface.values()) {
+            entries.remove(entry);
+        }
+    }
+
+    /**
+     * Get a registered equipment
+     *
+     * @param id The equipment identifier
+     * @return The equipment, null if it is not registered
+     */
+    public Entry get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Get if an equipment is registered
+     *
+     * @param id The equipment identifier
+     * @return True if the equipment is registered
+     */
+    public boolean contains(String id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Get a view on the registered equipments of a control type
+     *
+     * @param type The control type
+     * @return The equipments of this type
+     */
+    public Collection<Entry> ofType(HEM.OPType type) {
+        return Collections.unmodifiableSet(byType.get(type));
+    }
+
+    /**
+     * Get a view on the registered equipments controllable through an interface
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code CONTROL_INTERFACES.contains(controlInterface)}
+     * post	true
+     * </pre>
+     *
+     * @param controlInterface The control interface
+     * @return The equipments whose port implements the interface
+     */
+    public Collection<Entry> ofInterface(Class<?> controlInterface) {
+        return Collections.unmodifiableSet(byInterface.get(controlInterface));
+    }
+
+    /**
+     * Get the outbound ports of the equipments controllable through an interface
+     *
+     * @param controlInterface The control interface
+     * @param <T> The control interface type
+     * @return A list of the ports seen as the control interface
+     */
+    public <T> List<T> ports(Class<T> controlInterface) {
+        Set<Entry> entries = byInterface.get(controlInterface);
+        List<T> res = new ArrayList<>(entries.size());
+        for (Entry e : entries) {
+            res.add(e.getPort(controlInterface));
+        }
+        return res;
+    }
+
+    /**
+     * Get a view on all the registered equipments
+     *
+     * @return The registered equipments
+     */
+    public Collection<Entry> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    /**
+     * Get the number of registered equipments
+     *
+     * @return The number of registered equipments
+     */
+    public int size() {
+        return byId.size();
+    }
+
+}
@@ -3,30 +3,69 @@ package eco_logis.equipments.hem;
 import eco_logis.equipments.crypto_miner.CryptoMiner;
 import eco_logis.equipments.dishwasher.Dishwasher;
 import eco_logis.equipments.electric_meter.ElectricMeter;
+import eco_logis.equipments.electric_meter.ElectricMeterNotificationCI;
+import eco_logis.equipments.electric_meter.ElectricMeterNotificationImplementationI;
 import eco_logis.equipments.electric_meter.ElectricMeterOutboundPort;
+import eco_logis.equipments.electric_meter.MeterSnapshot;
 import eco_logis.equipments.generator.Generator;
 import eco_logis.equipments.hem.connectors.*;
 import eco_logis.equipments.oven.Oven;
 import eco_logis.equipments.power_bank.PowerBank;
 import eco_logis.equipments.wind_turbine.WindTurbine;
+import eco_logis.interfaces.*;
 import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
-
-import java.util.LinkedList;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The class <code>HEM</code> implements the basis for a household energy
  * management component.
  *
+ * <p>
+ * The management is event driven: the HEM subscribes to the electric meter
+ * which pushes a notification each time the consumption or the production
+ * moves significantly. A decision pass is then run, at most once every
+ * {@code minManagementInterval} milliseconds; notifications received in
+ * between are coalesced into a single deferred pass using the latest values.
+ * The notification only records the values: every pass runs on the single
+ * schedulable thread of the HEM, so the meter never waits for a pass and two
+ * passes never overlap on the planner and the suspension times.
+ * </p>
+ * <p>
+ * The equipments able to push their state are subscribed with the meter:
+ * each of their state changes is notified and kept in an
+ * {@code EquipmentMirror}, so a decision pass reads no equipment; the other
+ * ones are still asked their state on each pass. A notification showing that
+ * some before it were missed makes the HEM read the equipment state again,
+ * out of the decision passes.
+ * </p>
+ *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
+@OfferedInterfaces(offered={ElectricMeterNotificationCI.class, EquipmentNotificationCI.class,
+        EquipmentRegistrationControlCI.class})
 public class HEM
     extends AbstractComponent
+    implements ElectricMeterNotificationImplementationI, EquipmentNotificationImplementationI
 {
 
     // ========== Internal Enums and class ==========
@@ -38,64 +77,189 @@ public class HEM
         PRODUCTION,
         STANDARD,
         STORAGE,
-        UNPREDICTABLE
+        UNPREDICTABLE;
+
+        /**
+         * Get the control type of an equipment from the most specific
+         * control interface implemented by its connector
+         *
+         * @param connectorClass The connector class
+         * @return The control type, null if the connector implements no control interface
+         */
+        public static OPType of(Class<?> connectorClass) {
+            if (SuspensionEquipmentControlCI.class.isAssignableFrom(connectorClass)) return SUSPENSION;
+            if (PlanningEquipmentControlCI.class.isAssignableFrom(connectorClass)) return PLANNING;
+            if (StorageEquipmentControlCI.class.isAssignableFrom(connectorClass)) return STORAGE;
+            if (UnpredictableProductionEquipmentControlCI.class.isAssignableFrom(connectorClass)) return UNPREDICTABLE;
+            if (ProductionEquipmentControlCI.class.isAssignableFrom(connectorClass)) return PRODUCTION;
+            if (StandardEquipmentControlCI.class.isAssignableFrom(connectorClass)) return STANDARD;
+            return null;
+        }
     }
 
 
     // ========== Attributes ==========
 
 
-    /** Period at which the HEM looks at the current consumption and makes
-     * energy management decisions */
-    protected static final long MANAGEMENT_PERIOD = 1;
+    /** URI of the inbound port receiving the equipment registrations */
+    public static final String REGISTRATION_INBOUND_PORT_URI = "HEM-REGISTRATION";
+
+    /** URI of the inbound port receiving the electric meter notifications */
+    public static final String METER_NOTIFICATION_INBOUND_PORT_URI = "HEM-METER-NOTIFICATION";
+
+    /** URI of the inbound port receiving the equipment state notifications */
+    public static final String EQUIPMENT_NOTIFICATION_INBOUND_PORT_URI = "HEM-EQUIPMENT-NOTIFICATION";
+
+    /** Default minimal interval between two energy management decision passes */
+    public static final long DEFAULT_MIN_MANAGEMENT_INTERVAL = 50L;
+
+    /** Time unit to interpret the minimal management interval */
+    protected static final TimeUnit MANAGEMENT_INTERVAL_TIME_UNIT = TimeUnit.MILLISECONDS;
+
+    /** Minimal variation in watts for which the electric meter notifies the HEM */
+    protected static final double NOTIFICATION_DELTA = 10.0;
+
+    /** Number of threads issuing the equipment queries concurrently */
+    protected static final int QUERY_THREADS = 4;
+
+    /** Maximal time to wait for all the answers of a household snapshot */
+    protected static final long QUERY_TIMEOUT = 40L;
+
+    /** Time unit to interpret {@code QUERY_TIMEOUT} */
+    protected static final TimeUnit QUERY_TIMEOUT_TIME_UNIT = TimeUnit.MILLISECONDS;
+
+    /** Name of the electric meter in the household snapshots */
+    public static final String METER = "meter";
+
+    /** Registration identifiers of the household equipments, also used in the snapshots */
+    public static final String CRYPTO_MINER = "cryptoMiner";
+    public static final String DISHWASHER = "dishwasher";
+    public static final String GENERATOR = "generator";
+    public static final String OVEN = "oven";
+    public static final String POWER_BANK = "powerBank";
+    public static final String WIND_TURBINE = "windTurbine";
 
-    /** Time unit to interpret {@code MANAGEMENT_PERIOD} */
-    protected static final TimeUnit MANAGEMENT_PERIOD_TIME_UNIT = TimeUnit.SECONDS;
+    /** Query names used in the household snapshots */
+    public static final String CONSUMPTION = "consumption";
+    public static final String PRODUCTION = "production";
+    public static final String BALANCE = "balance";
+    public static final String STATE = "state";
+
+    /** Power in watts assumed for an equipment registered without its nominal power */
+    public static final double DEFAULT_NOMINAL_POWER = 1000.0;
+
+    /** Nominal powers in watts freed by shedding the household equipments */
+    protected static final double CRYPTO_MINER_NOMINAL_POWER = 1150.0;
+    protected static final double DISHWASHER_NOMINAL_POWER = 1000.0;
+    protected static final double POWER_BANK_NOMINAL_POWER = 650.0;
+
+    /** Maximal consumption above the production in watts tolerated by the load shedding */
+    protected static final double TARGET_BALANCE = 0.0;
+
+    /** Cumulated suspension time for which suspending an equipment costs 1 */
+    protected static final long SUSPENSION_COST_SCALE = TimeUnit.MINUTES.toMillis(15);
+
+    /** Duration by which the load shedding postpones a planned program */
+    protected static final Duration POSTPONE_STEP = Duration.ofMinutes(15);
 
     /** true if the component executes in a unit test mode, false otherwise */
     protected boolean executesAsUnitTest;
 
-    /** Future allowing to act upon the management task */
+    /** Minimal interval between two energy management decision passes */
+    protected final long minManagementInterval;
+
+    /** Future allowing to act upon the pending deferred management task */
     protected Future<?> managementTaskFuture;
 
-    private static final List<SuspensionEquipmentOutboundPort> suspOPs = new LinkedList<>();
-    private static final List<PlanningEquipmentOutboundPort> planOPs = new LinkedList<>();
-    private static final List<ProductionEquipmentOutboundPort> prodOPs = new LinkedList<>();
-    private static final List<StandardEquipmentOutboundPort> standOPs = new LinkedList<>();
-    private static final List<StorageEquipmentOutboundPort> storOPs = new LinkedList<>();
-    private static final List<UnpredictableProductionEquipmentOutboundPort> unpredOPs = new LinkedList<>();
+    /** Lock protecting the management scheduling state */
+    protected final Object managementLock = new Object();
 
-    /** Outbound port to call the electric meter */
-    protected ElectricMeterOutboundPort elecMeterOP;
+    /** True if a deferred management pass is already scheduled */
+    protected boolean managementPending;
+
+    /** Wall clock time in milliseconds of the last management pass */
+    protected long lastManagementTime;
+
+    /** Last total consumption notified by the electric meter in watts */
+    protected volatile double currentConsumption;
+
+    /** Last total production notified by the electric meter in watts */
+    protected volatile double currentProduction;
+
+    /** Inbound port receiving the electric meter notifications */
+    protected ElectricMeterNotificationInboundPort meterNotificationIP;
 
-    /** Outbound port to call the crypto miner */
-    protected SuspensionEquipmentOutboundPort cryptoOP;
+    /** Inbound port receiving the equipment state notifications */
+    protected EquipmentNotificationInboundPort equipmentNotificationIP;
 
-    /** Outbound port to call the dishwasher */
-    protected PlanningEquipmentOutboundPort dishwasherOP;
+    /** True once the HEM subscribed to the meter and the equipments */
+    protected volatile boolean subscribed;
 
-    /** Outbound port to call the generator */
-    protected ProductionEquipmentOutboundPort generatorOP;
+    /** Mirror of the states pushed by the equipments */
+    protected final EquipmentMirror mirror = new EquipmentMirror();
 
-    /** Outbound port to call the oven */
-    protected StandardEquipmentOutboundPort ovenOP;
+    /** Executor issuing the equipment queries of the household snapshots */
+    protected ExecutorService queryExecutor;
 
-    /** Outbound port to call the power bank */
-    protected StorageEquipmentOutboundPort powerBankOP;
+    /** Inbound port receiving the equipment registrations */
+    protected EquipmentRegistrationInboundPort registrationIP;
 
-    /** Outbound port to call the wind turbine */
-    protected UnpredictableProductionEquipmentOutboundPort windTurbineOP;
+    /** Registry of the controlled equipments */
+    protected final EquipmentRegistry registry = new EquipmentRegistry();
+
+    /** Outbound port to call the electric meter */
+    protected ElectricMeterOutboundPort elecMeterOP;
+
+    /** Planner choosing the equipments to shed or to restore */
+    protected final LoadSheddingPlanner planner = new LoadSheddingPlanner();
+
+    /** Wall clock time in milliseconds at which the suspended equipments were suspended by the HEM */
+    protected final Map<String, Long> suspendedSince = new ConcurrentHashMap<>();
+
+    /** Cumulated time in milliseconds each equipment spent suspended by the HEM */
+    protected final Map<String, Long> suspendedTotal = new ConcurrentHashMap<>();
 
 
     // ========== Constructors ==========
 
 
+    /**
+     * Create a new HEM component with the default minimal management interval
+     *
+     * @param executesAsUnitTest true if the component executes as a unit test, false otherwise
+     * @throws Exception TODO
+     */
+    protected HEM(boolean executesAsUnitTest) throws Exception {
+        this(executesAsUnitTest, DEFAULT_MIN_MANAGEMENT_INTERVAL);
+    }
+
     /**
      * Create a new HEM component
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code minManagementInterval >= 0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param executesAsUnitTest true if the component executes as a unit test, false otherwise
+     * @param minManagementInterval minimal interval in milliseconds between two management passes
+     * @throws Exception TODO
      */
-    protected HEM(boolean executesAsUnitTest) {
-        super(1, 0);
+    protected HEM(boolean executesAsUnitTest, long minManagementInterval) throws Exception {
+        super(1, 1);
+        assert minManagementInterval >= 0 : new PreconditionException("minManagementInterval >= 0");
+
         this.executesAsUnitTest = executesAsUnitTest;
+        this.minManagementInterval = minManagementInterval;
+
+        this.registrationIP = new EquipmentRegistrationInboundPort(REGISTRATION_INBOUND_PORT_URI, this);
+        this.registrationIP.publishPort();
+        this.meterNotificationIP = new ElectricMeterNotificationInboundPort(METER_NOTIFICATION_INBOUND_PORT_URI, this);
+        this.meterNotificationIP.publishPort();
+        this.equipmentNotificationIP = new EquipmentNotificationInboundPort(EQUIPMENT_NOTIFICATION_INBOUND_PORT_URI, this);
+        this.equipmentNotificationIP.publishPort();
+
         this.tracer.get().setTitle("Home Energy Manager component");
         this.tracer.get().setRelativePosition(2, 2);
         this.toggleTracing();
@@ -106,88 +270,274 @@ public class HEM
 
 
     /**
-     * Register a component from its outbound port
+     * Create the outbound port controlling an equipment of the given type
      *
-     * @param type          the outbound port type
-     * @param IP_URI        URI
-     * @param connectorName the connector name
-     * @throws Exception
+     * @param type The equipment control type
+     * @return The new, unpublished outbound port
      * @throws Exception TODO
      */
-    public void register(OPType type, String IP_URI, String connectorName) throws Exception {
-
+    protected AbstractOutboundPort createPort(OPType type) throws Exception {
         switch (type) {
-            case SUSPENSION:
-                SuspensionEquipmentOutboundPort susp = new SuspensionEquipmentOutboundPort(this);
-                suspOPs.add(susp);
-                susp.publishPort();
-                doPortConnection(
-                        susp.getPortURI(),
-                        IP_URI,
-                        connectorName
-                );
-                break;
+            case SUSPENSION: return new SuspensionEquipmentOutboundPort(this);
+            case PLANNING: return new PlanningEquipmentOutboundPort(this);
+            case PRODUCTION: return new ProductionEquipmentOutboundPort(this);
+            case STANDARD: return new StandardEquipmentOutboundPort(this);
+            case STORAGE: return new StorageEquipmentOutboundPort(this);
+            case UNPREDICTABLE: return new UnpredictableProductionEquipmentOutboundPort(this);
+            default: throw new IllegalArgumentException("Unknown equipment type " + type);
+        }
+    }
 
-            case PLANNING:
-                PlanningEquipmentOutboundPort plan = new PlanningEquipmentOutboundPort(this);
-                planOPs.add(plan);
-                plan.publishPort();
-                doPortConnection(
-                        plan.getPortURI(),
-                        IP_URI,
-                        connectorName
-                );
-                break;
+    /**
+     * Register an equipment, connecting a new outbound port to its control
+     * inbound port; registering again an already registered identifier
+     * replaces the previous connection.
+     *
+     * <p>
+     * No XML control adapter is generated: the last argument gives the
+     * canonical name of the connector linking the control interfaces to the
+     * equipment interface, and the control type is derived from it.
+     * </p>
+     *
+     * @see EquipmentRegistrationControlCI#register(String, String, String)
+     */
+    public boolean register(String id, String inboundPortUri, String connectorName) throws Exception {
+        return this.register(id, inboundPortUri, connectorName, DEFAULT_NOMINAL_POWER);
+    }
 
-            case PRODUCTION:
-                ProductionEquipmentOutboundPort prod = new ProductionEquipmentOutboundPort(this);
-                prodOPs.add(prod);
-                prod.publishPort();
-                doPortConnection(
-                        prod.getPortURI(),
-                        IP_URI,
-                        connectorName
-                );
-                break;
+    /**
+     * Register an equipment with the power freed when it is shed
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code nominalPower >= 0.0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param id The equipment identifier
+     * @param inboundPortUri The equipment control inbound port URI
+     * @param connectorName The canonical name of the connector
+     * @param nominalPower The power in watts freed when the equipment is shed
+     * @return True if the equipment was registered
+     * @throws Exception TODO
+     */
+    public boolean register(String id, String inboundPortUri, String connectorName, double nominalPower)
+            throws Exception {
+        assert nominalPower >= 0.0 : new PreconditionException("nominalPower >= 0.0");
+        assert id != null && !id.isEmpty() : new PreconditionException("id != null && !id.isEmpty()");
+        assert inboundPortUri != null && !inboundPortUri.isEmpty() :
+                new PreconditionException("inboundPortUri != null && !inboundPortUri.isEmpty()");
+        assert connectorName != null && !connectorName.isEmpty() :
+                new PreconditionException("connectorName != null && !connectorName.isEmpty()");
+
+        OPType type = OPType.of(Class.forName(connectorName));
+        if (type == null) {
+            this.traceMessage("Registration of " + id + " refused, " + connectorName +
+                    " implements no control interface\n");
+            return false;
+        }
 
-            case STANDARD:
-                StandardEquipmentOutboundPort stand = new StandardEquipmentOutboundPort(this);
-                standOPs.add(stand);
-                stand.publishPort();
-                doPortConnection(
-                        stand.getPortURI(),
-                        IP_URI,
-                        connectorName
-                );
-                break;
+        AbstractOutboundPort port = this.createPort(type);
+        port.publishPort();
+        this.doPortConnection(port.getPortURI(), inboundPortUri, connectorName);
 
-            case STORAGE:
-                StorageEquipmentOutboundPort stor = new StorageEquipmentOutboundPort(this);
-                storOPs.add(stor);
-                stor.publishPort();
-                doPortConnection(
-                        stor.getPortURI(),
-                        IP_URI,
-                        connectorName
-                );
-                break;
+        EquipmentRegistry.Entry entry = new EquipmentRegistry.Entry(id, type, port, inboundPortUri, nominalPower);
+        EquipmentRegistry.Entry previous = this.registry.put(entry);
+        if (previous != null) {
+            this.release(previous);
+        }
+        this.traceMessage("Equipment " + id + " registered as " + type + "\n");
+        if (this.subscribed) {
+            this.subscribeState(entry);
+        }
+        return true;
+    }
 
-            case UNPREDICTABLE:
-                UnpredictableProductionEquipmentOutboundPort unpred = new UnpredictableProductionEquipmentOutboundPort(this);
-                unpredOPs.add(unpred);
-                unpred.publishPort();
-                doPortConnection(
-                        unpred.getPortURI(),
-                        IP_URI,
-                        connectorName
-                );
-                break;
+    /** @see EquipmentRegistrationControlCI#unregister(String) */
+    public boolean unregister(String id) throws Exception {
+        assert id != null && !id.isEmpty() : new PreconditionException("id != null && !id.isEmpty()");
+
+        EquipmentRegistry.Entry removed = this.registry.remove(id);
+        if (removed == null) return false;
+        this.release(removed);
+        this.traceMessage("Equipment " + id + " unregistered\n");
+        return true;
+    }
+
+    /**
+     * Cancel the state subscription, disconnect and unpublish the outbound
+     * port of a removed equipment
+     *
+     * @param entry The removed equipment
+     * @throws Exception TODO
+     */
+    protected void release(EquipmentRegistry.Entry entry) throws Exception {
+        this.mirror.remove(entry.getId());
+        if (this.subscribed && entry.getPort().connected()) {
+            try {
+                if (entry.getPort() instanceof StandardEquipmentControlCI) {
+                    entry.getPort(StandardEquipmentControlCI.class).unsubscribe(EQUIPMENT_NOTIFICATION_INBOUND_PORT_URI);
+                } else if (entry.getPort() instanceof ProductionEquipmentControlCI) {
+                    entry.getPort(ProductionEquipmentControlCI.class).unsubscribe(EQUIPMENT_NOTIFICATION_INBOUND_PORT_URI);
+                }
+            } catch (Exception e) {
+                // The equipment may be gone already, its port is released anyway
+                this.traceMessage("Unsubscription of " + entry.getId() + " failed: " + e + "\n");
+            }
+        }
+        if (entry.getPort().connected()) {
+            this.doPortDisconnection(entry.getPort().getPortURI());
+        }
+        entry.getPort().unpublishPort();
+    }
+
+    /**
+     * Subscribe the HEM to the state changes of an equipment; an equipment
+     * that does not push its state is left out of the mirror and polled
+     *
+     * @param entry The registered equipment
+     * @throws Exception TODO
+     */
+    protected void subscribeState(EquipmentRegistry.Entry entry) throws Exception {
+        // The notifications of a new subscription are numbered from 1 again
+        this.mirror.remove(entry.getId());
+        boolean pushed = false;
+        if (entry.getPort() instanceof StandardEquipmentControlCI) {
+            pushed = entry.getPort(StandardEquipmentControlCI.class)
+                    .subscribe(EQUIPMENT_NOTIFICATION_INBOUND_PORT_URI, entry.getId());
+        } else if (entry.getPort() instanceof ProductionEquipmentControlCI) {
+            pushed = entry.getPort(ProductionEquipmentControlCI.class)
+                    .subscribe(EQUIPMENT_NOTIFICATION_INBOUND_PORT_URI, entry.getId());
         }
+        this.traceMessage("Equipment " + entry.getId() + (pushed ? " pushes its state\n" : " is polled\n"));
     }
 
+    /**
+     * Ask an equipment its whole state through its control interface
+     *
+     * @param entry The equipment
+     * @return The equipment state, null if its interface cannot describe it
+     * @throws Exception TODO
+     */
+    protected EquipmentState describe(EquipmentRegistry.Entry entry) throws Exception {
+        if (entry.getPort() instanceof StandardEquipmentControlCI) {
+            return entry.getPort(StandardEquipmentControlCI.class).describeState();
+        }
+        if (entry.getPort() instanceof ProductionEquipmentControlCI) {
+            return entry.getPort(ProductionEquipmentControlCI.class).describeState();
+        }
+        return null;
+    }
 
     /**
-     * First draft of the management task for the HEM.
+     * Read the state of an equipment again after a missed notification, on
+     * the query executor so the HEM thread never waits for it; the state read
+     * is dropped if a notification came meanwhile
+     *
+     * @param id The equipment identifier
+     */
+    protected void resync(String id) {
+        EquipmentRegistry.Entry entry = this.registry.get(id);
+        if (entry == null) return;
+        long token = this.mirror.resyncToken(id);
+        this.queryExecutor.submit(() -> {
+            EquipmentState state = this.describe(entry);
+            if (state != null && this.mirror.resync(id, token, state)) {
+                this.traceMessage("Equipment " + id + " resynchronised to " + state + "\n");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Submit an equipment query to the query executor
+     *
+     * @param pending   the pending queries, by reading key
+     * @param equipment the equipment name
+     * @param query     the query name
+     * @param call      the call to the equipment outbound port
+     */
+    protected void submitQuery(Map<String, Future<?>> pending, String equipment, String query, Callable<?> call) {
+        pending.put(HouseholdSnapshot.key(equipment, query), this.queryExecutor.submit(call));
+    }
+
+    /**
+     * Assemble a household snapshot from the mirrored states and the values
+     * last notified by the electric meter, and query concurrently the
+     * equipments that push no state, or the meter before the subscriptions;
+     * each equipment is asked its whole state, and the meter its balance, in
+     * a single call. The whole
+     * snapshot waits at most {@code QUERY_TIMEOUT}, so its latency is bounded
+     * by the slowest answer and not by the sum of them. Queries failing or
+     * answering too late are left out of the snapshot.
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	true		// no precondition.
+     * post	{@code ret != null}
+     * </pre>
+     *
+     * @return the household snapshot
+     */
+    protected HouseholdSnapshot snapshot() {
+        long start = System.currentTimeMillis();
+        Map<String, Future<?>> pending = new HashMap<>();
+        Map<String, Object> readings = new HashMap<>();
+
+        if (this.subscribed) {
+            readings.put(HouseholdSnapshot.key(METER, CONSUMPTION), this.currentConsumption);
+            readings.put(HouseholdSnapshot.key(METER, PRODUCTION), this.currentProduction);
+        } else {
+            // A single read, so the consumption and the production come from the same balance
+            submitQuery(pending, METER, BALANCE, () -> this.elecMeterOP.getBalance());
+        }
+        for (EquipmentRegistry.Entry e : this.registry.all()) {
+            EquipmentState mirrored = this.mirror.get(e.getId());
+            if (mirrored != null) {
+                readings.put(HouseholdSnapshot.key(e.getId(), STATE), mirrored);
+            } else {
+                // One call per equipment, its state holds all the values of its control interface
+                submitQuery(pending, e.getId(), STATE, () -> this.describe(e));
+            }
+        }
+
+        long deadline = start + QUERY_TIMEOUT_TIME_UNIT.toMillis(QUERY_TIMEOUT);
+        for (Map.Entry<String, Future<?>> e : pending.entrySet()) {
+            try {
+                long remaining = Math.max(0L, deadline - System.currentTimeMillis());
+                readings.put(e.getKey(), e.getValue().get(remaining, TimeUnit.MILLISECONDS));
+            } catch (TimeoutException ex) {
+                e.getValue().cancel(true);
+                this.traceMessage("Query " + e.getKey() + " timed out\n");
+            } catch (Exception ex) {
+                this.traceMessage("Query " + e.getKey() + " failed: " + ex + "\n");
+            }
+        }
+
+        MeterSnapshot.Reading balance = (MeterSnapshot.Reading) readings.remove(HouseholdSnapshot.key(METER, BALANCE));
+        if (balance != null) {
+            readings.put(HouseholdSnapshot.key(METER, CONSUMPTION), balance.getConsumption());
+            readings.put(HouseholdSnapshot.key(METER, PRODUCTION), balance.getProduction());
+        }
+        return new HouseholdSnapshot(start, readings);
+    }
+
+    /**
+     * Energy management decision pass, run on a household snapshot: the
+     * controllable equipments are given to the load shedding planner, which
+     * selects the cheapest ones to shed when the house consumes more than
+     * {@code TARGET_BALANCE} above its production, and the most urgent ones to
+     * restore otherwise. The costs are:
+     * <ul>
+     * <li>for a running suspension equipment, its cumulated suspension time
+     *     over {@code SUSPENSION_COST_SCALE}, and for a suspended one, its
+     *     emergency;</li>
+     * <li>for a planned program, the share of its duration in the time left
+     *     before its deadline;</li>
+     * <li>for a consuming storage equipment, its missing power level.</li>
+     * </ul>
+     * The meter readings of the snapshot fall back on the values last notified
+     * by the electric meter.
      *
      * <p><strong>Contract</strong></p>
      * <pre>
@@ -198,10 +548,209 @@ public class HEM
      * @throws Exception <i>to do</i>.
      */
     protected void manage() throws Exception {
-        this.traceMessage("Electric meter current consumption? " +
-                this.elecMeterOP.getCurrentConsumption() + "\n");
-        this.traceMessage("Electric meter current production? " +
-                this.elecMeterOP.getCurrentProduction() + "\n");
+        HouseholdSnapshot snapshot = this.snapshot();
+        double consumption = snapshot.getDouble(METER, CONSUMPTION, this.currentConsumption);
+        double production = snapshot.getDouble(METER, PRODUCTION, this.currentProduction);
+        this.traceMessage("Management pass with consumption " + consumption +
+                " and production " + production + " on " + snapshot + "\n");
+
+        List<EquipmentRegistry.Entry> candidates = new ArrayList<>();
+        List<EquipmentCommand> commands = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        this.planner.clear();
+
+        for (EquipmentRegistry.Entry e : this.registry.ofType(OPType.SUSPENSION)) {
+            EquipmentState state = snapshot.getState(e.getId());
+            if (state == null || !state.isOn()) continue;
+
+            if (state.isSuspended()) {
+                this.planner.addRestorable(e.getNominalPower(), state.getEmergency());
+                commands.add(EquipmentCommand.of(EquipmentCommand.Operation.RESUME));
+            } else {
+                this.planner.addSheddable(e.getNominalPower(),
+                        (double) this.suspendedTotal.getOrDefault(e.getId(), 0L) / SUSPENSION_COST_SCALE);
+                commands.add(EquipmentCommand.of(EquipmentCommand.Operation.SUSPEND));
+            }
+            candidates.add(e);
+        }
+
+        for (EquipmentRegistry.Entry e : this.registry.ofType(OPType.PLANNING)) {
+            EquipmentState state = snapshot.getState(e.getId());
+            if (state == null || !state.hasPlan()) continue;
+            double slack = state.getSlack().getSeconds();
+            double duration = state.getDuration().getSeconds();
+            if (slack <= POSTPONE_STEP.getSeconds()) continue;
+
+            this.planner.addSheddable(e.getNominalPower(), duration / (duration + slack));
+            commands.add(EquipmentCommand.postPone(POSTPONE_STEP));
+            candidates.add(e);
+        }
+
+        for (EquipmentRegistry.Entry e : this.registry.ofType(OPType.STORAGE)) {
+            EquipmentState state = snapshot.getState(e.getId());
+            if (state == null || !state.isConsuming()) continue;
+
+            this.planner.addSheddable(e.getNominalPower(), 1.0 - state.getPowerLevel());
+            commands.add(EquipmentCommand.of(EquipmentCommand.Operation.STOP_CONSUMING));
+            candidates.add(e);
+        }
+
+        // The planned commands are grouped by equipment, each equipment gets a single batch
+        int planned = this.planner.plan(consumption - production - TARGET_BALANCE);
+        Map<EquipmentRegistry.Entry, List<EquipmentCommand>> batches = new LinkedHashMap<>();
+        for (int k = 0; k < planned; k++) {
+            int i = this.planner.getPlanned(k);
+            batches.computeIfAbsent(candidates.get(i), e -> new ArrayList<>()).add(commands.get(i));
+        }
+
+        for (Map.Entry<EquipmentRegistry.Entry, List<EquipmentCommand>> b : batches.entrySet()) {
+            EquipmentRegistry.Entry e = b.getKey();
+            EquipmentCommand[] batch = b.getValue().toArray(new EquipmentCommand[0]);
+            byte[] statuses = this.sendBatch(e, batch);
+            this.traceMessage("Equipment " + e.getId() + " " + Arrays.toString(batch) +
+                    " -> " + Arrays.toString(statuses) + "\n");
+
+            for (int j = 0; j < batch.length; j++) {
+                if (statuses[j] != EquipmentCommand.DONE) continue;
+
+                if (batch[j].getOperation() == EquipmentCommand.Operation.SUSPEND) {
+                    this.suspendedSince.put(e.getId(), now);
+                } else if (batch[j].getOperation() == EquipmentCommand.Operation.RESUME) {
+                    Long since = this.suspendedSince.remove(e.getId());
+                    if (since != null) {
+                        this.suspendedTotal.merge(e.getId(), now - since, Long::sum);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Send a batch of commands to an equipment in a single call to the batch
+     * operation of its control interface
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code batch != null && batch.length > 0}
+     * post	{@code ret.length == batch.length}
+     * </pre>
+     *
+     * @param entry The equipment
+     * @param batch The commands to send, executed in order
+     * @return The command statuses
+     * @throws Exception TODO
+     */
+    protected byte[] sendBatch(EquipmentRegistry.Entry entry, EquipmentCommand[] batch) throws Exception {
+        assert batch != null && batch.length > 0 : new PreconditionException("batch != null && batch.length > 0");
+
+        if (entry.getPort() instanceof StandardEquipmentControlCI) {
+            return entry.getPort(StandardEquipmentControlCI.class).executeBatch(batch);
+        }
+        if (entry.getPort() instanceof ProductionEquipmentControlCI) {
+            return entry.getPort(ProductionEquipmentControlCI.class).executeBatch(batch);
+        }
+        byte[] res = new byte[batch.length];
+        Arrays.fill(res, EquipmentCommand.UNSUPPORTED);
+        return res;
+    }
+
+    /**
+     * Run a management pass scheduled by a notification of the electric
+     * meter; the notifications arriving during the pass schedule the next one
+     *
+     * @throws Exception TODO
+     */
+    protected void deferredManage() throws Exception {
+        synchronized (this.managementLock) {
+            this.managementPending = false;
+            this.lastManagementTime = System.currentTimeMillis();
+        }
+        this.manage();
+    }
+
+    /**
+     * Record the notified balance and schedule a management pass, unless one
+     * is already pending; the pass runs on the schedulable thread of the HEM,
+     * at the end of the minimal management interval, so the meter is released
+     * at once and the passes never overlap, the HEM having a single
+     * schedulable thread
+     *
+     * @see ElectricMeterNotificationImplementationI#notifyBalance(double, double)
+     */
+    @Override
+    public void notifyBalance(double consumption, double production) throws Exception {
+        long delay;
+        synchronized (this.managementLock) {
+            this.currentConsumption = consumption;
+            this.currentProduction = production;
+            // A pass is already scheduled, it will read the latest values
+            if (this.managementPending) return;
+
+            this.managementPending = true;
+            delay = Math.max(0L, this.lastManagementTime + this.minManagementInterval - System.currentTimeMillis());
+        }
+
+        final HEM hem = this;
+        this.managementTaskFuture =
+                this.scheduleTaskOnComponent(
+                        new AbstractTask() {
+                            @Override
+                            public void run() {
+                                try {
+                                    hem.deferredManage();
+                                } catch (Exception e) {
+                                    e.printStackTrace();
+                                }
+                            }
+                        },
+                        delay,
+                        MANAGEMENT_INTERVAL_TIME_UNIT);
+    }
+
+    /** @see EquipmentNotificationImplementationI#notifyState(String, long, EquipmentState) */
+    @Override
+    public void notifyState(String equipmentId, long sequence, EquipmentState state) throws Exception {
+        // A late notification of an unregistered equipment must not bring it back in the mirror
+        if (!this.registry.contains(equipmentId)) return;
+
+        switch (this.mirror.apply(equipmentId, sequence, state)) {
+            case STALE:
+                this.traceMessage("Late notification " + sequence + " of " + equipmentId + " ignored\n");
+                break;
+            case GAP:
+                this.traceMessage("Notification " + sequence + " of " + equipmentId + " follows a gap\n");
+                this.resync(equipmentId);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Connect the electric meter outbound port and register the household
+     * equipments, when the component starts; a subclass may override it to
+     * give the HEM other ports, as the decision benchmark does with mock ports
+     *
+     * @throws Exception TODO
+     */
+    protected void connectHousehold() throws Exception {
+        // Electric meter
+        this.elecMeterOP = new ElectricMeterOutboundPort(this);
+        this.elecMeterOP.publishPort();
+        this.doPortConnection(
+                this.elecMeterOP.getPortURI(),
+                ElectricMeter.ELECTRIC_METER_INBOUND_PORT_URI,
+                ElectricMeterConnector.class.getCanonicalName());
+
+        // Household equipments
+        this.register(CRYPTO_MINER, CryptoMiner.INBOUND_PORT_URI, CryptoMinerConnector.class.getCanonicalName(),
+                CRYPTO_MINER_NOMINAL_POWER);
+        this.register(DISHWASHER, Dishwasher.INBOUND_PORT_URI, DishwasherConnector.class.getCanonicalName(),
+                DISHWASHER_NOMINAL_POWER);
+        this.register(GENERATOR, Generator.INBOUND_PORT_URI, GeneratorConnector.class.getCanonicalName());
+        //this.register(OVEN, Oven.INBOUND_PORT_URI, OvenConnector.class.getCanonicalName());
+        this.register(POWER_BANK, PowerBank.INBOUND_PORT_URI, PowerBankConnector.class.getCanonicalName(),
+                POWER_BANK_NOMINAL_POWER);
+        //this.register(WIND_TURBINE, WindTurbine.INBOUND_PORT_URI, WindTurbineConnector.class.getCanonicalName());
     }
 
     // ========== Lifecycle methods ==========
@@ -212,66 +761,10 @@ public class HEM
         super.start();
 
         this.traceMessage("Home Energy Manager starts.\n");
+        this.queryExecutor = Executors.newFixedThreadPool(QUERY_THREADS);
 
         try {
-            // Electric meter
-            this.elecMeterOP = new ElectricMeterOutboundPort(this);
-            this.elecMeterOP.publishPort();
-            this.doPortConnection(
-                    this.elecMeterOP.getPortURI(),
-                    ElectricMeter.ELECTRIC_METER_INBOUND_PORT_URI,
-                    ElectricMeterConnector.class.getCanonicalName());
-
-            // Crypto miner
-            this.cryptoOP = new SuspensionEquipmentOutboundPort(this);
-            this.cryptoOP.publishPort();
-            this.doPortConnection(
-                    this.cryptoOP.getPortURI(),
-                    CryptoMiner.INBOUND_PORT_URI,
-                    CryptoMinerConnector.class.getCanonicalName());
-
-
-            // Dishwasher
-            this.dishwasherOP = new PlanningEquipmentOutboundPort(this);
-            this.dishwasherOP.publishPort();
-            this.doPortConnection(
-                    this.dishwasherOP.getPortURI(),
-                    Dishwasher.INBOUND_PORT_URI,
-                    DishwasherConnector.class.getCanonicalName());
-
-            // Generator
-            this.generatorOP = new ProductionEquipmentOutboundPort(this);
-            this.generatorOP.publishPort();
-            this.doPortConnection(
-                    this.generatorOP.getPortURI(),
-                    Generator.INBOUND_PORT_URI,
-                    GeneratorConnector.class.getCanonicalName());
-/*
-            // Oven
-            this.ovenOP = new StandardEquipmentOutboundPort(this);
-            this.ovenOP.publishPort();
-            this.doPortConnection(
-                    this.ovenOP.getPortURI(),
-                    Oven.INBOUND_PORT_URI,
-                    OvenConnector.class.getCanonicalName());
-*/
-
-            // Power bank
-            this.powerBankOP = new StorageEquipmentOutboundPort(this);
-            this.powerBankOP.publishPort();
-            this.doPortConnection(
-                    this.powerBankOP.getPortURI(),
-                    PowerBank.INBOUND_PORT_URI,
-                    PowerBankConnector.class.getCanonicalName());
-/*
-            // Wind turbine
-            this.windTurbineOP = new UnpredictableProductionEquipmentOutboundPort(this);
-            this.windTurbineOP.publishPort();
-            this.doPortConnection(
-                    this.windTurbineOP.getPortURI(),
-                    WindTurbine.INBOUND_PORT_URI,
-                    WindTurbineConnector.class.getCanonicalName());
-*/
+            this.connectHousehold();
         } catch (Exception e) {
             throw new ComponentStartException(e);
         }
@@ -281,6 +774,15 @@ public class HEM
     @Override
     public synchronized void execute() throws Exception {
         if (this.executesAsUnitTest) {  // Simplified integration testing
+            SuspensionEquipmentOutboundPort cryptoOP =
+                    (SuspensionEquipmentOutboundPort) this.registry.get(CRYPTO_MINER).getPort();
+            PlanningEquipmentOutboundPort dishwasherOP =
+                    (PlanningEquipmentOutboundPort) this.registry.get(DISHWASHER).getPort();
+            ProductionEquipmentOutboundPort generatorOP =
+                    (ProductionEquipmentOutboundPort) this.registry.get(GENERATOR).getPort();
+            StorageEquipmentOutboundPort powerBankOP =
+                    (StorageEquipmentOutboundPort) this.registry.get(POWER_BANK).getPort();
+
             // Electric meter
             this.traceMessage("Electric meter current consumption? " +
                     this.elecMeterOP.getCurrentConsumption() + "\n");
@@ -289,119 +791,112 @@ public class HEM
 
             // Crypto miner
             this.traceMessage("Crypto miner is on? " +
-                    this.cryptoOP.on() + "\n");
+                    cryptoOP.on() + "\n");
             this.traceMessage("Crypto miner is switched on? " +
-                    this.cryptoOP.switchOn() + "\n");
+                    cryptoOP.switchOn() + "\n");
             this.traceMessage("Crypto miner is suspended? " +
-                    this.cryptoOP.suspended() + "\n");
+                    cryptoOP.suspended() + "\n");
             this.traceMessage("Crypto miner suspends? " +
-                    this.cryptoOP.suspend() + "\n");
+                    cryptoOP.suspend() + "\n");
             this.traceMessage("Crypto miner emergency? " +
-                    this.cryptoOP.emergency() + "\n");
+                    cryptoOP.emergency() + "\n");
             this.traceMessage("Crypto miner resumes? " +
-                    this.cryptoOP.resume() + "\n");
+                    cryptoOP.resume() + "\n");
             this.traceMessage("Crypto miner is suspended? " +
-                    this.cryptoOP.suspended() + "\n");
+                    cryptoOP.suspended() + "\n");
             this.traceMessage("Crypto miner is switched off? " +
-                    this.cryptoOP.switchOff() + "\n");
+                    cryptoOP.switchOff() + "\n");
             this.traceMessage("Crypto miner is on? " +
-                    this.cryptoOP.on() + "\n");
+                    cryptoOP.on() + "\n");
 
             // Dishwasher
             this.traceMessage("Dishwasher is on? " +
-                    this.dishwasherOP.on() + "\n");
+                    dishwasherOP.on() + "\n");
             // TODO : more and fix the switchOn method for dishwasher
 
             // Generator
             this.traceMessage("Generator is producing? " +
-                    this.generatorOP.isProducing() + "\n");
+                    generatorOP.isProducing() + "\n");
             this.traceMessage("Generator starts producing? " +
-                    this.generatorOP.startProducing() + "\n");
+                    generatorOP.startProducing() + "\n");
             this.traceMessage("Generator is producing? " +
-                    this.generatorOP.isProducing() + "\n");
+                    generatorOP.isProducing() + "\n");
             this.traceMessage("Generator stops producing? " +
-                    this.generatorOP.stopProducing() + "\n");
+                    generatorOP.stopProducing() + "\n");
             this.traceMessage("Generator is producing? " +
-                    this.generatorOP.isProducing() + "\n");
+                    generatorOP.isProducing() + "\n");
 
 /*
             // Oven
             this.traceMessage("Oven is on? " +
-                    this.ovenOP.on() + "\n");
+                    ovenOP.on() + "\n");
             this.traceMessage("Oven is switched on? " +
-                    this.ovenOP.switchOn() + "\n");
+                    ovenOP.switchOn() + "\n");
             this.traceMessage("Oven is switched off? " +
-                    this.ovenOP.switchOff() + "\n");
+                    ovenOP.switchOff() + "\n");
             this.traceMessage("Oven is on? " +
-                    this.ovenOP.on() + "\n");
+                    ovenOP.on() + "\n");
  */
 
             // Power bank
             this.traceMessage("Power bank is producing? " +
-                    this.powerBankOP.isProducing() + "\n");
+                    powerBankOP.isProducing() + "\n");
             this.traceMessage("Power bank is consuming? " +
-                    this.powerBankOP.isConsuming() + "\n");
+                    powerBankOP.isConsuming() + "\n");
             this.traceMessage("Power bank starts consuming? " +
-                    this.powerBankOP.startConsuming() + "\n");
+                    powerBankOP.startConsuming() + "\n");
             this.traceMessage("Power bank is consuming? " +
-                    this.powerBankOP.isConsuming() + "\n");
+                    powerBankOP.isConsuming() + "\n");
             this.traceMessage("Power bank stops consuming? " +
-                    this.powerBankOP.stopConsuming() + "\n");
+                    powerBankOP.stopConsuming() + "\n");
             this.traceMessage("Power bank starts producing? " +
-                    this.powerBankOP.startProducing() + "\n");
+                    powerBankOP.startProducing() + "\n");
             this.traceMessage("Power bank is producing? " +
-                    this.powerBankOP.isProducing() + "\n");
+                    powerBankOP.isProducing() + "\n");
             this.traceMessage("Power bank stops producing? " +
-                    this.powerBankOP.stopProducing() + "\n");
+                    powerBankOP.stopProducing() + "\n");
+
+            // Batched commands, SUSPEND is not offered by a storage equipment
+            this.traceMessage("Power bank batch [START_CONSUMING, STOP_CONSUMING, SUSPEND]? " +
+                    Arrays.toString(powerBankOP.executeBatch(new EquipmentCommand[] {
+                            EquipmentCommand.of(EquipmentCommand.Operation.START_CONSUMING),
+                            EquipmentCommand.of(EquipmentCommand.Operation.STOP_CONSUMING),
+                            EquipmentCommand.of(EquipmentCommand.Operation.SUSPEND)
+                    })) + "\n");
 /*
             // Wind turbine
             this.traceMessage("Wind turbine is producing? " +
-                    this.windTurbineOP.isProducing() + "\n");
+                    windTurbineOP.isProducing() + "\n");
             this.traceMessage("Wind turbine is forbidden? " +
-                    this.windTurbineOP.isForbidden() + "\n");
+                    windTurbineOP.isForbidden() + "\n");
 */
         } else {
-            final HEM hem = this;
-            this.managementTaskFuture =
-                    this.scheduleTaskAtFixedRateOnComponent(
-                            new AbstractTask() {
-                                @Override
-                                public void run() {
-                                    try {
-                                        hem.manage();
-                                    } catch (Exception e) {
-                                        e.printStackTrace();
-                                    }
-                                }
-                            },
-                            MANAGEMENT_PERIOD,
-                            MANAGEMENT_PERIOD,
-                            MANAGEMENT_PERIOD_TIME_UNIT);
+            // Management passes are now triggered by the meter notifications
+            this.elecMeterOP.subscribe(METER_NOTIFICATION_INBOUND_PORT_URI, NOTIFICATION_DELTA);
+
+            // The decision passes then read the equipments pushing their state from the mirror
+            this.subscribed = true;
+            for (EquipmentRegistry.Entry e : this.registry.all()) {
+                this.subscribeState(e);
+            }
         }
     }
 
     @Override
     public synchronized void finalise() throws Exception {
-        /* TODO
-        for(SuspensionEquipmentOutboundPort s : suspOPs) doPortDisconnection(s.getPortURI());
-        for(PlanningEquipmentOutboundPort p : planOPs) doPortDisconnection(p.getPortURI());
-        for(ProductionEquipmentOutboundPort p : prodOPs) doPortDisconnection(p.getPortURI());
-        for(StandardEquipmentOutboundPort s : standOPs) doPortDisconnection(s.getPortURI());
-        for(StorageEquipmentOutboundPort s : storOPs) doPortDisconnection(s.getPortURI());
-        for(UnpredictableProductionEquipmentOutboundPort u : unpredOPs) doPortDisconnection(u.getPortURI());
-        */
-
         if (this.managementTaskFuture != null && !this.managementTaskFuture.isCancelled()) {
             this.managementTaskFuture.cancel(true);
         }
 
-        this.doPortDisconnection(this.elecMeterOP.getPortURI());
-        this.doPortDisconnection(this.cryptoOP.getPortURI());
-        this.doPortDisconnection(this.dishwasherOP.getPortURI());
-        this.doPortDisconnection(this.generatorOP.getPortURI());
-        //this.doPortDisconnection(this.ovenOP.getPortURI());
-        this.doPortDisconnection(this.powerBankOP.getPortURI());
-        //this.doPortDisconnection(this.windTurbineOP.getPortURI());
+        // Ports given by a subclass may not be connected
+        if (this.elecMeterOP.connected()) {
+            this.doPortDisconnection(this.elecMeterOP.getPortURI());
+        }
+        for (EquipmentRegistry.Entry e : this.registry.all()) {
+            if (e.getPort().connected()) {
+                this.doPortDisconnection(e.getPort().getPortURI());
+            }
+        }
 
         super.finalise();
     }
@@ -411,21 +906,14 @@ public class HEM
         this.traceMessage("Home Energy Manager stops.\n");
 
         try {
-            /* TODO
-            for(SuspensionEquipmentOutboundPort s : suspOPs) s.unpublishPort();
-            for(PlanningEquipmentOutboundPort p : planOPs) p.unpublishPort();
-            for(ProductionEquipmentOutboundPort p : prodOPs) p.unpublishPort();
-            for(StandardEquipmentOutboundPort s : standOPs) s.unpublishPort();
-            for(StorageEquipmentOutboundPort s : storOPs) s.unpublishPort();
-            for(UnpredictableProductionEquipmentOutboundPort u : unpredOPs) u.unpublishPort();
-            */
+            this.queryExecutor.shutdownNow();
+            this.registrationIP.unpublishPort();
+            this.meterNotificationIP.unpublishPort();
+            this.equipmentNotificationIP.unpublishPort();
             this.elecMeterOP.unpublishPort();
-            this.cryptoOP.unpublishPort();
-            this.dishwasherOP.unpublishPort();
-            this.generatorOP.unpublishPort();
-            //this.ovenOP.unpublishPort();
-            this.powerBankOP.unpublishPort();
-            //this.windTurbineOP.unpublishPort();
+            for (EquipmentRegistry.Entry e : this.registry.all()) {
+                e.getPort().unpublishPort();
+            }
 
         } catch (Exception e) {
             throw new ComponentShutdownException(e);
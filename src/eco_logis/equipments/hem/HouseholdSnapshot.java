@@ -0,0 +1,142 @@
+package eco_logis.equipments.hem;
+
+import eco_logis.interfaces.EquipmentState;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class represents an immutable snapshot of the household state, made
+ * of the readings gathered concurrently by the HEM from the electric meter
+ * and the equipments before a management decision
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Each reading is stored under a key built from the equipment name and the
+ * query name (see {@link #key(String, String)}). A reading that failed or did
+ * not answer before the query timeout is absent from the snapshot, so the
+ * decision can go on with the readings that are available.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code readings != null}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class HouseholdSnapshot
+{
+
+    // ========== Attributes ==========
+
+
+    /** Wall clock time in milliseconds at which the queries were issued */
+    private final long timestamp;
+
+    /** The available readings, by key */
+    private final Map<String, Object> readings;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new household snapshot
+     *
+     * @param timestamp The wall clock time at which the queries were issued
+     * @param readings The available readings, copied
+     */
+    public HouseholdSnapshot(long timestamp, Map<String, Object> readings) {
+        this.timestamp = timestamp;
+        this.readings = Collections.unmodifiableMap(new HashMap<>(readings));
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Build the key of a reading
+     *
+     * @param equipment The equipment name
+     * @param query The query name
+     * @return The reading key
+     */
+    public static String key(String equipment, String query) {
+        return equipment + "." + query;
+    }
+
+    /**
+     * Get if a reading is available in the snapshot
+     *
+     * @param equipment The equipment name
+     * @param query The query name
+     * @return True if the reading answered in time
+     */
+    public boolean has(String equipment, String query) {
+        return readings.containsKey(key(equipment, query));
+    }
+
+    /**
+     * Get a boolean reading
+     *
+     * @param equipment The equipment name
+     * @param query The query name
+     * @param defaultValue The value to return if the reading is not available
+     * @return The reading or the default value
+     */
+    public boolean getBoolean(String equipment, String query, boolean defaultValue) {
+        Object v = readings.get(key(equipment, query));
+        return v instanceof Boolean ? (Boolean) v : defaultValue;
+    }
+
+    /**
+     * Get a double reading
+     *
+     * @param equipment The equipment name
+     * @param query The query name
+     * @param defaultValue The value to return if the reading is not available
+     * @return The reading or the default value
+     */
+    public double getDouble(String equipment, String query, double defaultValue) {
+        Object v = readings.get(key(equipment, query));
+        return v instanceof Double ? (Double) v : defaultValue;
+    }
+
+    /**
+     * Get the state reading of an equipment, stored under the query {@code HEM.STATE}
+     *
+     * @param equipment The equipment name
+     * @return The equipment state, null if it is not available
+     */
+    public EquipmentState getState(String equipment) {
+        Object v = readings.get(key(equipment, HEM.STATE));
+        return v instanceof EquipmentState ? (EquipmentState) v : null;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, Object> getReadings() {
+        return readings;
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return "HouseholdSnapshot" + readings;
+    }
+
+}
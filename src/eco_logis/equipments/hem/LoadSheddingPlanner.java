@@ -0,0 +1,375 @@
+package eco_logis.equipments.hem;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the load shedding planner of the HEM
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Before each decision pass, the HEM fills the planner with candidates: the
+ * equipments it could shed (currently consuming and controllable) and the
+ * ones it could restore (currently shed). Each candidate has a power, the
+ * watts it would free or consume again, and a cost. The planner then selects
+ * the candidates to act upon:
+ * </p>
+ * <ul>
+ * <li>when the house consumes more than the target, the cheapest set of
+ *     sheddable candidates covering the excess: a greedy selection by cost per
+ *     watt, pruned of the candidates that became useless, compared with the
+ *     cheapest single candidate covering the excess alone;</li>
+ * <li>otherwise, the restorable candidates fitting into the surplus, by
+ *     decreasing cost (<i>i.e.</i> emergency) per watt; candidates whose cost
+ *     reached {@code FORCED_RESTORE_COST} are restored whatever the surplus.</li>
+ * </ul>
+ * <p>
+ * All the data is kept in primitive arrays reused from one pass to the next,
+ * so a pass does not allocate once the capacity is reached.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code size() <= capacity}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class LoadSheddingPlanner
+{
+
+    // ========== Macros ==========
+
+
+    /** Default initial capacity of the candidate arrays */
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    /** Cost of a restorable candidate above which it is restored in any case */
+    public static final double FORCED_RESTORE_COST = 1.0;
+
+    /** Arrays shorter than this are sorted by insertion */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+
+    // ========== Attributes ==========
+
+
+    /** Number of candidates */
+    private int size;
+
+    /** Power in watts of each candidate */
+    private double[] power;
+
+    /** Cost of each candidate */
+    private double[] cost;
+
+    /** True if the candidate is restorable, false if it is sheddable */
+    private boolean[] restorable;
+
+    /** True if the candidate is in the plan */
+    private boolean[] selected;
+
+    /** Sort keys of the candidates, indexed like {@code order} */
+    private double[] keys;
+
+    /** Candidate indexes being sorted */
+    private int[] order;
+
+    /** The candidate indexes of the last plan */
+    private int[] plan;
+
+    /** Number of candidates in the last plan */
+    private int planSize;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new planner with the default capacity
+     */
+    public LoadSheddingPlanner() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new planner
+     *
+     * @param capacity The initial number of candidates the planner can hold
+     */
+    public LoadSheddingPlanner(int capacity) {
+        power = new double[capacity];
+        cost = new double[capacity];
+        restorable = new boolean[capacity];
+        selected = new boolean[capacity];
+        keys = new double[capacity];
+        order = new int[capacity];
+        plan = new int[capacity];
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Remove all the candidates, keeping the arrays for the next pass
+     */
+    public void clear() {
+        size = 0;
+        planSize = 0;
+    }
+
+    /**
+     * Add a candidate that can be shed
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code power >= 0.0 && cost >= 0.0}
+     * post	{@code size() == size()@pre + 1}
+     * </pre>
+     *
+     * @param power The power in watts freed by shedding the candidate
+     * @param cost The cost of shedding the candidate
+     * @return The candidate index
+     */
+    public int addSheddable(double power, double cost) {
+        return add(power, cost, false);
+    }
+
+    /**
+     * Add a candidate that can be restored
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code power >= 0.0 && cost >= 0.0}
+     * post	{@code size() == size()@pre + 1}
+     * </pre>
+     *
+     * @param power The power in watts consumed again by restoring the candidate
+     * @param cost The cost of keeping the candidate shed (<i>e.g.</i> its emergency)
+     * @return The candidate index
+     */
+    public int addRestorable(double power, double cost) {
+        return add(power, cost, true);
+    }
+
+    /**
+     * Add a candidate, growing the arrays if needed
+     *
+     * @param p The candidate power
+     * @param c The candidate cost
+     * @param r True if the candidate is restorable
+     * @return The candidate index
+     */
+    private int add(double p, double c, boolean r) {
+        if (size == power.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+            power = Arrays.copyOf(power, capacity);
+            cost = Arrays.copyOf(cost, capacity);
+            restorable = Arrays.copyOf(restorable, capacity);
+            selected = Arrays.copyOf(selected, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            order = Arrays.copyOf(order, capacity);
+            plan = Arrays.copyOf(plan, capacity);
+        }
+        power[size] = p;
+        cost[size] = c;
+        restorable[size] = r;
+        return size++;
+    }
+
+    /**
+     * Compute the plan bringing the house balance under the target
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	true		// no precondition.
+     * post	{@code ret == planSize()}
+     * </pre>
+     *
+     * @param excess The consumption above the target in watts, negative when there is a surplus
+     * @return The number of candidates in the plan
+     */
+    public int plan(double excess) {
+        planSize = 0;
+        Arrays.fill(selected, 0, size, false);
+        if (excess > 0.0) {
+            planShedding(excess);
+        } else {
+            planRestoring(-excess);
+        }
+        return planSize;
+    }
+
+    /**
+     * Select the sheddable candidates covering the excess at the lowest cost
+     *
+     * @param excess The power to free in watts
+     */
+    private void planShedding(double excess) {
+        // Greedy selection by increasing cost per watt
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (!restorable[i] && power[i] > 0.0) {
+                order[n] = i;
+                keys[n] = cost[i] / power[i];
+                n++;
+            }
+        }
+        sort(0, n - 1);
+
+        double freed = 0.0;
+        double greedyCost = 0.0;
+        int last = -1;
+        for (int k = 0; k < n && freed < excess; k++) {
+            int i = order[k];
+            selected[i] = true;
+            freed += power[i];
+            greedyCost += cost[i];
+            last = k;
+        }
+
+        // Drop the most expensive selected candidates that are not needed anymore
+        for (int k = last; k >= 0; k--) {
+            int i = order[k];
+            if (freed - power[i] >= excess) {
+                selected[i] = false;
+                freed -= power[i];
+                greedyCost -= cost[i];
+            }
+        }
+
+        // A single cheaper candidate may cover the excess alone
+        int single = -1;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            if (power[i] >= excess && cost[i] < greedyCost && (single < 0 || cost[i] < cost[single])) {
+                single = i;
+            }
+        }
+        if (single >= 0 && freed >= excess) {
+            Arrays.fill(selected, 0, size, false);
+            selected[single] = true;
+        }
+
+        for (int k = 0; k < n; k++) {
+            if (selected[order[k]]) plan[planSize++] = order[k];
+        }
+    }
+
+    /**
+     * Select the restorable candidates fitting into the surplus, most urgent first
+     *
+     * @param surplus The available power in watts
+     */
+    private void planRestoring(double surplus) {
+        // Sort by decreasing cost per watt
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (restorable[i]) {
+                order[n] = i;
+                keys[n] = -(power[i] > 0.0 ? cost[i] / power[i] : Double.MAX_VALUE);
+                n++;
+            }
+        }
+        sort(0, n - 1);
+
+        double available = surplus;
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            if (cost[i] >= FORCED_RESTORE_COST || power[i] <= available) {
+                available -= power[i];
+                selected[i] = true;
+                plan[planSize++] = i;
+            }
+        }
+    }
+
+    /**
+     * Sort {@code order} and {@code keys} together by increasing key
+     *
+     * @param lo The first index to sort
+     * @param hi The last index to sort
+     */
+    private void sort(int lo, int hi) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            double pivot = keys[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Recurse on the smaller part to bound the stack depth
+            if (j - lo < hi - i) {
+                sort(lo, j);
+                lo = i;
+            } else {
+                sort(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && keys[j - 1] > keys[j]; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    /**
+     * Swap two positions of {@code order} and {@code keys}
+     *
+     * @param a The first position
+     * @param b The second position
+     */
+    private void swap(int a, int b) {
+        double k = keys[a];
+        keys[a] = keys[b];
+        keys[b] = k;
+        int o = order[a];
+        order[a] = order[b];
+        order[b] = o;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public int size() {
+        return size;
+    }
+
+    public int planSize() {
+        return planSize;
+    }
+
+    /**
+     * Get a candidate of the last plan
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code k >= 0 && k < planSize()}
+     * post	true
+     * </pre>
+     *
+     * @param k The position in the plan
+     * @return The candidate index
+     */
+    public int getPlanned(int k) {
+        return plan[k];
+    }
+
+    /**
+     * Get if a candidate is restorable
+     *
+     * @param i The candidate index
+     * @return True if the candidate is restorable, false if it is sheddable
+     */
+    public boolean isRestorable(int i) {
+        return restorable[i];
+    }
+
+}
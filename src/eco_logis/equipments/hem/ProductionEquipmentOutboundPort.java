@@ -5,6 +5,8 @@ import fr.sorbonne_u.components.interfaces.RequiredCI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 import fr.sorbonne_u.exceptions.PostconditionException;
 import fr.sorbonne_u.exceptions.PreconditionException;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.ProductionEquipmentControlCI;
 
 /**
@@ -101,5 +103,39 @@ public class ProductionEquipmentOutboundPort
         return res;
     }
 
+    /** @see ProductionEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        assert commands != null : new PreconditionException("executeBatch() -> commands != null");
+        byte[] res = ((ProductionEquipmentControlCI) getConnector()).executeBatch(commands);
+        assert res.length == commands.length : new PostconditionException("executeBatch() -> ret.length == commands.length");
+        return res;
+    }
+
+    /** @see ProductionEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = ((ProductionEquipmentControlCI) getConnector()).describeState();
+        assert res != null : new PostconditionException("describeState() -> ret != null");
+        return res;
+    }
+
+    /** @see ProductionEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        assert notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty() :
+                new PreconditionException("subscribe() -> notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()");
+        assert equipmentId != null && !equipmentId.isEmpty() :
+                new PreconditionException("subscribe() -> equipmentId != null && !equipmentId.isEmpty()");
+        return ((ProductionEquipmentControlCI) getConnector()).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see ProductionEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        assert notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty() :
+                new PreconditionException("unsubscribe() -> notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()");
+        return ((ProductionEquipmentControlCI) getConnector()).unsubscribe(notificationInboundPortURI);
+    }
 
 }
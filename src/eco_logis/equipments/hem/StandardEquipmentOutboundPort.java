@@ -5,6 +5,8 @@ import fr.sorbonne_u.components.interfaces.RequiredCI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 import fr.sorbonne_u.exceptions.PostconditionException;
 import fr.sorbonne_u.exceptions.PreconditionException;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.StandardEquipmentControlCI;
 
 /**
@@ -100,4 +102,39 @@ public class StandardEquipmentOutboundPort
         return res;
     }
 
+    /** @see StandardEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        assert commands != null : new PreconditionException("executeBatch() -> commands != null");
+        byte[] res = ((StandardEquipmentControlCI) getConnector()).executeBatch(commands);
+        assert res.length == commands.length : new PostconditionException("executeBatch() -> ret.length == commands.length");
+        return res;
+    }
+
+    /** @see StandardEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = ((StandardEquipmentControlCI) getConnector()).describeState();
+        assert res != null : new PostconditionException("describeState() -> ret != null");
+        return res;
+    }
+
+    /** @see StandardEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        assert notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty() :
+                new PreconditionException("subscribe() -> notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()");
+        assert equipmentId != null && !equipmentId.isEmpty() :
+                new PreconditionException("subscribe() -> equipmentId != null && !equipmentId.isEmpty()");
+        return ((StandardEquipmentControlCI) getConnector()).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see StandardEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        assert notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty() :
+                new PreconditionException("unsubscribe() -> notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()");
+        return ((StandardEquipmentControlCI) getConnector()).unsubscribe(notificationInboundPortURI);
+    }
+
 }
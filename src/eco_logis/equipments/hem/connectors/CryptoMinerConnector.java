@@ -2,6 +2,8 @@ package eco_logis.equipments.hem.connectors;
 
 import eco_logis.equipments.crypto_miner.CryptoMinerCI;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.SuspensionEquipmentControlCI;
 
 /**
@@ -66,4 +68,28 @@ public class CryptoMinerConnector
         return 0d;
     }
 
+    /** @see SuspensionEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((CryptoMinerCI) offering).executeBatch(commands);
+    }
+
+    /** @see SuspensionEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((CryptoMinerCI) offering).describeState();
+    }
+
+    /** @see SuspensionEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((CryptoMinerCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+        return true;
+    }
+
+    /** @see SuspensionEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((CryptoMinerCI) offering).unsubscribe(notificationInboundPortURI);
+    }
 }
@@ -3,6 +3,8 @@ package eco_logis.equipments.hem.connectors;
 import eco_logis.equipments.dishwasher.DishwasherCI;
 import eco_logis.equipments.hem.PlanningEquipmentOutboundPort;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.PlanningEquipmentControlCI;
 
 import java.time.Duration;
@@ -76,4 +78,28 @@ public class DishwasherConnector
         return ((DishwasherCI) offering).stopWashing();
     }
 
+    /** @see PlanningEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((DishwasherCI) offering).executeBatch(commands);
+    }
+
+    /** @see PlanningEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((DishwasherCI) offering).describeState();
+    }
+
+    /** @see PlanningEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((DishwasherCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+        return true;
+    }
+
+    /** @see PlanningEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((DishwasherCI) offering).unsubscribe(notificationInboundPortURI);
+    }
 }
@@ -1,22 +1,50 @@
 package eco_logis.equipments.hem.connectors;
 
+import eco_logis.equipments.electric_meter.ElectricMeterCI;
+import eco_logis.equipments.electric_meter.EnergyCounters;
+import eco_logis.equipments.electric_meter.MeterHistory;
+import eco_logis.equipments.electric_meter.MeterSamples;
+import eco_logis.equipments.electric_meter.MeterSnapshot;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
-import fr.sorbonne_u.components.cyphy.hem2021e1.equipments.meter.ElectricMeterCI;
 
 public class ElectricMeterConnector
         extends AbstractConnector
         implements ElectricMeterCI
 {
-    /** @see fr.sorbonne_u.components.cyphy.hem2021e1.equipments.meter.ElectricMeterCI#getCurrentConsumption() */
+    /** @see ElectricMeterCI#getCurrentConsumption() */
     @Override
     public double getCurrentConsumption() throws Exception {
         return ((ElectricMeterCI)this.offering).getCurrentConsumption();
     }
 
-    /** @see fr.sorbonne_u.components.cyphy.hem2021e1.equipments.meter.ElectricMeterCI#getCurrentProduction() */
+    /** @see ElectricMeterCI#getCurrentProduction() */
     @Override
     public double getCurrentProduction() throws Exception {
         return ((ElectricMeterCI)this.offering).getCurrentProduction();
     }
 
+    /** @see ElectricMeterCI#getBalance() */
+    @Override
+    public MeterSnapshot.Reading getBalance() throws Exception {
+        return ((ElectricMeterCI)this.offering).getBalance();
+    }
+
+    /** @see ElectricMeterCI#getEnergyCounters() */
+    @Override
+    public EnergyCounters getEnergyCounters() throws Exception {
+        return ((ElectricMeterCI)this.offering).getEnergyCounters();
+    }
+
+    /** @see ElectricMeterCI#getHistory(MeterHistory.Resolution, long, long) */
+    @Override
+    public MeterSamples getHistory(MeterHistory.Resolution resolution, long from, long to) throws Exception {
+        return ((ElectricMeterCI)this.offering).getHistory(resolution, from, to);
+    }
+
+    /** @see ElectricMeterCI#subscribe(String, double) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double deltaThreshold) throws Exception {
+        ((ElectricMeterCI)this.offering).subscribe(notificationInboundPortURI, deltaThreshold);
+    }
+
 }
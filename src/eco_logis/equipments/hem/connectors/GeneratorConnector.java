@@ -2,6 +2,8 @@ package eco_logis.equipments.hem.connectors;
 
 import eco_logis.equipments.generator.GeneratorCI;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.ProductionEquipmentControlCI;
 
 /**
@@ -38,4 +40,28 @@ public class GeneratorConnector
         return true;
     }
 
+    /** @see ProductionEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((GeneratorCI) offering).executeBatch(commands);
+    }
+
+    /** @see ProductionEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((GeneratorCI) offering).describeState();
+    }
+
+    /** @see ProductionEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((GeneratorCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+        return true;
+    }
+
+    /** @see ProductionEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((GeneratorCI) offering).unsubscribe(notificationInboundPortURI);
+    }
 }
@@ -3,6 +3,8 @@ package eco_logis.equipments.hem.connectors;
 import eco_logis.equipments.hem.StandardEquipmentOutboundPort;
 import eco_logis.equipments.oven.OvenCI;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.StandardEquipmentControlCI;
 
 /**
@@ -36,7 +38,31 @@ public class OvenConnector
     @Override
     public boolean switchOff() throws Exception {
         ((OvenCI) offering).powerOff();
+        return true;
+    }
+
+    /** @see StandardEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((OvenCI) offering).executeBatch(commands);
+    }
+
+    /** @see StandardEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((OvenCI) offering).describeState();
+    }
+
+    /** @see StandardEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        // The oven does not push its state, it is polled
         return false;
     }
 
+    /** @see StandardEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return false;
+    }
 }
@@ -3,6 +3,8 @@ package eco_logis.equipments.hem.connectors;
 import eco_logis.equipments.hem.StorageEquipmentOutboundPort;
 import eco_logis.equipments.power_bank.PowerBank;
 import eco_logis.equipments.power_bank.PowerBankCI;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.StorageEquipmentControlCI;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 
@@ -65,4 +67,29 @@ public class PowerBankConnector
     public double getPowerLevel() throws Exception {
         return ((PowerBankCI) offering).getBatteryLevel();
     }
+
+    /** @see StorageEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((PowerBankCI) offering).executeBatch(commands);
+    }
+
+    /** @see StorageEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((PowerBankCI) offering).describeState();
+    }
+
+    /** @see StorageEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((PowerBankCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+        return true;
+    }
+
+    /** @see StorageEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((PowerBankCI) offering).unsubscribe(notificationInboundPortURI);
+    }
 }
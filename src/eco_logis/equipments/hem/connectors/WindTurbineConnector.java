@@ -3,6 +3,8 @@ package eco_logis.equipments.hem.connectors;
 import eco_logis.equipments.wind_turbine.WindTurbineCI;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 import eco_logis.interfaces.ProductionEquipmentControlCI;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import eco_logis.interfaces.UnpredictableProductionEquipmentControlCI;
 
 /**
@@ -55,4 +57,29 @@ public class WindTurbineConnector
         ((WindTurbineCI) offering).unblockTurning();
         return true;
     }
+
+    /** @see UnpredictableProductionEquipmentControlCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((WindTurbineCI) offering).executeBatch(commands);
+    }
+
+    /** @see UnpredictableProductionEquipmentControlCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((WindTurbineCI) offering).describeState();
+    }
+
+    /** @see UnpredictableProductionEquipmentControlCI#subscribe(String, String) */
+    @Override
+    public boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        // The wind turbine does not push its state, it is polled
+        return false;
+    }
+
+    /** @see UnpredictableProductionEquipmentControlCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return false;
+    }
 }
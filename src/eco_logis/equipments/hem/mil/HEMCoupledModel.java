@@ -64,4 +64,18 @@ public class HEMCoupledModel
         super(uri, simulatedTimeUnit, simulationEngine, submodels, imported, reexported, connections, importedVars, reexportedVars, bindings);
     }
 
+
+    // ========== Override methods ==========
+
+
+    /** @see CoupledModel#setDebugLevel(int) */
+    @Override
+    public void setDebugLevel(int newDebugLevel) throws Exception {
+        super.setDebugLevel(newDebugLevel);
+        // The submodels are reached through their engines, which keep the level for themselves
+        for (ModelDescriptionI submodel : submodels) {
+            submodel.getDescendentModel(submodel.getURI()).setDebugLevel(newDebugLevel);
+        }
+    }
+
 }
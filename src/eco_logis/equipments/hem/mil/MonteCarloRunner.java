@@ -0,0 +1,262 @@
+package eco_logis.equipments.hem.mil;
+
+import eco_logis.equipments.electric_meter.mil.ElectricMeterElectricityModel;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import fr.sorbonne_u.devs_simulation.architectures.ArchitectureI;
+import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class runs independent MIL simulations of the whole house in parallel
+ * and prints the distributions of their results
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Each run builds its own copy of the {@code RunHEMSim} architecture and
+ * simulates it in batch mode, with the master seed of the child service
+ * {@code run:i} of the campaign seeds for the run {@code i} (see
+ * {@link SimulationSeeds#split(String)}): the runs draw independent scenarios,
+ * but a run gives the same scenario whatever the parallelism, so a whole
+ * campaign can be replayed.
+ * The runs are executed on a fork join pool and share nothing (but the trace
+ * recorder if one is configured, which should be avoided for large campaigns).
+ * </p>
+ * <p>
+ * For each run, the electric meter gives the peak consumption of the house,
+ * the energy bought from the grid and the overloads, the episodes during which
+ * the house draws more than its subscription allows, which are the comfort
+ * violations of a house without energy manager.
+ * </p>
+ * <p>
+ * Usage: {@code MonteCarloRunner [runs] [days] [master seed] [parallelism]},
+ * with {@code DEFAULT_RUNS} runs of {@code DEFAULT_DAYS} days, the master seed
+ * {@code DEFAULT_MASTER_SEED} and as many threads as processors by default.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class MonteCarloRunner {
+
+    // ========== Macros ==========
+
+
+    /** Default number of runs */
+    public static final int DEFAULT_RUNS = 100;
+
+    /** Default simulated duration of a run in days */
+    public static final double DEFAULT_DAYS = 1.0;
+
+    /** Default master seed of the campaign */
+    public static final long DEFAULT_MASTER_SEED = 42L;
+
+    /** Number of seconds in a day */
+    protected static final double DAY = 24.0 * 3600.0;
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Simulate one scenario
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code duration > 0.0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param seed The master seed of the scenario
+     * @param duration The simulated duration in seconds
+     * @return The results of the scenario
+     * @throws Exception TODO
+     */
+    public static ScenarioResult runScenario(long seed, double duration) throws Exception {
+        // Each architecture carries its own meter sources, so the runs build them concurrently
+        ArchitectureI architecture = RunHEMSim.createArchitecture();
+        SimulationEngine engine = architecture.constructSimulator();
+        Map<String, Object> simParams = new HashMap<>();
+        simParams.put(SimulationSeeds.SEED_PARAMETER, new SimulationSeeds(seed));
+        // No model of the house keeps a received event past its step, so the events can be pooled
+        simParams.put(EventRecycler.POOLING_PARAMETER, Boolean.TRUE);
+        engine.setSimulationRunParameters(simParams);
+
+        long steps = RunHEMSim.runBatch(engine, duration, 0);
+
+        ElectricMeterElectricityModel meter =
+                (ElectricMeterElectricityModel) engine.getDescendentModel(ElectricMeterElectricityModel.URI);
+        return new ScenarioResult(seed, steps, meter.getPeakConsumption(),
+                meter.getEnergyCounters().getImported(), meter.getOverloads(), meter.getOverloadDuration());
+    }
+
+    /**
+     * Simulate the scenarios of a campaign in parallel
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code runs > 0 && duration > 0.0 && parallelism > 0}
+     * post	{@code return.size() == runs}
+     * </pre>
+     *
+     * @param runs The number of scenarios
+     * @param duration The simulated duration of a scenario in seconds
+     * @param masterSeed The master seed of the campaign
+     * @param parallelism The number of threads
+     * @return The results of the scenarios, in the order of their seeds
+     * @throws Exception If a scenario failed
+     */
+    public static List<ScenarioResult> runCampaign(int runs, double duration, long masterSeed, int parallelism)
+            throws Exception {
+        SimulationSeeds campaign = new SimulationSeeds(masterSeed);
+        List<Callable<ScenarioResult>> tasks = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            // Close master seeds would give related streams, each run splits its own
+            final long seed = campaign.split("run:" + i).getMasterSeed();
+            tasks.add(() -> runScenario(seed, duration));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ScenarioResult> res = new ArrayList<>(runs);
+            for (Future<ScenarioResult> f : pool.invokeAll(tasks)) {
+                res.add(f.get());
+            }
+            return res;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Format the distribution of a result over the scenarios
+     *
+     * @param name The name of the result
+     * @param results The results of the scenarios
+     * @param value The result to read in each scenario
+     * @return A line with the mean, the standard deviation and the quantiles
+     */
+    protected static String distribution(String name, List<ScenarioResult> results,
+                                         ToDoubleFunction<ScenarioResult> value) {
+        double[] v = results.stream().mapToDouble(value).sorted().toArray();
+        double mean = Arrays.stream(v).average().orElse(0.0);
+        double variance = Arrays.stream(v).map(x -> (x - mean) * (x - mean)).sum() / Math.max(v.length - 1, 1);
+        return String.format("%-24s mean %10.3f  std %10.3f  min %10.3f  p5 %10.3f  p50 %10.3f  p95 %10.3f  max %10.3f",
+                name, mean, Math.sqrt(variance), v[0], quantile(v, 0.05), quantile(v, 0.5),
+                quantile(v, 0.95), v[v.length - 1]);
+    }
+
+    /**
+     * Get a quantile of sorted values, by linear interpolation
+     *
+     * @param sorted The values in increasing order
+     * @param q The quantile between 0 and 1
+     * @return The quantile
+     */
+    protected static double quantile(double[] sorted, double q) {
+        double pos = q * (sorted.length - 1);
+        int low = (int) Math.floor(pos);
+        int high = Math.min(low + 1, sorted.length - 1);
+        return sorted[low] + (pos - low) * (sorted[high] - sorted[low]);
+    }
+
+    public static void main(String[] args) {
+        try {
+            int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+            double days = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_DAYS;
+            long masterSeed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MASTER_SEED;
+            int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+            SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
+
+            long start = System.nanoTime();
+            List<ScenarioResult> results = runCampaign(runs, days * DAY, masterSeed, parallelism);
+            double wall = (System.nanoTime() - start) / 1.0e9;
+
+            System.out.printf("%d runs of %.1f days (master seed %d) on %d threads in %.1f s: %.1f house days per minute%n",
+                    runs, days, masterSeed, parallelism, wall, runs * days * 60.0 / wall);
+            System.out.println(distribution("peak consumption (W)", results, ScenarioResult::getPeakConsumption));
+            System.out.println(distribution("energy bought (kWh)", results, ScenarioResult::getEnergyBought));
+            System.out.println(distribution("overloads", results, ScenarioResult::getOverloads));
+            System.out.println(distribution("overload time (h)", results, ScenarioResult::getOverloadDuration));
+
+            // Exit the simulation
+            System.exit(0);
+
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+
+    // ========== Internal Enums and class ==========
+
+
+    /**
+     * This class represents the results of one scenario
+     */
+    public static final class ScenarioResult {
+
+        /** The master seed of the scenario */
+        private final long seed;
+
+        /** The number of simulation steps */
+        private final long steps;
+
+        /** The peak consumption in watts */
+        private final double peakConsumption;
+
+        /** The energy bought from the grid in kWh */
+        private final double energyBought;
+
+        /** The number of overloads */
+        private final int overloads;
+
+        /** The time spent overloaded in hours */
+        private final double overloadDuration;
+
+        public ScenarioResult(long seed, long steps, double peakConsumption, double energyBought,
+                              int overloads, double overloadDuration) {
+            this.seed = seed;
+            this.steps = steps;
+            this.peakConsumption = peakConsumption;
+            this.energyBought = energyBought;
+            this.overloads = overloads;
+            this.overloadDuration = overloadDuration;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getSteps() {
+            return steps;
+        }
+
+        public double getPeakConsumption() {
+            return peakConsumption;
+        }
+
+        public double getEnergyBought() {
+            return energyBought;
+        }
+
+        public int getOverloads() {
+            return overloads;
+        }
+
+        public double getOverloadDuration() {
+            return overloadDuration;
+        }
+
+    }
+
+}
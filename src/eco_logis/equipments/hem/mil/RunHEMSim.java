@@ -10,6 +10,7 @@ import eco_logis.equipments.dishwasher.mil.DishwasherElectricityModel;
 import eco_logis.equipments.dishwasher.mil.DishwasherUserModel;
 import eco_logis.equipments.dishwasher.mil.events.*;
 import eco_logis.equipments.electric_meter.mil.ElectricMeterElectricityModel;
+import eco_logis.equipments.electric_meter.mil.MeterSourceDescriptor;
 import eco_logis.equipments.generator.mil.GeneratorElectricityModel;
 import eco_logis.equipments.generator.mil.GeneratorFuelModel;
 import eco_logis.equipments.generator.mil.GeneratorUserModel;
@@ -17,12 +18,14 @@ import eco_logis.equipments.generator.mil.events.SwitchOffGenerator;
 import eco_logis.equipments.generator.mil.events.SwitchOnGenerator;
 import eco_logis.equipments.oven.mil.OvenElectricityModel;
 import eco_logis.equipments.oven.mil.OvenTemperatureModel;
+import eco_logis.equipments.oven.mil.OvenTemperatureQSSModel;
 import eco_logis.equipments.oven.mil.OvenUserModel;
 import eco_logis.equipments.oven.mil.events.DoNotHeatOven;
 import eco_logis.equipments.oven.mil.events.HeatOven;
 import eco_logis.equipments.oven.mil.events.SwitchOffOven;
 import eco_logis.equipments.oven.mil.events.SwitchOnOven;
 import eco_logis.equipments.power_bank.mil.PowerBankChargeModel;
+import eco_logis.equipments.power_bank.mil.PowerBankChargeQSSModel;
 import eco_logis.equipments.power_bank.mil.PowerBankElectricityModel;
 import eco_logis.equipments.power_bank.mil.PowerBankUserModel;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
@@ -33,6 +36,8 @@ import eco_logis.equipments.wind_turbine.mil.WindTurbineElectricityModel;
 import eco_logis.equipments.wind_turbine.mil.WindTurbineUserModel;
 import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
 import fr.sorbonne_u.devs_simulation.architectures.Architecture;
 import fr.sorbonne_u.devs_simulation.architectures.ArchitectureI;
 import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
@@ -45,6 +50,9 @@ import fr.sorbonne_u.devs_simulation.models.architectures.AtomicModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.architectures.CoupledModelDescriptor;
 import fr.sorbonne_u.devs_simulation.models.events.EventSink;
 import fr.sorbonne_u.devs_simulation.models.events.EventSource;
+import fr.sorbonne_u.devs_simulation.models.Model;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
 
 import java.util.HashMap;
@@ -53,492 +61,666 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * This class runs the MIL simulation of the whole house
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * Without argument, the simulation runs for {@code INTERACTIVE_DURATION}
+ * seconds and every model traces its steps. With {@code BATCH_FLAG}
+ * (optionally followed by a duration in seconds, one year by default), the
+ * tracing of the models is disabled, the simulation runs as fast as possible
+ * and its throughput in simulated seconds per wall second is printed.
+ * </p>
+ * <p>
+ * The last argument may select the {@code Variant} of the architecture
+ * ({@code sampled} by default, or {@code qss}), to measure the steps per
+ * simulated hour the quantized models add, for instance with
+ * {@code --batch 86400 qss}. With the same master seed, the two variants
+ * must print the same energy counters. There is no fixed step variant any
+ * more: the levels being piecewise linear, the event scheduled models compute
+ * them exactly, which is the reference a fixed step model would be compared
+ * to.
+ * </p>
+ * <p>
+ * The events of the models are pooled, unless the system property
+ * {@code EventRecycler.POOLING_PARAMETER} is {@code false}.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
 public class RunHEMSim {
-    public static void main(String[] args) {
-        try {
 
-            // --- The model descriptors map
-            Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
-
-            // Add the crypto miner
-            atomicModelDescriptors.put(
-                    CryptoMinerElectricityModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            CryptoMinerElectricityModel.class,
-                            CryptoMinerElectricityModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    CryptoMinerUserModel.URI,
-                    AtomicModelDescriptor.create(
-                            CryptoMinerUserModel.class,
-                            CryptoMinerUserModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-
-            // Add the dishwasher
-            atomicModelDescriptors.put(
-                    DishwasherElectricityModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            DishwasherElectricityModel.class,
-                            DishwasherElectricityModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    DishwasherUserModel.URI,
-                    AtomicModelDescriptor.create(
-                            DishwasherUserModel.class,
-                            DishwasherUserModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-
-            // Add the generator
-            atomicModelDescriptors.put(
-                    GeneratorElectricityModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            GeneratorElectricityModel.class,
-                            GeneratorElectricityModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    GeneratorFuelModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            GeneratorFuelModel.class,
-                            GeneratorFuelModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    GeneratorUserModel.URI,
-                    AtomicModelDescriptor.create(
-                            GeneratorUserModel.class,
-                            GeneratorUserModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-
-            // Add the oven
-            atomicModelDescriptors.put(
-                    OvenElectricityModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            OvenElectricityModel.class,
-                            OvenElectricityModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    OvenTemperatureModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            OvenTemperatureModel.class,
-                            OvenTemperatureModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    OvenUserModel.URI,
-                    AtomicModelDescriptor.create(
-                            OvenUserModel.class,
-                            OvenUserModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-
-            // Add the power bank
-            atomicModelDescriptors.put(
-                    PowerBankElectricityModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            PowerBankElectricityModel.class,
-                            PowerBankElectricityModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    PowerBankChargeModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            PowerBankChargeModel.class,
-                            PowerBankChargeModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    PowerBankUserModel.URI,
-                    AtomicModelDescriptor.create(
-                            PowerBankUserModel.class,
-                            PowerBankUserModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
+    // ========== Macros ==========
+
+
+    /** Duration of the traced simulation in seconds */
+    public static final double INTERACTIVE_DURATION = 100.0;
+
+    /** Duration of a batch simulation by default: one year in seconds */
+    public static final double BATCH_DURATION = 365.0 * 24.0 * 3600.0;
+
+    /** Argument selecting the batch mode */
+    public static final String BATCH_FLAG = "--batch";
+
+    /** Number of progress lines printed during a batch simulation */
+    protected static final int BATCH_PROGRESS_REPORTS = 12;
+
+
+    // ========== Internal Enums and class ==========
+
+
+    /**
+     * The variants of the house architecture
+     *
+     * <p>
+     * The continuous models are event scheduled in both variants: they only
+     * transition on the external events and at the crossings they compute in
+     * advance, and their readers compute the levels on demand. The variants
+     * therefore simulate the same house and must give the same energy
+     * counters; they only differ by the transitions the quantized models add.
+     * </p>
+     */
+    public enum Variant {
+        /**
+         * The continuous models only transition on the external events and at
+         * the crossings that change the house (empty tank, full or empty
+         * power bank); the name is kept for the command line
+         */
+        SAMPLED,
+        /**
+         * The oven temperature and the power bank charge models also
+         * transition each time their level crosses a quantum, which no model
+         * of the house consumes: the variant measures the cost of these
+         * transitions in steps and throughput
+         */
+        QSS
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Create the simulation architecture of the house, in its default variant
+     *
+     * @return The architecture
+     * @throws Exception TODO
+     */
+    public static ArchitectureI createArchitecture() throws Exception {
+        return createArchitecture(Variant.SAMPLED);
+    }
+
+    /**
+     * Create the simulation architecture of the house; the models of both
+     * variants have the same URIs
+     *
+     * @param variant The variant of the continuous models
+     * @return The architecture
+     * @throws Exception TODO
+     */
+    public static ArchitectureI createArchitecture(Variant variant) throws Exception {
+        boolean qss = variant == Variant.QSS;
+
+        // --- The model descriptors map
+        Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
+
+        // Add the crypto miner
+        atomicModelDescriptors.put(
+                CryptoMinerElectricityModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        CryptoMinerElectricityModel.class,
+                        CryptoMinerElectricityModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                CryptoMinerUserModel.URI,
+                AtomicModelDescriptor.create(
+                        CryptoMinerUserModel.class,
+                        CryptoMinerUserModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+
+        // Add the dishwasher
+        atomicModelDescriptors.put(
+                DishwasherElectricityModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        DishwasherElectricityModel.class,
+                        DishwasherElectricityModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                DishwasherUserModel.URI,
+                AtomicModelDescriptor.create(
+                        DishwasherUserModel.class,
+                        DishwasherUserModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+
+        // Add the generator
+        atomicModelDescriptors.put(
+                GeneratorElectricityModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        GeneratorElectricityModel.class,
+                        GeneratorElectricityModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                GeneratorFuelModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        GeneratorFuelModel.class,
+                        GeneratorFuelModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                GeneratorUserModel.URI,
+                AtomicModelDescriptor.create(
+                        GeneratorUserModel.class,
+                        GeneratorUserModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+
+        // Add the oven
+        atomicModelDescriptors.put(
+                OvenElectricityModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        OvenElectricityModel.class,
+                        OvenElectricityModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                OvenTemperatureModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        qss ? OvenTemperatureQSSModel.class : OvenTemperatureModel.class,
+                        OvenTemperatureModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                OvenUserModel.URI,
+                AtomicModelDescriptor.create(
+                        OvenUserModel.class,
+                        OvenUserModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+
+        // Add the power bank
+        atomicModelDescriptors.put(
+                PowerBankElectricityModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        PowerBankElectricityModel.class,
+                        PowerBankElectricityModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                PowerBankChargeModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        qss ? PowerBankChargeQSSModel.class : PowerBankChargeModel.class,
+                        PowerBankChargeModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                PowerBankUserModel.URI,
+                AtomicModelDescriptor.create(
+                        PowerBankUserModel.class,
+                        PowerBankUserModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
 
 
 /*  TODO
-            // Add the wind turbine
-            atomicModelDescriptors.put(
-                    WindTurbineElectricityModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            WindTurbineElectricityModel.class,
-                            WindTurbineElectricityModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    WindTurbineUserModel.URI,
-                    AtomicModelDescriptor.create(
-                            WindTurbineUserModel.class,
-                            WindTurbineUserModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-            atomicModelDescriptors.put(
-                    ExternalWindModel.URI,
-                    AtomicModelDescriptor.create(
-                            ExternalWindModel.class,
-                            ExternalWindModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
+        // Add the wind turbine
+        atomicModelDescriptors.put(
+                WindTurbineElectricityModel.URI,
+                AtomicHIOA_Descriptor.create(
+                        WindTurbineElectricityModel.class,
+                        WindTurbineElectricityModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                WindTurbineUserModel.URI,
+                AtomicModelDescriptor.create(
+                        WindTurbineUserModel.class,
+                        WindTurbineUserModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
+        atomicModelDescriptors.put(
+                ExternalWindModel.URI,
+                AtomicModelDescriptor.create(
+                        ExternalWindModel.class,
+                        ExternalWindModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE
+                )
+        );
 */
-            // Add the electric meter
-            atomicModelDescriptors.put(
-                    ElectricMeterElectricityModel.URI,
-                    AtomicHIOA_Descriptor.create(
-                            ElectricMeterElectricityModel.class,
-                            ElectricMeterElectricityModel.URI,
-                            TimeUnit.SECONDS,
-                            null,
-                            SimulationEngineCreationMode.ATOMIC_ENGINE
-                    )
-            );
-
-
-            // --- Create the submodel set
-            Set<String> submodels = new HashSet<>();
-            submodels.add(CryptoMinerElectricityModel.URI);
-            submodels.add(CryptoMinerUserModel.URI);
-            submodels.add(DishwasherElectricityModel.URI);
-            submodels.add(DishwasherUserModel.URI);
-            submodels.add(GeneratorElectricityModel.URI);
-            submodels.add(GeneratorFuelModel.URI);
-            submodels.add(GeneratorUserModel.URI);
-            submodels.add(OvenElectricityModel.URI);
-            submodels.add(OvenTemperatureModel.URI);
-            submodels.add(OvenUserModel.URI);
-            submodels.add(PowerBankElectricityModel.URI);
-            submodels.add(PowerBankChargeModel.URI);
-            submodels.add(PowerBankUserModel.URI);
+        // Add the electric meter, with the equipment consumptions and productions it sums
+        MeterSourceDescriptor[] meterSources = {
+                MeterSourceDescriptor.consumption(CryptoMinerElectricityModel.URI),
+                MeterSourceDescriptor.consumption(DishwasherElectricityModel.URI),
+                MeterSourceDescriptor.consumption(OvenElectricityModel.URI),
+                MeterSourceDescriptor.consumption(PowerBankElectricityModel.URI),
+                MeterSourceDescriptor.production(GeneratorElectricityModel.URI),
+                MeterSourceDescriptor.production(PowerBankElectricityModel.URI)
+                // TODO MeterSourceDescriptor.production(WindTurbineElectricityModel.URI)
+        };
+        atomicModelDescriptors.put(
+                ElectricMeterElectricityModel.URI,
+                ElectricMeterElectricityModel.createDescriptor(
+                        ElectricMeterElectricityModel.class,
+                        ElectricMeterElectricityModel.URI,
+                        TimeUnit.SECONDS,
+                        null,
+                        SimulationEngineCreationMode.ATOMIC_ENGINE,
+                        meterSources
+                )
+        );
+
+
+        // --- Create the submodel set
+        Set<String> submodels = new HashSet<>();
+        submodels.add(CryptoMinerElectricityModel.URI);
+        submodels.add(CryptoMinerUserModel.URI);
+        submodels.add(DishwasherElectricityModel.URI);
+        submodels.add(DishwasherUserModel.URI);
+        submodels.add(GeneratorElectricityModel.URI);
+        submodels.add(GeneratorFuelModel.URI);
+        submodels.add(GeneratorUserModel.URI);
+        submodels.add(OvenElectricityModel.URI);
+        submodels.add(OvenTemperatureModel.URI);
+        submodels.add(OvenUserModel.URI);
+        submodels.add(PowerBankElectricityModel.URI);
+        submodels.add(PowerBankChargeModel.URI);
+        submodels.add(PowerBankUserModel.URI);
 /*  TODO
-            submodels.add(WindTurbineElectricityModel.URI);
-            submodels.add(WindTurbineUserModel.URI);
-            submodels.add(ExternalWindModel.URI);
+        submodels.add(WindTurbineElectricityModel.URI);
+        submodels.add(WindTurbineUserModel.URI);
+        submodels.add(ExternalWindModel.URI);
 */
-            submodels.add(ElectricMeterElectricityModel.URI);
-
-
-            // --- Create the event connections
-            Map<EventSource, EventSink[]> connections = new HashMap<>();
-
-            // Add the crypto miner event
-            connections.put(
-                    new EventSource(CryptoMinerUserModel.URI, SwitchOnCryptoMiner.class),
-                    new EventSink[] {
-                            new EventSink(CryptoMinerElectricityModel.URI, SwitchOnCryptoMiner.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(CryptoMinerUserModel.URI, SwitchOffCryptoMiner.class),
-                    new EventSink[] {
-                            new EventSink(CryptoMinerElectricityModel.URI, SwitchOffCryptoMiner.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(CryptoMinerUserModel.URI, MineOnCryptoMiner.class),
-                    new EventSink[] {
-                            new EventSink(CryptoMinerElectricityModel.URI, MineOnCryptoMiner.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(CryptoMinerUserModel.URI, MineOffCryptoMiner.class),
-                    new EventSink[] {
-                            new EventSink(CryptoMinerElectricityModel.URI, MineOffCryptoMiner.class)
-                    }
-            );
-
-            // Add the dishwasher events
-            connections.put(
-                    new EventSource(DishwasherUserModel.URI, SwitchOffDishwasher.class),
-                    new EventSink[] {
-                            new EventSink(DishwasherElectricityModel.URI, SwitchOffDishwasher.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(DishwasherUserModel.URI, SetEcoProgram.class),
-                    new EventSink[] {
-                            new EventSink(DishwasherElectricityModel.URI, SetEcoProgram.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(DishwasherUserModel.URI, SetFastProgram.class),
-                    new EventSink[] {
-                            new EventSink(DishwasherElectricityModel.URI, SetFastProgram.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(DishwasherUserModel.URI, SetFullProgram.class),
-                    new EventSink[] {
-                            new EventSink(DishwasherElectricityModel.URI, SetFullProgram.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(DishwasherUserModel.URI, SetRinseProgram.class),
-                    new EventSink[] {
-                            new EventSink(DishwasherElectricityModel.URI, SetRinseProgram.class)
-                    }
-            );
-
-            // Add the generator events
-            connections.put(
-                    new EventSource(GeneratorUserModel.URI, SwitchOnGenerator.class),
-                    new EventSink[] {
-                            new EventSink(GeneratorElectricityModel.URI, SwitchOnGenerator.class),
-                            new EventSink(GeneratorFuelModel.URI, SwitchOnGenerator.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(GeneratorUserModel.URI, SwitchOffGenerator.class),
-                    new EventSink[] {
-                            new EventSink(GeneratorElectricityModel.URI, SwitchOffGenerator.class),
-                            new EventSink(GeneratorFuelModel.URI, SwitchOffGenerator.class),
-                    }
-            );
-            connections.put(
-                    new EventSource(GeneratorFuelModel.URI, SwitchOffGenerator.class),
-                    new EventSink[] {
-                            new EventSink(GeneratorElectricityModel.URI, SwitchOffGenerator.class),
-                    }
-            );
-
-            // Add the oven events
-            connections.put(
-                    new EventSource(OvenUserModel.URI, SwitchOnOven.class),
-                    new EventSink[] {
-                            new EventSink(OvenElectricityModel.URI, SwitchOnOven.class),
-                            new EventSink(OvenTemperatureModel.URI, SwitchOnOven.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(OvenUserModel.URI, SwitchOffOven.class),
-                    new EventSink[] {
-                            new EventSink(OvenElectricityModel.URI, SwitchOffOven.class),
-                            new EventSink(OvenTemperatureModel.URI, SwitchOffOven.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(OvenUserModel.URI, HeatOven.class),
-                    new EventSink[] {
-                            new EventSink(OvenElectricityModel.URI, HeatOven.class),
-                            new EventSink(OvenTemperatureModel.URI, HeatOven.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(OvenUserModel.URI, DoNotHeatOven.class),
-                    new EventSink[] {
-                            new EventSink(OvenElectricityModel.URI, DoNotHeatOven.class),
-                            new EventSink(OvenTemperatureModel.URI, DoNotHeatOven.class)
-                    }
-            );
-
-            // Add the power bank events
-            connections.put(
-                    new EventSource(PowerBankUserModel.URI, ChargePowerBank.class),
-                    new EventSink[] {
-                            new EventSink(PowerBankElectricityModel.URI, ChargePowerBank.class),
-                            new EventSink(PowerBankChargeModel.URI, ChargePowerBank.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(PowerBankUserModel.URI, DischargePowerBank.class),
-                    new EventSink[] {
-                            new EventSink(PowerBankElectricityModel.URI, DischargePowerBank.class),
-                            new EventSink(PowerBankChargeModel.URI, DischargePowerBank.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(PowerBankUserModel.URI, StandbyPowerBank.class),
-                    new EventSink[] {
-                            new EventSink(PowerBankElectricityModel.URI, HeatOven.class),
-                            new EventSink(PowerBankChargeModel.URI, HeatOven.class)
-                    }
-            );
+        submodels.add(ElectricMeterElectricityModel.URI);
+
+
+        // --- Create the event connections
+        Map<EventSource, EventSink[]> connections = new HashMap<>();
+
+        // Add the crypto miner event
+        connections.put(
+                new EventSource(CryptoMinerUserModel.URI, SwitchOnCryptoMiner.class),
+                new EventSink[] {
+                        new EventSink(CryptoMinerElectricityModel.URI, SwitchOnCryptoMiner.class)
+                }
+        );
+        connections.put(
+                new EventSource(CryptoMinerUserModel.URI, SwitchOffCryptoMiner.class),
+                new EventSink[] {
+                        new EventSink(CryptoMinerElectricityModel.URI, SwitchOffCryptoMiner.class)
+                }
+        );
+        connections.put(
+                new EventSource(CryptoMinerUserModel.URI, MineOnCryptoMiner.class),
+                new EventSink[] {
+                        new EventSink(CryptoMinerElectricityModel.URI, MineOnCryptoMiner.class)
+                }
+        );
+        connections.put(
+                new EventSource(CryptoMinerUserModel.URI, MineOffCryptoMiner.class),
+                new EventSink[] {
+                        new EventSink(CryptoMinerElectricityModel.URI, MineOffCryptoMiner.class)
+                }
+        );
+
+        // Add the dishwasher events
+        connections.put(
+                new EventSource(DishwasherUserModel.URI, SwitchOffDishwasher.class),
+                new EventSink[] {
+                        new EventSink(DishwasherElectricityModel.URI, SwitchOffDishwasher.class)
+                }
+        );
+        connections.put(
+                new EventSource(DishwasherUserModel.URI, SetEcoProgram.class),
+                new EventSink[] {
+                        new EventSink(DishwasherElectricityModel.URI, SetEcoProgram.class)
+                }
+        );
+        connections.put(
+                new EventSource(DishwasherUserModel.URI, SetFastProgram.class),
+                new EventSink[] {
+                        new EventSink(DishwasherElectricityModel.URI, SetFastProgram.class)
+                }
+        );
+        connections.put(
+                new EventSource(DishwasherUserModel.URI, SetFullProgram.class),
+                new EventSink[] {
+                        new EventSink(DishwasherElectricityModel.URI, SetFullProgram.class)
+                }
+        );
+        connections.put(
+                new EventSource(DishwasherUserModel.URI, SetRinseProgram.class),
+                new EventSink[] {
+                        new EventSink(DishwasherElectricityModel.URI, SetRinseProgram.class)
+                }
+        );
+
+        // Add the generator events
+        connections.put(
+                new EventSource(GeneratorUserModel.URI, SwitchOnGenerator.class),
+                new EventSink[] {
+                        new EventSink(GeneratorElectricityModel.URI, SwitchOnGenerator.class),
+                        new EventSink(GeneratorFuelModel.URI, SwitchOnGenerator.class)
+                }
+        );
+        connections.put(
+                new EventSource(GeneratorUserModel.URI, SwitchOffGenerator.class),
+                new EventSink[] {
+                        new EventSink(GeneratorElectricityModel.URI, SwitchOffGenerator.class),
+                        new EventSink(GeneratorFuelModel.URI, SwitchOffGenerator.class),
+                }
+        );
+        connections.put(
+                new EventSource(GeneratorFuelModel.URI, SwitchOffGenerator.class),
+                new EventSink[] {
+                        new EventSink(GeneratorElectricityModel.URI, SwitchOffGenerator.class),
+                }
+        );
+
+        // Add the oven events
+        connections.put(
+                new EventSource(OvenUserModel.URI, SwitchOnOven.class),
+                new EventSink[] {
+                        new EventSink(OvenElectricityModel.URI, SwitchOnOven.class),
+                        new EventSink(OvenTemperatureModel.URI, SwitchOnOven.class)
+                }
+        );
+        connections.put(
+                new EventSource(OvenUserModel.URI, SwitchOffOven.class),
+                new EventSink[] {
+                        new EventSink(OvenElectricityModel.URI, SwitchOffOven.class),
+                        new EventSink(OvenTemperatureModel.URI, SwitchOffOven.class)
+                }
+        );
+        connections.put(
+                new EventSource(OvenUserModel.URI, HeatOven.class),
+                new EventSink[] {
+                        new EventSink(OvenElectricityModel.URI, HeatOven.class),
+                        new EventSink(OvenTemperatureModel.URI, HeatOven.class)
+                }
+        );
+        connections.put(
+                new EventSource(OvenUserModel.URI, DoNotHeatOven.class),
+                new EventSink[] {
+                        new EventSink(OvenElectricityModel.URI, DoNotHeatOven.class),
+                        new EventSink(OvenTemperatureModel.URI, DoNotHeatOven.class)
+                }
+        );
+
+        // Add the power bank events
+        connections.put(
+                new EventSource(PowerBankUserModel.URI, ChargePowerBank.class),
+                new EventSink[] {
+                        new EventSink(PowerBankElectricityModel.URI, ChargePowerBank.class),
+                        new EventSink(PowerBankChargeModel.URI, ChargePowerBank.class)
+                }
+        );
+        connections.put(
+                new EventSource(PowerBankUserModel.URI, DischargePowerBank.class),
+                new EventSink[] {
+                        new EventSink(PowerBankElectricityModel.URI, DischargePowerBank.class),
+                        new EventSink(PowerBankChargeModel.URI, DischargePowerBank.class)
+                }
+        );
+        connections.put(
+                new EventSource(PowerBankUserModel.URI, StandbyPowerBank.class),
+                new EventSink[] {
+                        new EventSink(PowerBankElectricityModel.URI, StandbyPowerBank.class),
+                        new EventSink(PowerBankChargeModel.URI, StandbyPowerBank.class)
+                }
+        );
+        // The power bank stops by itself when it is full or empty
+        connections.put(
+                new EventSource(PowerBankChargeModel.URI, StandbyPowerBank.class),
+                new EventSink[] {
+                        new EventSink(PowerBankElectricityModel.URI, StandbyPowerBank.class)
+                }
+        );
 
 /*  TODO
-            // Add the wind turbine events
-            connections.put(
-                    new EventSource(WindTurbineUserModel.URI, BlockWindTurbine.class),
-                    new EventSink[] {
-                            new EventSink(WindTurbineElectricityModel.URI, BlockWindTurbine.class)
-                    }
-            );
-            connections.put(
-                    new EventSource(WindTurbineUserModel.URI, UnblockWindTurbine.class),
-                    new EventSink[] {
-                            new EventSink(WindTurbineElectricityModel.URI, UnblockWindTurbine.class)
-                    }
-            );
+        // Add the wind turbine events
+        connections.put(
+                new EventSource(WindTurbineUserModel.URI, BlockWindTurbine.class),
+                new EventSink[] {
+                        new EventSink(WindTurbineElectricityModel.URI, BlockWindTurbine.class)
+                }
+        );
+        connections.put(
+                new EventSource(WindTurbineUserModel.URI, UnblockWindTurbine.class),
+                new EventSink[] {
+                        new EventSink(WindTurbineElectricityModel.URI, UnblockWindTurbine.class)
+                }
+        );
 */
-            // --- Create the variable bindings
+        // --- Create the variable bindings
 
-            Map<VariableSource, VariableSink[]> bindings = new HashMap<>();
+        Map<VariableSource, VariableSink[]> bindings = new HashMap<>();
 
-            // Bind the fuel level from the fuel model to the generator electricity model
-            bindings.put(
-                    new VariableSource("currentFuelLevel", Double.class, GeneratorFuelModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentFuelLevel", Double.class, GeneratorElectricityModel.URI)
-                    }
-            );
+        // Bind the fuel level from the fuel model to the generator electricity model
+        bindings.put(
+                new VariableSource("currentFuelLevel", Double.class, GeneratorFuelModel.URI),
+                new VariableSink[] {
+                        new VariableSink("currentFuelLevel", Double.class, GeneratorElectricityModel.URI)
+                }
+        );
 /*  TODO
-            // Bind the external wind speed level from the external wind model to the wind turbine electricity model
-            bindings.put(
-                    new VariableSource("externalWindSpeed", Double.class, ExternalWindModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("externalWindSpeed", Double.class, WindTurbineElectricityModel.URI)
-                    }
-            );
+        // Bind the external wind speed level from the external wind model to the wind turbine electricity model
+        bindings.put(
+                new VariableSource("externalWindSpeed", Double.class, ExternalWindModel.URI),
+                new VariableSink[] {
+                        new VariableSink("externalWindSpeed", Double.class, WindTurbineElectricityModel.URI)
+                }
+        );
 */
-            // Bind the crypto miner consumption to the electric meter
-            bindings.put(
-                    new VariableSource("currentConsumption", Double.class, CryptoMinerElectricityModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentCryptoConsumption", Double.class, ElectricMeterElectricityModel.URI)
-                    }
-            );
-
-            // Bind the dishwasher consumption to the electric meter
-            bindings.put(
-                    new VariableSource("currentConsumption", Double.class, DishwasherElectricityModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentDishwasherConsumption", Double.class, ElectricMeterElectricityModel.URI)
-                    }
-            );
-
-            // Bind the generator production to the electric meter
-            bindings.put(
-                    new VariableSource("currentProduction", Double.class, GeneratorElectricityModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentGeneratorProduction", Double.class, ElectricMeterElectricityModel.URI)
-                    }
-            );
-
-            // Bind the oven consumption to the electric meter
-            bindings.put(
-                    new VariableSource("currentConsumption", Double.class, OvenElectricityModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentOvenConsumption", Double.class, ElectricMeterElectricityModel.URI)
-                    }
-            );
-
-            // Bind the power bank production to the electric meter
-            bindings.put(
-                    new VariableSource("currentProduction", Double.class, PowerBankElectricityModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentPowerBankProduction", Double.class, ElectricMeterElectricityModel.URI)
-                    }
-            );
-
-            // Bind the power bank consumption to the electric meter
-            bindings.put(
-                    new VariableSource("currentConsumption", Double.class, PowerBankElectricityModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentPowerBankConsumption", Double.class, ElectricMeterElectricityModel.URI)
-                    }
-            );
-
-            // Bind the variable from the charge level in the charge model to the charge level in the electricity model
-            bindings.put(
-                    new VariableSource("currentChargeLevel", Double.class, PowerBankChargeModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentChargeLevel", Double.class, PowerBankElectricityModel.URI)
-                    }
-            );
+        // Bind the variable from the charge level in the charge model to the charge level in the electricity model
+        bindings.put(
+                new VariableSource("currentChargeLevel", Double.class, PowerBankChargeModel.URI),
+                new VariableSink[] {
+                        new VariableSink("currentChargeLevel", Double.class, PowerBankElectricityModel.URI)
+                }
+        );
+
+        // Bind the equipment consumptions and productions to the electric meter
+        // and notify it of their changes
+        MeterSourceDescriptor.bind(bindings, ElectricMeterElectricityModel.URI, meterSources);
+        MeterSourceDescriptor.connect(connections, ElectricMeterElectricityModel.URI, meterSources);
+
+        // --- Create the coupled model descriptor
+        Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
+
+        coupledModelDescriptors.put(
+                HEMCoupledModel.URI,
+                new CoupledHIOA_Descriptor(
+                        HEMCoupledModel.class,
+                        HEMCoupledModel.URI,
+                        submodels,
+                        null,
+                        null,
+                        connections,
+                        null,
+                        SimulationEngineCreationMode.COORDINATION_ENGINE,
+                        null,
+                        null,
+                        bindings
+                ));
+
+
+        // Create the architecture
+        return new Architecture(
+                HEMCoupledModel.URI,
+                atomicModelDescriptors,
+                coupledModelDescriptors,
+                TimeUnit.SECONDS
+        );
+    }
 
-/*  TODO
-            // Bind the wind turbine production to the electric meter
-            bindings.put(
-                    new VariableSource("currentProduction", Double.class, WindTurbineElectricityModel.URI),
-                    new VariableSink[] {
-                            new VariableSink("currentWindTurbineProduction", Double.class, ElectricMeterElectricityModel.URI)
-                    }
-            );
-*/
+    /**
+     * Run a simulation as fast as possible with the tracing of the models
+     * disabled, printing its progress
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code duration > 0.0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param engine The simulation engine of the architecture
+     * @param duration The simulated duration in seconds
+     * @return The number of simulation steps
+     * @throws Exception TODO
+     */
+    public static long runBatch(SimulationEngine engine, double duration) throws Exception {
+        return runBatch(engine, duration, BATCH_PROGRESS_REPORTS);
+    }
+
+    /**
+     * Run a simulation as fast as possible with the tracing of the models
+     * disabled
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code duration > 0.0 && progressReports >= 0}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param engine The simulation engine of the architecture
+     * @param duration The simulated duration in seconds
+     * @param progressReports The number of progress lines to print, 0 to run silently
+     * @return The number of simulation steps
+     * @throws Exception TODO
+     */
+    public static long runBatch(SimulationEngine engine, double duration, int progressReports) throws Exception {
+        TimeUnit unit = engine.getSimulatedTimeUnit();
+        engine.initialiseSimulation(new Time(0.0, unit), new Duration(duration, unit));
+        // The models switch their tracing on while they are initialised
+        ((Model) engine.getDescendentModel(HEMCoupledModel.URI)).setDebugLevel(0);
+
+        Time end = engine.getSimulationEndTime();
+        double reportPeriod = progressReports > 0 ? duration / progressReports : Double.POSITIVE_INFINITY;
+        double nextReport = reportPeriod;
+        long start = System.nanoTime();
+        long steps = 0;
+
+        // Same loop as SimulationEngine#doStandAloneSimulation, without sleeping between the steps
+        Time next = engine.getTimeOfNextEvent();
+        while (engine.isSimulationRunning() && next != null && next.lessThanOrEqual(end)) {
+            engine.produceOutput(next);
+            engine.internalEventStep();
+            steps++;
+            if (next.getSimulatedTime() >= nextReport) {
+                double wall = (System.nanoTime() - start) / 1.0e9;
+                System.out.printf("%.0f/%.0f simulated seconds after %.1f s%n",
+                        next.getSimulatedTime(), duration, wall);
+                nextReport += reportPeriod;
+            }
+            next = engine.getTimeOfNextEvent();
+        }
+        engine.endSimulation(end);
+        return steps;
+    }
 
-            // --- Create the coupled model descriptor
-            Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
-
-            coupledModelDescriptors.put(
-                    HEMCoupledModel.URI,
-                    new CoupledHIOA_Descriptor(
-                            HEMCoupledModel.class,
-                            HEMCoupledModel.URI,
-                            submodels,
-                            null,
-                            null,
-                            connections,
-                            null,
-                            SimulationEngineCreationMode.COORDINATION_ENGINE,
-                            null,
-                            null,
-                            bindings
-                    ));
-
-
-            // Create the architecture
-            ArchitectureI architecture = new Architecture(
-                    HEMCoupledModel.URI,
-                    atomicModelDescriptors,
-                    coupledModelDescriptors,
-                    TimeUnit.SECONDS
-            );
-
-            // Start the simulation
-            SimulationEngine engine = architecture.constructSimulator();
+    /**
+     * Get the variant selected by the last argument
+     *
+     * @param args The program arguments
+     * @return The selected variant, {@code Variant.SAMPLED} if the last argument names none
+     */
+    protected static Variant parseVariant(String[] args) {
+        if (args.length > 0) {
+            for (Variant v : Variant.values()) {
+                if (v.name().equalsIgnoreCase(args[args.length - 1])) {
+                    return v;
+                }
+            }
+        }
+        return Variant.SAMPLED;
+    }
+
+    public static void main(String[] args) {
+        try {
+            boolean batch = args.length > 0 && args[0].equals(BATCH_FLAG);
+            Variant variant = parseVariant(args);
+            SimulationEngine engine = createArchitecture(variant).constructSimulator();
             SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
-            engine.doStandAloneSimulation(0.0, 100.0);
+
+            // The MIL models execute their events synchronously, so they can be pooled
+            Map<String, Object> simParams = new HashMap<>();
+            simParams.put(EventRecycler.POOLING_PARAMETER,
+                    !"false".equals(System.getProperty(EventRecycler.POOLING_PARAMETER)));
+            SimulationSeeds seeds = SimulationSeeds.getDefault();
+            simParams.put(SimulationSeeds.SEED_PARAMETER, seeds);
+            engine.setSimulationRunParameters(simParams);
+            System.out.printf("Master seed %d (replay with -D%s=%d)%n",
+                    seeds.getMasterSeed(), SimulationSeeds.SEED_PROPERTY, seeds.getMasterSeed());
+
+            if (batch) {
+                boolean hasDuration = args.length > 1 && !args[1].equalsIgnoreCase(variant.name());
+                double duration = hasDuration ? Double.parseDouble(args[1]) : BATCH_DURATION;
+                long start = System.nanoTime();
+                long steps = runBatch(engine, duration);
+                double wall = (System.nanoTime() - start) / 1.0e9;
+                System.out.printf("Simulated %.0f s of the %s variant in %.1f s (%d steps, %.0f per simulated hour): %.0f simulated seconds per wall second%n",
+                        duration, variant, wall, steps, steps * 3600.0 / duration, duration / wall);
+
+                ElectricMeterElectricityModel meter =
+                        (ElectricMeterElectricityModel) engine.getDescendentModel(ElectricMeterElectricityModel.URI);
+                System.out.printf("Meter: %s, peak %.1f W, %d overloads for %.3f h%n", meter.getEnergyCounters(),
+                        meter.getPeakConsumption(), meter.getOverloads(), meter.getOverloadDuration());
+            } else {
+                engine.doStandAloneSimulation(0.0, INTERACTIVE_DURATION);
+            }
 
             // Exit the simulation
             System.exit(0);
@@ -1,6 +1,6 @@
 package eco_logis.equipments.oven;
 
-import eco_logis.CVM_SIL;
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.oven.mil.OvenCoupledModel;
 import eco_logis.equipments.oven.mil.events.DoNotHeatOven;
 import eco_logis.equipments.oven.mil.events.HeatOven;
@@ -8,6 +8,8 @@ import eco_logis.equipments.oven.mil.events.SwitchOffOven;
 import eco_logis.equipments.oven.mil.events.SwitchOnOven;
 import eco_logis.equipments.oven.sil.OvenStateModel;
 import eco_logis.equipments.oven.sil.OvenTemperatureSILModel;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
@@ -18,6 +20,7 @@ import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -57,9 +60,6 @@ public class Oven
     /** When true, methods trace their actions */
     public static final boolean VERBOSE = true;
 
-    /** Acceleration factor used when executing as a unit test */
-    protected static final double ACC_FACTOR = 1.0;
-
     /** URI of the executor service used to execute the real time simulation */
     protected static final String SCHEDULED_EXECUTOR_SERVICE_URI = "ses";
 
@@ -232,7 +232,7 @@ public class Oven
         this.simArchitectureURI = simArchitectureURI;
         this.isSILSimulated = !simArchitectureURI.isEmpty();
         this.composesAsUnitTest = simArchitectureURI.equals(OvenRTAtomicSimulatorPlugin.UNIT_TEST_SIM_ARCHITECTURE_URI);
-        this.accFactor = this.composesAsUnitTest ? ACC_FACTOR : CVM_SIL.ACC_FACTOR;
+        this.accFactor = SILConfiguration.current().getAccelerationFactor();
         this.executesAsUnitTest = executesAsUnitTest;
 
         // Create the inbound port
@@ -356,7 +356,7 @@ public class Oven
             try {
                 this.simulatorPlugin.initialiseSimulationArchitecture(
                         this.simArchitectureURI,
-                        this.executesAsUnitTest ? ACC_FACTOR : CVM_SIL.ACC_FACTOR
+                        this.accFactor
                 );
                 this.installPlugin(this.simulatorPlugin);
             } catch (Exception e) {
@@ -370,8 +370,9 @@ public class Oven
     public synchronized void execute() throws Exception {
         if (this.composesAsUnitTest &&  this.executesAsUnitTest) {
             this.simulatorPlugin.setSimulationRunParameters(new HashMap<>());
-            long simStart = System.currentTimeMillis() + 1000L;
-            double endTime = 10.0 / ACC_FACTOR;
+            SILConfiguration configuration = SILConfiguration.current();
+            long simStart = System.currentTimeMillis() + configuration.getStartDelay();
+            double endTime = configuration.getSimulationDuration();
             this.simulatorPlugin.startRTSimulation(simStart, 0.0, endTime);
             this.traceMessage("real time of start = " + simStart + "\n");
         }
@@ -388,8 +389,8 @@ public class Oven
                             }
                         }
                     },
-                    (long)(2.0/this.accFactor),
-                    TimeUnit.SECONDS);
+                    (long)(2.0 * 1000.0 / this.accFactor),
+                    TimeUnit.MILLISECONDS);
             this.scheduleTask(
                     AbstractComponent.STANDARD_SCHEDULABLE_HANDLER_URI,
                     new AbstractComponent.AbstractTask() {
@@ -406,8 +407,8 @@ public class Oven
                             }
                         }
                     },
-                    (long)(7.0/this.accFactor),
-                    TimeUnit.SECONDS);
+                    (long)(7.0 * 1000.0 / this.accFactor),
+                    TimeUnit.MILLISECONDS);
             this.scheduleTask(
                     AbstractComponent.STANDARD_SCHEDULABLE_HANDLER_URI,
                     new AbstractComponent.AbstractTask() {
@@ -420,8 +421,8 @@ public class Oven
                             }
                         }
                     },
-                    (long)(8.0/this.accFactor),
-                    TimeUnit.SECONDS);
+                    (long)(8.0 * 1000.0 / this.accFactor),
+                    TimeUnit.MILLISECONDS);
         }
     }
 
@@ -539,4 +540,45 @@ public class Oven
         this.targetTemperature = tempTarget;
     }
 
+    /** @see OvenImplementationI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = EquipmentState.standard(isOn);
+        if(VERBOSE) {
+            logMessage("Oven gets state : " + res);
+        }
+
+        return res;
+    }
+
+    /** @see OvenImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        if(VERBOSE) {
+            logMessage("Oven executes batch : " + Arrays.toString(commands));
+        }
+
+        return EquipmentCommand.executeAll(this::executeCommand, commands);
+    }
+
+    /**
+     * Execute a command of a batch of the HEM
+     *
+     * @param command The command to execute
+     * @return The command status
+     * @throws Exception TODO
+     */
+    protected byte executeCommand(EquipmentCommand command) throws Exception {
+        switch (command.getOperation()) {
+            case SWITCH_ON:
+                powerOn();
+                return EquipmentCommand.DONE;
+            case SWITCH_OFF:
+                powerOff();
+                return EquipmentCommand.DONE;
+            default:
+                return EquipmentCommand.UNSUPPORTED;
+        }
+    }
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.oven;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
 
@@ -45,4 +47,12 @@ public interface OvenCI
     @Override
     void setTargetTemperature(double temp) throws Exception;
 
+    /** @see OvenImplementationI#describeState() */
+    @Override
+    EquipmentState describeState() throws Exception;
+
+    /** @see OvenImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
 }
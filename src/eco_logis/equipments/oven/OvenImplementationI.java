@@ -1,5 +1,8 @@
 package eco_logis.equipments.oven;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
+
 
 /**
  * The interface <code>OvenImplementationI</code> defines the signatures
@@ -105,4 +108,37 @@ public interface OvenImplementationI
      */
     void setTargetTemperature(double targetTemp) throws Exception;
 
+    /**
+     * Describe the oven state in a single call, with all the values the
+     * HEM reads to decide on it
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	true
+     * post	{@code ret != null}
+     * </pre>
+     *
+     * @return The current oven state
+     * @throws Exception TODO
+     */
+    EquipmentState describeState() throws Exception;
+
+    /**
+     * Execute a batch of commands of the HEM in a single call, in order; a
+     * command failing does not prevent the following ones from being executed
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code commands != null}
+     * post	{@code ret.length == commands.length}
+     * </pre>
+     *
+     * @param commands The commands to execute
+     * @return The status of each command, as defined by {@code EquipmentCommand}
+     * @throws Exception TODO
+     */
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.oven;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.cyphy.hem2021e1.equipments.heater.HeaterImplementationI;
@@ -100,4 +102,20 @@ public class OvenInboundPort
         );
     }
 
+    /** @see OvenCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Oven) o).describeState()
+        );
+    }
+
+    /** @see OvenCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((Oven) o).executeBatch(commands)
+        );
+    }
+
 }
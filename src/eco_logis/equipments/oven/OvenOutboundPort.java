@@ -1,5 +1,7 @@
 package eco_logis.equipments.oven;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 
@@ -82,4 +84,16 @@ public class OvenOutboundPort
         ((OvenCI) getConnector()).setTargetTemperature(targetTemp);
     }
 
+    /** @see OvenCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((OvenCI) getConnector()).describeState();
+    }
+
+    /** @see OvenCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((OvenCI) getConnector()).executeBatch(commands);
+    }
+
 }
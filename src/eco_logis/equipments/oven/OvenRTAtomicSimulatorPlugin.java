@@ -1,5 +1,6 @@
 package eco_logis.equipments.oven;
 
+import eco_logis.MonitoredRTAtomicSimulatorPlugin;
 import eco_logis.equipments.oven.mil.OvenCoupledModel;
 import eco_logis.equipments.oven.mil.events.DoNotHeatOven;
 import eco_logis.equipments.oven.mil.events.HeatOven;
@@ -10,7 +11,6 @@ import eco_logis.equipments.oven.sil.OvenElectricitySILModel;
 import eco_logis.equipments.oven.sil.OvenStateModel;
 import eco_logis.equipments.oven.sil.OvenTemperatureSILModel;
 import fr.sorbonne_u.components.cyphy.hem2021e3.equipments.heater.sil.HeaterTemperatureSILModel;
-import fr.sorbonne_u.components.cyphy.plugins.devs.RTAtomicSimulatorPlugin;
 import fr.sorbonne_u.devs_simulation.architectures.RTArchitecture;
 import fr.sorbonne_u.devs_simulation.architectures.SimulationEngineCreationMode;
 import fr.sorbonne_u.devs_simulation.hioa.architectures.RTAtomicHIOA_Descriptor;
@@ -38,7 +38,7 @@ import java.util.concurrent.TimeUnit;
  * @author Hugo GUERRIER
  */
 public class OvenRTAtomicSimulatorPlugin
-    extends RTAtomicSimulatorPlugin
+    extends MonitoredRTAtomicSimulatorPlugin
 {
 
     // ========== Macros ==========
@@ -74,6 +74,8 @@ public class OvenRTAtomicSimulatorPlugin
      * @throws Exception			<i>to do</i>.
      */
     public void initialiseSimulationArchitecture(String simArchURI, double accFactor) throws Exception {
+        this.accelerationFactor = accFactor;
+
         Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
         Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
 
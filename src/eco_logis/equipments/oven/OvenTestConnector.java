@@ -1,5 +1,7 @@
 package eco_logis.equipments.oven;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 
 /**
@@ -49,4 +51,16 @@ public class OvenTestConnector
         ((OvenCI) offering).setTargetTemperature(targetTemp);
     }
 
+    /** @see OvenCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((OvenCI) offering).describeState();
+    }
+
+    /** @see OvenCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((OvenCI) offering).executeBatch(commands);
+    }
+
 }
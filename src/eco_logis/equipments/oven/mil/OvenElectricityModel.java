@@ -1,6 +1,9 @@
 package eco_logis.equipments.oven.mil;
 
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
 import eco_logis.equipments.oven.mil.events.*;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
@@ -13,6 +16,7 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -24,6 +28,9 @@ import java.util.concurrent.TimeUnit;
         SwitchOffOven.class,
         HeatOven.class,
         DoNotHeatOven.class
+},
+exported = {
+        BalanceChanged.class
 })
 public class OvenElectricityModel
     extends AtomicHIOA
@@ -69,6 +76,9 @@ public class OvenElectricityModel
      *  update the variable <code>currentIntensity</code>. */
     protected boolean consumptionHasChanged = false;
 
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -87,7 +97,7 @@ public class OvenElectricityModel
             SimulatorI simulationEngine)
     throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
-        this.setLogger(new StandardLogger());
+        this.setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -138,6 +148,13 @@ public class OvenElectricityModel
     // ========== DEVS simulation protocol ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#initialiseVariables(fr.sorbonne_u.devs_simulation.models.time.Time) */
     @Override
     protected void initialiseVariables(Time startTime) {
@@ -162,8 +179,10 @@ public class OvenElectricityModel
     /** @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output() */
     @Override
     public ArrayList<EventI> output() {
-        // The model does not export events.
-        return null;
+        // The internal transitions only follow a change of the consumption or the production
+        ArrayList<EventI> res = this.recycler.newOutput();
+        res.add(this.recycler.obtain(BalanceChanged.class, BalanceChanged::new, this.getTimeOfNextEvent()));
+        return this.recycler.emit(res);
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#timeAdvance() */
@@ -198,7 +217,9 @@ public class OvenElectricityModel
         this.currentConsumption.time = this.getCurrentStateTime();
 
         // Tracing
-        logMessage("Current consumption " + currentConsumption.v + " at " + currentConsumption.time + "\n");
+        if (isDebugModeOn()) {
+            logMessage("Current consumption " + currentConsumption.v + " at " + currentConsumption.time + "\n");
+        }
     }
 
 
@@ -1,6 +1,7 @@
 package eco_logis.equipments.oven.mil;
 
 import eco_logis.equipments.oven.mil.events.*;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
@@ -18,6 +19,17 @@ import java.util.concurrent.TimeUnit;
 /**
  * The OvenTemperatureModel defines a simulation model for the temperature inside the oven.
  *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The temperature is piecewise linear: it rises while the oven heats and
+ * falls down to the room temperature otherwise. It is therefore computed
+ * exactly over the time elapsed at each transition, and the model only
+ * schedules a transition when the temperature reaches the room temperature.
+ * It sleeps while the oven is cold, and between the external events while it
+ * heats, unless a subclass bounds the steps with {@link #getMaximalStep()}
+ * because the temperature is sampled from outside the simulation.
+ * </p>
+ *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
@@ -45,9 +57,12 @@ public class OvenTemperatureModel
     /** URI for a model; works when only one instance is created */
     public static final String URI = OvenTemperatureModel.class.getSimpleName();
 
-    /** Integration step for the differential equation(assumed in seconds).	*/
+    /** Step used when the temperature is sampled from outside (assumed in seconds) */
     protected static final double STEP = 0.1;
 
+    /** Difference under which the temperature is considered equal to the room temperature */
+    protected static final double TEMPERATURE_TOLERANCE = 1.0e-9;
+
     /** Room temperature in Celsius (°C) */
     public static final double ROOM_TEMPERATURE = 20.0;
 
@@ -58,7 +73,7 @@ public class OvenTemperatureModel
     // ========== Attributes ===========
 
 
-    /** Integration step as a duration, including the time unit	*/
+    /** Sampling step as a duration, including the time unit */
     protected final Duration integrationStep;
 
     /** Current temperature in the oven (°C) */
@@ -74,6 +89,12 @@ public class OvenTemperatureModel
     /** Time that has passed since the first temperature */
     protected Time temperatureTime;
 
+    /** Binary trace of the temperature, null when the temperature is traced as text */
+    protected final TraceRecorder.Probe temperatureProbe;
+
+    /** Binary trace of the heating state (1 when heating), null when it is traced as text */
+    protected final TraceRecorder.Probe heatingProbe;
+
 
     // ========== Constructors ==========
 
@@ -93,7 +114,9 @@ public class OvenTemperatureModel
     ) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
         this.integrationStep = new Duration(STEP, simulatedTimeUnit);
-        this.setLogger(new StandardLogger());
+        this.temperatureProbe = TraceRecorder.probeOrNull(uri, "temperature");
+        this.heatingProbe = TraceRecorder.probeOrNull(uri, "heating");
+        this.setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -118,6 +141,71 @@ public class OvenTemperatureModel
         return this.currentState;
     }
 
+    /**
+     * Get the evolution of the temperature in the current state
+     *
+     * @return The temperature change in celsius per second
+     */
+    protected double getTemperatureSlope() {
+        if (this.currentState == State.HEATING) {
+            return TEMPERATURE_DELTA / 60.0;
+        }
+        return this.currentTemperature.v > ROOM_TEMPERATURE ? -TEMPERATURE_DELTA / 60.0 : 0.0;
+    }
+
+    /**
+     * Get the longest time between two transitions while the temperature
+     * changes; the model needs no intermediate transition by itself, so this
+     * is infinite unless the temperature is sampled from outside
+     *
+     * @return The maximal step
+     */
+    protected Duration getMaximalStep() {
+        return Duration.INFINITY;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Compute the temperature at the end of the elapsed time, the state being
+     * unchanged during this time
+     *
+     * @param elapsedTime The time since the last transition
+     */
+    protected void advanceTemperature(Duration elapsedTime) {
+        this.temperatureTime = this.temperatureTime.add(elapsedTime);
+
+        double duration = elapsedTime.getSimulatedDuration();
+        if (this.currentState == State.HEATING) {
+            this.currentTemperature.v = this.currentTemperature.v + (duration / 60) * TEMPERATURE_DELTA;
+        } else {
+            double t = this.currentTemperature.v - (duration / 60) * TEMPERATURE_DELTA;
+            this.currentTemperature.v = t - ROOM_TEMPERATURE < TEMPERATURE_TOLERANCE ? ROOM_TEMPERATURE : t;
+        }
+    }
+
+    /**
+     * Trace the temperature and the heating state
+     */
+    protected void traceTemperature() {
+        if (this.temperatureProbe != null) {
+            double time = this.temperatureTime.getSimulatedTime();
+            this.temperatureProbe.record(time, this.currentTemperature.v);
+            this.heatingProbe.record(time, this.currentState == State.HEATING ? 1.0 : 0.0);
+        } else if (this.isDebugModeOn()) {
+            String mark = this.currentState == State.HEATING ? " (h)" : " (-)";
+            StringBuffer message = new StringBuffer();
+            message.append(this.temperatureTime);
+            message.append(mark);
+            message.append(" : ");
+            message.append(this.currentTemperature.v);
+            message.append('\n');
+            this.logMessage(message.toString());
+        }
+    }
+
 
     // ========== DEVS simulation protocol ==========
 
@@ -125,8 +213,10 @@ public class OvenTemperatureModel
     /** @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time) */
     @Override
     public void initialiseState(Time initialTime) {
-        super.initialiseState(initialTime);
+        // The state and the temperature must be set before the first time advance is computed
         this.currentState = State.NOT_HEATING;
+        this.currentTemperature.v = ROOM_TEMPERATURE;
+        super.initialiseState(initialTime);
 
         this.toggleDebugMode();
         this.logMessage("simulation begins.\n");
@@ -148,32 +238,26 @@ public class OvenTemperatureModel
     /** @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#timeAdvance() */
     @Override
     public Duration timeAdvance() {
-        return this.integrationStep;
+        double slope = this.getTemperatureSlope();
+        if (slope == 0.0) {
+            // Cold oven: nothing changes until an external event
+            return Duration.INFINITY;
+        }
+        Duration maximalStep = this.getMaximalStep();
+        if (slope > 0.0) {
+            return maximalStep;
+        }
+        // Cooling: wake up when the room temperature is reached
+        Duration toRoom = new Duration((this.currentTemperature.v - ROOM_TEMPERATURE) / -slope,
+                this.getSimulatedTimeUnit());
+        return toRoom.lessThan(maximalStep) ? toRoom : maximalStep;
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration) */
     @Override
     public void userDefinedInternalTransition(Duration elapsedTime) {
-        this.temperatureTime = this.temperatureTime.add(elapsedTime);
-
-        double duration = elapsedTime.getSimulatedDuration();
-
-        // Adjust temperature (linear)
-        if(this.currentState == State.HEATING) {
-            this.currentTemperature.v = this.currentTemperature.v + (duration/60) * TEMPERATURE_DELTA;
-        } else {
-            this.currentTemperature.v = Math.max(this.currentTemperature.v - (duration/60) * TEMPERATURE_DELTA, ROOM_TEMPERATURE);
-        }
-
-        // Tracing
-        String mark = this.currentState == State.HEATING ? " (h)" : " (-)";
-        StringBuffer message = new StringBuffer();
-        message.append(this.temperatureTime);
-        message.append(mark);
-        message.append(" : ");
-        message.append(this.currentTemperature.v);
-        message.append('\n');
-        this.logMessage(message.toString());
+        this.advanceTemperature(elapsedTime);
+        this.traceTemperature();
 
         super.userDefinedInternalTransition(elapsedTime);
     }
@@ -189,6 +273,10 @@ public class OvenTemperatureModel
         Event ce = (Event) currentEvents.get(0);
         assert ce instanceof AbstractOvenEvent;
 
+        // The temperature evolved with the former state until the event
+        this.advanceTemperature(elapsedTime);
+        this.traceTemperature();
+
         StringBuffer sb = new StringBuffer("executing the external event: ");
         sb.append(ce.eventAsString());
         sb.append(".\n");
@@ -0,0 +1,77 @@
+package eco_logis.equipments.oven.mil;
+
+import eco_logis.utils.Quantizer;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The OvenTemperatureQSSModel defines the quantized state variant of the
+ * model of the temperature inside the oven.
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The base model only updates its exported temperature on the external
+ * events and when the oven is back at room temperature. This variant also
+ * updates it each time the temperature crosses a multiple of {@code QUANTUM},
+ * so the models importing it never read a temperature more than one quantum
+ * away from the real one. The temperature being piecewise linear, the crossing
+ * times are exact and a first order quantization is enough.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class OvenTemperatureQSSModel
+    extends OvenTemperatureModel
+{
+
+    // ========== Macros ===========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Quantum of the temperature (°C) */
+    public static final double QUANTUM = 1.0;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a <code>OvenTemperatureQSSModel</code> instance
+     *
+     * @param uri				URI of the model.
+     * @param simulatedTimeUnit	time unit used for the simulation time.
+     * @param simulationEngine	simulation engine to which the model is attached.
+     * @throws Exception		<i>to do</i>.
+     */
+    public OvenTemperatureQSSModel(
+            String uri,
+            TimeUnit simulatedTimeUnit,
+            SimulatorI simulationEngine
+    ) throws Exception {
+        super(uri, simulatedTimeUnit, simulationEngine);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /**
+     * Stop at the next multiple of the quantum the temperature crosses
+     *
+     * @see OvenTemperatureModel#getMaximalStep()
+     */
+    @Override
+    protected Duration getMaximalStep() {
+        double slope = this.getTemperatureSlope();
+        if (slope == 0.0) {
+            return Duration.INFINITY;
+        }
+        return new Duration(Quantizer.timeToNextLevel(this.currentTemperature.v, slope, QUANTUM),
+                this.getSimulatedTimeUnit());
+    }
+
+}
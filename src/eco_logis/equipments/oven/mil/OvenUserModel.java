@@ -4,6 +4,9 @@ import eco_logis.equipments.oven.mil.events.DoNotHeatOven;
 import eco_logis.equipments.oven.mil.events.HeatOven;
 import eco_logis.equipments.oven.mil.events.SwitchOffOven;
 import eco_logis.equipments.oven.mil.events.SwitchOnOven;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.hem2021e2.equipments.heater.mil.events.Heat;
 import fr.sorbonne_u.devs_simulation.es.events.ES_EventI;
 import fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model;
@@ -16,6 +19,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 import org.apache.commons.math3.random.RandomDataGenerator;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -50,6 +54,12 @@ public class OvenUserModel
     /**	The random number generator from common math library.				*/
     protected final RandomDataGenerator rg;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
+    /** The recycler of the emitted events */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -71,7 +81,7 @@ public class OvenUserModel
     ) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
         this.rg = new RandomDataGenerator() ;
-        this.setLogger(new StandardLogger());
+        this.setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -94,45 +104,56 @@ public class OvenUserModel
         EventI current = this.eventList.peek();
         assert current != null;
         // Compute the time of occurrence for the next event
-        Time nextTime = this.computeTimeOfNextEvent(current.getTimeOfOccurrence());
+        Time from = current.getTimeOfOccurrence();
+        double delay = this.computeDelay();
 
         // Compute the next event type given the current event
         ES_EventI nextEvent = null;
         if(current instanceof SwitchOnOven) {
-            nextEvent = new HeatOven(nextTime);
+            nextEvent = this.recycler.obtain(HeatOven.class, HeatOven::new, from, delay);
         }
         else if(current instanceof HeatOven) {
-            nextEvent = new DoNotHeatOven(nextTime);
+            nextEvent = this.recycler.obtain(DoNotHeatOven.class, DoNotHeatOven::new, from, delay);
         }
         else if(current instanceof DoNotHeatOven) {
-            nextEvent = new SwitchOffOven(nextTime);
+            nextEvent = this.recycler.obtain(SwitchOffOven.class, SwitchOffOven::new, from, delay);
         }
         else if(current instanceof SwitchOffOven) {
-            nextEvent = new SwitchOnOven(nextTime);
+            nextEvent = this.recycler.obtain(SwitchOnOven.class, SwitchOnOven::new, from, delay);
         }
 
         // Schedule the event to be executed by this model
         this.scheduleEvent(nextEvent);
     }
 
-    protected Time computeTimeOfNextEvent(Time from) {
+    protected double computeDelay() {
         // Generate randomly the next time interval but force it to be greater than 0 by returning at least 0.1
-        double delay = Math.max(this.rg.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
+        return Math.max(this.rg.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
+    }
 
+    protected Time computeTimeOfNextEvent(Time from) {
         // Compute the new time by adding the delay to from
-        return from.add(new Duration(delay, this.getSimulatedTimeUnit()));
+        return from.add(new Duration(this.computeDelay(), this.getSimulatedTimeUnit()));
     }
 
 
     // ========== DEVS simulation protocol ==========
 
 
+    /** @see AtomicES_Model#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.seeds = SimulationSeeds.from(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see fr.sorbonne_u.devs_simulation.models.AtomicModel#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time) */
     @Override
     public void initialiseState(Time initialTime) {
         super.initialiseState(initialTime);
 
-        this.rg.reSeedSecure();
+        SimulationSeeds.orDefault(this.seeds).reSeed(this.rg, this.uri);
 
         // Compute the time of occurrence for the first event
         Time t = this.computeTimeOfNextEvent(this.getCurrentStateTime());
@@ -150,12 +171,14 @@ public class OvenUserModel
     /** @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output() */
     @Override
     public ArrayList<EventI> output() {
+        // The events of the previous output have been executed, they can be reused
+        this.recycler.recycleEmitted();
         // Generate and schedule the next event
         if (this.eventList.peek() != null) {
             this.generateNextEvent();
         }
         // This will extract the next event from the event list and emit it
-        return super.output();
+        return this.recycler.emit(super.output());
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.AtomicModel#endSimulation(fr.sorbonne_u.devs_simulation.models.time.Time) */
@@ -2,6 +2,7 @@ package eco_logis.equipments.oven.sil;
 
 import eco_logis.equipments.oven.OvenRTAtomicSimulatorPlugin;
 import eco_logis.equipments.oven.mil.OvenElectricityModel;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
@@ -48,7 +49,7 @@ public class OvenElectricitySILModel
         this.owner = (AbstractComponent) simParams.get(OvenRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger to the component logger
-        this.setLogger(new StandardComponentLogger(this.owner));
+        this.setLogger(TraceRecorder.route(new StandardComponentLogger(this.owner)));
     }
 
 }
@@ -4,6 +4,7 @@ import eco_logis.equipments.oven.Oven;
 import eco_logis.equipments.oven.OvenRTAtomicSimulatorPlugin;
 import eco_logis.equipments.oven.mil.OvenElectricityModel;
 import eco_logis.equipments.oven.mil.events.*;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -123,7 +124,7 @@ public class OvenStateModel
         // Retrieve the reference to the owner component that must be passed as a simulation run parameter
         assert simParams.containsKey(OvenRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
         this.owner = (Oven) simParams.get(OvenRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
-        this.setLogger(new StandardComponentLogger(this.owner));
+        this.setLogger(TraceRecorder.route(new StandardComponentLogger(this.owner)));
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.AtomicModel#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time) */
@@ -3,7 +3,9 @@ package eco_logis.equipments.oven.sil;
 import eco_logis.equipments.oven.Oven;
 import eco_logis.equipments.oven.OvenRTAtomicSimulatorPlugin;
 import eco_logis.equipments.oven.mil.OvenTemperatureModel;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 
 import java.util.Map;
@@ -93,6 +95,17 @@ public class OvenTemperatureSILModel
     }
 
 
+    /**
+     * The owner component samples the temperature to control the heating, so
+     * the temperature is updated at every step while it changes
+     *
+     * @see OvenTemperatureModel#getMaximalStep()
+     */
+    @Override
+    protected Duration getMaximalStep() {
+        return this.integrationStep;
+    }
+
     /** @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map) */
     @Override
     public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
@@ -102,7 +115,7 @@ public class OvenTemperatureSILModel
         assert simParams.containsKey(OvenRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
         this.owner = (Oven) simParams.get(OvenRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
         // Replace the logger set in the superclass by the one directing logs to the owner component logger
-        this.setLogger(new StandardComponentLogger(this.owner));
+        this.setLogger(TraceRecorder.route(new StandardComponentLogger(this.owner)));
     }
 
 }
@@ -2,6 +2,8 @@ package eco_logis.equipments.oven.sil;
 
 import eco_logis.equipments.oven.Oven;
 import eco_logis.equipments.oven.OvenRTAtomicSimulatorPlugin;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
@@ -46,6 +48,9 @@ public class OvenUserSILModel
     /**	The random number generator from common math library */
     protected final RandomDataGenerator rg ;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
     /** Current step in the test scenario */
     protected int currentStep;
 
@@ -89,6 +94,7 @@ public class OvenUserSILModel
     @Override
     public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
         super.setSimulationRunParameters(simParams);
+        this.seeds = SimulationSeeds.from(simParams);
 
         if (simParams.containsKey(STEP_MEAN_DURATION_RUNPNAME)) {
             STEP_MEAN_DURATION = (double) simParams.get(STEP_MEAN_DURATION_RUNPNAME);
@@ -97,13 +103,13 @@ public class OvenUserSILModel
         // Retrieve the reference to the owner component that must be passed as a simulation run parameter
         assert simParams.containsKey(OvenRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
         this.owner = (Oven) simParams.get(OvenRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
-        this.setLogger(new StandardComponentLogger(this.owner));
+        this.setLogger(TraceRecorder.route(new StandardComponentLogger(this.owner)));
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.AtomicModel#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time) */
     @Override
     public void initialiseState(Time initialTime) {
-        this.rg.reSeedSecure();
+        SimulationSeeds.orDefault(this.seeds).reSeed(this.rg, this.uri);
 
         // Compute the delay to the first event
         this.generateNextEvent();
@@ -1,5 +1,6 @@
 package eco_logis.equipments.power_bank;
 
+import eco_logis.SILConfiguration;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cvm.AbstractCVM;
 
@@ -26,7 +27,8 @@ public class CVMUnitTest
     public static void main(String[] args) {
         try {
             CVMUnitTest cvm = new CVMUnitTest();
-            cvm.startStandardLifeCycle(15000L);
+            // The life cycle lasts at least as long as the simulation of the test
+            cvm.startStandardLifeCycle(Math.max(15000L, SILConfiguration.current().lifeCycleDuration(SILConfiguration.current().getSimulationDuration())));
             Thread.sleep(5000L);
             System.exit(0);
         } catch (Exception e) {
@@ -1,18 +1,24 @@
 package eco_logis.equipments.power_bank;
 
-import eco_logis.CVM_SIL;
+import eco_logis.EquipmentStatePublisher;
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.power_bank.mil.PowerBankCoupledModel;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.StandbyPowerBank;
 import eco_logis.equipments.power_bank.sil.PowerBankStateModel;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentNotificationCI;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -29,6 +35,7 @@ import java.util.HashMap;
  * @author Hugo GUERRIER
  */
 @OfferedInterfaces(offered = {PowerBankCI.class})
+@RequiredInterfaces(required = {EquipmentNotificationCI.class})
 public class PowerBank
     extends AbstractCyPhyComponent
     implements PowerBankImplementationI
@@ -57,7 +64,7 @@ public class PowerBank
     // ========== Attributes ==========
 
 
-    /** The percentage of the power bank capacity that is filled with energy (0=empty, 100=full) */
+    /** The proportion of the power bank capacity that is filled with energy (0=empty, 1=full) */
     private double batteryLevel;
 
     /** The current state of the power bank */
@@ -66,6 +73,9 @@ public class PowerBank
     /** Inbound port offering the <code>PowerBankCI</code> interface */
     private PowerBankInboundPort pbip;
 
+    /** The publisher of the state changes to the subscribers */
+    protected EquipmentStatePublisher statePublisher;
+
     // --- For the SIL simulation
 
     /** The URI of the created simulation architecture */
@@ -83,9 +93,6 @@ public class PowerBank
     /** If the component executes a unit test */
     protected boolean executesAsUnitTest;
 
-    /** Acceleration factor for the simulation */
-    protected static final double ACC_FACT = 1.0;
-
 
     // ========== Constructors ==========
 
@@ -188,6 +195,9 @@ public class PowerBank
         pbip = new PowerBankInboundPort(powerBankInboundPortURI, this);
         pbip.publishPort();
 
+        // Create the state publisher
+        statePublisher = new EquipmentStatePublisher(this);
+
         // Create the trace
         if(PowerBank.VERBOSE) {
             tracer.get().setTitle("Power bank component");
@@ -196,6 +206,47 @@ public class PowerBank
         }
     }
 
+    /**
+     * Get the current state of the power bank
+     *
+     * @return The current state
+     */
+    protected EquipmentState currentState() {
+        return EquipmentState.storage(
+                currentState == State.DISCHARGING, currentState == State.CHARGING, batteryLevel);
+    }
+
+    /**
+     * Take into account the charge level computed by the SIL simulation and,
+     * when it reached a bound, the standby the simulation already decided,
+     * then publish the new state
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code level >= 0.0 && level <= 1.0}
+     * post	{@code !boundReached || getCurrentState() == State.STANDBY}
+     * </pre>
+     *
+     * @param level The charge level, between 0 (empty) and 1 (full)
+     * @param boundReached If the level reached a bound and the power bank stopped
+     * @throws Exception TODO
+     */
+    public void chargeLevelUpdated(double level, boolean boundReached) throws Exception {
+        assert level >= 0.0 && level <= 1.0 : new PreconditionException(
+                "level >= 0.0 && level <= 1.0");
+
+        if(PowerBank.VERBOSE && boundReached) {
+            logMessage("The power bank reached a charge bound and stands by (current charge = " + level + ")");
+        }
+
+        batteryLevel = level;
+
+        // The simulation already emitted the standby event, it is not triggered again
+        if(boundReached) currentState = State.STANDBY;
+
+        statePublisher.publish(currentState());
+    }
+
 
     // ========== Component lifecycle ==========
 
@@ -216,7 +267,7 @@ public class PowerBank
             simulatorPlugin.setSimulationExecutorService(SCHEDULED_EXECUTOR_SERVICE_URI);
             try {
 
-                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, executesAsUnitTest ? ACC_FACT : CVM_SIL.ACC_FACTOR);
+                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, SILConfiguration.current().getAccelerationFactor());
                 installPlugin(simulatorPlugin);
 
             } catch (Exception e) {
@@ -230,13 +281,21 @@ public class PowerBank
     public synchronized void execute() throws Exception {
         if(executesAsUnitTest) {
             simulatorPlugin.setSimulationRunParameters(new HashMap<>());
-            long startTime = System.currentTimeMillis() + 1000L;
-            double endTime = 10.0 / ACC_FACT;
+            SILConfiguration configuration = SILConfiguration.current();
+            long startTime = System.currentTimeMillis() + configuration.getStartDelay();
+            double endTime = configuration.getSimulationDuration();
             simulatorPlugin.startRTSimulation(startTime, 0.0, endTime);
             this.traceMessage("real time of start = " + startTime + "\n");
         }
     }
 
+    /** @see AbstractCyPhyComponent#finalise() */
+    @Override
+    public synchronized void finalise() throws Exception {
+        statePublisher.finalise();
+        super.finalise();
+    }
+
     /** @see AbstractCyPhyComponent#shutdown() */
     @Override
     public synchronized void shutdown() throws ComponentShutdownException {
@@ -244,6 +303,7 @@ public class PowerBank
 
         try {
             pbip.unpublishPort();
+            statePublisher.shutdown();
         } catch (Exception e) {
             throw new ComponentShutdownException(e);
         }
@@ -271,6 +331,8 @@ public class PowerBank
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(PowerBankStateModel.URI, ChargePowerBank::new);
+
+        statePublisher.publish(currentState());
     }
 
     /** @see PowerBankImplementationI#startDischarging() */
@@ -285,6 +347,8 @@ public class PowerBank
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(PowerBankStateModel.URI, DischargePowerBank::new);
+
+        statePublisher.publish(currentState());
     }
 
     /** @see PowerBankImplementationI#standBy() */
@@ -299,6 +363,8 @@ public class PowerBank
 
         // Trigger the event for the SIL simulation
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(PowerBankStateModel.URI, StandbyPowerBank::new);
+
+        statePublisher.publish(currentState());
     }
 
     /** @see PowerBankImplementationI#getBatteryLevel() */
@@ -307,4 +373,69 @@ public class PowerBank
         return batteryLevel;
     }
 
+    /** @see PowerBankImplementationI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = currentState();
+        if(PowerBank.VERBOSE) {
+            logMessage("Power bank get state : " + res);
+        }
+
+        return res;
+    }
+
+    /** @see PowerBankImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        if(PowerBank.VERBOSE) {
+            logMessage("Power bank executes batch : " + Arrays.toString(commands));
+        }
+
+        return EquipmentCommand.executeAll(this::executeCommand, commands);
+    }
+
+    /**
+     * Execute a command of a batch of the HEM
+     *
+     * @param command The command to execute
+     * @return The command status
+     * @throws Exception TODO
+     */
+    protected byte executeCommand(EquipmentCommand command) throws Exception {
+        switch (command.getOperation()) {
+            case START_PRODUCING:
+                startDischarging();
+                return EquipmentCommand.DONE;
+            case START_CONSUMING:
+                startCharging();
+                return EquipmentCommand.DONE;
+            case STOP_PRODUCING:
+            case STOP_CONSUMING:
+                standBy();
+                return EquipmentCommand.DONE;
+            default:
+                return EquipmentCommand.UNSUPPORTED;
+        }
+    }
+
+    /** @see PowerBankImplementationI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        if(PowerBank.VERBOSE) {
+            logMessage("Power bank subscribe : " + notificationInboundPortURI);
+        }
+
+        statePublisher.subscribe(notificationInboundPortURI, equipmentId, currentState());
+    }
+
+    /** @see PowerBankImplementationI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        if(PowerBank.VERBOSE) {
+            logMessage("Power bank unsubscribe : " + notificationInboundPortURI);
+        }
+
+        return statePublisher.unsubscribe(notificationInboundPortURI);
+    }
+
 }
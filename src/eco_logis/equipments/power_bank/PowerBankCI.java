@@ -1,5 +1,7 @@
 package eco_logis.equipments.power_bank;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
 
@@ -41,4 +43,20 @@ public interface PowerBankCI
     @Override
     double getBatteryLevel() throws Exception;
 
+    /** @see PowerBankImplementationI#describeState() */
+    @Override
+    EquipmentState describeState() throws Exception;
+
+    /** @see PowerBankImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
+    /** @see PowerBankImplementationI#subscribe(String, String) */
+    @Override
+    void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception;
+
+    /** @see PowerBankImplementationI#unsubscribe(String) */
+    @Override
+    boolean unsubscribe(String notificationInboundPortURI) throws Exception;
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.power_bank;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 
@@ -95,4 +97,39 @@ public class PowerBankInboundPort
         );
     }
 
+    /** @see PowerBankCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return getOwner().handleRequest(
+                o -> ((PowerBank) o).describeState()
+        );
+    }
+
+    /** @see PowerBankCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((PowerBank) o).executeBatch(commands)
+        );
+    }
+
+    /** @see PowerBankCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        getOwner().handleRequest(
+                o -> {
+                    ((PowerBank) o).subscribe(notificationInboundPortURI, equipmentId);
+                    return null;
+                }
+        );
+    }
+
+    /** @see PowerBankCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((PowerBank) o).unsubscribe(notificationInboundPortURI)
+        );
+    }
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.power_bank;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 
@@ -76,4 +78,28 @@ public class PowerBankOutboundPort
         return ((PowerBankCI) getConnector()).getBatteryLevel();
     }
 
+    /** @see PowerBankCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((PowerBankCI) getConnector()).describeState();
+    }
+
+    /** @see PowerBankCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((PowerBankCI) getConnector()).executeBatch(commands);
+    }
+
+    /** @see PowerBankCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((PowerBankCI) getConnector()).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see PowerBankCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((PowerBankCI) getConnector()).unsubscribe(notificationInboundPortURI);
+    }
+
 }
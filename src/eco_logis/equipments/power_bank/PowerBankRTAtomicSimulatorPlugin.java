@@ -1,5 +1,6 @@
 package eco_logis.equipments.power_bank;
 
+import eco_logis.MonitoredRTAtomicSimulatorPlugin;
 import eco_logis.equipments.power_bank.mil.PowerBankCoupledModel;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
@@ -30,7 +31,7 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class PowerBankRTAtomicSimulatorPlugin
-    extends RTAtomicSimulatorPlugin
+    extends MonitoredRTAtomicSimulatorPlugin
 {
 
     // ========== Macros ==========
@@ -62,6 +63,8 @@ public class PowerBankRTAtomicSimulatorPlugin
      * @throws Exception TODO
      */
     public void	initialiseSimulationArchitecture(String simArchURI, double accFactor) throws Exception {
+        this.accelerationFactor = accFactor;
+
         // Create the model descriptors
         Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
         Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
@@ -201,6 +204,14 @@ public class PowerBankRTAtomicSimulatorPlugin
                     }
             );
 
+            // The reached bound goes through the state model to reach the meter
+            connections.put(
+                    new EventSource(PowerBankChargeSILModel.URI, StandbyPowerBank.class),
+                    new EventSink[] {
+                            new EventSink(PowerBankStateModel.URI, StandbyPowerBank.class)
+                    }
+            );
+
             // Add the reexport
             reexported = new HashMap<>();
 
@@ -1,5 +1,7 @@
 package eco_logis.equipments.power_bank;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 
 /**
@@ -43,4 +45,28 @@ public class PowerBankTestConnector
         return ((PowerBankCI) offering).getBatteryLevel();
     }
 
+    /** @see PowerBankCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((PowerBankCI) offering).describeState();
+    }
+
+    /** @see PowerBankCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((PowerBankCI) offering).executeBatch(commands);
+    }
+
+    /** @see PowerBankCI#subscribe(String, String) */
+    @Override
+    public void subscribe(String notificationInboundPortURI, String equipmentId) throws Exception {
+        ((PowerBankCI) offering).subscribe(notificationInboundPortURI, equipmentId);
+    }
+
+    /** @see PowerBankCI#unsubscribe(String) */
+    @Override
+    public boolean unsubscribe(String notificationInboundPortURI) throws Exception {
+        return ((PowerBankCI) offering).unsubscribe(notificationInboundPortURI);
+    }
+
 }
@@ -5,6 +5,8 @@ import eco_logis.equipments.power_bank.mil.events.AbstractPowerBankEvent;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.StandbyPowerBank;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
@@ -17,11 +19,38 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the charge model for the power bank
  *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The model is a hybrid automaton whose locations are the states of the
+ * power bank. In each of them the charge level has a constant derivative
+ * ({@code CHARGE_SPEED}, {@code -DISCHARGE_SPEED} or none in standby), so it
+ * is computed exactly over the time elapsed at each transition, and the time
+ * at which it reaches full or empty is known in advance. The model schedules
+ * its internal transition at this crossing, emits a single
+ * {@code StandbyPowerBank} event there and jumps to standby, where it sleeps
+ * until the next external event. A subclass may add intermediate transitions
+ * with {@link #getMaximalStep()}, to update the exported level more often;
+ * they emit nothing.
+ * </p>
+ * <p>
+ * The exported {@code currentChargeLevel} is therefore only updated at the
+ * transitions of the model: between two of them, it is the level at its time
+ * stamp. The level at any later time is computed on demand, from the slope of
+ * the current state, by {@link #getChargeLevel(Time)}: the models importing
+ * the level and the SIL reports read it through this method, rather than
+ * through the stale value.
+ * </p>
+ * <p>
+ * The emitted event must be connected to the electricity model of the power
+ * bank, so it stops consuming or producing at the bound.
+ * </p>
+ *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
@@ -43,29 +72,32 @@ public class PowerBankChargeModel
     /** The model unique URI */
     public static final String URI = PowerBankChargeModel.class.getSimpleName();
 
-    /** The equation step */
-    protected static final double STEP = 0.1;
-
     /** The power discharging speed (in prop/h) */
     protected static final double DISCHARGE_SPEED = 0.254;
 
     /** The power charging speed (in prop/h) */
     protected static final double CHARGE_SPEED = 0.203;
 
+    /** Distance under which the charge level is considered at a bound */
+    protected static final double LEVEL_TOLERANCE = 1.0e-9;
 
-    // ========== Attributes ==========
 
+    // ========== Attributes ==========
 
-    /** The evaluation step in a duration */
-    protected final Duration evaluationStep;
 
     /** The current state of the power bank */
     private PowerBank.State currentState;
 
-    /** the current charge level */
+    /** The charge level at the last transition, its time being the one of this transition */
     @ExportedVariable(type = Double.class)
     protected final Value<Double> currentChargeLevel = new Value<>(this, 0.0);
 
+    /** Binary trace of the charge level, null when it is traced as text */
+    protected final TraceRecorder.Probe chargeLevelProbe;
+
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -80,8 +112,8 @@ public class PowerBankChargeModel
      */
     public PowerBankChargeModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
-        evaluationStep = new Duration(STEP, getSimulatedTimeUnit());
-        setLogger(new StandardLogger());
+        chargeLevelProbe = TraceRecorder.probeOrNull(uri, "currentChargeLevel");
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -97,6 +129,24 @@ public class PowerBankChargeModel
         return currentState;
     }
 
+    /**
+     * Get the charge level at a time, from the level at the last transition
+     * and the slope of the current state
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code t != null && !t.lessThan(currentChargeLevel.time)}
+     * post	{@code ret >= 0.0 && ret <= 1.0}
+     * </pre>
+     *
+     * @param t The time of the reading, not before the last transition
+     * @return The charge level at this time
+     */
+    public double getChargeLevel(Time t) {
+        double elapsed = t.subtract(currentChargeLevel.time).getSimulatedDuration();
+        return Math.min(Math.max(currentChargeLevel.v + getChargeSlope() * elapsed, 0.0), 1.0);
+    }
+
 
     // ========== Setters ==========
 
@@ -111,33 +161,122 @@ public class PowerBankChargeModel
     }
 
 
+    // ========== Dynamics ==========
+
+
+    /**
+     * Get the evolution of the charge level in the current state
+     *
+     * @return The charge level change per second
+     */
+    protected double getChargeSlope() {
+        switch (currentState) {
+            case CHARGING:
+                return CHARGE_SPEED / 3600;
+            case DISCHARGING:
+                return -DISCHARGE_SPEED / 3600;
+            default:
+                return 0.0;
+        }
+    }
+
+    /**
+     * Get the time the charge level takes to reach the bound it is moving to
+     *
+     * @return The time to full or empty, infinite in standby
+     */
+    protected Duration getTimeToBound() {
+        double slope = getChargeSlope();
+        if (slope == 0.0) {
+            return Duration.INFINITY;
+        }
+        double bound = slope > 0.0 ? 1.0 : 0.0;
+        return new Duration(Math.max((bound - currentChargeLevel.v) / slope, 0.0), getSimulatedTimeUnit());
+    }
+
+    /**
+     * Get the longest time between two transitions while the level changes;
+     * the model needs no intermediate transition by itself, so this is
+     * infinite unless a subclass updates the level more often
+     *
+     * @return The maximal step
+     */
+    protected Duration getMaximalStep() {
+        return Duration.INFINITY;
+    }
+
+    /**
+     * Get if the next scheduled transition is the level reaching a bound
+     *
+     * @return True if the bound is reached before the maximal step ends
+     */
+    protected boolean reachesBound() {
+        return currentState != PowerBank.State.STANDBY && !getMaximalStep().lessThan(getTimeToBound());
+    }
+
+
     // ========== Class methods ==========
 
 
     /**
-     * Increase the charge level according to the duration
+     * Increase the charge level according to the duration, up to full
      *
      * @param d The duration of the charge
      */
     private void charge(Duration d) {
         double duration = d.getSimulatedDuration();
-        currentChargeLevel.v += Math.min((duration / 3600) * CHARGE_SPEED, 1.0);
+        double level = currentChargeLevel.v + (duration / 3600) * CHARGE_SPEED;
+        currentChargeLevel.v = level > 1.0 - LEVEL_TOLERANCE ? 1.0 : level;
     }
 
     /**
-     * Decrease the charge level according to the duration
+     * Decrease the charge level according to the duration, down to empty
      *
      * @param d The duration of the discharge
      */
     private void discharge(Duration d) {
         double duration = d.getSimulatedDuration();
-        currentChargeLevel.v -= Math.max((duration / 3600) * DISCHARGE_SPEED, 0.0);
+        double level = currentChargeLevel.v - (duration / 3600) * DISCHARGE_SPEED;
+        currentChargeLevel.v = level < LEVEL_TOLERANCE ? 0.0 : level;
+    }
+
+    /**
+     * Compute the charge level at the end of the elapsed time, the state being
+     * unchanged during this time
+     *
+     * @param elapsedTime The time since the last transition
+     */
+    protected void advanceChargeLevel(Duration elapsedTime) {
+        if (currentState == PowerBank.State.DISCHARGING) {
+            discharge(elapsedTime);
+        } else if (currentState == PowerBank.State.CHARGING) {
+            charge(elapsedTime);
+        }
+        currentChargeLevel.time = getCurrentStateTime();
+    }
+
+    /**
+     * Trace the charge level
+     */
+    protected void traceChargeLevel() {
+        if (chargeLevelProbe != null) {
+            chargeLevelProbe.record(currentChargeLevel.time.getSimulatedTime(), currentChargeLevel.v);
+        } else if (isDebugModeOn()) {
+            logMessage("Power bank is " + currentState + " | Charge level : " + currentChargeLevel.v + " at " + currentChargeLevel.time + "\n");
+        }
     }
 
 
     // ========== Override methods ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicHIOA#initialiseVariables(Time) */
     @Override
     protected void initialiseVariables(Time startTime) {
@@ -149,9 +288,9 @@ public class PowerBankChargeModel
     /** @see AtomicHIOA#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
-        super.initialiseState(initialTime);
-
+        // The state must be set before the first time advance is computed
         currentState = PowerBank.State.STANDBY;
+        super.initialiseState(initialTime);
 
         toggleDebugMode();
         logMessage("Simulations starts...\n");
@@ -160,10 +299,11 @@ public class PowerBankChargeModel
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
-        if(currentChargeLevel.v <= 0.0 || currentChargeLevel.v >= 1.0) {
-            ArrayList<EventI> res = new ArrayList<>();
-            res.add(new StandbyPowerBank(currentChargeLevel.time));
-            return res;
+        // Tell the power bank to stop when the level reaches a bound
+        if(reachesBound()) {
+            ArrayList<EventI> res = recycler.newOutput();
+            res.add(recycler.obtain(StandbyPowerBank.class, StandbyPowerBank::new, getTimeOfNextEvent()));
+            return recycler.emit(res);
         }
         return null;
     }
@@ -171,7 +311,10 @@ public class PowerBankChargeModel
     /** @see AtomicHIOA#timeAdvance() */
     @Override
     public Duration timeAdvance() {
-        return evaluationStep;
+        // Wake up when the level reaches the bound it is moving to, or at the end of the maximal step
+        Duration toBound = getTimeToBound();
+        Duration maximalStep = getMaximalStep();
+        return toBound.lessThan(maximalStep) ? toBound : maximalStep;
     }
 
     /** @see AtomicHIOA#userDefinedInternalTransition(Duration) */
@@ -179,20 +322,13 @@ public class PowerBankChargeModel
     public void userDefinedInternalTransition(Duration elapsedTime) {
         super.userDefinedInternalTransition(elapsedTime);
 
-        if(currentState != PowerBank.State.STANDBY) {
-            // Update the charge level
-            if(currentChargeLevel.v > 0.0 && currentState == PowerBank.State.DISCHARGING) {
-                discharge(elapsedTime);
-            } else if (currentChargeLevel.v < 1.0 && currentState == PowerBank.State.CHARGING) {
-                charge(elapsedTime);
-            }
-            currentChargeLevel.time = getCurrentStateTime();
-
-            // Tracing
-            String stateString = currentState == PowerBank.State.CHARGING ? "charging" : "discharging";
-            logMessage("Power bank is " + stateString + " | Charge level : " + currentChargeLevel.v + " at " + currentChargeLevel.time + "\n");
+        // When the level reached a bound, the power bank stops as told by the emitted event
+        boolean atBound = reachesBound();
+        advanceChargeLevel(elapsedTime);
+        if (atBound) {
+            currentState = PowerBank.State.STANDBY;
         }
-
+        traceChargeLevel();
     }
 
     /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
@@ -203,6 +339,10 @@ public class PowerBankChargeModel
         assert	currentEvents != null && currentEvents.size() == 1;
         Event currentEvent = (Event) currentEvents.get(0);
 
+        // The level evolved with the former state until the event
+        advanceChargeLevel(elapsedTime);
+        traceChargeLevel();
+
         // Execute the event on the model
         assert currentEvent instanceof AbstractPowerBankEvent;
         currentEvent.executeOn(this);
@@ -0,0 +1,64 @@
+package eco_logis.equipments.power_bank.mil;
+
+import eco_logis.utils.Quantizer;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the quantized state variant of the charge model for
+ * the power bank
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The base model only updates its exported charge level on the external
+ * events and when the level reaches full or empty. This variant also updates
+ * it each time the level crosses a multiple of {@code QUANTUM}, so the models
+ * importing it never read a level more than one quantum away from the real
+ * one. The level being piecewise linear, the crossing times are exact.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class PowerBankChargeQSSModel
+    extends PowerBankChargeModel
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Quantum of the charge level (proportion of the capacity) */
+    public static final double QUANTUM = 0.01;
+
+
+    // ========== Constructors ==========
+
+
+    /** @see PowerBankChargeModel#PowerBankChargeModel(String, TimeUnit, SimulatorI) */
+    public PowerBankChargeQSSModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
+        super(uri, simulatedTimeUnit, simulationEngine);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /**
+     * Stop at the next multiple of the quantum the level crosses
+     *
+     * @see PowerBankChargeModel#getMaximalStep()
+     */
+    @Override
+    protected Duration getMaximalStep() {
+        double slope = getChargeSlope();
+        if (slope == 0.0) {
+            return Duration.INFINITY;
+        }
+        return new Duration(Quantizer.timeToNextLevel(currentChargeLevel.v, slope, QUANTUM), getSimulatedTimeUnit());
+    }
+
+}
@@ -1,10 +1,13 @@
 package eco_logis.equipments.power_bank.mil;
 
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
 import eco_logis.equipments.power_bank.PowerBank;
 import eco_logis.equipments.power_bank.mil.events.AbstractPowerBankEvent;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.StandbyPowerBank;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -18,6 +21,7 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,6 +34,9 @@ import java.util.concurrent.TimeUnit;
         ChargePowerBank.class,
         DischargePowerBank.class,
         StandbyPowerBank.class
+},
+exported = {
+        BalanceChanged.class
 })
 public class PowerBankElectricityModel
     extends AtomicHIOA
@@ -57,7 +64,7 @@ public class PowerBankElectricityModel
     /** If the state has changed and you have to perform an internal transition */
     private boolean hasChanged;
 
-    /** The current charge level between 0 and 1 */
+    /** The current charge level between 0 and 1, null when the charge model runs in the power bank component */
     @ImportedVariable(type = Double.class)
     protected Value<Double> currentChargeLevel;
 
@@ -69,6 +76,9 @@ public class PowerBankElectricityModel
     @ExportedVariable(type = Double.class)
     protected final Value<Double> currentConsumption = new Value<>(this, 0.0);
 
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -85,7 +95,7 @@ public class PowerBankElectricityModel
      */
     public PowerBankElectricityModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -124,9 +134,37 @@ public class PowerBankElectricityModel
     }
 
 
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the charge level at the current time, computed by the charge model
+     * that exports it, as its value is only updated at the charge model
+     * transitions
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code currentChargeLevel != null}
+     * post	{@code ret >= 0.0 && ret <= 1.0}
+     * </pre>
+     *
+     * @return The charge level between 0 and 1
+     */
+    protected double getChargeLevel() {
+        return ((PowerBankChargeModel) currentChargeLevel.getOwner()).getChargeLevel(getCurrentStateTime());
+    }
+
+
     // ========== Override methods ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicHIOA#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
@@ -150,8 +188,10 @@ public class PowerBankElectricityModel
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
-        // This model doesn't export events
-        return null;
+        // The internal transitions only follow a change of the consumption or the production
+        ArrayList<EventI> res = this.recycler.newOutput();
+        res.add(this.recycler.obtain(BalanceChanged.class, BalanceChanged::new, this.getTimeOfNextEvent()));
+        return this.recycler.emit(res);
     }
 
     /** @see AtomicHIOA#timeAdvance() */
@@ -192,23 +232,26 @@ public class PowerBankElectricityModel
         currentConsumption.time = getCurrentStateTime();
 
         // Tracing
-        logMessage("Current production " + currentProduction.v + " current consumption" + currentConsumption.v
-                + " at " + currentProduction.time
-                + " | Charge level " + currentChargeLevel.v * 100 + "%" + "\n");
+        if (isDebugModeOn()) {
+            logMessage("Current production " + currentProduction.v + " current consumption" + currentConsumption.v
+                    + " at " + currentProduction.time
+                    + (currentChargeLevel == null ? "" : " | Charge level " + getChargeLevel() * 100 + "%") + "\n");
+        }
     }
 
     /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
     @Override
     public void userDefinedExternalTransition(Duration elapsedTime) {
 
-        // Get the current event
+        // Get the current events, the charge model may stop the power bank when a user event comes
         ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
-        assert currentEvents != null && currentEvents.size() == 1;
-        Event currentEvent = (Event) currentEvents.get(0);
+        assert currentEvents != null && !currentEvents.isEmpty();
 
-        // Execute the event on the model
-        assert currentEvent instanceof AbstractPowerBankEvent;
-        currentEvent.executeOn(this);
+        // Execute the events on the model
+        for (EventI e : currentEvents) {
+            assert e instanceof AbstractPowerBankEvent;
+            ((Event) e).executeOn(this);
+        }
 
         super.userDefinedExternalTransition(elapsedTime);
     }
@@ -3,6 +3,9 @@ package eco_logis.equipments.power_bank.mil;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.StandbyPowerBank;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.es.events.ES_EventI;
 import fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -14,6 +17,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 import org.apache.commons.math3.random.RandomDataGenerator;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,6 +47,12 @@ public class PowerBankUserModel
     /** The random data generator from the common math lib */
     protected RandomDataGenerator generator;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
+    /** The recycler of the emitted events */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -58,7 +68,7 @@ public class PowerBankUserModel
     public PowerBankUserModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
         generator = new RandomDataGenerator();
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -72,22 +82,32 @@ public class PowerBankUserModel
         // Get the current event and the time of the next
         EventI current = eventList.peek();
         assert current != null;
-        Time nextTime = computeTimeOfNextEvent(current.getTimeOfOccurrence());
+        Time from = current.getTimeOfOccurrence();
+        double delay = computeDelay();
 
         // Create the next event
         ES_EventI next = null;
         if(current instanceof ChargePowerBank) {
-            next = new StandbyPowerBank(nextTime);
+            next = recycler.obtain(StandbyPowerBank.class, StandbyPowerBank::new, from, delay);
         }
         else if(current instanceof DischargePowerBank) {
-            next = new ChargePowerBank(nextTime);
+            next = recycler.obtain(ChargePowerBank.class, ChargePowerBank::new, from, delay);
         }
         else if(current instanceof StandbyPowerBank) {
-            next = new DischargePowerBank(nextTime);
+            next = recycler.obtain(DischargePowerBank.class, DischargePowerBank::new, from, delay);
         }
         scheduleEvent(next);
     }
 
+    /**
+     * Compute the delay before the next event by a random gaussian generation
+     *
+     * @return The delay, in the simulated time unit
+     */
+    protected double computeDelay() {
+        return Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
+    }
+
     /**
      * Compute the time of the next event by a random gaussian generation
      *
@@ -95,20 +115,27 @@ public class PowerBankUserModel
      * @return The time of the next event
      */
     protected Time computeTimeOfNextEvent(Time from) {
-        double delay = Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
-        return from.add(new Duration(delay, this.getSimulatedTimeUnit()));
+        return from.add(new Duration(computeDelay(), this.getSimulatedTimeUnit()));
     }
 
 
     // ========== Override methods ==========
 
 
+    /** @see AtomicES_Model#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        seeds = SimulationSeeds.from(simParams);
+        recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicES_Model#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
         super.initialiseState(initialTime);
 
-        generator.reSeedSecure();
+        SimulationSeeds.orDefault(seeds).reSeed(generator, uri);
 
         // Create the first event
         Time nextTime = computeTimeOfNextEvent(getCurrentStateTime());
@@ -126,9 +153,10 @@ public class PowerBankUserModel
     /** @see AtomicES_Model#output() */
     @Override
     public ArrayList<EventI> output() {
+        // The events of the previous output have been executed, they can be reused
+        recycler.recycleEmitted();
         if(eventList.peek() != null) generateNextEvent();
-
-        return super.output();
+        return recycler.emit(super.output());
     }
 
     /** @see AtomicES_Model#endSimulation(Time) */
@@ -1,14 +1,30 @@
 package eco_logis.equipments.power_bank.sil;
 
+import eco_logis.equipments.power_bank.PowerBank;
 import eco_logis.equipments.power_bank.PowerBankRTAtomicSimulatorPlugin;
 import eco_logis.equipments.power_bank.mil.PowerBankChargeModel;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * This class represents the SIL charge model of the power bank
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The model reports the charge level to the power bank component after each
+ * command it receives, and the standby when the level reaches a bound, so the
+ * component state follows the stops the model decides by itself.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
 public class PowerBankChargeSILModel
     extends PowerBankChargeModel
 {
@@ -43,7 +59,45 @@ public class PowerBankChargeSILModel
         owner = (AbstractComponent) simParams.get(PowerBankRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger to the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
+    }
+
+    /** @see PowerBankChargeModel#userDefinedInternalTransition(Duration) */
+    @Override
+    public void userDefinedInternalTransition(Duration elapsedTime) {
+        // The bound is tested before the super method puts the model in standby
+        boolean atBound = reachesBound();
+        super.userDefinedInternalTransition(elapsedTime);
+        if (atBound) {
+            reportChargeLevel(true);
+        }
+    }
+
+    /** @see PowerBankChargeModel#userDefinedExternalTransition(Duration) */
+    @Override
+    public void userDefinedExternalTransition(Duration elapsedTime) {
+        super.userDefinedExternalTransition(elapsedTime);
+        reportChargeLevel(false);
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Report the current charge level to the owner component
+     *
+     * @param boundReached If the level reached a bound and the model went to standby
+     */
+    protected void reportChargeLevel(boolean boundReached) {
+        final double level = getChargeLevel(getCurrentStateTime());
+        owner.runTask(o -> {
+            try {
+                ((PowerBank) o).chargeLevelUpdated(level, boundReached);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
     }
 
 }
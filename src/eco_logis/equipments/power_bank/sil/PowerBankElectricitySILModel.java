@@ -2,6 +2,7 @@ package eco_logis.equipments.power_bank.sil;
 
 import eco_logis.equipments.power_bank.PowerBankRTAtomicSimulatorPlugin;
 import eco_logis.equipments.power_bank.mil.PowerBankElectricityModel;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
@@ -43,7 +44,7 @@ public class PowerBankElectricitySILModel
         owner = (AbstractComponent) simParams.get(PowerBankRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger to the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
     }
 
 }
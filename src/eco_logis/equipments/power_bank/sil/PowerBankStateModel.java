@@ -6,6 +6,8 @@ import eco_logis.equipments.power_bank.mil.events.AbstractPowerBankEvent;
 import eco_logis.equipments.power_bank.mil.events.ChargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.DischargePowerBank;
 import eco_logis.equipments.power_bank.mil.events.StandbyPowerBank;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -14,6 +16,7 @@ import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -53,8 +56,8 @@ public class PowerBankStateModel
     /** The current power bank state */
     protected PowerBank.State currentState;
 
-    /** The last received event */
-    protected AbstractPowerBankEvent lastEvent;
+    /** The received events still to forward, in their order of arrival */
+    protected final ArrayDeque<AbstractPowerBankEvent> pendingEvents = new ArrayDeque<>();
 
     /** The model owner */
     protected PowerBank owner;
@@ -82,7 +85,7 @@ public class PowerBankStateModel
         owner = (PowerBank) simParams.get(PowerBankRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger in the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
     }
 
     /** @see AtomicModel#initialiseState(Time) */
@@ -92,7 +95,7 @@ public class PowerBankStateModel
         super.initialiseState(initialTime);
 
         // Set the initial miner state
-        lastEvent = null;
+        pendingEvents.clear();
         currentState = PowerBank.State.STANDBY;
 
         // Tracing
@@ -103,17 +106,17 @@ public class PowerBankStateModel
     /** @see AtomicModel#output() */
     @Override
     public ArrayList<EventI> output() {
-        assert lastEvent != null;
+        // The receivers execute one event per transition, the others are forwarded at the next steps
+        assert !pendingEvents.isEmpty();
         ArrayList<EventI> res = new ArrayList<>();
-        res.add(lastEvent);
-        lastEvent = null;
+        res.add(pendingEvents.poll());
         return res;
     }
 
     /** @see AtomicModel#timeAdvance() */
     @Override
     public Duration timeAdvance() {
-        if(lastEvent != null) return Duration.zero(getSimulatedTimeUnit());
+        if(!pendingEvents.isEmpty()) return Duration.zero(getSimulatedTimeUnit());
         return Duration.INFINITY;
     }
 
@@ -125,15 +128,18 @@ public class PowerBankStateModel
 
         // Get the current events to perform transitions
         ArrayList<EventI> events = getStoredEventAndReset();
-        assert events != null && events.size() == 1;
+        assert events != null && !events.isEmpty();
 
-        // Get the last received event
-        lastEvent = (AbstractPowerBankEvent) events.get(0);
+        // Queue every received event, which is forwarded at a later step so it can't be a pooled one
+        for (EventI e : events) {
+            assert !EventRecycler.isPooled(e);
+            pendingEvents.add((AbstractPowerBankEvent) e);
 
-        // Trace
-        logMessage(URI + " executes the external event " +
-                lastEvent.getClass().getSimpleName() + " at " +
-                lastEvent.getTimeOfOccurrence().getSimulatedTime() + "\n");
+            // Trace
+            logMessage(URI + " executes the external event " +
+                    e.getClass().getSimpleName() + " at " +
+                    e.getTimeOfOccurrence().getSimulatedTime() + "\n");
+        }
     }
 
     /** @see AtomicModel#endSimulation(Time) */
@@ -2,6 +2,8 @@ package eco_logis.equipments.power_bank.sil;
 
 import eco_logis.equipments.power_bank.PowerBank;
 import eco_logis.equipments.power_bank.PowerBankRTAtomicSimulatorPlugin;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
@@ -43,6 +45,9 @@ public class PowerBankUserSILModel
     /** The random number generator */
     protected RandomDataGenerator rg;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
     /** The current scenario step */
     protected int currentStep;
 
@@ -89,11 +94,12 @@ public class PowerBankUserSILModel
     public void	setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
         // Call the super
         super.setSimulationRunParameters(simParams);
+        seeds = SimulationSeeds.from(simParams);
 
         // Get the owner
         assert simParams.containsKey(PowerBankRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
         owner = (PowerBank) simParams.get(PowerBankRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
 
         // Get the step mean duration
         if(simParams.containsKey(STEP_MEAN_DURATION_RUNPNAME)) {
@@ -105,7 +111,7 @@ public class PowerBankUserSILModel
     @Override
     public void	initialiseState(Time initialTime) {
         // Initialise the state
-        rg.reSeedSecure();
+        SimulationSeeds.orDefault(seeds).reSeed(rg, uri);
         generateNextEvent();
         currentStep = 1;
 
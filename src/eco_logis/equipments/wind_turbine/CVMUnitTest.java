@@ -1,5 +1,6 @@
 package eco_logis.equipments.wind_turbine;
 
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.generator.Generator;
 import eco_logis.equipments.generator.GeneratorRTAtomicSimulatorPlugin;
 import fr.sorbonne_u.components.AbstractComponent;
@@ -38,7 +39,8 @@ public class CVMUnitTest
     public static void main(String[] args) {
         try {
             CVMUnitTest cvm = new CVMUnitTest();
-            cvm.startStandardLifeCycle(15000L);
+            // The life cycle lasts at least as long as the simulation of the test
+            cvm.startStandardLifeCycle(Math.max(15000L, SILConfiguration.current().lifeCycleDuration(SILConfiguration.current().getSimulationDuration())));
             Thread.sleep(5000L);
             System.exit(0);
         } catch (Exception e) {
@@ -1,10 +1,12 @@
 package eco_logis.equipments.wind_turbine;
 
-import eco_logis.CVM_SIL;
+import eco_logis.SILConfiguration;
 import eco_logis.equipments.wind_turbine.mil.WindTurbineCoupledModel;
 import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
 import eco_logis.equipments.wind_turbine.sil.WindTurbineStateModel;
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
@@ -12,6 +14,7 @@ import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -71,9 +74,6 @@ public class WindTurbine
     /** If the component executes a unit test */
     protected boolean executesAsUnitTest;
 
-    /** Acceleration factor for the simulation */
-    protected static final double ACC_FACT = 1.0;
-
 
     // ========== Constructors ==========
 
@@ -218,7 +218,7 @@ public class WindTurbine
             simulatorPlugin.setSimulationExecutorService(SCHEDULED_EXECUTOR_SERVICE_URI);
             try {
 
-                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, executesAsUnitTest ? ACC_FACT : CVM_SIL.ACC_FACTOR);
+                simulatorPlugin.initialiseSimulationArchitecture(simArchURI, SILConfiguration.current().getAccelerationFactor());
                 installPlugin(simulatorPlugin);
 
             } catch (Exception e) {
@@ -232,8 +232,9 @@ public class WindTurbine
     public synchronized void execute() throws Exception {
         if(executesAsUnitTest) {
             simulatorPlugin.setSimulationRunParameters(new HashMap<>());
-            long startTime = System.currentTimeMillis() + 1000L;
-            double endTime = 10.0 / ACC_FACT;
+            SILConfiguration configuration = SILConfiguration.current();
+            long startTime = System.currentTimeMillis() + configuration.getStartDelay();
+            double endTime = configuration.getSimulationDuration();
             simulatorPlugin.startRTSimulation(startTime, 0.0, endTime);
             this.traceMessage("real time of start = " + startTime + "\n");
         }
@@ -317,4 +318,49 @@ public class WindTurbine
         if(isSILSimulated) simulatorPlugin.triggerExternalEvent(WindTurbineStateModel.URI, UnblockWindTurbine::new);
     }
 
+    /** @see WindTurbineImplementationI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        EquipmentState res = EquipmentState.unpredictable(isTurning, isBlocked);
+        if(WindTurbine.VERBOSE) {
+            logMessage("Wind turbine state : " + res);
+        }
+
+        return res;
+    }
+
+    /** @see WindTurbineImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        if(WindTurbine.VERBOSE) {
+            logMessage("Wind turbine executes batch : " + Arrays.toString(commands));
+        }
+
+        return EquipmentCommand.executeAll(this::executeCommand, commands);
+    }
+
+    /**
+     * Execute a command of a batch of the HEM
+     *
+     * @param command The command to execute
+     * @return The command status
+     * @throws Exception TODO
+     */
+    protected byte executeCommand(EquipmentCommand command) throws Exception {
+        switch (command.getOperation()) {
+            case FORBID_PRODUCTION:
+                blockTurning();
+                return EquipmentCommand.DONE;
+            case ALLOW_PRODUCTION:
+                unblockTurning();
+                return EquipmentCommand.DONE;
+            case START_PRODUCING:
+            case STOP_PRODUCING:
+                // An unpredictable producer cannot be started or stopped
+                return EquipmentCommand.UNCHANGED;
+            default:
+                return EquipmentCommand.UNSUPPORTED;
+        }
+    }
+
 }
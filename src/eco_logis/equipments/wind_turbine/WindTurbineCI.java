@@ -1,5 +1,7 @@
 package eco_logis.equipments.wind_turbine;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
 
@@ -33,4 +35,12 @@ public interface WindTurbineCI
     @Override
     void unblockTurning() throws Exception;
 
+    /** @see WindTurbineImplementationI#describeState() */
+    @Override
+    EquipmentState describeState() throws Exception;
+
+    /** @see WindTurbineImplementationI#executeBatch(EquipmentCommand[]) */
+    @Override
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
 }
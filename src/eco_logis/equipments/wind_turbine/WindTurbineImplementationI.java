@@ -1,5 +1,8 @@
 package eco_logis.equipments.wind_turbine;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
+
 /**
  * This interface defines the wind turbine implementation
  *
@@ -83,4 +86,37 @@ public interface WindTurbineImplementationI
      */
     void unblockTurning() throws Exception;
 
+    /**
+     * Describe the wind turbine state in a single call, with all the values the
+     * HEM reads to decide on it
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre  true
+     * post  {@code ret != null}
+     * </pre>
+     *
+     * @return The current wind turbine state
+     * @throws Exception TODO
+     */
+    EquipmentState describeState() throws Exception;
+
+    /**
+     * Execute a batch of commands of the HEM in a single call, in order; a
+     * command failing does not prevent the following ones from being executed
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code commands != null}
+     * post	{@code ret.length == commands.length}
+     * </pre>
+     *
+     * @param commands The commands to execute
+     * @return The status of each command, as defined by {@code EquipmentCommand}
+     * @throws Exception TODO
+     */
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
 }
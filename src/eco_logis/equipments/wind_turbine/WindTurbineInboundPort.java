@@ -1,5 +1,7 @@
 package eco_logis.equipments.wind_turbine;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 
@@ -92,4 +94,20 @@ public class WindTurbineInboundPort
         );
     }
 
+    /** @see WindTurbineCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return getOwner().handleRequest(
+                o -> ((WindTurbine) o).describeState()
+        );
+    }
+
+    /** @see WindTurbineCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return getOwner().handleRequest(
+                o -> ((WindTurbine) o).executeBatch(commands)
+        );
+    }
+
 }
@@ -1,5 +1,7 @@
 package eco_logis.equipments.wind_turbine;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 
@@ -76,4 +78,16 @@ public class WindTurbineOutboundPort
         ((WindTurbineCI) getConnector()).unblockTurning();
     }
 
+    /** @see WindTurbineCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((WindTurbineCI) getConnector()).describeState();
+    }
+
+    /** @see WindTurbineCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((WindTurbineCI) getConnector()).executeBatch(commands);
+    }
+
 }
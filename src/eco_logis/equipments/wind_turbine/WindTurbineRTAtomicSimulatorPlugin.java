@@ -1,8 +1,10 @@
 package eco_logis.equipments.wind_turbine;
 
+import eco_logis.MonitoredRTAtomicSimulatorPlugin;
 import eco_logis.equipments.wind_turbine.mil.WindTurbineCoupledModel;
 import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
+import eco_logis.equipments.wind_turbine.mil.events.WindSpeedChange;
 import eco_logis.equipments.wind_turbine.sil.ExternalWindSILModel;
 import eco_logis.equipments.wind_turbine.sil.WindTurbineElectricitySILModel;
 import eco_logis.equipments.wind_turbine.sil.WindTurbineStateModel;
@@ -29,7 +31,7 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class WindTurbineRTAtomicSimulatorPlugin
-        extends RTAtomicSimulatorPlugin
+        extends MonitoredRTAtomicSimulatorPlugin
 {
 
     // ========== Macros ==========
@@ -61,6 +63,8 @@ public class WindTurbineRTAtomicSimulatorPlugin
      * @throws Exception TODO
      */
     public void	initialiseSimulationArchitecture(String simArchURI, double accFactor) throws Exception {
+        this.accelerationFactor = accFactor;
+
         // Create the model descriptors
         Map<String, AbstractAtomicModelDescriptor> atomicModelDescriptors = new HashMap<>();
         Map<String, CoupledModelDescriptor> coupledModelDescriptors = new HashMap<>();
@@ -146,6 +150,13 @@ public class WindTurbineRTAtomicSimulatorPlugin
                     }
             );
 
+            connections.put(
+                    new EventSource(ExternalWindSILModel.URI, WindSpeedChange.class),
+                    new EventSink[] {
+                            new EventSink(WindTurbineElectricitySILModel.URI, WindSpeedChange.class)
+                    }
+            );
+
         } else {
 
             // When not in unit test mode just create reexported events
@@ -1,5 +1,7 @@
 package eco_logis.equipments.wind_turbine;
 
+import eco_logis.interfaces.EquipmentCommand;
+import eco_logis.interfaces.EquipmentState;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 
 /**
@@ -46,4 +48,16 @@ public class WindTurbineTestConnector
         ((WindTurbineCI) offering).unblockTurning();
     }
 
+    /** @see WindTurbineCI#describeState() */
+    @Override
+    public EquipmentState describeState() throws Exception {
+        return ((WindTurbineCI) offering).describeState();
+    }
+
+    /** @see WindTurbineCI#executeBatch(EquipmentCommand[]) */
+    @Override
+    public byte[] executeBatch(EquipmentCommand[] commands) throws Exception {
+        return ((WindTurbineCI) offering).executeBatch(commands);
+    }
+
 }
@@ -1,9 +1,13 @@
 package eco_logis.equipments.wind_turbine.mil;
 
 import eco_logis.equipments.wind_turbine.mil.events.WindSpeedChange;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
 import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
+import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
 import fr.sorbonne_u.devs_simulation.models.events.EventI;
 import fr.sorbonne_u.devs_simulation.models.time.Duration;
 import fr.sorbonne_u.devs_simulation.models.time.Time;
@@ -11,14 +15,36 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the outside wind blowing and making turn the wind turbine.
  *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The wind speed is read from a {@code WindProfile}, recorded or synthetic,
+ * so it is known in closed form at any time and the model doesn't evaluate
+ * it step by step. The model only exports a new speed, with a
+ * {@code WindSpeedChange} event, when the power the turbine would produce
+ * with it differs by more than the production delta from the power at the
+ * last exported speed: from each change, it looks ahead in the profile for
+ * the next significant sample and sleeps until then.
+ * </p>
+ * <p>
+ * The profile, the power curve and the production delta are given by the
+ * simulation run parameters {@code WindProfile.PROFILE_PARAMETER},
+ * {@code WindPowerCurve.POWER_CURVE_PARAMETER} and
+ * {@code PRODUCTION_DELTA_PARAMETER}; without profile, a synthetic one is
+ * generated from the seed of the model.
+ * </p>
+ *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
+@ModelExternalEvents(exported = {
+        WindSpeedChange.class
+})
 public class ExternalWindModel
     extends AtomicHIOA
 {
@@ -35,28 +61,49 @@ public class ExternalWindModel
     /** Maximal external wind speed (km/h) */
     public static final double MAX_EXTERNAL_WIND_SPEED = 150.0;
 
-    /** Period of the wind variation cycle (day); the cycle begins
-     *  at the minimal speed and ends at the same speed */
-    public static final double PERIOD = 0.1;
-
+    /** Name of the simulation run parameter giving the production delta in watts (a {@code Double}) */
+    public static final String PRODUCTION_DELTA_PARAMETER = "eco_logis.wind.productionDelta";
 
-    // ========== Attributes ===========
+    /** The default production delta in watts */
+    public static final double DEFAULT_PRODUCTION_DELTA = 50.0;
 
 
-    /** Evaluation step for the equation (assumed in seconds) */
-    protected static final double STEP = .01;
+    // ========== Attributes ===========
 
-    /** Evaluation step as a duration, including the time unit */
-    protected final Duration evaluationStep;
 
     /** Current external wind speed in km/h */
     @ExportedVariable(type = Double.class)
     protected final Value<Double> externalWindSpeed = new Value<>(this, 0.0);
 
-    protected double cycleTime;
+    /** The wind profile given by the run, null to generate a synthetic one */
+    protected WindProfile givenProfile;
+
+    /** The wind profile of the simulation */
+    protected WindProfile profile;
+
+    /** The power curve of the turbine */
+    protected WindPowerCurve powerCurve = WindPowerCurve.DEFAULT;
+
+    /** The production change under which the speed is not exported, in watts */
+    protected double productionDelta = DEFAULT_PRODUCTION_DELTA;
+
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
+    /** Index of the profile sample currently exported */
+    protected long currentSample;
 
-    /** Util for triggering internal event of wind speed changing */
-    private boolean windSpeedHasChanged = false;
+    /** Index of the next profile sample to export, negative if there is none */
+    protected long nextSample;
+
+    /** Time since the start of the profile in seconds */
+    protected double profileTime;
+
+    /** Binary trace of the wind speed, null when it is traced as text */
+    protected final TraceRecorder.Probe windSpeedProbe;
+
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
 
 
     // ========== Constructors ==========
@@ -75,19 +122,75 @@ public class ExternalWindModel
             SimulatorI simulationEngine
     ) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
-        this.evaluationStep = new Duration(STEP, this.getSimulatedTimeUnit());
-        this.setLogger(new StandardLogger());
+        this.windSpeedProbe = TraceRecorder.probeOrNull(uri, "externalWindSpeed");
+        this.setLogger(TraceRecorder.route(new StandardLogger()));
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Find the first sample after a sample whose production differs by more
+     * than the production delta from the production of this sample
+     *
+     * @param from The index of the current sample
+     * @return The index of the next significant sample, -1 if the production
+     *         never changes enough over a whole profile
+     */
+    protected long findNextSample(long from) {
+        double production = this.powerCurve.powerAt(this.profile.getSpeed(from));
+        for (long i = from + 1; i <= from + this.profile.size(); i++) {
+            if (Math.abs(this.powerCurve.powerAt(this.profile.getSpeed(i)) - production) > this.productionDelta) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Trace the current wind speed
+     */
+    protected void traceWindSpeed() {
+        if (this.windSpeedProbe != null) {
+            this.windSpeedProbe.record(this.externalWindSpeed.time.getSimulatedTime(), this.externalWindSpeed.v);
+        } else if (this.isDebugModeOn()) {
+            StringBuffer message = new StringBuffer("current external wind speed: ");
+            message.append(this.externalWindSpeed.v);
+            message.append(" at ");
+            message.append(this.externalWindSpeed.time);
+            message.append("\n");
+            this.logMessage(message.toString());
+        }
     }
 
 
     // ========== DEVS simulation protocol methods ==========
 
 
+    /** @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+        this.seeds = SimulationSeeds.from(simParams);
+        this.givenProfile = WindProfile.from(simParams);
+        this.powerCurve = WindPowerCurve.from(simParams);
+        Object delta = simParams.get(PRODUCTION_DELTA_PARAMETER);
+        this.productionDelta = delta == null ? DEFAULT_PRODUCTION_DELTA : ((Number) delta).doubleValue();
+    }
+
     /** @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time) */
     @Override
     public void initialiseState(Time initialTime) {
+        // The profile must be ready before the first time advance is computed
+        this.profile = this.givenProfile != null
+                ? this.givenProfile
+                : WindProfile.synthetic(SimulationSeeds.orDefault(this.seeds).seedFor(this.uri), MAX_EXTERNAL_WIND_SPEED);
+        this.profileTime = 0.0;
+        this.currentSample = 0;
+        this.nextSample = this.findNextSample(0);
         super.initialiseState(initialTime);
-        this.cycleTime = 0.0;
     }
 
     /** @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#initialiseVariables(fr.sorbonne_u.devs_simulation.models.time.Time) */
@@ -95,35 +198,30 @@ public class ExternalWindModel
     protected void initialiseVariables(Time startTime) {
         super.initialiseVariables(startTime);
 
-        this.externalWindSpeed.v = MIN_EXTERNAL_WIND_SPEED;
+        this.externalWindSpeed.v = this.profile.getSpeed(this.currentSample);
 
         this.toggleDebugMode();
         this.logMessage("Simulation starts.\n");
-        StringBuffer message = new StringBuffer("current external wind speed: ");
-        message.append(this.externalWindSpeed.v);
-        message.append(" at ");
-        message.append(this.getCurrentStateTime());
-        message.append("\n");
-        this.logMessage(message.toString());
+        this.traceWindSpeed();
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output() */
     @Override
     public ArrayList<EventI> output() {
-        ArrayList<EventI> events = null;
-        if(windSpeedHasChanged) {
-            events = new ArrayList<>();
-            events.add(new WindSpeedChange(this.externalWindSpeed.time));
-            windSpeedHasChanged = false;
-        }
-        return events;
+        // Every internal transition exports a significant change
+        ArrayList<EventI> events = this.recycler.newOutput();
+        events.add(this.recycler.obtain(WindSpeedChange.class, WindSpeedChange::new, this.getTimeOfNextEvent()));
+        return this.recycler.emit(events);
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#timeAdvance() */
     @Override
     public Duration timeAdvance() {
-        // The model makes an internal transition every evaluation step duration
-        return this.evaluationStep;
+        if (this.nextSample < 0) {
+            return Duration.INFINITY;
+        }
+        return new Duration(Math.max(this.nextSample * this.profile.getPeriod() - this.profileTime, 0.0),
+                this.getSimulatedTimeUnit());
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration) */
@@ -131,38 +229,14 @@ public class ExternalWindModel
     public void userDefinedInternalTransition(Duration elapsedTime) {
         super.userDefinedInternalTransition(elapsedTime);
 
-        // Compute the current time in the cycle
-        this.cycleTime += elapsedTime.getSimulatedDuration();
-        if (this.cycleTime > PERIOD) {
-            this.cycleTime -= PERIOD;
-        }
-
-        // Compute the new wind speed
-        double c = Math.cos((1.0 + this.cycleTime/(PERIOD/2.0))*Math.PI);
-
-        // TODO Adjust correctly
-        // simplifier equation avec sinus
-        // il faut avoir : le pas d'intégration (STEP) < PERIOD !!
-        // Créer loi normale N[0 (moyenne),5 (écart)]
-        // rg = random number generator
-        // r = rg.nextGaussian(0.0, 5.0)
-        // facteur d'amplitude*sin(period) + r
-
-        this.externalWindSpeed.v =
-                MIN_EXTERNAL_WIND_SPEED
-                + (MAX_EXTERNAL_WIND_SPEED - MIN_EXTERNAL_WIND_SPEED)
-                * ((1.0 + c) / 2.0);
+        // Move to the significant sample, on the exact sample time to avoid any drift
+        this.currentSample = this.nextSample;
+        this.profileTime = this.currentSample * this.profile.getPeriod();
+        this.nextSample = this.findNextSample(this.currentSample);
 
+        this.externalWindSpeed.v = this.profile.getSpeed(this.currentSample);
         this.externalWindSpeed.time = this.getCurrentStateTime();
-        this.windSpeedHasChanged = true;
-
-        // Tracing
-        StringBuffer message = new StringBuffer("current external wind speed: ");
-        message.append(this.externalWindSpeed.v);
-        message.append(" at ");
-        message.append(this.getCurrentStateTime());
-        message.append("\n");
-        this.logMessage(message.toString());
+        this.traceWindSpeed();
     }
 
     /** @see fr.sorbonne_u.devs_simulation.models.AtomicModel#endSimulation(fr.sorbonne_u.devs_simulation.models.time.Time) */
@@ -0,0 +1,164 @@
+package eco_logis.equipments.wind_turbine.mil;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This class represents the power curve of a wind turbine: the electric power
+ * it produces for a given wind speed
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The curve is a lookup table of wind speeds and powers, interpolated
+ * linearly between its points. The turbine produces nothing under its cut-in
+ * speed, where the wind is too weak to turn it, and from its cut-out speed,
+ * where it is stopped to protect it. The points of the table must lie between
+ * these two speeds.
+ * </p>
+ * <p>
+ * The curve used by a run is given by the simulation run parameter
+ * {@code POWER_CURVE_PARAMETER}, {@code DEFAULT} being used without it.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code 0 <= cutIn && cutIn < cutOut}
+ * invariant	{@code speeds.length == powers.length && speeds.length >= 2}
+ * invariant	{@code speeds is strictly increasing, speeds[0] >= cutIn && speeds[speeds.length - 1] <= cutOut}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class WindPowerCurve
+    implements Serializable
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Name of the simulation run parameter giving the power curve (a {@code WindPowerCurve}) */
+    public static final String POWER_CURVE_PARAMETER = "eco_logis.wind.powerCurve";
+
+    /** Curve of a 5 kW domestic turbine: cut-in at 10.8 km/h, rated at 43.2 km/h, cut-out at 90 km/h */
+    public static final WindPowerCurve DEFAULT = new WindPowerCurve(
+            10.8, 90.0,
+            new double[] {10.8, 14.4,  18.0,  21.6,   25.2,   28.8,   32.4,   36.0,   39.6,   43.2,   90.0},
+            new double[] { 0.0, 90.0, 280.0, 580.0, 1000.0, 1560.0, 2260.0, 3100.0, 4050.0, 5000.0, 5000.0}
+    );
+
+
+    // ========== Attributes ==========
+
+
+    /** Speed under which the turbine produces nothing (km/h) */
+    private final double cutIn;
+
+    /** Speed from which the turbine is stopped (km/h) */
+    private final double cutOut;
+
+    /** Wind speeds of the table (km/h) */
+    private final double[] speeds;
+
+    /** Powers of the table (W) */
+    private final double[] powers;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new power curve
+     *
+     * @param cutIn The speed under which the turbine produces nothing in km/h
+     * @param cutOut The speed from which the turbine is stopped in km/h
+     * @param speeds The wind speeds of the table in km/h, strictly increasing
+     * @param powers The powers produced at these speeds in watts
+     */
+    public WindPowerCurve(double cutIn, double cutOut, double[] speeds, double[] powers) {
+        if (cutIn < 0.0 || cutOut <= cutIn) {
+            throw new IllegalArgumentException("The cut-in speed must be positive and below the cut-out speed");
+        }
+        if (speeds.length != powers.length || speeds.length < 2) {
+            throw new IllegalArgumentException("A power curve needs as many speeds as powers, at least two");
+        }
+        for (int i = 1; i < speeds.length; i++) {
+            if (speeds[i] <= speeds[i - 1]) {
+                throw new IllegalArgumentException("The speeds of a power curve must be strictly increasing");
+            }
+        }
+        if (speeds[0] < cutIn || speeds[speeds.length - 1] > cutOut) {
+            throw new IllegalArgumentException("The speeds of a power curve must be between its cut-in and cut-out speeds");
+        }
+        this.cutIn = cutIn;
+        this.cutOut = cutOut;
+        this.speeds = speeds.clone();
+        this.powers = powers.clone();
+    }
+
+
+    // ========== Getters ==========
+
+
+    public double getCutIn() {
+        return cutIn;
+    }
+
+    public double getCutOut() {
+        return cutOut;
+    }
+
+    /**
+     * Get the highest power of the curve
+     *
+     * @return The rated power in watts
+     */
+    public double getRatedPower() {
+        return Arrays.stream(powers).max().orElse(0.0);
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the power curve given by the simulation run parameters
+     *
+     * @param simParams The simulation run parameters
+     * @return The power curve of the run, {@code DEFAULT} if the parameters give none
+     */
+    public static WindPowerCurve from(Map<String, Object> simParams) {
+        Object curve = simParams.get(POWER_CURVE_PARAMETER);
+        return curve == null ? DEFAULT : (WindPowerCurve) curve;
+    }
+
+    /**
+     * Get the power produced at a wind speed
+     *
+     * @param speed The wind speed in km/h
+     * @return The power in watts
+     */
+    public double powerAt(double speed) {
+        if (speed < cutIn || speed >= cutOut) {
+            return 0.0;
+        }
+        int i = Arrays.binarySearch(speeds, speed);
+        if (i >= 0) {
+            return powers[i];
+        }
+        // Between the cut-in speed and the first point, or the last point and the cut-out speed
+        int high = -i - 1;
+        if (high == 0) {
+            return powers[0];
+        }
+        if (high == speeds.length) {
+            return powers[speeds.length - 1];
+        }
+        int low = high - 1;
+        return powers[low] + (speed - speeds[low]) * (powers[high] - powers[low]) / (speeds[high] - speeds[low]);
+    }
+
+}
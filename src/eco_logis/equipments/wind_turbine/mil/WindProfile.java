@@ -0,0 +1,260 @@
+package eco_logis.equipments.wind_turbine.mil;
+
+import org.apache.commons.math3.random.RandomDataGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * This class represents a wind profile: the wind speeds outside the house,
+ * sampled at a fixed period
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The speed is held constant over each sample period, as recorded speeds are
+ * averages over their period, and the profile loops when the simulation lasts
+ * longer than it. A profile is either recorded and loaded from a binary file,
+ * or synthetic and generated from a seed.
+ * </p>
+ * <p>
+ * The binary format is big endian: the int {@code MAGIC}, the sample period in
+ * seconds as a double, the number of samples as an int, then the speeds in
+ * km/h as floats.
+ * </p>
+ * <p>
+ * The profile used by a run is given by the simulation run parameter
+ * {@code PROFILE_PARAMETER}, either as a {@code WindProfile} or as the path of
+ * its binary file.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code period > 0.0 && speeds.length > 0}
+ * invariant	{@code for all i, speeds[i] >= 0.0}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class WindProfile
+    implements Serializable
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Name of the simulation run parameter giving the wind profile (a {@code WindProfile} or a file path) */
+    public static final String PROFILE_PARAMETER = "eco_logis.wind.profile";
+
+    /** First int of a wind profile file ("WIND") */
+    public static final int MAGIC = 0x57494E44;
+
+    /** Sample period of the synthetic profiles in seconds */
+    public static final double SYNTHETIC_PERIOD = 60.0;
+
+    /** Number of samples of the synthetic profiles: one day */
+    public static final int SYNTHETIC_SAMPLES = 24 * 60;
+
+    /** Mean wind speed of the synthetic profiles (km/h) */
+    protected static final double SYNTHETIC_MEAN = 18.0;
+
+    /** Amplitude of the daily cycle of the synthetic profiles (km/h) */
+    protected static final double SYNTHETIC_DAILY_AMPLITUDE = 6.0;
+
+    /** Standard deviation of the gusts of the synthetic profiles (km/h) */
+    protected static final double SYNTHETIC_GUST_DEVIATION = 8.0;
+
+    /** Correlation of the gusts of the synthetic profiles from one sample to the next */
+    protected static final double SYNTHETIC_GUST_CORRELATION = 0.97;
+
+
+    // ========== Attributes ==========
+
+
+    /** The sample period in seconds */
+    private final double period;
+
+    /** The wind speeds in km/h */
+    private final float[] speeds;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new wind profile
+     *
+     * @param period The sample period in seconds
+     * @param speeds The wind speeds in km/h
+     */
+    public WindProfile(double period, float[] speeds) {
+        if (!(period > 0.0) || speeds.length == 0) {
+            throw new IllegalArgumentException("A wind profile needs a positive period and at least one sample");
+        }
+        for (float s : speeds) {
+            if (!(s >= 0.0f)) {
+                throw new IllegalArgumentException("The wind speeds must be positive");
+            }
+        }
+        this.period = period;
+        this.speeds = speeds.clone();
+    }
+
+
+    // ========== Getters ==========
+
+
+    public double getPeriod() {
+        return period;
+    }
+
+    public int size() {
+        return speeds.length;
+    }
+
+    /**
+     * Get a sample of the profile, looping over it
+     *
+     * @param index The index of the sample, possibly beyond the profile
+     * @return The wind speed of the sample in km/h
+     */
+    public double getSpeed(long index) {
+        return speeds[(int) Math.floorMod(index, (long) speeds.length)];
+    }
+
+    /**
+     * Get the wind speed at a time
+     *
+     * @param time The time since the start of the profile in seconds
+     * @return The wind speed in km/h
+     */
+    public double speedAt(double time) {
+        return getSpeed((long) Math.floor(time / period));
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Generate a synthetic profile: a daily cycle, weakest in the morning, with
+     * correlated gusts
+     *
+     * @param seed The seed of the gusts
+     * @param maxSpeed The speed the profile never exceeds in km/h
+     * @return The profile, one day sampled every {@code SYNTHETIC_PERIOD}
+     */
+    public static WindProfile synthetic(long seed, double maxSpeed) {
+        RandomDataGenerator generator = new RandomDataGenerator();
+        generator.reSeed(seed);
+
+        float[] speeds = new float[SYNTHETIC_SAMPLES];
+        double innovation = SYNTHETIC_GUST_DEVIATION
+                * Math.sqrt(1.0 - SYNTHETIC_GUST_CORRELATION * SYNTHETIC_GUST_CORRELATION);
+        double gust = generator.nextGaussian(0.0, SYNTHETIC_GUST_DEVIATION);
+        for (int i = 0; i < speeds.length; i++) {
+            double dayFraction = (double) i / speeds.length;
+            double cycle = -SYNTHETIC_DAILY_AMPLITUDE * Math.cos(2.0 * Math.PI * (dayFraction - 0.25));
+            speeds[i] = (float) Math.min(Math.max(SYNTHETIC_MEAN + cycle + gust, 0.0), maxSpeed);
+            gust = SYNTHETIC_GUST_CORRELATION * gust + generator.nextGaussian(0.0, innovation);
+        }
+        return new WindProfile(SYNTHETIC_PERIOD, speeds);
+    }
+
+    /**
+     * Get the profile given by the simulation run parameters, loading its file
+     * if needed
+     *
+     * @param simParams The simulation run parameters
+     * @return The profile of the run, null if the parameters give none
+     * @throws IOException If the profile file can't be read
+     */
+    public static WindProfile from(Map<String, Object> simParams) throws IOException {
+        Object profile = simParams.get(PROFILE_PARAMETER);
+        if (profile == null || profile instanceof WindProfile) return (WindProfile) profile;
+        return load(profile instanceof Path ? (Path) profile : Paths.get(profile.toString()));
+    }
+
+    /**
+     * Load a profile from its binary file
+     *
+     * @param path The path of the file
+     * @return The profile
+     * @throws IOException If the file can't be read or is not a wind profile
+     */
+    public static WindProfile load(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Read a profile in the binary format
+     *
+     * @param in The stream to read, left open
+     * @return The profile
+     * @throws IOException If the stream can't be read or is not a wind profile
+     */
+    public static WindProfile read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a wind profile");
+        }
+        double period = data.readDouble();
+        int count = data.readInt();
+        if (count <= 0) {
+            throw new IOException("Invalid number of wind samples : " + count);
+        }
+        float[] speeds = new float[count];
+        for (int i = 0; i < count; i++) {
+            speeds[i] = data.readFloat();
+        }
+        try {
+            return new WindProfile(period, speeds);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Save the profile in its binary file
+     *
+     * @param path The path of the file
+     * @throws IOException If the file can't be written
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(out);
+        }
+    }
+
+    /**
+     * Write the profile in the binary format
+     *
+     * @param out The stream to write, left open
+     * @throws IOException If the stream can't be written
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeDouble(period);
+        data.writeInt(speeds.length);
+        for (float s : speeds) {
+            data.writeFloat(s);
+        }
+        data.flush();
+    }
+
+}
@@ -1,8 +1,12 @@
 package eco_logis.equipments.wind_turbine.mil;
 
+import eco_logis.equipments.electric_meter.mil.events.BalanceChanged;
 import eco_logis.equipments.wind_turbine.mil.events.AbstractWindTurbineEvent;
 import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
+import eco_logis.equipments.wind_turbine.mil.events.WindSpeedChange;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -16,17 +20,29 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the electricity model of a wind turbine
  *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The production is read on the {@code WindPowerCurve} of the turbine from
+ * the external wind speed, when the turbine is unblocked and each time the
+ * external wind model signals a significant change of the speed.
+ * </p>
+ *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
  */
 @ModelExternalEvents(imported = {
         UnblockWindTurbine.class,
-        BlockWindTurbine.class})
+        BlockWindTurbine.class,
+        WindSpeedChange.class},
+exported = {
+        BalanceChanged.class
+})
 public class WindTurbineElectricityModel
     extends AtomicHIOA
 {
@@ -55,6 +71,12 @@ public class WindTurbineElectricityModel
     @ExportedVariable(type = Double.class)
     protected final Value<Double> currentProduction = new Value<>(this, 0.0);
 
+    /** The power curve of the wind turbine */
+    protected WindPowerCurve powerCurve = WindPowerCurve.DEFAULT;
+
+    /** The recycler of the emitted events and of the output list */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -72,7 +94,7 @@ public class WindTurbineElectricityModel
      */
     public WindTurbineElectricityModel(String uri, TimeUnit timeUnit, SimulatorI engine) throws Exception {
         super(uri, timeUnit, engine);
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -123,6 +145,14 @@ public class WindTurbineElectricityModel
     // ========== Override methods ==========
 
 
+    /** @see AtomicHIOA#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        this.recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+        powerCurve = WindPowerCurve.from(simParams);
+    }
+
     /** @see AtomicHIOA#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
@@ -145,8 +175,10 @@ public class WindTurbineElectricityModel
     /** @see AtomicHIOA#output() */
     @Override
     public ArrayList<EventI> output() {
-        // The model does not export events
-        return null;
+        // The internal transitions only follow a change of the consumption or the production
+        ArrayList<EventI> res = this.recycler.newOutput();
+        res.add(this.recycler.obtain(BalanceChanged.class, BalanceChanged::new, this.getTimeOfNextEvent()));
+        return this.recycler.emit(res);
     }
 
     /** @see AtomicHIOA#timeAdvance() */
@@ -166,8 +198,7 @@ public class WindTurbineElectricityModel
 
         // Set the current production
         if(isOn) {
-            // At maximum speed (150km/h), the wind turbine produces 5kW
-            currentProduction.v = externalWindSpeed.v * 5000 / 150.0;
+            currentProduction.v = powerCurve.powerAt(externalWindSpeed.v);
         } else {
             currentProduction.v = 0.0d;
         }
@@ -176,20 +207,23 @@ public class WindTurbineElectricityModel
         currentProduction.time = getCurrentStateTime();
 
         // Tracing
-        logMessage("Current production " + currentProduction.v + " at " + currentProduction.time + "\n");
+        if (isDebugModeOn()) {
+            logMessage("Current production " + currentProduction.v + " at " + currentProduction.time + "\n");
+        }
     }
 
     /** @see AtomicHIOA#userDefinedExternalTransition(Duration) */
     @Override
     public void userDefinedExternalTransition(Duration elapsedTime) {
-        // Get the current event
+        // Get the current events, a wind speed change may come with a user event
         ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
-        assert	currentEvents != null && currentEvents.size() == 1;
-        Event currentEvent = (Event) currentEvents.get(0);
+        assert	currentEvents != null && !currentEvents.isEmpty();
 
-        // Execute the event on the model
-        assert currentEvent instanceof AbstractWindTurbineEvent;
-        currentEvent.executeOn(this);
+        // Execute the events on the model
+        for (EventI e : currentEvents) {
+            assert e instanceof AbstractWindTurbineEvent;
+            ((Event) e).executeOn(this);
+        }
 
         super.userDefinedExternalTransition(elapsedTime);
     }
@@ -2,6 +2,9 @@ package eco_logis.equipments.wind_turbine.mil;
 
 import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
+import eco_logis.utils.EventRecycler;
+import eco_logis.utils.SimulationSeeds;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.devs_simulation.es.events.ES_EventI;
 import fr.sorbonne_u.devs_simulation.es.models.AtomicES_Model;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -13,6 +16,7 @@ import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
 import org.apache.commons.math3.random.RandomDataGenerator;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -41,6 +45,12 @@ public class WindTurbineUserModel
     /** The random data generator from the common math lib */
     protected RandomDataGenerator generator;
 
+    /** The seeds of the run, null to use the default ones */
+    protected SimulationSeeds seeds;
+
+    /** The recycler of the emitted events */
+    protected final EventRecycler recycler = new EventRecycler();
+
 
     // ========== Constructors ==========
 
@@ -58,7 +68,7 @@ public class WindTurbineUserModel
     public WindTurbineUserModel(String uri, TimeUnit simulatedTimeUnit, SimulatorI simulationEngine) throws Exception {
         super(uri, simulatedTimeUnit, simulationEngine);
         generator = new RandomDataGenerator();
-        setLogger(new StandardLogger());
+        setLogger(TraceRecorder.route(new StandardLogger()));
     }
 
 
@@ -72,19 +82,29 @@ public class WindTurbineUserModel
         // Get the current event and the time of the next
         EventI current = eventList.peek();
         assert current != null;
-        Time nextTime = computeTimeOfNextEvent(current.getTimeOfOccurrence());
+        Time from = current.getTimeOfOccurrence();
+        double delay = computeDelay();
 
         // Create the next event
         ES_EventI next = null;
         if(current instanceof UnblockWindTurbine) {
-            next = new BlockWindTurbine(nextTime);
+            next = recycler.obtain(BlockWindTurbine.class, BlockWindTurbine::new, from, delay);
         }
         else if(current instanceof BlockWindTurbine) {
-            next = new UnblockWindTurbine(nextTime);
+            next = recycler.obtain(UnblockWindTurbine.class, UnblockWindTurbine::new, from, delay);
         }
         scheduleEvent(next);
     }
 
+    /**
+     * Compute the delay before the next event by a random gaussian generation
+     *
+     * @return The delay, in the simulated time unit
+     */
+    protected double computeDelay() {
+        return Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
+    }
+
     /**
      * Compute the time of the next event by a random gaussian generation
      *
@@ -92,20 +112,27 @@ public class WindTurbineUserModel
      * @return The time of the next event
      */
     protected Time computeTimeOfNextEvent(Time from) {
-        double delay = Math.max(generator.nextGaussian(STEP_MEAN_DURATION, STEP_MEAN_DURATION/2.0), 0.1);
-        return from.add(new Duration(delay, this.getSimulatedTimeUnit()));
+        return from.add(new Duration(computeDelay(), this.getSimulatedTimeUnit()));
     }
 
 
     // ========== Override methods ==========
 
 
+    /** @see AtomicES_Model#setSimulationRunParameters(Map) */
+    @Override
+    public void setSimulationRunParameters(Map<String, Object> simParams) throws Exception {
+        super.setSimulationRunParameters(simParams);
+        seeds = SimulationSeeds.from(simParams);
+        recycler.setPooling(EventRecycler.isPoolingRequested(simParams));
+    }
+
     /** @see AtomicES_Model#initialiseState(Time) */
     @Override
     public void initialiseState(Time initialTime) {
         super.initialiseState(initialTime);
 
-        generator.reSeedSecure();
+        SimulationSeeds.orDefault(seeds).reSeed(generator, uri);
 
         // Create the first event
         Time nextTime = computeTimeOfNextEvent(getCurrentStateTime());
@@ -123,8 +150,10 @@ public class WindTurbineUserModel
     /** @see AtomicES_Model#output() */
     @Override
     public ArrayList<EventI> output() {
+        // The events of the previous output have been executed, they can be reused
+        recycler.recycleEmitted();
         if(eventList.peek() != null) generateNextEvent();
-        return super.output();
+        return recycler.emit(super.output());
     }
 
     /** @see AtomicES_Model#endSimulation(Time) */
@@ -8,7 +8,7 @@ import fr.sorbonne_u.devs_simulation.models.time.Time;
 
 /**
  * This class represent a wind speed change event for the wind turbine.
- * It is used as an internal event to update the wind turbine electricity production
+ * It is sent by the external wind model to update the wind turbine electricity production
  *
  * @author Emilie SIAU
  * @author Hugo GUERRIER
@@ -41,8 +41,8 @@ public class WindSpeedChange
     public void executeOn(AtomicModel model) {
         assert model instanceof WindTurbineElectricityModel;
         WindTurbineElectricityModel m = (WindTurbineElectricityModel) model;
-        if(!m.isOn()) {
-            m.setOn(true);
+        // A blocked wind turbine produces nothing whatever the wind
+        if(m.isOn()) {
             m.setHasChanged(true);
         }
     }
@@ -3,6 +3,7 @@ package eco_logis.equipments.wind_turbine.sil;
 import eco_logis.equipments.wind_turbine.WindTurbine;
 import eco_logis.equipments.wind_turbine.WindTurbineRTAtomicSimulatorPlugin;
 import eco_logis.equipments.wind_turbine.mil.ExternalWindModel;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 
@@ -69,7 +70,7 @@ public class ExternalWindSILModel
         assert simParams.containsKey(WindTurbineRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
         this.owner = (WindTurbine) simParams.get(WindTurbineRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
-        this.setLogger(new StandardComponentLogger(this.owner));
+        this.setLogger(TraceRecorder.route(new StandardComponentLogger(this.owner)));
     }
 
 }
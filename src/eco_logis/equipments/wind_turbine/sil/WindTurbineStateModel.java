@@ -5,6 +5,7 @@ import eco_logis.equipments.wind_turbine.WindTurbineRTAtomicSimulatorPlugin;
 import eco_logis.equipments.wind_turbine.mil.events.AbstractWindTurbineEvent;
 import eco_logis.equipments.wind_turbine.mil.events.BlockWindTurbine;
 import eco_logis.equipments.wind_turbine.mil.events.UnblockWindTurbine;
+import eco_logis.utils.trace.TraceRecorder;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.devs_simulation.models.AtomicModel;
 import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
@@ -81,7 +82,7 @@ public class WindTurbineStateModel
         owner = (WindTurbine) simParams.get(WindTurbineRTAtomicSimulatorPlugin.OWNER_REFERENCE_NAME);
 
         // Set the logger in the component logger
-        setLogger(new StandardComponentLogger(owner));
+        setLogger(TraceRecorder.route(new StandardComponentLogger(owner)));
     }
 
     /** @see AtomicModel#initialiseState(Time) */
@@ -0,0 +1,218 @@
+package eco_logis.interfaces;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * This class represents one command of a batch sent by the HEM to a
+ * controllable equipment through the {@code executeBatch} operation of the
+ * equipment control interfaces
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * A command is an immutable pair of an operation and its optional argument
+ * (only {@code POSTPONE} takes one). The batch result is a status vector with
+ * one byte per command, in the same order as the commands.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code operation != null}
+ * invariant	{@code operation != Operation.POSTPONE || argument != null}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class EquipmentCommand
+    implements Serializable
+{
+
+    // ========== Internal Enums and class ==========
+
+
+    /** The operations that can be batched, grouped by control interface */
+    public enum Operation {
+        // StandardEquipmentControlCI
+        SWITCH_ON,
+        SWITCH_OFF,
+        // SuspensionEquipmentControlCI
+        SUSPEND,
+        RESUME,
+        // PlanningEquipmentControlCI
+        POSTPONE,
+        CANCEL,
+        // ProductionEquipmentControlCI
+        START_PRODUCING,
+        STOP_PRODUCING,
+        // StorageEquipmentControlCI
+        START_CONSUMING,
+        STOP_CONSUMING,
+        // UnpredictableProductionEquipmentControlCI
+        FORBID_PRODUCTION,
+        ALLOW_PRODUCTION
+    }
+
+    /** An equipment executing the commands of a batch, one at a time */
+    @FunctionalInterface
+    public interface Executor {
+
+        /**
+         * Execute a command on the equipment
+         *
+         * @param command The command to execute
+         * @return The command status, {@code UNSUPPORTED} if the equipment does not offer its operation
+         * @throws Exception If the operation failed
+         */
+        byte execute(EquipmentCommand command) throws Exception;
+
+    }
+
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Status of a command whose operation returned true */
+    public static final byte DONE = 1;
+
+    /** Status of a command whose operation returned false */
+    public static final byte UNCHANGED = 0;
+
+    /** Status of a command whose operation raised an exception */
+    public static final byte FAILED = -1;
+
+    /** Status of a command whose operation is not offered by the equipment */
+    public static final byte UNSUPPORTED = -2;
+
+
+    // ========== Attributes ==========
+
+
+    /** The operation to execute */
+    private final Operation operation;
+
+    /** The duration argument of a {@code POSTPONE} command, null otherwise */
+    private final Duration argument;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new command
+     *
+     * @param operation The operation to execute
+     * @param argument The duration argument, null for operations without argument
+     */
+    private EquipmentCommand(Operation operation, Duration argument) {
+        this.operation = operation;
+        this.argument = argument;
+    }
+
+    /**
+     * Create a command for an operation without argument
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code operation != null && operation != Operation.POSTPONE}
+     * post	{@code ret.getOperation() == operation}
+     * </pre>
+     *
+     * @param operation The operation to execute
+     * @return The new command
+     */
+    public static EquipmentCommand of(Operation operation) {
+        if (operation == null || operation == Operation.POSTPONE) {
+            throw new IllegalArgumentException("Operation " + operation + " cannot be created without argument");
+        }
+        return new EquipmentCommand(operation, null);
+    }
+
+    /**
+     * Create a command postponing the planned program of an equipment
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code duration != null}
+     * post	{@code ret.getOperation() == Operation.POSTPONE}
+     * </pre>
+     *
+     * @param duration The duration to postpone
+     * @return The new command
+     */
+    public static EquipmentCommand postPone(Duration duration) {
+        if (duration == null) {
+            throw new IllegalArgumentException("A postpone command needs a duration");
+        }
+        return new EquipmentCommand(Operation.POSTPONE, duration);
+    }
+
+
+    // ========== Getters ==========
+
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Duration getArgument() {
+        return argument;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the status of a command from the result of its operation
+     *
+     * @param done The result of the operation, true if it changed the equipment
+     * @return {@code DONE} if the operation changed the equipment, {@code UNCHANGED} otherwise
+     */
+    public static byte statusOf(boolean done) {
+        return done ? DONE : UNCHANGED;
+    }
+
+    /**
+     * Execute the commands one by one and return their status vector; a
+     * command failing does not prevent the following ones from being
+     * executed. This is meant to be called by the equipment components in
+     * their {@code executeBatch} operation, so a whole batch crosses the port
+     * and is executed in a single request of the equipment.
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code equipment != null}
+     * pre	{@code commands != null}
+     * post	{@code ret.length == commands.length}
+     * </pre>
+     *
+     * @param equipment The equipment executing a single command
+     * @param commands The commands to execute, in order
+     * @return The status of each command, one of {@code DONE}, {@code UNCHANGED}, {@code FAILED} or {@code UNSUPPORTED}
+     */
+    public static byte[] executeAll(Executor equipment, EquipmentCommand[] commands) {
+        byte[] res = new byte[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            try {
+                res[i] = equipment.execute(commands[i]);
+            } catch (Exception e) {
+                res[i] = FAILED;
+            }
+        }
+        return res;
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return argument == null ? operation.name() : operation.name() + "(" + argument + ")";
+    }
+
+}
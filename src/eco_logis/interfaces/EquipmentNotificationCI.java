@@ -0,0 +1,21 @@
+package eco_logis.interfaces;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * This interface represents the services required by the equipments to push
+ * their state changes, and offered by the components subscribing to them
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public interface EquipmentNotificationCI
+    extends EquipmentNotificationImplementationI, RequiredCI, OfferedCI
+{
+
+    /** @see EquipmentNotificationImplementationI#notifyState(String, long, EquipmentState) */
+    @Override
+    void notifyState(String equipmentId, long sequence, EquipmentState state) throws Exception;
+
+}
@@ -0,0 +1,43 @@
+package eco_logis.interfaces;
+
+/**
+ * This interface defines the services implemented by a component that wants
+ * to be notified by the equipments when their state changes
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * An equipment numbers the notifications it sends to each subscriber from 1,
+ * without gap: a subscriber receiving a sequence number lower or equal to the
+ * last one it applied gets a late notification, and one receiving a number
+ * more than one above has missed some and should read the whole state again
+ * with {@code describeState}.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public interface EquipmentNotificationImplementationI
+{
+
+    /**
+     * Notify the new state of an equipment, called by the equipment after one
+     * or more changes of its state; the changes close in time are coalesced
+     * into one notification of the latest state
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre  {@code equipmentId != null && !equipmentId.isEmpty()}
+     * pre  {@code sequence > 0}
+     * pre  {@code state != null}
+     * post true
+     * </pre>
+     *
+     * @param equipmentId The identifier given by the subscriber to the equipment
+     * @param sequence The sequence number of the notification for this subscriber
+     * @param state The current state of the equipment
+     * @throws Exception TODO
+     */
+    void notifyState(String equipmentId, long sequence, EquipmentState state) throws Exception;
+
+}
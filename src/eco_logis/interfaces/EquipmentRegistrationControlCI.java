@@ -37,4 +37,20 @@ public interface EquipmentRegistrationControlCI
             String xmlControllerPath
     ) throws Exception;
 
+    /**
+     * Unregister an equipment, which is not controlled by the Home Energy Manager anymore
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code id != null && !id.isEmpty()}
+     * post	true
+     * </pre>
+     *
+     * @param id ID of the equipment
+     * @return If the equipment was registered
+     * @throws Exception TODO
+     */
+    boolean unregister(String id) throws Exception;
+
 }
@@ -0,0 +1,312 @@
+package eco_logis.interfaces;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * This class represents the state of a controllable equipment, as returned
+ * in a single call by the {@code describeState} operation of the equipment
+ * control interfaces
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * A state gathers every value the HEM needs to decide on an equipment, so a
+ * decision costs one call per equipment instead of one per value. It is
+ * created by the factory of the control family of the equipment; the fields
+ * outside this family keep their neutral value: false for the flags, NaN for
+ * the emergency and the power level, null for the plan.
+ * </p>
+ * <p>
+ * A state is immutable.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code (startTime == null) == (duration == null) && (startTime == null) == (deadline == null)}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class EquipmentState
+    implements Serializable
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Attributes ==========
+
+
+    /** If the equipment is on */
+    private final boolean on;
+
+    /** If the equipment is suspended */
+    private final boolean suspended;
+
+    /** The emergency to resume the equipment between 0 and 1, NaN if it cannot be suspended */
+    private final double emergency;
+
+    /** The start time of the planned program, null without plan */
+    private final LocalTime startTime;
+
+    /** The duration of the planned program, null without plan */
+    private final Duration duration;
+
+    /** The deadline of the planned program, null without plan */
+    private final LocalTime deadline;
+
+    /** If the equipment is producing */
+    private final boolean producing;
+
+    /** If the equipment is consuming to store energy */
+    private final boolean consuming;
+
+    /** The stored power or fuel level between 0 and 1, NaN if the equipment stores nothing */
+    private final double powerLevel;
+
+    /** If the production of the equipment is forbidden */
+    private final boolean forbidden;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new equipment state
+     *
+     * @param on If the equipment is on
+     * @param suspended If the equipment is suspended
+     * @param emergency The emergency to resume the equipment
+     * @param startTime The start time of the planned program
+     * @param duration The duration of the planned program
+     * @param deadline The deadline of the planned program
+     * @param producing If the equipment is producing
+     * @param consuming If the equipment is consuming to store energy
+     * @param powerLevel The stored power level
+     * @param forbidden If the production of the equipment is forbidden
+     */
+    private EquipmentState(boolean on, boolean suspended, double emergency,
+                           LocalTime startTime, Duration duration, LocalTime deadline,
+                           boolean producing, boolean consuming, double powerLevel, boolean forbidden)
+    {
+        this.on = on;
+        this.suspended = suspended;
+        this.emergency = emergency;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.deadline = deadline;
+        this.producing = producing;
+        this.consuming = consuming;
+        this.powerLevel = powerLevel;
+        this.forbidden = forbidden;
+    }
+
+    /**
+     * Create the state of an equipment of {@code StandardEquipmentControlCI}
+     *
+     * @param on If the equipment is on
+     * @return The new state
+     */
+    public static EquipmentState standard(boolean on) {
+        return new EquipmentState(on, false, Double.NaN, null, null, null, false, false, Double.NaN, false);
+    }
+
+    /**
+     * Create the state of an equipment of {@code SuspensionEquipmentControlCI}
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code emergency >= 0.0 && emergency <= 1.0}
+     * post	{@code ret.isSuspended() == suspended}
+     * </pre>
+     *
+     * @param on If the equipment is on
+     * @param suspended If the equipment is suspended
+     * @param emergency The emergency to resume the equipment
+     * @return The new state
+     */
+    public static EquipmentState suspension(boolean on, boolean suspended, double emergency) {
+        if (!(emergency >= 0.0 && emergency <= 1.0)) {
+            throw new IllegalArgumentException("The emergency " + emergency + " is not between 0 and 1");
+        }
+        return new EquipmentState(on, suspended, emergency, null, null, null, false, false, Double.NaN, false);
+    }
+
+    /**
+     * Create the state of an equipment of {@code PlanningEquipmentControlCI},
+     * the start time, the duration and the deadline being all null without plan
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code (startTime == null) == (duration == null) && (startTime == null) == (deadline == null)}
+     * post	{@code ret.hasPlan() == (startTime != null)}
+     * </pre>
+     *
+     * @param on If the equipment is on
+     * @param startTime The start time of the planned program
+     * @param duration The duration of the planned program
+     * @param deadline The deadline of the planned program
+     * @return The new state
+     */
+    public static EquipmentState planning(boolean on, LocalTime startTime, Duration duration, LocalTime deadline) {
+        if ((startTime == null) != (duration == null) || (startTime == null) != (deadline == null)) {
+            throw new IllegalArgumentException("A plan needs a start time, a duration and a deadline");
+        }
+        return new EquipmentState(on, false, Double.NaN, startTime, duration, deadline, false, false, Double.NaN, false);
+    }
+
+    /**
+     * Create the state of an equipment of {@code ProductionEquipmentControlCI}
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code Double.isNaN(powerLevel) || (powerLevel >= 0.0 && powerLevel <= 1.0)}
+     * post	{@code ret.isProducing() == producing}
+     * </pre>
+     *
+     * @param producing If the equipment is producing
+     * @param powerLevel The fuel level of the equipment, NaN if it burns none
+     * @return The new state
+     */
+    public static EquipmentState production(boolean producing, double powerLevel) {
+        if (!Double.isNaN(powerLevel) && !(powerLevel >= 0.0 && powerLevel <= 1.0)) {
+            throw new IllegalArgumentException("The power level " + powerLevel + " is not between 0 and 1");
+        }
+        return new EquipmentState(producing, false, Double.NaN, null, null, null, producing, false, powerLevel, false);
+    }
+
+    /**
+     * Create the state of an equipment of {@code StorageEquipmentControlCI}
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code !(producing && consuming)}
+     * pre	{@code powerLevel >= 0.0 && powerLevel <= 1.0}
+     * post	{@code ret.getPowerLevel() == powerLevel}
+     * </pre>
+     *
+     * @param producing If the equipment is producing
+     * @param consuming If the equipment is consuming to store energy
+     * @param powerLevel The stored power level
+     * @return The new state
+     */
+    public static EquipmentState storage(boolean producing, boolean consuming, double powerLevel) {
+        if (producing && consuming) {
+            throw new IllegalArgumentException("A storage equipment cannot produce and consume at once");
+        }
+        if (!(powerLevel >= 0.0 && powerLevel <= 1.0)) {
+            throw new IllegalArgumentException("The power level " + powerLevel + " is not between 0 and 1");
+        }
+        return new EquipmentState(producing || consuming, false, Double.NaN, null, null, null,
+                producing, consuming, powerLevel, false);
+    }
+
+    /**
+     * Create the state of an equipment of {@code UnpredictableProductionEquipmentControlCI}
+     *
+     * @param producing If the equipment is producing
+     * @param forbidden If the production of the equipment is forbidden
+     * @return The new state
+     */
+    public static EquipmentState unpredictable(boolean producing, boolean forbidden) {
+        return new EquipmentState(producing, false, Double.NaN, null, null, null, producing, false, Double.NaN, forbidden);
+    }
+
+
+    // ========== Getters ==========
+
+
+    public boolean isOn() {
+        return on;
+    }
+
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    public double getEmergency() {
+        return emergency;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public LocalTime getDeadline() {
+        return deadline;
+    }
+
+    public boolean isProducing() {
+        return producing;
+    }
+
+    public boolean isConsuming() {
+        return consuming;
+    }
+
+    public double getPowerLevel() {
+        return powerLevel;
+    }
+
+    public boolean isForbidden() {
+        return forbidden;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get if the equipment has a planned program
+     *
+     * @return True if the equipment has a plan
+     */
+    public boolean hasPlan() {
+        return startTime != null;
+    }
+
+    /**
+     * Get the time left between the end of the planned program and its deadline
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code hasPlan()}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @return The slack of the plan, negative if the program ends after its deadline
+     */
+    public Duration getSlack() {
+        if (!hasPlan()) {
+            throw new IllegalStateException("The equipment has no plan");
+        }
+        return Duration.between(startTime.plus(duration), deadline);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder("EquipmentState[on=").append(on);
+        if (!Double.isNaN(emergency)) res.append(", suspended=").append(suspended).append(", emergency=").append(emergency);
+        if (hasPlan()) res.append(", plan=").append(startTime).append('+').append(duration).append("<=").append(deadline);
+        if (producing) res.append(", producing");
+        if (consuming) res.append(", consuming");
+        if (!Double.isNaN(powerLevel)) res.append(", powerLevel=").append(powerLevel);
+        if (forbidden) res.append(", forbidden");
+        return res.append(']').toString();
+    }
+
+}
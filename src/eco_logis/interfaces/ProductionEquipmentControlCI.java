@@ -57,4 +57,77 @@ public interface ProductionEquipmentControlCI
      */
     boolean stopProducing() throws Exception;
 
+    /**
+     * Execute a batch of commands on the equipment in a single call and return
+     * one status per command, in order: {@code EquipmentCommand.DONE} if the
+     * operation returned true, {@code EquipmentCommand.UNCHANGED} if it returned
+     * false, {@code EquipmentCommand.FAILED} if it raised an exception and
+     * {@code EquipmentCommand.UNSUPPORTED} if the equipment does not offer it.
+     * A failing command does not stop the batch.
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code commands != null}
+     * post	{@code ret.length == commands.length}
+     * </pre>
+     *
+     * @param commands The commands to execute, in order
+     * @return The status vector of the commands
+     * @throws Exception TODO
+     */
+    byte[] executeBatch(EquipmentCommand[] commands) throws Exception;
+
+    /**
+     * Describe the state of the equipment in a single call, with every value
+     * of its control interface that a controller reads to decide on it
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	true
+     * post	{@code ret != null}
+     * </pre>
+     *
+     * @return The current state of the equipment
+     * @throws Exception TODO
+     */
+    EquipmentState describeState() throws Exception;
+
+    /**
+     * Subscribe a component to the state changes of the equipment, pushed
+     * through {@code EquipmentNotificationCI}; subscribing again the same
+     * inbound port replaces its subscription
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     * pre	{@code equipmentId != null && !equipmentId.isEmpty()}
+     * post	true
+     * </pre>
+     *
+     * @param notificationInboundPortURI The URI of the subscriber inbound port offering {@code EquipmentNotificationCI}
+     * @param equipmentId The identifier of the equipment in the notifications
+     * @return True if the equipment pushes its state changes, false if it must be polled
+     * @throws Exception TODO
+     */
+    boolean subscribe(String notificationInboundPortURI, String equipmentId) throws Exception;
+
+    /**
+     * Cancel the subscription of a component to the state changes of the equipment
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre	{@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     * post	true
+     * </pre>
+     *
+     * @param notificationInboundPortURI The URI of the subscriber inbound port
+     * @return True if the subscription existed
+     * @throws Exception TODO
+     */
+    boolean unsubscribe(String notificationInboundPortURI) throws Exception;
+
 }
@@ -0,0 +1,25 @@
+package eco_logis.interfaces;
+
+import eco_logis.utils.RTModelMetrics;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * This interface represents the real time metrics services of the SIL components
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public interface SimulationMetricsCI
+    extends SimulationMetricsImplementationI, RequiredCI, OfferedCI
+{
+
+    /** @see SimulationMetricsImplementationI#getSimulationMetrics() */
+    @Override
+    RTModelMetrics[] getSimulationMetrics() throws Exception;
+
+    /** @see SimulationMetricsImplementationI#getSustainableAccelerationFactor() */
+    @Override
+    double getSustainableAccelerationFactor() throws Exception;
+
+}
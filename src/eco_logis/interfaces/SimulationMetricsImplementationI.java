@@ -0,0 +1,44 @@
+package eco_logis.interfaces;
+
+import eco_logis.utils.RTModelMetrics;
+
+/**
+ * This interface defines the real time metrics of the SIL models of a component
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public interface SimulationMetricsImplementationI
+{
+
+    /**
+     * Get the metrics of the atomic models of the component
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre  true
+     * post {@code return != null}
+     * </pre>
+     *
+     * @return The metrics of each atomic model, as measured so far
+     * @throws Exception TODO
+     */
+    RTModelMetrics[] getSimulationMetrics() throws Exception;
+
+    /**
+     * Estimate the highest acceleration factor the models of the component can keep up with
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     * pre  true
+     * post {@code return > 0.0}
+     * </pre>
+     *
+     * @return The estimated acceleration factor
+     * @throws Exception TODO
+     */
+    double getSustainableAccelerationFactor() throws Exception;
+
+}
@@ -0,0 +1,191 @@
+package eco_logis.utils;
+
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class manages the events a simulation model emits, so the model does
+ * not allocate new events and output lists at each of its outputs
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The output list returned by {@code newOutput()} is the same at each call:
+ * the simulation engine copies the output events to their receivers as soon
+ * as it gets them. When pooling is on, the events are also recycled. An
+ * emitted event is received and executed during the simulation step of its
+ * output, so when the model produces its next output, the events of the
+ * previous one are free: {@code obtain} gives them back with a new time of
+ * occurrence instead of creating new ones.
+ * </p>
+ * <p>
+ * This only holds when the receivers execute the events synchronously, as
+ * in the MIL simulations; pooling is therefore off unless the simulation run
+ * parameter {@code POOLING_PARAMETER} is true, and must stay off when the
+ * events go through components.
+ * </p>
+ * <p>
+ * A receiver must be done with an event at the end of the step in which it
+ * received it. The models keeping a received event to forward it at a later
+ * step, as the SIL state models, must not be given pooled events: they check
+ * it with {@link #isPooled(EventI)} when they store an event.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class EventRecycler
+{
+
+    // ========== Macros ==========
+
+
+    /** Name of the simulation run parameter enabling the pooling of the events (a {@code Boolean}) */
+    public static final String POOLING_PARAMETER = "eco_logis.events.pooling";
+
+
+    // ========== Attributes ==========
+
+
+    /** If the emitted events are recycled */
+    private boolean pooling;
+
+    /** The free events, by class */
+    private final Map<Class<?>, ArrayDeque<EventI>> free = new HashMap<>();
+
+    /** The recyclable events of the last output */
+    private final ArrayList<EventI> emitted = new ArrayList<>();
+
+    /** The output list */
+    private final ArrayList<EventI> output = new ArrayList<>();
+
+
+    // ========== Getters & setters ==========
+
+
+    public boolean isPooling() {
+        return pooling;
+    }
+
+    /**
+     * Enable or disable the pooling, forgetting the free events
+     *
+     * @param pooling If the emitted events must be recycled
+     */
+    public void setPooling(boolean pooling) {
+        this.pooling = pooling;
+        free.clear();
+        emitted.clear();
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get if the simulation run parameters enable the pooling of the events
+     *
+     * @param simParams The simulation run parameters
+     * @return True if {@code POOLING_PARAMETER} is true
+     */
+    public static boolean isPoolingRequested(Map<String, Object> simParams) {
+        return Boolean.TRUE.equals(simParams.get(POOLING_PARAMETER));
+    }
+
+    /**
+     * Get if an event was obtained from a pooling recycler, so it is reused
+     * once its sender produces its next output
+     *
+     * @param e The event
+     * @return True if the event may be recycled
+     */
+    public static boolean isPooled(EventI e) {
+        return e.getTimeOfOccurrence() instanceof RecyclableTime;
+    }
+
+    /**
+     * Get an event, a free one of the same class if pooling is on
+     *
+     * @param type The class of the event
+     * @param factory The constructor of the event from its time of occurrence
+     * @param time The time of occurrence
+     * @param <E> The type of the event
+     * @return The event
+     */
+    public <E extends EventI> E obtain(Class<E> type, Function<Time, E> factory, Time time) {
+        return obtain(type, factory, time, 0.0);
+    }
+
+    /**
+     * Get an event occurring after a delay, a free one of the same class if
+     * pooling is on
+     *
+     * @param type The class of the event
+     * @param factory The constructor of the event from its time of occurrence
+     * @param from The time from which the delay runs
+     * @param delay The delay, in the time unit of {@code from}
+     * @param <E> The type of the event
+     * @return The event
+     */
+    public <E extends EventI> E obtain(Class<E> type, Function<Time, E> factory, Time from, double delay) {
+        if (!pooling) {
+            return factory.apply(delay == 0.0 ? from : from.add(new Duration(delay, from.getTimeUnit())));
+        }
+        double t = from.getSimulatedTime() + delay;
+        ArrayDeque<EventI> events = free.get(type);
+        EventI e = events == null ? null : events.poll();
+        if (e == null) {
+            E created = factory.apply(new RecyclableTime(t, from.getTimeUnit()));
+            assert created.getClass() == type;
+            return created;
+        }
+        ((RecyclableTime) e.getTimeOfOccurrence()).set(t);
+        return type.cast(e);
+    }
+
+    /**
+     * Free the events of the previous output, which have been executed by
+     * their receivers
+     */
+    public void recycleEmitted() {
+        for (EventI e : emitted) {
+            free.computeIfAbsent(e.getClass(), c -> new ArrayDeque<>()).add(e);
+        }
+        emitted.clear();
+    }
+
+    /**
+     * Free the events of the previous output and get the output list, empty
+     *
+     * @return The output list
+     */
+    public ArrayList<EventI> newOutput() {
+        recycleEmitted();
+        output.clear();
+        return output;
+    }
+
+    /**
+     * Record the events of an output, to free them at the next one
+     *
+     * @param events The output events, may be null
+     * @return The output events
+     */
+    public ArrayList<EventI> emit(ArrayList<EventI> events) {
+        if (pooling && events != null) {
+            for (EventI e : events) {
+                if (isPooled(e)) {
+                    emitted.add(e);
+                }
+            }
+        }
+        return events;
+    }
+
+}
@@ -0,0 +1,448 @@
+package eco_logis.utils;
+
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.RTAtomicSimulatorI;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.RTSchedulingI;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents a real time scheduler measuring how late the
+ * transitions of its model execute
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The scheduler wraps the one the plugin gives to a real time atomic engine.
+ * Once bound to the engine, each internal transition measures its lag when
+ * it starts: the difference between the current simulated time of the
+ * engine and the time of the transition, converted back to real time with
+ * the acceleration factor. Unlike the delay the engine computes when it plans
+ * the transition, which is clamped to zero when already late, the lag also
+ * counts the time the previous transitions overran.
+ * </p>
+ * <p>
+ * A lag over {@code LAG_TOLERANCE} is reported to the {@code LagReporterFI}
+ * each time it exceeds the worst lag reported so far, so a model that
+ * cannot keep up leaves a short trace instead of one line per transition.
+ * </p>
+ * <p>
+ * The scheduler also accumulates the {@code RTModelMetrics} of its model:
+ * the lag of the internal transitions, the wait of the external events,
+ * which the engine submits with {@code scheduleImmediate}, the execution
+ * time of both, and the queue depth each of them meets. The schedulers of
+ * the models sharing one executor share their set of pending tasks, so the
+ * queue depth counts the tasks of all these models already due and still
+ * waiting for a thread. The tasks run before the scheduler is bound, or
+ * after the end of the simulation, aren't measured.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class MonitoredRTScheduler
+    implements RTSchedulingI
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Lag under which a transition is on time (ms), the precision of the Java thread scheduler */
+    public static final long LAG_TOLERANCE = 10L;
+
+
+    // ========== Internal classes ==========
+
+
+    /**
+     * Receives the lags of the transitions that can't keep up
+     */
+    @FunctionalInterface
+    public interface LagReporterFI
+        extends Serializable
+    {
+
+        /**
+         * Report a late transition
+         *
+         * @param modelURI The URI of the late model
+         * @param simulatedTime The simulated time of the transition
+         * @param lag The lag of the transition (ms)
+         */
+        void report(String modelURI, Time simulatedTime, double lag);
+
+    }
+
+    /**
+     * A task submitted to the executor and not started yet
+     */
+    public static final class Pending {
+
+        /** The moment the task is due ({@code System.nanoTime()}) */
+        private final long due;
+
+        /** The future of the task, null until the executor accepted it */
+        private volatile Future<?> future;
+
+        /**
+         * Create a new pending task
+         *
+         * @param due The moment the task is due ({@code System.nanoTime()})
+         */
+        private Pending(long due) {
+            this.due = due;
+        }
+
+    }
+
+    /**
+     * Submits a task to the executor
+     *
+     * @param <F> The type of the future
+     */
+    @FunctionalInterface
+    protected interface SubmissionFI<F extends Future<?>> {
+        F submit();
+    }
+
+
+    // ========== Attributes ==========
+
+
+    /** The wrapped scheduler */
+    protected final RTSchedulingI delegate;
+
+    /** Receives the lags */
+    protected final LagReporterFI reporter;
+
+    /** The URI of the model, null until the scheduler is bound */
+    protected volatile String modelURI;
+
+    /** The engine of the model, null until the scheduler is bound */
+    protected transient volatile RTAtomicSimulatorI engine;
+
+    /** The acceleration factor of the engine */
+    protected volatile double accelerationFactor;
+
+    /** The worst lag reported (ms), only used by the thread of the scheduler */
+    protected double worstReportedLag;
+
+    /** The tasks not started yet of all the schedulers sharing the executor */
+    protected final Set<Pending> pending;
+
+    // --- Metrics, guarded by this
+
+    /** The number of internal transitions */
+    protected long internalTransitions;
+
+    /** The number of internal transitions later than the tolerance */
+    protected long deadlineMisses;
+
+    /** The sum of the lags of the internal transitions (ms) */
+    protected double totalLag;
+
+    /** The highest lag of an internal transition (ms) */
+    protected double maxLag;
+
+    /** The number of external transitions */
+    protected long externalTransitions;
+
+    /** The sum of the waits of the external events (ms) */
+    protected double totalWait;
+
+    /** The longest wait of an external event (ms) */
+    protected double maxWait;
+
+    /** The sum of the execution times of the transitions (ns) */
+    protected long totalExecution;
+
+    /** The longest execution time of a transition (ns) */
+    protected long maxExecution;
+
+    /** The sum of the queue depths met by the transitions */
+    protected long totalQueueDepth;
+
+    /** The deepest queue met by a transition */
+    protected int maxQueueDepth;
+
+    /** The start of the first measured transition ({@code System.nanoTime()}) */
+    protected long firstStart;
+
+    /** The end of the last measured transition ({@code System.nanoTime()}) */
+    protected long lastEnd;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new monitored scheduler
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code delegate != null}
+     * pre	{@code reporter != null}
+     * pre	{@code pending != null}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param delegate The wrapped scheduler
+     * @param reporter Receives the lags of the late transitions
+     * @param pending The concurrent set of the pending tasks of the executor of the delegate
+     */
+    public MonitoredRTScheduler(RTSchedulingI delegate, LagReporterFI reporter, Set<Pending> pending) {
+        assert delegate != null && reporter != null && pending != null;
+        this.delegate = delegate;
+        this.reporter = reporter;
+        this.pending = pending;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public String getModelURI() {
+        return modelURI;
+    }
+
+    public boolean isBound() {
+        return engine != null;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Bind the scheduler to the engine it schedules
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code engine.getRTScheduler() == this}
+     * pre	{@code accelerationFactor > 0.0}
+     * post	{@code isBound()}
+     * </pre>
+     *
+     * @param modelURI The URI of the model
+     * @param engine The engine of the model
+     * @param accelerationFactor The acceleration factor of the engine
+     */
+    public void bind(String modelURI, RTAtomicSimulatorI engine, double accelerationFactor) {
+        assert accelerationFactor > 0.0;
+        this.modelURI = modelURI;
+        this.accelerationFactor = accelerationFactor;
+        this.engine = engine;
+    }
+
+    /**
+     * Get the lag of the transition the engine is about to execute
+     *
+     * @return The lag (ms), NaN if the engine has no transition to execute before its end
+     * @throws Exception TODO
+     */
+    protected double currentLag() throws Exception {
+        RTAtomicSimulatorI e = engine;
+        if (e == null || !e.isSimulationRunning()) return Double.NaN;
+        Time next = e.getTimeOfNextEvent();
+        // The forced stop of the engine runs after its end, without transition
+        if (next == null || next.greaterThan(e.getSimulationEndTime())) return Double.NaN;
+        Time current = e.computeCurrentSimulationTime(modelURI);
+        double msPerUnit = next.getTimeUnit().toNanos(1) / 1.0e6;
+        return (current.getSimulatedTime() - next.getSimulatedTime()) * msPerUnit / accelerationFactor;
+    }
+
+    /**
+     * Check the engine is bound and runs its simulation
+     *
+     * @return True if the tasks starting now are measured
+     */
+    protected boolean isSimulating() {
+        RTAtomicSimulatorI e = engine;
+        try {
+            return e != null && e.isSimulationRunning();
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Measure the lag of a transition starting now
+     *
+     * @return The lag (ms), NaN if the task is not a transition of the simulation
+     */
+    protected double transitionStarts() {
+        try {
+            double lag = currentLag();
+            if (lag > LAG_TOLERANCE && lag > worstReportedLag) {
+                worstReportedLag = lag;
+                reporter.report(modelURI, engine.getTimeOfNextEvent(), lag);
+            }
+            return lag;
+        } catch (Exception e) {
+            // The measure must never break the simulation
+            e.printStackTrace();
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Remove a task starting now from the pending ones and count the tasks
+     * already due still waiting, forgetting the cancelled and done ones
+     *
+     * @param started The task starting now
+     * @return The queue depth
+     */
+    protected int dequeue(Pending started) {
+        pending.remove(started);
+        long now = System.nanoTime();
+        int depth = 0;
+        for (Iterator<Pending> it = pending.iterator() ; it.hasNext() ; ) {
+            Pending p = it.next();
+            Future<?> f = p.future;
+            if (f != null && f.isDone()) {
+                it.remove();
+            } else if (p.due <= now) {
+                depth++;
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Record the measures of a transition
+     *
+     * @param lag The lag of the internal transition (ms), NaN for an external one
+     * @param wait The wait of the external event (ms), NaN for an internal transition
+     * @param depth The queue depth met by the transition
+     * @param start The start of the transition ({@code System.nanoTime()})
+     * @param end The end of the transition ({@code System.nanoTime()})
+     */
+    protected synchronized void record(double lag, double wait, int depth, long start, long end) {
+        if (!Double.isNaN(lag)) {
+            internalTransitions++;
+            if (lag > LAG_TOLERANCE) deadlineMisses++;
+            // An early transition is on time
+            totalLag += Math.max(lag, 0.0);
+            maxLag = Math.max(maxLag, lag);
+        } else {
+            externalTransitions++;
+            totalWait += wait;
+            maxWait = Math.max(maxWait, wait);
+        }
+        long execution = end - start;
+        totalExecution += execution;
+        maxExecution = Math.max(maxExecution, execution);
+        totalQueueDepth += depth;
+        maxQueueDepth = Math.max(maxQueueDepth, depth);
+        if (firstStart == 0L) firstStart = start;
+        lastEnd = end;
+    }
+
+    /**
+     * Get a snapshot of the metrics of the model
+     *
+     * @return The metrics
+     */
+    public synchronized RTModelMetrics getMetrics() {
+        return new RTModelMetrics(
+                modelURI, accelerationFactor,
+                internalTransitions, deadlineMisses, totalLag, maxLag,
+                externalTransitions, totalWait, maxWait,
+                totalExecution / 1.0e6, maxExecution / 1.0e6,
+                totalQueueDepth, maxQueueDepth,
+                firstStart == 0L ? 0.0 : (lastEnd - firstStart) / 1.0e6
+        );
+    }
+
+    /**
+     * Register a task with the pending ones, withdrawing it if the executor refuses it
+     *
+     * @param task The task
+     * @param submission Submits the task to the executor
+     * @param <F> The type of the future
+     * @return The future of the task
+     */
+    protected <F extends Future<?>> F enqueue(Pending task, SubmissionFI<F> submission) {
+        pending.add(task);
+        try {
+            F f = submission.submit();
+            task.future = f;
+            return f;
+        } catch (RuntimeException e) {
+            pending.remove(task);
+            throw e;
+        }
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see RTSchedulingI#schedule(Runnable, long, TimeUnit) */
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit u)
+            throws RejectedExecutionException, NullPointerException
+    {
+        if (command == null) throw new NullPointerException();
+        Pending task = new Pending(System.nanoTime() + u.toNanos(delay));
+        return enqueue(task, () -> delegate.schedule(() -> {
+            double lag = transitionStarts();
+            int depth = dequeue(task);
+            long start = System.nanoTime();
+            try {
+                command.run();
+            } finally {
+                if (!Double.isNaN(lag)) record(lag, Double.NaN, depth, start, System.nanoTime());
+            }
+        }, delay, u));
+    }
+
+    /** @see RTSchedulingI#scheduleImmediate(Runnable) */
+    @Override
+    public Future<?> scheduleImmediate(Runnable command) throws RejectedExecutionException, NullPointerException {
+        if (command == null) throw new NullPointerException();
+        Pending task = new Pending(System.nanoTime());
+        return enqueue(task, () -> delegate.scheduleImmediate(() -> {
+            int depth = dequeue(task);
+            long start = System.nanoTime();
+            boolean measured = isSimulating();
+            try {
+                command.run();
+            } finally {
+                if (measured) record(Double.NaN, (start - task.due) / 1.0e6, depth, start, System.nanoTime());
+            }
+        }));
+    }
+
+    /** @see RTSchedulingI#isShutdown() */
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    /** @see RTSchedulingI#isTerminated() */
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    /** @see RTSchedulingI#shutdown() */
+    @Override
+    public void shutdown() throws SecurityException {
+        delegate.shutdown();
+    }
+
+    /** @see RTSchedulingI#shutdownNow() */
+    @Override
+    public void shutdownNow() throws SecurityException {
+        delegate.shutdownNow();
+    }
+
+}
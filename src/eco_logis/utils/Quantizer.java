@@ -0,0 +1,60 @@
+package eco_logis.utils;
+
+/**
+ * This class gathers the computations of the quantized state (QSS) models
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * A QSS model only makes a transition when its state crosses a level of its
+ * quantum grid ({@code k * quantum}), instead of at every integration step.
+ * The continuous states of the house have a constant derivative between two
+ * events, so the crossing times are computed exactly.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class Quantizer
+{
+
+    // ========== Macros ==========
+
+
+    /** Relative distance under which a value is considered on a level */
+    public static final double TOLERANCE = 1.0e-9;
+
+
+    // ========== Constructors ==========
+
+
+    private Quantizer() {}
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the time the value takes to reach the next level of the grid in the
+     * direction of its derivative
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code quantum > 0.0}
+     * post	{@code return >= 0.0}
+     * </pre>
+     *
+     * @param value The current value
+     * @param slope The derivative of the value per time unit
+     * @param quantum The distance between two levels
+     * @return The time to the next level, infinite if the value is constant
+     */
+    public static double timeToNextLevel(double value, double slope, double quantum) {
+        if (slope == 0.0) return Double.POSITIVE_INFINITY;
+        double position = value / quantum;
+        double next = slope > 0.0
+                ? Math.floor(position + TOLERANCE) + 1.0
+                : Math.ceil(position - TOLERANCE) - 1.0;
+        return (next * quantum - value) / slope;
+    }
+
+}
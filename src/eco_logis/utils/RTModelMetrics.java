@@ -0,0 +1,285 @@
+package eco_logis.utils;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+/**
+ * This class represents the real time metrics of one model of a SIL
+ * simulation, as measured by its {@code MonitoredRTScheduler}
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The lag of an internal transition is the real time between the moment it
+ * should have started at the acceleration factor and the moment it started;
+ * a lag over {@code MonitoredRTScheduler.LAG_TOLERANCE} is a deadline miss.
+ * The wait of an external event is the real time between its arrival and
+ * the start of its transition. The execution time is the real time spent in
+ * a transition, internal or external, and the queue depth is the number of
+ * tasks of the executor already due, and waiting, when a transition starts.
+ * All the times are in milliseconds.
+ * </p>
+ * <p>
+ * The metrics are a snapshot: they don't change once created.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class RTModelMetrics
+    implements Serializable
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Attributes ==========
+
+
+    /** The URI of the model */
+    private final String modelURI;
+
+    /** The acceleration factor of the model */
+    private final double accelerationFactor;
+
+    /** The number of internal transitions */
+    private final long internalTransitions;
+
+    /** The number of internal transitions later than the tolerance */
+    private final long deadlineMisses;
+
+    /** The sum of the lags of the internal transitions */
+    private final double totalLag;
+
+    /** The highest lag of an internal transition */
+    private final double maxLag;
+
+    /** The number of external transitions */
+    private final long externalTransitions;
+
+    /** The sum of the waits of the external events */
+    private final double totalWait;
+
+    /** The longest wait of an external event */
+    private final double maxWait;
+
+    /** The sum of the execution times of the transitions */
+    private final double totalExecution;
+
+    /** The longest execution time of a transition */
+    private final double maxExecution;
+
+    /** The sum of the queue depths met by the transitions */
+    private final long totalQueueDepth;
+
+    /** The deepest queue met by a transition */
+    private final int maxQueueDepth;
+
+    /** The real time between the start of the first and the end of the last transition */
+    private final double realSpan;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new metrics snapshot
+     *
+     * @param modelURI The URI of the model
+     * @param accelerationFactor The acceleration factor of the model
+     * @param internalTransitions The number of internal transitions
+     * @param deadlineMisses The number of internal transitions later than the tolerance
+     * @param totalLag The sum of the lags of the internal transitions
+     * @param maxLag The highest lag of an internal transition
+     * @param externalTransitions The number of external transitions
+     * @param totalWait The sum of the waits of the external events
+     * @param maxWait The longest wait of an external event
+     * @param totalExecution The sum of the execution times of the transitions
+     * @param maxExecution The longest execution time of a transition
+     * @param totalQueueDepth The sum of the queue depths met by the transitions
+     * @param maxQueueDepth The deepest queue met by a transition
+     * @param realSpan The real time between the start of the first and the end of the last transition
+     */
+    public RTModelMetrics(String modelURI, double accelerationFactor,
+                          long internalTransitions, long deadlineMisses, double totalLag, double maxLag,
+                          long externalTransitions, double totalWait, double maxWait,
+                          double totalExecution, double maxExecution,
+                          long totalQueueDepth, int maxQueueDepth, double realSpan)
+    {
+        this.modelURI = modelURI;
+        this.accelerationFactor = accelerationFactor;
+        this.internalTransitions = internalTransitions;
+        this.deadlineMisses = deadlineMisses;
+        this.totalLag = totalLag;
+        this.maxLag = maxLag;
+        this.externalTransitions = externalTransitions;
+        this.totalWait = totalWait;
+        this.maxWait = maxWait;
+        this.totalExecution = totalExecution;
+        this.maxExecution = maxExecution;
+        this.totalQueueDepth = totalQueueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.realSpan = realSpan;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public String getModelURI() {
+        return modelURI;
+    }
+
+    public double getAccelerationFactor() {
+        return accelerationFactor;
+    }
+
+    public long getInternalTransitions() {
+        return internalTransitions;
+    }
+
+    public long getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    public double getMaxLag() {
+        return maxLag;
+    }
+
+    public long getExternalTransitions() {
+        return externalTransitions;
+    }
+
+    public double getMaxWait() {
+        return maxWait;
+    }
+
+    public double getTotalExecution() {
+        return totalExecution;
+    }
+
+    public double getMaxExecution() {
+        return maxExecution;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public double getRealSpan() {
+        return realSpan;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the number of transitions, internal and external
+     *
+     * @return The number of transitions
+     */
+    public long getTransitions() {
+        return internalTransitions + externalTransitions;
+    }
+
+    /**
+     * Get the mean lag of the internal transitions
+     *
+     * @return The mean lag, 0 without internal transition
+     */
+    public double getMeanLag() {
+        return internalTransitions == 0 ? 0.0 : totalLag / internalTransitions;
+    }
+
+    /**
+     * Get the mean wait of the external events
+     *
+     * @return The mean wait, 0 without external transition
+     */
+    public double getMeanWait() {
+        return externalTransitions == 0 ? 0.0 : totalWait / externalTransitions;
+    }
+
+    /**
+     * Get the mean execution time of the transitions
+     *
+     * @return The mean execution time, 0 without transition
+     */
+    public double getMeanExecution() {
+        return getTransitions() == 0 ? 0.0 : totalExecution / getTransitions();
+    }
+
+    /**
+     * Get the mean queue depth met by the transitions
+     *
+     * @return The mean queue depth, 0 without transition
+     */
+    public double getMeanQueueDepth() {
+        return getTransitions() == 0 ? 0.0 : (double) totalQueueDepth / getTransitions();
+    }
+
+    /**
+     * Estimate the highest acceleration factor at which the models sharing
+     * one executor keep up: the transitions being the same whatever the
+     * factor, the busy time of the executor stays the same while the real
+     * span shrinks with the factor, until the executor is always busy
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code metrics != null}
+     * post	true		// no postcondition.
+     * </pre>
+     *
+     * @param metrics The metrics of the models of one executor
+     * @return The estimated factor, infinite if the executor did nothing
+     */
+    public static double sustainableAccelerationFactor(RTModelMetrics[] metrics) {
+        double busy = 0.0;
+        double span = 0.0;
+        double factor = 0.0;
+        for (RTModelMetrics m : metrics) {
+            busy += m.totalExecution;
+            span = Math.max(span, m.realSpan);
+            factor = Math.max(factor, m.accelerationFactor);
+        }
+        if (busy <= 0.0 || span <= 0.0) return Double.POSITIVE_INFINITY;
+        return factor * span / busy;
+    }
+
+    /**
+     * Get the header of the lines of {@code toSummaryLine()}
+     *
+     * @return The header
+     */
+    public static String summaryHeader() {
+        return String.format(Locale.ROOT, "%-36s %8s %7s %9s %9s %8s %9s %9s %9s %6s",
+                "model", "internal", "misses", "lag avg", "lag max", "external", "wait max",
+                "exec avg", "exec max", "queue");
+    }
+
+    /**
+     * Get the metrics as one line of a summary table
+     *
+     * @return The line
+     */
+    public String toSummaryLine() {
+        return String.format(Locale.ROOT, "%-36s %8d %7d %9.2f %9.2f %8d %9.2f %9.3f %9.3f %6d",
+                modelURI, internalTransitions, deadlineMisses, getMeanLag(), maxLag, externalTransitions, maxWait,
+                getMeanExecution(), maxExecution, maxQueueDepth);
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return "RTModelMetrics[" + modelURI + ", transitions=" + getTransitions() + ", deadlineMisses=" + deadlineMisses
+                + ", maxLag=" + maxLag + ", maxExecution=" + maxExecution + ", maxQueueDepth=" + maxQueueDepth + "]";
+    }
+
+}
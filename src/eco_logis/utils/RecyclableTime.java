@@ -0,0 +1,60 @@
+package eco_logis.utils;
+
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents a time whose value can be changed, so the event
+ * holding it can be reused for another occurrence
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The time of occurrence of a simulation event is fixed when it is created;
+ * an {@code EventRecycler} creates its events with a recyclable time and moves
+ * it when it gives them back. A recyclable time must never be moved while the
+ * event holding it is scheduled or in flight.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class RecyclableTime
+    extends Time
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+
+    // ========== Constructors ==========
+
+
+    /** @see Time#Time(double, TimeUnit) */
+    public RecyclableTime(double simulatedTime, TimeUnit timeUnit) {
+        super(simulatedTime, timeUnit);
+    }
+
+
+    // ========== Setters ==========
+
+
+    /**
+     * Move the time
+     *
+     * <p><strong>Contract</strong></p>
+     * <pre>
+     * pre	{@code simulatedTime >= 0.0}
+     * post	{@code getSimulatedTime() == simulatedTime}
+     * </pre>
+     *
+     * @param simulatedTime The new value of the time, in the time unit of this time
+     */
+    public void set(double simulatedTime) {
+        assert simulatedTime >= 0.0;
+        this.simulatedTime = simulatedTime;
+    }
+
+}
@@ -0,0 +1,202 @@
+package eco_logis.utils;
+
+import org.apache.commons.math3.random.RandomDataGenerator;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Map;
+
+/**
+ * This class represents the seed management of the simulation models: a
+ * master seed from which each model derives its own random stream
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * A model derives its seed from the master seed and its URI, so the models
+ * draw independent streams and two runs with the same master seed draw the
+ * same values, whatever the order in which the models are initialised. A
+ * service can also be split into independent child services, for instance to
+ * give each run of a campaign its own streams.
+ * </p>
+ * <p>
+ * The service of a run is passed as the simulation run parameter
+ * {@code SEED_PARAMETER}, either as a {@code SimulationSeeds} or as a master
+ * seed ({@code Long}). Without the parameter, the models use the default
+ * service, whose master seed is read from the system property
+ * {@code SEED_PROPERTY} or drawn securely. The service does not print
+ * anything: the runners pass the default service as the run parameter and
+ * give its master seed in their summary, so a problematic run can be replayed
+ * by setting the property.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public final class SimulationSeeds
+    implements Serializable
+{
+
+    // ========== Macros ==========
+
+
+    private static final long serialVersionUID = 1L;
+
+    /** Name of the simulation run parameter giving the seeds (a {@code SimulationSeeds} or a {@code Long}) */
+    public static final String SEED_PARAMETER = "eco_logis.seed";
+
+    /** System property giving the master seed of the default service */
+    public static final String SEED_PROPERTY = "eco_logis.seed";
+
+    /** The SplitMix64 increment, the odd integer closest to 2^64 divided by the golden ratio */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** The default service, null until it is looked up */
+    private static SimulationSeeds defaultSeeds;
+
+
+    // ========== Attributes ==========
+
+
+    /** The master seed */
+    private final long masterSeed;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a new seed service
+     *
+     * @param masterSeed The master seed
+     */
+    public SimulationSeeds(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+
+    // ========== Getters ==========
+
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the default service, creating it on the first call
+     *
+     * @return The service seeded by {@code SEED_PROPERTY}, or by a secure seed if the property is not set
+     */
+    public static synchronized SimulationSeeds getDefault() {
+        if (defaultSeeds == null) {
+            String property = System.getProperty(SEED_PROPERTY);
+            if (property != null && !property.isEmpty()) {
+                defaultSeeds = new SimulationSeeds(Long.parseLong(property));
+            } else {
+                defaultSeeds = new SimulationSeeds(new SecureRandom().nextLong());
+            }
+        }
+        return defaultSeeds;
+    }
+
+    /**
+     * Get the service given by the simulation run parameters
+     *
+     * @param simParams The simulation run parameters
+     * @return The service of the run, null if the parameters give none
+     */
+    public static SimulationSeeds from(Map<String, Object> simParams) {
+        Object seeds = simParams.get(SEED_PARAMETER);
+        if (seeds == null || seeds instanceof SimulationSeeds) return (SimulationSeeds) seeds;
+        return new SimulationSeeds(((Number) seeds).longValue());
+    }
+
+    /**
+     * Get the service of a model, the default one if it has none
+     *
+     * @param seeds The service given to the model, may be null
+     * @return The service the model must use
+     */
+    public static SimulationSeeds orDefault(SimulationSeeds seeds) {
+        return seeds == null ? getDefault() : seeds;
+    }
+
+    /**
+     * Derive a seed from a master seed and a name
+     *
+     * <p>
+     * The UTF-8 bytes of the whole name are folded into the master seed, so
+     * two distinct names give unrelated seeds, even when their
+     * {@code hashCode()} are equal.
+     * </p>
+     *
+     * @param masterSeed The master seed
+     * @param name The name of the derived stream
+     * @return The derived seed
+     */
+    public static long derive(long masterSeed, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        long z = mix(masterSeed);
+        for (byte b : bytes) {
+            z = mix(z + GOLDEN_GAMMA + (b & 0xFF));
+        }
+        return mix(z + GOLDEN_GAMMA * (bytes.length + 1L));
+    }
+
+    /**
+     * Apply the SplitMix64 finaliser, so close values give unrelated values
+     *
+     * @param z The value to mix
+     * @return The mixed value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Get the seed of a model
+     *
+     * @param modelURI The URI of the model
+     * @return The seed of the model
+     */
+    public long seedFor(String modelURI) {
+        return derive(masterSeed, modelURI);
+    }
+
+    /**
+     * Reseed the generator of a model with its stream
+     *
+     * @param generator The generator of the model
+     * @param modelURI The URI of the model
+     */
+    public void reSeed(RandomDataGenerator generator, String modelURI) {
+        generator.reSeed(seedFor(modelURI));
+    }
+
+    /**
+     * Create an independent child service
+     *
+     * @param name The name of the child, distinct from the model URIs
+     * @return The child service
+     */
+    public SimulationSeeds split(String name) {
+        return new SimulationSeeds(derive(masterSeed, "split:" + name));
+    }
+
+
+    // ========== Override methods ==========
+
+
+    /** @see Object#toString() */
+    @Override
+    public String toString() {
+        return "SimulationSeeds[" + masterSeed + "]";
+    }
+
+}
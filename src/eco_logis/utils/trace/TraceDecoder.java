@@ -0,0 +1,166 @@
+package eco_logis.utils.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class decodes the trace files written by {@code TraceRecorder} into
+ * CSV or text
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * In CSV, each value or message gives a line
+ * {@code kind,model,variable,time,value} where the kind is {@code value} or
+ * {@code message}, the variable of a message is empty and its value is its
+ * quoted text. In text, a value gives {@code time|model|variable = value} and
+ * a message {@code time|model|message}, as the standard loggers print it.
+ * </p>
+ * <p>
+ * Usage: {@code TraceDecoder <trace file> [csv|text] [output file]}, the
+ * format being CSV and the output the standard output by default.
+ * </p>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class TraceDecoder
+{
+
+    // ========== Internal Enums and class ==========
+
+
+    /** The output formats */
+    public enum Format {
+        CSV,
+        TEXT
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Decode a trace file
+     *
+     * @param file The trace file
+     * @param format The output format
+     * @param out Where to write the decoded trace
+     * @return The number of decoded values and messages
+     * @throws IOException If the file cannot be read or is not a trace file
+     */
+    public static long decode(Path file, Format format, Writer out) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long size = Files.size(file);
+            if (size < TraceRecorder.HEADER_SIZE || in.readInt() != TraceRecorder.MAGIC) {
+                throw new IOException(file + " is not a trace file");
+            }
+            int version = in.readInt();
+            if (version != TraceRecorder.VERSION) {
+                throw new IOException("Unsupported trace file version " + version);
+            }
+            // A recorder that was not closed leaves a zero length, the records then end with a zero tag
+            long length = in.readLong();
+            long remaining = length > 0 ? Math.min(length, size - TraceRecorder.HEADER_SIZE) : size - TraceRecorder.HEADER_SIZE;
+
+            Map<Integer, String> models = new HashMap<>();
+            Map<Integer, String> variables = new HashMap<>();
+            if (format == Format.CSV) {
+                out.write("kind,model,variable,time,value\n");
+            }
+
+            long count = 0;
+            while (remaining >= 4) {
+                int tag = in.readInt();
+                remaining -= 4;
+                switch (tag) {
+                    case TraceRecorder.TAG_END:
+                        return count;
+                    case TraceRecorder.TAG_MODEL: {
+                        int id = in.readInt();
+                        byte[] uri = readBytes(in);
+                        models.put(id, new String(uri, StandardCharsets.UTF_8));
+                        remaining -= 8 + uri.length;
+                        break;
+                    }
+                    case TraceRecorder.TAG_VARIABLE: {
+                        int id = in.readInt();
+                        byte[] name = readBytes(in);
+                        variables.put(id, new String(name, StandardCharsets.UTF_8));
+                        remaining -= 8 + name.length;
+                        break;
+                    }
+                    case TraceRecorder.TAG_VALUE: {
+                        String model = models.get(in.readInt());
+                        String variable = variables.get(in.readInt());
+                        double time = in.readDouble();
+                        double value = in.readDouble();
+                        remaining -= TraceRecorder.VALUE_RECORD_SIZE - 4;
+                        if (format == Format.CSV) {
+                            out.write("value," + model + "," + variable + "," + time + "," + value + "\n");
+                        } else {
+                            out.write(time + "|" + model + "|" + variable + " = " + value + "\n");
+                        }
+                        count++;
+                        break;
+                    }
+                    case TraceRecorder.TAG_MESSAGE: {
+                        String model = models.get(in.readInt());
+                        long time = in.readLong();
+                        byte[] bytes = readBytes(in);
+                        String message = new String(bytes, StandardCharsets.UTF_8);
+                        remaining -= 16 + bytes.length;
+                        if (format == Format.CSV) {
+                            out.write("message," + model + ",," + time + ",\"" +
+                                    message.replace("\"", "\"\"").replace("\n", "") + "\"\n");
+                        } else {
+                            out.write(time + "|" + model + "|" + message);
+                            if (!message.endsWith("\n")) out.write('\n');
+                        }
+                        count++;
+                        break;
+                    }
+                    default:
+                        throw new IOException("Unknown record tag " + tag);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Read a length prefixed UTF-8 text
+     *
+     * @param in The records
+     * @return The bytes of the text
+     * @throws IOException If the file ends before the text
+     */
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: TraceDecoder <trace file> [csv|text] [output file]");
+            System.exit(1);
+        }
+        Format format = args.length > 1 ? Format.valueOf(args[1].toUpperCase()) : Format.CSV;
+        try (Writer out = args.length > 2
+                ? Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            decode(Paths.get(args[0]), format, out);
+        }
+    }
+
+}
@@ -0,0 +1,388 @@
+package eco_logis.utils.trace;
+
+import fr.sorbonne_u.devs_simulation.interfaces.MessageLoggingI;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class represents a binary recorder of simulation traces, written in a
+ * memory mapped file
+ *
+ * <p><strong>Description</strong></p>
+ * <p>
+ * The models record the values of their variables as fixed width records
+ * (model id, variable id, simulated time, value) through {@code Probe}s, so no
+ * string is built on their hot path. The model URIs and variable names are
+ * written once, when a probe is created, as definition records. The messages
+ * of the models can also be routed to the recorder (see {@link #route(MessageLoggingI)}):
+ * they are then stored as variable length records instead of being printed.
+ * The file is self describing and is turned into CSV or text offline by
+ * {@code TraceDecoder}.
+ * </p>
+ * <p>
+ * The file is a header ({@code MAGIC}, {@code VERSION} and the length of the
+ * records, set when the recorder is closed) followed by records starting with
+ * their tag; a zero tag ends the records, so the records of a run that did not
+ * close its recorder can still be decoded. The file is mapped by chunks of
+ * {@code CHUNK_SIZE} bytes, each new chunk growing the file.
+ * </p>
+ * <p>
+ * The recorder is enabled by configuration: the system property
+ * {@code TRACE_FILE_PROPERTY} gives the path of the trace file, and the
+ * system property {@code TRACE_MESSAGES_PROPERTY} set to {@code true} routes
+ * the messages of the models to it. The configured recorder is closed when
+ * the JVM shuts down.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ * <pre>
+ * invariant	{@code the records are written in the order of the calls}
+ * </pre>
+ *
+ * @author Emilie SIAU
+ * @author Hugo GUERRIER
+ */
+public class TraceRecorder
+    implements AutoCloseable
+{
+
+    // ========== Macros ==========
+
+
+    /** System property giving the path of the trace file */
+    public static final String TRACE_FILE_PROPERTY = "eco_logis.trace.file";
+
+    /** System property routing the model messages to the trace file when set to {@code true} */
+    public static final String TRACE_MESSAGES_PROPERTY = "eco_logis.trace.messages";
+
+    /** Magic number of the trace files ("ECOT") */
+    public static final int MAGIC = 0x45434F54;
+
+    /** Version of the file format */
+    public static final int VERSION = 1;
+
+    /** Size of the header: magic, version and length of the records */
+    public static final int HEADER_SIZE = 16;
+
+    /** Tag ending the records */
+    public static final int TAG_END = 0;
+
+    /** Tag of a value record: model id, variable id, simulated time, value */
+    public static final int TAG_VALUE = 1;
+
+    /** Tag of a message record: model id, wall clock time in ms, length, UTF-8 bytes */
+    public static final int TAG_MESSAGE = 2;
+
+    /** Tag of a model definition record: model id, length, UTF-8 URI */
+    public static final int TAG_MODEL = 3;
+
+    /** Tag of a variable definition record: variable id, length, UTF-8 name */
+    public static final int TAG_VARIABLE = 4;
+
+    /** Size of a value record */
+    public static final int VALUE_RECORD_SIZE = 4 + 4 + 4 + 8 + 8;
+
+    /** Maximal number of bytes kept from a message or a name */
+    public static final int MAX_TEXT_LENGTH = 64 * 1024;
+
+    /** Size of the mapped chunks */
+    protected static final int CHUNK_SIZE = 32 * 1024 * 1024;
+
+    /** The configured recorder, null until it is looked up */
+    private static TraceRecorder configured;
+
+    /** True once the configuration has been looked up */
+    private static boolean configurationRead;
+
+
+    // ========== Attributes ==========
+
+
+    /** The trace file channel */
+    protected final FileChannel channel;
+
+    /** The mapped chunk being written */
+    protected MappedByteBuffer buffer;
+
+    /** Position in the file of the mapped chunk */
+    protected long chunkStart;
+
+    /** Ids of the recorded models by URI */
+    protected final Map<String, Integer> modelIds = new HashMap<>();
+
+    /** Ids of the recorded variables by name */
+    protected final Map<String, Integer> variableIds = new HashMap<>();
+
+    /** True once the recorder is closed */
+    protected boolean closed;
+
+
+    // ========== Constructors ==========
+
+
+    /**
+     * Create a recorder writing a new trace file, replacing any existing one
+     *
+     * @param file The path of the trace file
+     * @throws IOException If the file cannot be created
+     */
+    public TraceRecorder(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        chunkStart = 0;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, CHUNK_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(0L);
+    }
+
+
+    // ========== Class methods ==========
+
+
+    /**
+     * Get the recorder enabled by the system properties, creating it on the
+     * first call
+     *
+     * @return The configured recorder, null if no trace file is configured
+     */
+    public static synchronized TraceRecorder getConfigured() {
+        if (!configurationRead) {
+            configurationRead = true;
+            String file = System.getProperty(TRACE_FILE_PROPERTY);
+            if (file != null && !file.isEmpty()) {
+                try {
+                    final TraceRecorder recorder = new TraceRecorder(Paths.get(file));
+                    Runtime.getRuntime().addShutdownHook(new Thread(recorder::close));
+                    configured = recorder;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot create the trace file " + file, e);
+                }
+            }
+        }
+        return configured;
+    }
+
+    /**
+     * Get a probe of the configured recorder
+     *
+     * @param modelURI The URI of the recording model
+     * @param variable The name of the recorded variable
+     * @return The probe, null if no recorder is configured
+     */
+    public static Probe probeOrNull(String modelURI, String variable) {
+        TraceRecorder recorder = getConfigured();
+        return recorder == null ? null : recorder.probe(modelURI, variable);
+    }
+
+    /**
+     * Route the messages of a model to the configured recorder if the
+     * configuration asks for it
+     *
+     * @param fallback The logger to use otherwise
+     * @return The logger the model must use
+     */
+    public static MessageLoggingI route(MessageLoggingI fallback) {
+        if (Boolean.getBoolean(TRACE_MESSAGES_PROPERTY)) {
+            TraceRecorder recorder = getConfigured();
+            if (recorder != null) {
+                return recorder::recordMessage;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Create a probe recording a variable of a model
+     *
+     * @param modelURI The URI of the recording model
+     * @param variable The name of the recorded variable
+     * @return The probe
+     */
+    public synchronized Probe probe(String modelURI, String variable) {
+        return new Probe(this, modelId(modelURI), variableId(variable));
+    }
+
+    /**
+     * Record the value of a variable
+     *
+     * @param model The model id
+     * @param variable The variable id
+     * @param time The simulated time
+     * @param value The value
+     */
+    public synchronized void record(int model, int variable, double time, double value) {
+        if (closed) return;
+        ensure(VALUE_RECORD_SIZE);
+        buffer.putInt(TAG_VALUE);
+        buffer.putInt(model);
+        buffer.putInt(variable);
+        buffer.putDouble(time);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * Record a message of a model, as the {@code MessageLoggingI} loggers do
+     *
+     * @param modelURI The URI of the model
+     * @param message The message
+     */
+    public synchronized void recordMessage(String modelURI, String message) {
+        if (closed) return;
+        int model = modelId(modelURI);
+        byte[] text = encode(message);
+        ensure(4 + 4 + 8 + 4 + text.length);
+        buffer.putInt(TAG_MESSAGE);
+        buffer.putInt(model);
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putInt(text.length);
+        buffer.put(text);
+    }
+
+    /**
+     * Write the remaining records to the file, set the length of the records
+     * in the header and cut the unused end of the file
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            long end = chunkStart + buffer.position();
+            buffer.force();
+            buffer = null;
+
+            ByteBuffer length = ByteBuffer.allocate(8);
+            length.putLong(end - HEADER_SIZE).flip();
+            channel.write(length, 8);
+            channel.truncate(end);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close the trace file", e);
+        }
+    }
+
+    /**
+     * Get the id of a model, writing its definition the first time
+     *
+     * @param modelURI The model URI
+     * @return The model id
+     */
+    protected int modelId(String modelURI) {
+        return define(modelIds, TAG_MODEL, modelURI);
+    }
+
+    /**
+     * Get the id of a variable, writing its definition the first time
+     *
+     * @param variable The variable name
+     * @return The variable id
+     */
+    protected int variableId(String variable) {
+        return define(variableIds, TAG_VARIABLE, variable);
+    }
+
+    /**
+     * Get the id of a name, writing its definition record the first time
+     *
+     * @param ids The ids of the names of this kind
+     * @param tag The tag of the definition records
+     * @param name The name
+     * @return The id, starting at 1
+     */
+    private int define(Map<String, Integer> ids, int tag, String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = ids.size() + 1;
+            ids.put(name, id);
+            if (!closed) {
+                byte[] text = encode(name);
+                ensure(4 + 4 + 4 + text.length);
+                buffer.putInt(tag);
+                buffer.putInt(id);
+                buffer.putInt(text.length);
+                buffer.put(text);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Map the next chunk if the current one cannot take a record
+     *
+     * @param size The size of the record
+     */
+    protected void ensure(int size) {
+        if (buffer.remaining() >= size) return;
+        try {
+            chunkStart += buffer.position();
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow the trace file", e);
+        }
+    }
+
+    /**
+     * Encode a text in UTF-8, cut to {@code MAX_TEXT_LENGTH} bytes
+     *
+     * @param text The text
+     * @return The bytes
+     */
+    private static byte[] encode(String text) {
+        byte[] res = text.getBytes(StandardCharsets.UTF_8);
+        if (res.length > MAX_TEXT_LENGTH) {
+            byte[] cut = new byte[MAX_TEXT_LENGTH];
+            System.arraycopy(res, 0, cut, 0, MAX_TEXT_LENGTH);
+            return cut;
+        }
+        return res;
+    }
+
+
+    // ========== Internal Enums and class ==========
+
+
+    /**
+     * This class represents the recording of one variable of one model
+     */
+    public static final class Probe {
+
+        /** The recorder */
+        private final TraceRecorder recorder;
+
+        /** Id of the model */
+        private final int model;
+
+        /** Id of the variable */
+        private final int variable;
+
+        private Probe(TraceRecorder recorder, int model, int variable) {
+            this.recorder = recorder;
+            this.model = model;
+            this.variable = variable;
+        }
+
+        /**
+         * Record a value of the variable
+         *
+         * @param time The simulated time
+         * @param value The value
+         */
+        public void record(double time, double value) {
+            recorder.record(model, variable, time, value);
+        }
+
+    }
+
+}